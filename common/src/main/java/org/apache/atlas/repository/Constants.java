@@ -99,6 +99,7 @@ public final class Constants {
     public static final String CLASSIFICATION_TEXT_KEY              = encodePropertyKey(INTERNAL_PROPERTY_KEY_PREFIX + "classificationsText");
     public static final String CLASSIFICATION_NAMES_KEY             = encodePropertyKey(INTERNAL_PROPERTY_KEY_PREFIX + "classificationNames");
     public static final String PROPAGATED_CLASSIFICATION_NAMES_KEY  = encodePropertyKey(INTERNAL_PROPERTY_KEY_PREFIX + "propagatedClassificationNames");
+    public static final String CLASSIFICATION_ATTRIBUTES_KEY_PREFIX = encodePropertyKey(INTERNAL_PROPERTY_KEY_PREFIX + "classificationAttr.");
     public static final String CUSTOM_ATTRIBUTES_PROPERTY_KEY       = encodePropertyKey(INTERNAL_PROPERTY_KEY_PREFIX + "customAttributes");
     public static final String LABELS_PROPERTY_KEY                  = encodePropertyKey(INTERNAL_PROPERTY_KEY_PREFIX + "labels");
 
@@ -111,6 +112,27 @@ public final class Constants {
     public static final String PATCH_ACTION_PROPERTY_KEY      = encodePropertyKey(INTERNAL_PROPERTY_KEY_PREFIX + "patch.action");
     public static final String PATCH_STATE_PROPERTY_KEY       = encodePropertyKey(INTERNAL_PROPERTY_KEY_PREFIX + "patch.state");
 
+    /**
+     * Entity delete task vertices property keys.
+     */
+    public static final String DELETE_TASK_ID_PROPERTY_KEY            = encodePropertyKey(INTERNAL_PROPERTY_KEY_PREFIX + "deleteTask.id");
+    public static final String DELETE_TASK_STATUS_PROPERTY_KEY        = encodePropertyKey(INTERNAL_PROPERTY_KEY_PREFIX + "deleteTask.status");
+    public static final String DELETE_TASK_GUIDS_PROPERTY_KEY         = encodePropertyKey(INTERNAL_PROPERTY_KEY_PREFIX + "deleteTask.guids");
+    public static final String DELETE_TASK_DELETE_TYPE_PROPERTY_KEY   = encodePropertyKey(INTERNAL_PROPERTY_KEY_PREFIX + "deleteTask.deleteType");
+    public static final String DELETE_TASK_DELETED_COUNT_PROPERTY_KEY = encodePropertyKey(INTERNAL_PROPERTY_KEY_PREFIX + "deleteTask.deletedCount");
+    public static final String DELETE_TASK_ERROR_PROPERTY_KEY         = encodePropertyKey(INTERNAL_PROPERTY_KEY_PREFIX + "deleteTask.error");
+
+    /**
+     * Typedef snapshot vertex property keys.
+     */
+    public static final String TYPEDEF_SNAPSHOT_ID_PROPERTY_KEY              = encodePropertyKey(INTERNAL_PROPERTY_KEY_PREFIX + "typeDefSnapshot.id");
+    public static final String TYPEDEF_SNAPSHOT_VERSION_PROPERTY_KEY         = encodePropertyKey(INTERNAL_PROPERTY_KEY_PREFIX + "typeDefSnapshot.version");
+    public static final String TYPEDEF_SNAPSHOT_CHECKSUM_PROPERTY_KEY        = encodePropertyKey(INTERNAL_PROPERTY_KEY_PREFIX + "typeDefSnapshot.checksum");
+    public static final String TYPEDEF_SNAPSHOT_TYPES_PROPERTY_KEY           = encodePropertyKey(INTERNAL_PROPERTY_KEY_PREFIX + "typeDefSnapshot.types");
+    public static final String TYPEDEF_SNAPSHOT_INDEX_FIELDS_PROPERTY_KEY    = encodePropertyKey(INTERNAL_PROPERTY_KEY_PREFIX + "typeDefSnapshot.indexFieldNames");
+    public static final String TYPEDEF_SNAPSHOT_MODELS_CHECKSUM_PROPERTY_KEY = encodePropertyKey(INTERNAL_PROPERTY_KEY_PREFIX + "typeDefSnapshot.modelsChecksum");
+    public static final String TYPEDEF_SNAPSHOT_VERSION_STAMP_PROPERTY_KEY   = encodePropertyKey(INTERNAL_PROPERTY_KEY_PREFIX + "typeDefSnapshot.versionStamp");
+
     /**
      * The homeId field is used when saving into Atlas a copy of an object that is being imported from another
      * repository. The homeId will be set to a String that identifies the other repository. The specific format
@@ -145,6 +167,11 @@ public final class Constants {
 
     public static final String IS_INCOMPLETE_PROPERTY_KEY = encodePropertyKey(INTERNAL_PROPERTY_KEY_PREFIX + "isIncomplete");
 
+    /**
+     * set on entities whose full-text mapping is deferred, until entityText is updated
+     */
+    public static final String FULLTEXT_PENDING_PROPERTY_KEY = encodePropertyKey(INTERNAL_PROPERTY_KEY_PREFIX + "fullTextPending");
+
     /**
      * search backing index name.
      */
@@ -209,6 +236,7 @@ public final class Constants {
     public static final String  ATTR_NAME_REPLICATED_TO   = "replicatedTo";
     public static final String  ATTR_NAME_REPLICATED_FROM = "replicatedFrom";
     public static final Integer INCOMPLETE_ENTITY_VALUE   = Integer.valueOf(1);
+    public static final Integer FULLTEXT_PENDING_VALUE    = Integer.valueOf(1);
 
     /*
      * State values
@@ -0,0 +1,304 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.atlas.utils;
+
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+import org.apache.atlas.AtlasConfiguration;
+import org.apache.atlas.utils.AtlasPerfMetrics.MetricRecorder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Process-wide latency histograms, keyed by metric name. The names are the ones used for RequestContext metric
+ * records, like entityAudit or graphCommit.
+ *
+ * Each name has an HDR histogram with nanosecond values. Recording is lock-free. Percentiles are computed over a
+ * rolling window, which is kept as a ring of buckets; the oldest bucket is dropped every window/buckets interval.
+ * Only a percentage of operations is recorded when atlas.metrics.latency.sample.percent is below 100.
+ */
+public class AtlasLatencyMetrics {
+    private static final Logger LOG = LoggerFactory.getLogger(AtlasLatencyMetrics.class);
+
+    static final long     HIGHEST_TRACKABLE_NANOS = TimeUnit.MINUTES.toNanos(10);
+    static final int      SIGNIFICANT_DIGITS      = 2;
+    static final double[] PERCENTILES             = { 50, 75, 95, 99, 99.9 };
+
+    private static final double NANOS_PER_MILLI  = TimeUnit.MILLISECONDS.toNanos(1);
+    private static final double NANOS_PER_SECOND = TimeUnit.SECONDS.toNanos(1);
+
+    private final boolean                                 isEnabled;
+    private final int                                     samplePercent;
+    private final long                                    windowMs;
+    private final int                                     bucketCount;
+    private final int                                     maxNames;
+    private final ConcurrentMap<String, RollingHistogram> histograms     = new ConcurrentHashMap<>();
+    private final AtomicLong                              droppedRecords = new AtomicLong();
+
+    AtlasLatencyMetrics(boolean isEnabled, int samplePercent, long windowMs, int bucketCount, int maxNames) {
+        this.isEnabled     = isEnabled;
+        this.samplePercent = Math.max(0, Math.min(100, samplePercent));
+        this.windowMs      = windowMs;
+        this.bucketCount   = Math.max(1, bucketCount);
+        this.maxNames      = maxNames;
+    }
+
+    public static AtlasLatencyMetrics getInstance() {
+        return InstanceHolder.INSTANCE;
+    }
+
+    public boolean isEnabled() {
+        return isEnabled;
+    }
+
+    /**
+     * @return recorder for the operation; null if latency metrics are disabled or the operation is not sampled
+     */
+    public MetricRecorder startRecord(String name) {
+        return isSampled() ? new MetricRecorder(name) : null;
+    }
+
+    public void endRecord(MetricRecorder recorder) {
+        if (recorder != null) {
+            record(recorder.getName(), recorder.getElapsedTimeNanos());
+        }
+    }
+
+    public void record(String name, long elapsedNanos) {
+        if (!isEnabled || name == null) {
+            return;
+        }
+
+        RollingHistogram histogram = histograms.get(name);
+
+        if (histogram == null) {
+            if (histograms.size() >= maxNames) {
+                droppedRecords.incrementAndGet();
+
+                return;
+            }
+
+            histogram = histograms.computeIfAbsent(name, k -> new RollingHistogram(bucketCount));
+        }
+
+        histogram.record(elapsedNanos);
+    }
+
+    /**
+     * @return latency of each metric name in milliseconds, over the rolling window
+     */
+    public Map<String, Object> getMetrics() {
+        Map<String, Object> ret     = new LinkedHashMap<>();
+        Map<String, Object> metrics = new TreeMap<>();
+
+        for (Map.Entry<String, RollingHistogram> entry : histograms.entrySet()) {
+            RollingHistogram    histogram = entry.getValue();
+            Histogram           snapshot  = histogram.snapshot();
+            Map<String, Object> metric    = new LinkedHashMap<>();
+
+            metric.put("count", snapshot.getTotalCount());
+            metric.put("totalCount", histogram.getTotalCount());
+
+            if (snapshot.getTotalCount() > 0) {
+                metric.put("minMs", snapshot.getMinValue() / NANOS_PER_MILLI);
+                metric.put("meanMs", snapshot.getMean() / NANOS_PER_MILLI);
+                metric.put("maxMs", snapshot.getMaxValue() / NANOS_PER_MILLI);
+
+                for (double percentile : PERCENTILES) {
+                    metric.put("p" + formatPercentile(percentile) + "Ms", snapshot.getValueAtPercentile(percentile) / NANOS_PER_MILLI);
+                }
+            }
+
+            metrics.put(entry.getKey(), metric);
+        }
+
+        ret.put("windowSeconds", TimeUnit.MILLISECONDS.toSeconds(windowMs));
+        ret.put("samplePercent", samplePercent);
+        ret.put("droppedRecords", droppedRecords.get());
+        ret.put("metrics", metrics);
+
+        return ret;
+    }
+
+    /**
+     * @return latencies in Prometheus text exposition format, as a summary per metric name
+     */
+    public String toPrometheus() {
+        StringBuilder sb = new StringBuilder();
+
+        sb.append("# HELP atlas_operation_latency_seconds Latency of Atlas operations; quantiles are over the last ").append(TimeUnit.MILLISECONDS.toSeconds(windowMs)).append(" seconds\n");
+        sb.append("# TYPE atlas_operation_latency_seconds summary\n");
+
+        for (Map.Entry<String, RollingHistogram> entry : new TreeMap<>(histograms).entrySet()) {
+            String           label     = "operation=\"" + escapeLabelValue(entry.getKey()) + "\"";
+            RollingHistogram histogram = entry.getValue();
+            Histogram        snapshot  = histogram.snapshot();
+
+            for (double percentile : PERCENTILES) {
+                sb.append("atlas_operation_latency_seconds{").append(label).append(",quantile=\"").append(percentile / 100).append("\"} ")
+                  .append(snapshot.getValueAtPercentile(percentile) / NANOS_PER_SECOND).append('\n');
+            }
+
+            sb.append("atlas_operation_latency_seconds_sum{").append(label).append("} ").append(histogram.getTotalNanos() / NANOS_PER_SECOND).append('\n');
+            sb.append("atlas_operation_latency_seconds_count{").append(label).append("} ").append(histogram.getTotalCount()).append('\n');
+        }
+
+        sb.append("# HELP atlas_operation_latency_dropped_total Records dropped after the number of metric names reached the limit\n");
+        sb.append("# TYPE atlas_operation_latency_dropped_total counter\n");
+        sb.append("atlas_operation_latency_dropped_total ").append(droppedRecords.get()).append('\n');
+
+        return sb.toString();
+    }
+
+    public void clear() {
+        histograms.clear();
+        droppedRecords.set(0);
+    }
+
+    boolean isSampled() {
+        return isEnabled && (samplePercent >= 100 || (samplePercent > 0 && ThreadLocalRandom.current().nextInt(100) < samplePercent));
+    }
+
+    void rotate() {
+        for (RollingHistogram histogram : histograms.values()) {
+            histogram.rotate();
+        }
+    }
+
+    private void startRotation() {
+        long                     intervalMs = Math.max(1, windowMs / bucketCount);
+        ScheduledExecutorService executor   = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread ret = new Thread(r, "atlas-latency-metrics");
+
+            ret.setDaemon(true);
+
+            return ret;
+        });
+
+        executor.scheduleAtFixedRate(() -> {
+            try {
+                rotate();
+            } catch (Throwable t) {
+                LOG.warn("Failed to rotate latency histograms", t);
+            }
+        }, intervalMs, intervalMs, TimeUnit.MILLISECONDS);
+    }
+
+    private static String formatPercentile(double percentile) {
+        return percentile == Math.floor(percentile) ? Long.toString((long) percentile) : Double.toString(percentile).replace(".", "");
+    }
+
+    private static String escapeLabelValue(String value) {
+        return value.replace("\\", "\\\\").replace("\"", "\\\"").replace("\n", "\\n");
+    }
+
+    /**
+     * Histogram over a rolling window. Values are recorded into a Recorder; on rotate() and snapshot() recorded
+     * values are moved into the current bucket.
+     */
+    static final class RollingHistogram {
+        private final Recorder    recorder   = new Recorder(1, HIGHEST_TRACKABLE_NANOS, SIGNIFICANT_DIGITS);
+        private final Histogram[] buckets;
+        private final LongAdder   totalCount = new LongAdder();
+        private final LongAdder   totalNanos = new LongAdder();
+        private       Histogram   recycled;
+        private       int         current;
+
+        RollingHistogram(int bucketCount) {
+            buckets = new Histogram[bucketCount];
+
+            for (int i = 0; i < bucketCount; i++) {
+                buckets[i] = new Histogram(1, HIGHEST_TRACKABLE_NANOS, SIGNIFICANT_DIGITS);
+            }
+        }
+
+        void record(long elapsedNanos) {
+            recorder.recordValue(Math.max(1, Math.min(elapsedNanos, HIGHEST_TRACKABLE_NANOS)));
+
+            totalCount.increment();
+            totalNanos.add(elapsedNanos);
+        }
+
+        synchronized void rotate() {
+            flush();
+
+            current = (current + 1) % buckets.length;
+
+            buckets[current].reset();
+        }
+
+        synchronized Histogram snapshot() {
+            flush();
+
+            Histogram ret = new Histogram(1, HIGHEST_TRACKABLE_NANOS, SIGNIFICANT_DIGITS);
+
+            for (Histogram bucket : buckets) {
+                ret.add(bucket);
+            }
+
+            return ret;
+        }
+
+        long getTotalCount() {
+            return totalCount.sum();
+        }
+
+        long getTotalNanos() {
+            return totalNanos.sum();
+        }
+
+        private void flush() {
+            recycled = recorder.getIntervalHistogram(recycled);
+
+            buckets[current].add(recycled);
+        }
+    }
+
+    private static class InstanceHolder {
+        private static final AtlasLatencyMetrics INSTANCE = createInstance();
+
+        private static AtlasLatencyMetrics createInstance() {
+            boolean             isEnabled = AtlasConfiguration.METRICS_LATENCY_ENABLED.getBoolean();
+            AtlasLatencyMetrics ret       = new AtlasLatencyMetrics(isEnabled,
+                                                                    AtlasConfiguration.METRICS_LATENCY_SAMPLE_PERCENT.getInt(),
+                                                                    TimeUnit.SECONDS.toMillis(AtlasConfiguration.METRICS_LATENCY_WINDOW_SECONDS.getLong()),
+                                                                    AtlasConfiguration.METRICS_LATENCY_WINDOW_BUCKETS.getInt(),
+                                                                    AtlasConfiguration.METRICS_LATENCY_MAX_NAMES.getInt());
+
+            if (isEnabled) {
+                ret.startRotation();
+
+                LOG.info("Latency metrics enabled: samplePercent={}, windowMs={}, buckets={}", ret.samplePercent, ret.windowMs, ret.bucketCount);
+            }
+
+            return ret;
+        }
+    }
+}
@@ -84,17 +84,26 @@ public class AtlasPerfMetrics {
         return sb.toString();
     }
 
-    public class MetricRecorder {
+    public static class MetricRecorder {
         private final String name;
-        private final long   startTimeMs = System.currentTimeMillis();
+        private final long   startTimeMs    = System.currentTimeMillis();
+        private final long   startTimeNanos = System.nanoTime();
 
         MetricRecorder(String name) {
             this.name = name;
         }
 
+        String getName() {
+            return name;
+        }
+
         long getElapsedTime() {
             return System.currentTimeMillis() - startTimeMs;
         }
+
+        long getElapsedTimeNanos() {
+            return System.nanoTime() - startTimeNanos;
+        }
     }
 
     public static class Metric {
@@ -0,0 +1,358 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.atlas.utils;
+
+import org.apache.atlas.AtlasConfiguration;
+import org.apache.atlas.utils.AtlasPerfMetrics.MetricRecorder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Captures a profile of REST requests and notification messages that take longer than
+ * atlas.metrics.profiler.threshold.ms. A profile has the time spent in each category of operation - graph reads,
+ * graph writes, index queries, notifications, audits and authorization - computed from the RequestContext metric
+ * records, along with the number of graph vertices and edges touched and the bytes allocated by the thread.
+ *
+ * The most recent profiles are kept in a bounded ring buffer. Only the thread that started a profile is tracked;
+ * work handed off to other threads is not included. Categories can overlap, as some operations are nested within
+ * others (for example, reads made while mapping attributes count as graph reads and graph writes).
+ */
+public class AtlasRequestProfiler {
+    private static final Logger LOG = LoggerFactory.getLogger(AtlasRequestProfiler.class);
+
+    public static final String KIND_REST         = "REST";
+    public static final String KIND_NOTIFICATION = "NOTIFICATION";
+
+    private static final double NANOS_PER_MILLI = TimeUnit.MILLISECONDS.toNanos(1);
+
+    private static final Map<String, Category> METRIC_CATEGORIES = new HashMap<>();
+    private static final ThreadLocal<Capture>  CURRENT_CAPTURE   = new ThreadLocal<>();
+    private static volatile boolean            isProfilingActive = false;
+
+    static {
+        METRIC_CATEGORIES.put("findByGuid", Category.GRAPH_READ);
+        METRIC_CATEGORIES.put("findByUniqueAttributes", Category.GRAPH_READ);
+        METRIC_CATEGORIES.put("findByTypeAndPropertyName", Category.GRAPH_READ);
+        METRIC_CATEGORIES.put("findByTypeAndUniquePropertyName", Category.GRAPH_READ);
+        METRIC_CATEGORIES.put("findBySuperTypeAndPropertyName", Category.GRAPH_READ);
+        METRIC_CATEGORIES.put("findBySuperTypeAndUniquePropertyName", Category.GRAPH_READ);
+        METRIC_CATEGORIES.put("getAdjacentEdgesByLabel", Category.GRAPH_READ);
+        METRIC_CATEGORIES.put("getAdjacentEdgesCountByLabel", Category.GRAPH_READ);
+        METRIC_CATEGORIES.put("getRelationshipEdge", Category.GRAPH_READ);
+        METRIC_CATEGORIES.put("mapAttributesAndClassifications", Category.GRAPH_WRITE);
+        METRIC_CATEGORIES.put("addClassifications", Category.GRAPH_WRITE);
+        METRIC_CATEGORIES.put("graphCommit", Category.GRAPH_WRITE);
+        METRIC_CATEGORIES.put("indexQuery", Category.INDEX_QUERY);
+        METRIC_CATEGORIES.put("entityNotification", Category.NOTIFICATION);
+        METRIC_CATEGORIES.put("entityAudit", Category.AUDIT);
+        METRIC_CATEGORIES.put("isAccessAllowed", Category.AUTHORIZATION);
+    }
+
+    public enum Category {
+        GRAPH_READ("graphRead"),
+        GRAPH_WRITE("graphWrite"),
+        INDEX_QUERY("indexQuery"),
+        NOTIFICATION("notification"),
+        AUDIT("audit"),
+        AUTHORIZATION("authorization");
+
+        private final String displayName;
+
+        Category(String displayName) {
+            this.displayName = displayName;
+        }
+
+        public String getDisplayName() {
+            return displayName;
+        }
+    }
+
+    private final boolean                         isEnabled;
+    private final long                            thresholdMs;
+    private final int                             bufferSize;
+    private final ArrayDeque<Map<String, Object>> profiles;
+
+    AtlasRequestProfiler(boolean isEnabled, long thresholdMs, int bufferSize) {
+        this.isEnabled   = isEnabled && bufferSize > 0;
+        this.thresholdMs = thresholdMs;
+        this.bufferSize  = bufferSize;
+        this.profiles    = new ArrayDeque<>(Math.max(1, bufferSize));
+
+        if (this.isEnabled) {
+            isProfilingActive = true;
+        }
+    }
+
+    public static AtlasRequestProfiler getInstance() {
+        return InstanceHolder.INSTANCE;
+    }
+
+    public boolean isEnabled() {
+        return isEnabled;
+    }
+
+    /**
+     * Starts a profile for the current thread.
+     *
+     * @return the profile to pass to complete(); null if profiling is disabled or a profile is already in progress
+     */
+    public Capture start(String kind, String operation, String user) {
+        if (!isEnabled || CURRENT_CAPTURE.get() != null) {
+            return null;
+        }
+
+        Capture ret = new Capture(kind, operation, user);
+
+        CURRENT_CAPTURE.set(ret);
+
+        return ret;
+    }
+
+    /**
+     * Completes the given profile and adds it to the buffer if it took longer than the threshold.
+     */
+    public void complete(Capture capture) {
+        if (capture == null || CURRENT_CAPTURE.get() != capture) {
+            return;
+        }
+
+        CURRENT_CAPTURE.remove();
+
+        long elapsedNanos = System.nanoTime() - capture.startTimeNanos;
+
+        if (elapsedNanos >= TimeUnit.MILLISECONDS.toNanos(thresholdMs)) {
+            Map<String, Object> profile = capture.toMap(elapsedNanos);
+
+            synchronized (profiles) {
+                if (profiles.size() >= bufferSize) {
+                    profiles.pollFirst();
+                }
+
+                profiles.addLast(profile);
+            }
+
+            if (LOG.isDebugEnabled()) {
+                LOG.debug("slow request profile: {}", profile);
+            }
+        }
+    }
+
+    /**
+     * @param kind          REST or NOTIFICATION; null for all
+     * @param minDurationMs profiles that took less than this are excluded
+     * @param limit         maximum number of profiles to return
+     * @return captured profiles, most recent first
+     */
+    public List<Map<String, Object>> getProfiles(String kind, long minDurationMs, int limit) {
+        List<Map<String, Object>> ret = new ArrayList<>();
+
+        synchronized (profiles) {
+            for (Iterator<Map<String, Object>> iter = profiles.descendingIterator(); iter.hasNext() && ret.size() < limit; ) {
+                Map<String, Object> profile = iter.next();
+
+                if (kind != null && !kind.equalsIgnoreCase((String) profile.get("kind"))) {
+                    continue;
+                }
+
+                if ((Long) profile.get("durationMs") < minDurationMs) {
+                    continue;
+                }
+
+                ret.add(profile);
+            }
+        }
+
+        return ret;
+    }
+
+    public void clear() {
+        synchronized (profiles) {
+            profiles.clear();
+        }
+    }
+
+    /**
+     * @return profile in progress on the current thread; null if there is none
+     */
+    public static Capture getCurrentCapture() {
+        return isProfilingActive ? CURRENT_CAPTURE.get() : null;
+    }
+
+    public static void recordVertexTouched() {
+        if (isProfilingActive) {
+            Capture capture = CURRENT_CAPTURE.get();
+
+            if (capture != null) {
+                capture.vertexCount++;
+            }
+        }
+    }
+
+    public static void recordEdgeTouched() {
+        if (isProfilingActive) {
+            Capture capture = CURRENT_CAPTURE.get();
+
+            if (capture != null) {
+                capture.edgeCount++;
+            }
+        }
+    }
+
+    /**
+     * A profile in progress. Accessed only by the thread that started it.
+     */
+    public static class Capture {
+        private final String kind;
+        private final String operation;
+        private final String user;
+        private final long   timestamp      = System.currentTimeMillis();
+        private final long   startTimeNanos = System.nanoTime();
+        private final long   startAllocatedBytes;
+        private final long[] categoryNanos  = new long[Category.values().length];
+        private final int[]  categoryCounts = new int[Category.values().length];
+        private       long   vertexCount    = 0;
+        private       long   edgeCount      = 0;
+
+        Capture(String kind, String operation, String user) {
+            this.kind                = kind;
+            this.operation           = operation;
+            this.user                = user;
+            this.startAllocatedBytes = AllocationCounter.INSTANCE.getCurrentThreadAllocatedBytes();
+        }
+
+        /**
+         * @return a recorder for operations that have a category, so that they are timed even when
+         *         perf metrics are not being collected; null for other operations
+         */
+        public MetricRecorder startRecord(String name) {
+            return METRIC_CATEGORIES.containsKey(name) ? new MetricRecorder(name) : null;
+        }
+
+        public void endRecord(MetricRecorder recorder) {
+            if (recorder != null) {
+                Category category = METRIC_CATEGORIES.get(recorder.getName());
+
+                if (category != null) {
+                    categoryNanos[category.ordinal()] += recorder.getElapsedTimeNanos();
+                    categoryCounts[category.ordinal()]++;
+                }
+            }
+        }
+
+        private Map<String, Object> toMap(long elapsedNanos) {
+            Map<String, Object> ret       = new LinkedHashMap<>();
+            Map<String, Object> breakdown = new LinkedHashMap<>();
+
+            for (Category category : Category.values()) {
+                int count = categoryCounts[category.ordinal()];
+
+                if (count > 0) {
+                    Map<String, Object> entry = new LinkedHashMap<>();
+
+                    entry.put("count", count);
+                    entry.put("timeMs", categoryNanos[category.ordinal()] / NANOS_PER_MILLI);
+
+                    breakdown.put(category.getDisplayName(), entry);
+                }
+            }
+
+            ret.put("timestamp", timestamp);
+            ret.put("kind", kind);
+            ret.put("operation", operation);
+            ret.put("user", user);
+            ret.put("durationMs", TimeUnit.NANOSECONDS.toMillis(elapsedNanos));
+            ret.put("breakdown", breakdown);
+            ret.put("vertexCount", vertexCount);
+            ret.put("edgeCount", edgeCount);
+
+            if (startAllocatedBytes >= 0) {
+                long allocatedBytes = AllocationCounter.INSTANCE.getCurrentThreadAllocatedBytes();
+
+                if (allocatedBytes >= 0) {
+                    ret.put("allocatedBytes", allocatedBytes - startAllocatedBytes);
+                }
+            }
+
+            return Collections.unmodifiableMap(ret);
+        }
+    }
+
+    /**
+     * Bytes allocated by the current thread, on JVMs that support com.sun.management.ThreadMXBean.
+     */
+    private static class AllocationCounter {
+        static final AllocationCounter INSTANCE = new AllocationCounter();
+
+        private final com.sun.management.ThreadMXBean threadMXBean;
+
+        AllocationCounter() {
+            com.sun.management.ThreadMXBean bean = null;
+
+            try {
+                java.lang.management.ThreadMXBean threadBean = ManagementFactory.getThreadMXBean();
+
+                if (threadBean instanceof com.sun.management.ThreadMXBean) {
+                    bean = (com.sun.management.ThreadMXBean) threadBean;
+
+                    if (!bean.isThreadAllocatedMemorySupported()) {
+                        bean = null;
+                    } else if (!bean.isThreadAllocatedMemoryEnabled()) {
+                        bean.setThreadAllocatedMemoryEnabled(true);
+                    }
+                }
+            } catch (Throwable t) {
+                LOG.info("thread allocation tracking is not available", t);
+
+                bean = null;
+            }
+
+            this.threadMXBean = bean;
+        }
+
+        long getCurrentThreadAllocatedBytes() {
+            return threadMXBean != null ? threadMXBean.getThreadAllocatedBytes(Thread.currentThread().getId()) : -1;
+        }
+    }
+
+    private static class InstanceHolder {
+        private static final AtlasRequestProfiler INSTANCE = createInstance();
+
+        private static AtlasRequestProfiler createInstance() {
+            AtlasRequestProfiler ret = new AtlasRequestProfiler(AtlasConfiguration.METRICS_PROFILER_ENABLED.getBoolean(),
+                                                                AtlasConfiguration.METRICS_PROFILER_THRESHOLD_MS.getLong(),
+                                                                AtlasConfiguration.METRICS_PROFILER_BUFFER_SIZE.getInt());
+
+            if (ret.isEnabled()) {
+                LOG.info("Request profiler enabled: thresholdMs={}, bufferSize={}", ret.thresholdMs, ret.bufferSize);
+            }
+
+            return ret;
+        }
+    }
+}
@@ -0,0 +1,126 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.atlas.utils;
+
+import org.apache.atlas.utils.AtlasPerfMetrics.MetricRecorder;
+import org.testng.annotations.Test;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertNotNull;
+import static org.testng.Assert.assertNull;
+import static org.testng.Assert.assertTrue;
+
+public class AtlasLatencyMetricsTest {
+    @Test
+    public void testPercentiles() {
+        AtlasLatencyMetrics latencyMetrics = new AtlasLatencyMetrics(true, 100, 60000, 6, 10);
+
+        for (int i = 1; i <= 1000; i++) {
+            latencyMetrics.record("graphCommit", TimeUnit.MILLISECONDS.toNanos(i));
+        }
+
+        Map<String, Object> metric = getMetric(latencyMetrics, "graphCommit");
+
+        assertEquals(metric.get("count"), 1000L);
+        assertEquals((Double) metric.get("p50Ms"), 500d, 5d);
+        assertEquals((Double) metric.get("p99Ms"), 990d, 10d);
+        assertEquals((Double) metric.get("maxMs"), 1000d, 10d);
+    }
+
+    @Test
+    public void testRollingWindow() {
+        AtlasLatencyMetrics latencyMetrics = new AtlasLatencyMetrics(true, 100, 60000, 3, 10);
+
+        latencyMetrics.record("entityAudit", 1000);
+        latencyMetrics.rotate();
+        latencyMetrics.record("entityAudit", 2000);
+
+        assertEquals(getMetric(latencyMetrics, "entityAudit").get("count"), 2L);
+
+        latencyMetrics.rotate();
+        latencyMetrics.rotate();
+
+        Map<String, Object> metric = getMetric(latencyMetrics, "entityAudit");
+
+        assertEquals(metric.get("count"), 1L);
+        assertEquals(metric.get("totalCount"), 2L);
+
+        latencyMetrics.rotate();
+
+        assertEquals(getMetric(latencyMetrics, "entityAudit").get("count"), 0L);
+    }
+
+    @Test
+    public void testSampling() {
+        AtlasLatencyMetrics none = new AtlasLatencyMetrics(true, 0, 60000, 6, 10);
+        AtlasLatencyMetrics all  = new AtlasLatencyMetrics(true, 100, 60000, 6, 10);
+        AtlasLatencyMetrics off  = new AtlasLatencyMetrics(false, 100, 60000, 6, 10);
+
+        assertNull(none.startRecord("indexQuery"));
+        assertNull(off.startRecord("indexQuery"));
+
+        MetricRecorder recorder = all.startRecord("indexQuery");
+
+        assertNotNull(recorder);
+
+        all.endRecord(recorder);
+
+        assertEquals(getMetric(all, "indexQuery").get("count"), 1L);
+
+        off.record("indexQuery", 1000);
+
+        assertTrue(((Map) off.getMetrics().get("metrics")).isEmpty());
+    }
+
+    @Test
+    public void testMaxNames() {
+        AtlasLatencyMetrics latencyMetrics = new AtlasLatencyMetrics(true, 100, 60000, 6, 2);
+
+        latencyMetrics.record("a", 1000);
+        latencyMetrics.record("b", 1000);
+        latencyMetrics.record("c", 1000);
+        latencyMetrics.record("a", 1000);
+
+        Map<String, Object> metrics = latencyMetrics.getMetrics();
+
+        assertEquals(((Map) metrics.get("metrics")).size(), 2);
+        assertEquals(metrics.get("droppedRecords"), 1L);
+    }
+
+    @Test
+    public void testPrometheusFormat() {
+        AtlasLatencyMetrics latencyMetrics = new AtlasLatencyMetrics(true, 100, 60000, 6, 10);
+
+        latencyMetrics.record("kafka\"Commit", TimeUnit.MILLISECONDS.toNanos(20));
+
+        String text = latencyMetrics.toPrometheus();
+
+        assertTrue(text.contains("# TYPE atlas_operation_latency_seconds summary"));
+        assertTrue(text.contains("atlas_operation_latency_seconds{operation=\"kafka\\\"Commit\",quantile=\"0.99\"} 0.02"));
+        assertTrue(text.contains("atlas_operation_latency_seconds_count{operation=\"kafka\\\"Commit\"} 1"));
+        assertFalse(text.contains("NaN"));
+    }
+
+    private static Map<String, Object> getMetric(AtlasLatencyMetrics latencyMetrics, String name) {
+        return (Map<String, Object>) ((Map) latencyMetrics.getMetrics().get("metrics")).get(name);
+    }
+}
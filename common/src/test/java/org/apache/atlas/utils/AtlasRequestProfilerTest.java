@@ -0,0 +1,115 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.atlas.utils;
+
+import org.apache.atlas.utils.AtlasPerfMetrics.MetricRecorder;
+import org.apache.atlas.utils.AtlasRequestProfiler.Capture;
+import org.testng.annotations.Test;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNotNull;
+import static org.testng.Assert.assertNull;
+import static org.testng.Assert.assertTrue;
+
+public class AtlasRequestProfilerTest {
+    @Test
+    public void testProfileCapture() {
+        AtlasRequestProfiler profiler = new AtlasRequestProfiler(true, 0, 10);
+        Capture              capture  = profiler.start(AtlasRequestProfiler.KIND_REST, "POST /api/atlas/v2/entity", "admin");
+
+        assertNotNull(capture);
+        assertEquals(AtlasRequestProfiler.getCurrentCapture(), capture);
+        assertNull(profiler.start(AtlasRequestProfiler.KIND_REST, "GET /api/atlas/v2/entity", "admin"));
+
+        MetricRecorder audit = capture.startRecord("entityAudit");
+
+        assertNotNull(audit);
+        assertNull(capture.startRecord("walkEntityGraph"));
+
+        capture.endRecord(audit);
+        capture.endRecord(capture.startRecord("graphCommit"));
+
+        AtlasRequestProfiler.recordVertexTouched();
+        AtlasRequestProfiler.recordVertexTouched();
+        AtlasRequestProfiler.recordEdgeTouched();
+
+        profiler.complete(capture);
+
+        assertNull(AtlasRequestProfiler.getCurrentCapture());
+
+        List<Map<String, Object>> profiles = profiler.getProfiles(null, 0, 10);
+
+        assertEquals(profiles.size(), 1);
+
+        Map<String, Object> profile   = profiles.get(0);
+        Map<String, Object> breakdown = (Map<String, Object>) profile.get("breakdown");
+
+        assertEquals(profile.get("kind"), AtlasRequestProfiler.KIND_REST);
+        assertEquals(profile.get("operation"), "POST /api/atlas/v2/entity");
+        assertEquals(profile.get("user"), "admin");
+        assertEquals(profile.get("vertexCount"), 2L);
+        assertEquals(profile.get("edgeCount"), 1L);
+        assertEquals(breakdown.keySet().toString(), "[graphWrite, audit]");
+        assertEquals(((Map<String, Object>) breakdown.get("audit")).get("count"), 1);
+    }
+
+    @Test
+    public void testThreshold() {
+        AtlasRequestProfiler profiler = new AtlasRequestProfiler(true, 60000, 10);
+
+        profiler.complete(profiler.start(AtlasRequestProfiler.KIND_REST, "GET /api/atlas/v2/types/typedefs", "admin"));
+
+        assertTrue(profiler.getProfiles(null, 0, 10).isEmpty());
+        assertNull(AtlasRequestProfiler.getCurrentCapture());
+    }
+
+    @Test
+    public void testRingBuffer() {
+        AtlasRequestProfiler profiler = new AtlasRequestProfiler(true, 0, 3);
+
+        for (int i = 0; i < 5; i++) {
+            String kind = (i % 2 == 0) ? AtlasRequestProfiler.KIND_NOTIFICATION : AtlasRequestProfiler.KIND_REST;
+
+            profiler.complete(profiler.start(kind, "op" + i, "admin"));
+        }
+
+        List<Map<String, Object>> profiles = profiler.getProfiles(null, 0, 10);
+
+        assertEquals(profiles.size(), 3);
+        assertEquals(profiles.get(0).get("operation"), "op4");
+        assertEquals(profiles.get(2).get("operation"), "op2");
+
+        assertEquals(profiler.getProfiles(AtlasRequestProfiler.KIND_NOTIFICATION, 0, 10).size(), 2);
+        assertEquals(profiler.getProfiles(null, 0, 1).size(), 1);
+        assertTrue(profiler.getProfiles(null, 60000, 10).isEmpty());
+    }
+
+    @Test
+    public void testDisabled() {
+        AtlasRequestProfiler profiler = new AtlasRequestProfiler(false, 0, 10);
+
+        assertNull(profiler.start(AtlasRequestProfiler.KIND_REST, "GET /api/atlas/admin/status", "admin"));
+
+        profiler.complete(null);
+
+        assertTrue(profiler.getProfiles(null, 0, 10).isEmpty());
+    }
+}
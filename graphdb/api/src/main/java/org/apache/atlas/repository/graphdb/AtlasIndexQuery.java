@@ -53,6 +53,15 @@ public interface AtlasIndexQuery<V, E> {
      */
     Iterator<Result<V, E>> vertices(int offset, int limit);
 
+    /**
+     * Gets the query results that follow the result with the given cursor. Unlike vertices(offset, limit), the
+     * index doesn't have to skip over the preceding results, so reading a deep page costs the same as the first one.
+     * @param cursor cursor of the last result read, from Result.getCursor(); null to read from the first result
+     * @param limit max number of results
+     * @return null if the index backend doesn't support cursors for this query - cursors are supported only with Solr
+     */
+    Iterator<Result<V, E>> verticesAfter(String cursor, int limit);
+
     /**
      * Gets the total count of query results
      * @return
@@ -78,6 +87,10 @@ public interface AtlasIndexQuery<V, E> {
          */
         double getScore();
 
+        /**
+         * Gets the cursor to read the results that follow this result, with verticesAfter().
+         */
+        String getCursor();
     }
 
 }
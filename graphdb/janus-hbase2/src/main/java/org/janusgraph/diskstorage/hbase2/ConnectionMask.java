@@ -52,4 +52,12 @@ public interface ConnectionMask extends Closeable
      * @throws IOException in the case of backend exceptions.
      */
     List<HRegionLocation> getRegionLocations(String tablename) throws IOException;
+
+    /**
+     * Retrieve the RegionLocation hosting each of the supplied rows of the named table.
+     * Locations are served from the connection's region cache where possible.
+     * @return A list of HRegionLocation, in the same order as the supplied rows.
+     * @throws IOException in the case of backend exceptions.
+     */
+    List<HRegionLocation> getRegionLocations(String tablename, List<byte[]> rows) throws IOException;
 }
@@ -14,10 +14,13 @@
 
 package org.janusgraph.diskstorage.hbase2;
 
+import com.codahale.metrics.Timer;
 import com.google.common.base.Preconditions;
 import com.google.common.collect.ImmutableMap;
 import com.google.common.collect.Iterables;
 import com.google.common.collect.Iterators;
+import org.apache.hadoop.hbase.HRegionLocation;
+import org.apache.hadoop.hbase.ServerName;
 import org.apache.hadoop.hbase.client.Get;
 import org.apache.hadoop.hbase.client.Result;
 import org.apache.hadoop.hbase.client.ResultScanner;
@@ -46,6 +49,7 @@ import org.janusgraph.diskstorage.util.RecordIterator;
 import org.janusgraph.diskstorage.util.StaticArrayBuffer;
 import org.janusgraph.diskstorage.util.StaticArrayEntry;
 import org.janusgraph.diskstorage.util.StaticArrayEntryList;
+import org.janusgraph.util.stats.MetricManager;
 import org.janusgraph.util.system.IOUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -58,9 +62,13 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.HashMap;
 import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.NavigableMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
 
 /**
  * Here are some areas that might need work:
@@ -93,6 +101,12 @@ public class HBaseKeyColumnValueStore implements KeyColumnValueStore {
 
     private final ConnectionMask cnx;
 
+    // read latency timers per call type; null when read metrics are disabled
+    private final Timer sliceTimer;
+    private final Timer multiSliceTimer;
+    private final Timer multiSliceBatchTimer;
+    private final Timer keysTimer;
+
     HBaseKeyColumnValueStore(HBaseStoreManager storeManager, ConnectionMask cnx, String tableName, String columnFamily, String storeName) {
         this.storeManager = storeManager;
         this.cnx = cnx;
@@ -101,6 +115,20 @@ public class HBaseKeyColumnValueStore implements KeyColumnValueStore {
         this.storeName = storeName;
         this.columnFamilyBytes = Bytes.toBytes(columnFamily);
         this.entryGetter = new HBaseGetter(storeManager.getMetaDataSchema(storeName));
+
+        String metricsPrefix = storeManager.getReadMetricsPrefix();
+
+        if (metricsPrefix != null) {
+            this.sliceTimer           = MetricManager.INSTANCE.getTimer(metricsPrefix, "hbase", storeName, "getSlice");
+            this.multiSliceTimer      = MetricManager.INSTANCE.getTimer(metricsPrefix, "hbase", storeName, "getMultiSlice");
+            this.multiSliceBatchTimer = MetricManager.INSTANCE.getTimer(metricsPrefix, "hbase", storeName, "getMultiSliceBatch");
+            this.keysTimer            = MetricManager.INSTANCE.getTimer(metricsPrefix, "hbase", storeName, "getKeys");
+        } else {
+            this.sliceTimer           = null;
+            this.multiSliceTimer      = null;
+            this.multiSliceBatchTimer = null;
+            this.keysTimer            = null;
+        }
     }
 
     @Override
@@ -109,13 +137,31 @@ public class HBaseKeyColumnValueStore implements KeyColumnValueStore {
 
     @Override
     public EntryList getSlice(KeySliceQuery query, StoreTransaction txh) throws BackendException {
-        Map<StaticBuffer, EntryList> result = getHelper(Arrays.asList(query.getKey()), getFilter(query));
-        return Iterables.getOnlyElement(result.values(), EntryList.EMPTY_LIST);
+        final Timer.Context timer = startTimer(sliceTimer);
+
+        try {
+            Map<StaticBuffer, EntryList> result = getHelper(Arrays.asList(query.getKey()), getFilter(query));
+            return Iterables.getOnlyElement(result.values(), EntryList.EMPTY_LIST);
+        } finally {
+            stopTimer(timer);
+        }
     }
 
     @Override
     public Map<StaticBuffer,EntryList> getSlice(List<StaticBuffer> keys, SliceQuery query, StoreTransaction txh) throws BackendException {
-        return getHelper(keys, getFilter(query));
+        final Timer.Context timer = startTimer(multiSliceTimer);
+
+        try {
+            final ExecutorService executor = storeManager.getMultiGetExecutor();
+
+            if (executor == null || keys.size() <= storeManager.getMultiGetBatchSize()) {
+                return getHelper(keys, getFilter(query));
+            }
+
+            return getParallelHelper(executor, keys, getFilter(query));
+        } finally {
+            stopTimer(timer);
+        }
     }
 
     @Override
@@ -134,10 +180,16 @@ public class HBaseKeyColumnValueStore implements KeyColumnValueStore {
 
     @Override
     public KeyIterator getKeys(KeyRangeQuery query, StoreTransaction txh) throws BackendException {
-        return executeKeySliceQuery(query.getKeyStart().as(StaticBuffer.ARRAY_FACTORY),
-                query.getKeyEnd().as(StaticBuffer.ARRAY_FACTORY),
-                new FilterList(FilterList.Operator.MUST_PASS_ALL),
-                query);
+        final Timer.Context timer = startTimer(keysTimer);
+
+        try {
+            return executeKeySliceQuery(query.getKeyStart().as(StaticBuffer.ARRAY_FACTORY),
+                    query.getKeyEnd().as(StaticBuffer.ARRAY_FACTORY),
+                    new FilterList(FilterList.Operator.MUST_PASS_ALL),
+                    query);
+        } finally {
+            stopTimer(timer);
+        }
     }
 
     @Override
@@ -147,7 +199,13 @@ public class HBaseKeyColumnValueStore implements KeyColumnValueStore {
 
     @Override
     public KeyIterator getKeys(SliceQuery query, StoreTransaction txh) throws BackendException {
-        return executeKeySliceQuery(new FilterList(FilterList.Operator.MUST_PASS_ALL), query);
+        final Timer.Context timer = startTimer(keysTimer);
+
+        try {
+            return executeKeySliceQuery(new FilterList(FilterList.Operator.MUST_PASS_ALL), query);
+        } finally {
+            stopTimer(timer);
+        }
     }
 
     public static Filter getFilter(SliceQuery query) {
@@ -167,6 +225,106 @@ public class HBaseKeyColumnValueStore implements KeyColumnValueStore {
         return filter;
     }
 
+    /**
+     * Splits the keys into batches of keys hosted by the same region server, each holding at most
+     * storage.hbase.multiget-batch-size keys, and executes the batches concurrently.
+     */
+    private Map<StaticBuffer,EntryList> getParallelHelper(ExecutorService executor, List<StaticBuffer> keys, Filter getFilter) throws BackendException {
+        List<List<StaticBuffer>> batches = getBatchesByRegionServer(keys);
+
+        if (batches.size() == 1) {
+            return getHelper(batches.get(0), getFilter);
+        }
+
+        List<Future<Map<StaticBuffer,EntryList>>> futures = new ArrayList<>(batches.size());
+
+        try {
+            for (List<StaticBuffer> batch : batches) {
+                futures.add(executor.submit(() -> {
+                    final Timer.Context timer = startTimer(multiSliceBatchTimer);
+
+                    try {
+                        return getHelper(batch, getFilter);
+                    } finally {
+                        stopTimer(timer);
+                    }
+                }));
+            }
+
+            Map<StaticBuffer,EntryList> resultMap = new HashMap<>(keys.size());
+
+            for (Future<Map<StaticBuffer,EntryList>> future : futures) {
+                resultMap.putAll(future.get());
+            }
+
+            return resultMap;
+        } catch (InterruptedException e) {
+            // added to support traversal interruption
+            Thread.currentThread().interrupt();
+            throw new PermanentBackendException(e);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+
+            if (cause instanceof BackendException) {
+                throw (BackendException) cause;
+            }
+
+            throw new TemporaryBackendException(cause);
+        } finally {
+            for (Future<Map<StaticBuffer,EntryList>> future : futures) {
+                future.cancel(true);
+            }
+        }
+    }
+
+    private List<List<StaticBuffer>> getBatchesByRegionServer(List<StaticBuffer> keys) {
+        final int                                 batchSize      = storeManager.getMultiGetBatchSize();
+        final Map<ServerName, List<StaticBuffer>> keysByServer   = new LinkedHashMap<>();
+        final List<byte[]>                        rows           = new ArrayList<>(keys.size());
+
+        for (StaticBuffer key : keys) {
+            rows.add(key.as(StaticBuffer.ARRAY_FACTORY));
+        }
+
+        try {
+            List<HRegionLocation> locations = cnx.getRegionLocations(tableName, rows);
+
+            for (int i = 0; i < keys.size(); i++) {
+                HRegionLocation location = locations.get(i);
+                ServerName      server   = location != null ? location.getServerName() : null;
+
+                keysByServer.computeIfAbsent(server, k -> new ArrayList<>()).add(keys.get(i));
+            }
+        } catch (IOException e) {
+            logger.warn("Failed to locate regions of table {}; splitting {} keys without region affinity", tableName, keys.size(), e);
+
+            keysByServer.clear();
+            keysByServer.put(null, keys);
+        }
+
+        List<List<StaticBuffer>> ret = new ArrayList<>();
+
+        for (List<StaticBuffer> serverKeys : keysByServer.values()) {
+            for (int i = 0; i < serverKeys.size(); i += batchSize) {
+                ret.add(serverKeys.subList(i, Math.min(i + batchSize, serverKeys.size())));
+            }
+        }
+
+        logger.debug("Split {} keys into {} batches across {} region servers", keys.size(), ret.size(), keysByServer.size());
+
+        return ret;
+    }
+
+    private static Timer.Context startTimer(Timer timer) {
+        return timer != null ? timer.time() : null;
+    }
+
+    private static void stopTimer(Timer.Context timer) {
+        if (timer != null) {
+            timer.stop();
+        }
+    }
+
     private Map<StaticBuffer,EntryList> getHelper(List<StaticBuffer> keys, Filter getFilter) throws BackendException {
         List<Get> requests = new ArrayList<Get>(keys.size());
         {
@@ -21,6 +21,7 @@ import com.google.common.collect.BiMap;
 import com.google.common.collect.ImmutableBiMap;
 import com.google.common.collect.ImmutableMap;
 import com.google.common.collect.Sets;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
 import org.apache.hadoop.hbase.HBaseConfiguration;
 import org.apache.hadoop.hbase.HRegionInfo;
 import org.apache.hadoop.hbase.HRegionLocation;
@@ -80,6 +81,10 @@ import java.util.List;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
 
 import static org.janusgraph.diskstorage.Backend.EDGESTORE_NAME;
 import static org.janusgraph.diskstorage.Backend.INDEXSTORE_NAME;
@@ -89,6 +94,7 @@ import static org.janusgraph.diskstorage.Backend.SYSTEM_TX_LOG_NAME;
 import static org.janusgraph.graphdb.configuration.GraphDatabaseConfiguration.DROP_ON_CLEAR;
 import static org.janusgraph.graphdb.configuration.GraphDatabaseConfiguration.GRAPH_NAME;
 import static org.janusgraph.graphdb.configuration.GraphDatabaseConfiguration.IDS_STORE_NAME;
+import static org.janusgraph.graphdb.configuration.GraphDatabaseConfiguration.METRICS_PREFIX;
 import static org.janusgraph.graphdb.configuration.GraphDatabaseConfiguration.SYSTEM_PROPERTIES_STORE_NAME;
 
 /**
@@ -223,6 +229,34 @@ public class HBaseStoreManager extends DistributedStoreManager implements KeyCol
             "at runtime.  Setting this option forces JanusGraph to instead reflectively load and instantiate the specified class.",
             ConfigOption.Type.MASKABLE, String.class);
 
+    /**
+     * Number of threads used to run multi-key slice requests concurrently. When set to 0 (the default),
+     * multi-key slice requests are sent to HBase as a single batch from the calling thread.
+     */
+    public static final ConfigOption<Integer> MULTIGET_THREADS =
+            new ConfigOption<>(HBASE_NS, "multiget-threads",
+            "The number of threads used to execute multi-key slice requests in parallel. Keys are grouped by the " +
+            "region server hosting them and each group is split into batches of at most " +
+            "storage.hbase.multiget-batch-size keys. Set to 0 to send all keys as a single batch from the calling thread.",
+            ConfigOption.Type.MASKABLE, 0, ConfigOption.nonnegativeInt());
+
+    public static final ConfigOption<Integer> MULTIGET_BATCH_SIZE =
+            new ConfigOption<>(HBASE_NS, "multiget-batch-size",
+            "The maximum number of keys sent to HBase in a single get batch when multi-key slice requests " +
+            "are executed in parallel. Requests with fewer keys are executed from the calling thread.",
+            ConfigOption.Type.MASKABLE, 100, ConfigOption.positiveInt());
+
+    public static final ConfigOption<Integer> MULTIGET_QUEUE_SIZE =
+            new ConfigOption<>(HBASE_NS, "multiget-queue-size",
+            "The maximum number of get batches waiting for a multiget thread. When the queue is full, " +
+            "batches are executed from the calling thread.",
+            ConfigOption.Type.MASKABLE, 1000, ConfigOption.positiveInt());
+
+    public static final ConfigOption<Boolean> READ_METRICS =
+            new ConfigOption<>(HBASE_NS, "read-metrics",
+            "Whether to record read latency timers, per store and call type, in JanusGraph's metric registry.",
+            ConfigOption.Type.MASKABLE, true);
+
     public static final int PORT_DEFAULT = 9160;
 
     public static final TimestampProviders PREFERRED_TIMESTAMPS = TimestampProviders.MICRO;
@@ -244,6 +278,9 @@ public class HBaseStoreManager extends DistributedStoreManager implements KeyCol
     private final boolean skipSchemaCheck;
     private final String compatClass;
     private final HBaseCompat compat;
+    private final int multiGetBatchSize;
+    private final ExecutorService multiGetExecutor;
+    private final String readMetricsPrefix;
     // Cached return value of getDeployment() as requesting it can be expensive.
     private Deployment deployment = null;
 
@@ -270,6 +307,22 @@ public class HBaseStoreManager extends DistributedStoreManager implements KeyCol
         this.skipSchemaCheck = config.get(SKIP_SCHEMA_CHECK);
         this.compatClass = config.has(COMPAT_CLASS) ? config.get(COMPAT_CLASS) : null;
         this.compat = HBaseCompatLoader.getCompat(compatClass);
+        this.multiGetBatchSize = config.get(MULTIGET_BATCH_SIZE);
+        this.readMetricsPrefix = config.get(READ_METRICS) ? config.get(METRICS_PREFIX) : null;
+
+        int multiGetThreads = config.get(MULTIGET_THREADS);
+
+        if (multiGetThreads > 0) {
+            // bounded pool; when the queue is full, or the pool has been shut down, the caller executes the batch itself
+            this.multiGetExecutor = new ThreadPoolExecutor(multiGetThreads, multiGetThreads, 60, TimeUnit.SECONDS,
+                                                           new LinkedBlockingQueue<>(config.get(MULTIGET_QUEUE_SIZE)),
+                                                           new ThreadFactoryBuilder().setNameFormat("hbase-multiget-%d").setDaemon(true).build(),
+                                                           (task, executor) -> task.run());
+
+            logger.info("HBase parallel multiget enabled: threads={}, batchSize={}", multiGetThreads, multiGetBatchSize);
+        } else {
+            this.multiGetExecutor = null;
+        }
 
         /*
          * Specifying both region count options is permitted but may be
@@ -379,9 +432,29 @@ public class HBaseStoreManager extends DistributedStoreManager implements KeyCol
         openStores.clear();
         if (logger.isTraceEnabled())
             openManagers.remove(this);
+        if (multiGetExecutor != null)
+            multiGetExecutor.shutdownNow();
         IOUtils.closeQuietly(cnx);
     }
 
+    /**
+     * @return executor used to run multi-key slice batches in parallel; null when parallel multiget is disabled
+     */
+    ExecutorService getMultiGetExecutor() {
+        return multiGetExecutor;
+    }
+
+    int getMultiGetBatchSize() {
+        return multiGetBatchSize;
+    }
+
+    /**
+     * @return prefix for read latency metrics; null when read metrics are disabled
+     */
+    String getReadMetricsPrefix() {
+        return readMetricsPrefix;
+    }
+
     @Override
     public StoreFeatures getFeatures() {
 
@@ -17,8 +17,10 @@ package org.janusgraph.diskstorage.hbase2;
 import org.apache.hadoop.hbase.HRegionLocation;
 import org.apache.hadoop.hbase.TableName;
 import org.apache.hadoop.hbase.client.Connection;
+import org.apache.hadoop.hbase.client.RegionLocator;
 
 import java.io.IOException;
+import java.util.ArrayList;
 import java.util.List;
 
 public class HConnection2_0 implements ConnectionMask
@@ -55,4 +57,19 @@ public class HConnection2_0 implements ConnectionMask
     {
         return this.cnx.getRegionLocator(TableName.valueOf(tableName)).getAllRegionLocations();
     }
+
+    @Override
+    public List<HRegionLocation> getRegionLocations(String tableName, List<byte[]> rows)
+        throws IOException
+    {
+        List<HRegionLocation> ret = new ArrayList<>(rows.size());
+
+        try (RegionLocator locator = this.cnx.getRegionLocator(TableName.valueOf(tableName))) {
+            for (byte[] row : rows) {
+                ret.add(locator.getRegionLocation(row));
+            }
+        }
+
+        return ret;
+    }
 }
@@ -0,0 +1,201 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.janusgraph.diskstorage.hbase2;
+
+import org.apache.hadoop.hbase.Cell;
+import org.apache.hadoop.hbase.HRegionLocation;
+import org.apache.hadoop.hbase.KeyValue;
+import org.apache.hadoop.hbase.ServerName;
+import org.apache.hadoop.hbase.client.Get;
+import org.apache.hadoop.hbase.client.Result;
+import org.apache.hadoop.hbase.util.Bytes;
+import org.janusgraph.diskstorage.EntryList;
+import org.janusgraph.diskstorage.EntryMetaData;
+import org.janusgraph.diskstorage.StaticBuffer;
+import org.janusgraph.diskstorage.TemporaryBackendException;
+import org.janusgraph.diskstorage.keycolumnvalue.SliceQuery;
+import org.janusgraph.diskstorage.util.StaticArrayBuffer;
+import org.mockito.invocation.InvocationOnMock;
+import org.mockito.stubbing.Answer;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.mockito.Matchers.anyList;
+import static org.mockito.Matchers.anyString;
+import static org.mockito.Matchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertTrue;
+import static org.testng.Assert.fail;
+
+public class HBaseKeyColumnValueStoreTest {
+    private static final String TABLE_NAME    = "janusgraph";
+    private static final String COLUMN_FAMILY = "e";
+    private static final byte[] COLUMN        = Bytes.toBytes("c");
+    private static final int    KEY_COUNT     = 10;
+    private static final int    BATCH_SIZE    = 2;
+
+    private static final ServerName SERVER_1 = ServerName.valueOf("rs1.example.com", 16020, 1L);
+    private static final ServerName SERVER_2 = ServerName.valueOf("rs2.example.com", 16020, 1L);
+
+    private ExecutorService             executor;
+    private ConnectionMask              cnx;
+    private HBaseKeyColumnValueStore    store;
+    private List<List<byte[]>>          requestedBatches;
+    private Set<Byte>                   failingKeys;
+
+    @BeforeMethod
+    public void setUp() throws Exception {
+        executor         = Executors.newFixedThreadPool(4);
+        cnx              = mock(ConnectionMask.class);
+        requestedBatches = Collections.synchronizedList(new ArrayList<>());
+        failingKeys      = new HashSet<>();
+
+        HBaseStoreManager storeManager = mock(HBaseStoreManager.class);
+        TableMask         table        = mock(TableMask.class);
+
+        when(storeManager.getMetaDataSchema(anyString())).thenReturn(new EntryMetaData[0]);
+        when(storeManager.getMultiGetExecutor()).thenReturn(executor);
+        when(storeManager.getMultiGetBatchSize()).thenReturn(BATCH_SIZE);
+        when(cnx.getTable(TABLE_NAME)).thenReturn(table);
+
+        // even keys are hosted on SERVER_1, odd keys on SERVER_2
+        when(cnx.getRegionLocations(eq(TABLE_NAME), anyList())).thenAnswer(new Answer<List<HRegionLocation>>() {
+            @Override
+            public List<HRegionLocation> answer(InvocationOnMock invocation) {
+                List<byte[]>          rows = (List<byte[]>) invocation.getArguments()[1];
+                List<HRegionLocation> ret  = new ArrayList<>(rows.size());
+
+                for (byte[] row : rows) {
+                    ret.add(new HRegionLocation(null, row[0] % 2 == 0 ? SERVER_1 : SERVER_2));
+                }
+
+                return ret;
+            }
+        });
+
+        // each row has a single column, with the row key as value
+        when(table.get(anyList())).thenAnswer(new Answer<Result[]>() {
+            @Override
+            public Result[] answer(InvocationOnMock invocation) throws IOException {
+                List<Get>    gets  = (List<Get>) invocation.getArguments()[0];
+                List<byte[]> rows  = new ArrayList<>(gets.size());
+                Result[]     ret   = new Result[gets.size()];
+
+                for (int i = 0; i < gets.size(); i++) {
+                    byte[] row = gets.get(i).getRow();
+
+                    if (failingKeys.contains(row[0])) {
+                        throw new IOException("region server unavailable");
+                    }
+
+                    rows.add(row);
+                    ret[i] = Result.create(new Cell[] { new KeyValue(row, Bytes.toBytes(COLUMN_FAMILY), COLUMN, 1L, row) });
+                }
+
+                requestedBatches.add(rows);
+
+                return ret;
+            }
+        });
+
+        store = new HBaseKeyColumnValueStore(storeManager, cnx, TABLE_NAME, COLUMN_FAMILY, "edgestore");
+    }
+
+    @AfterMethod
+    public void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    public void testMultiGetByRegionServer() throws Exception {
+        List<StaticBuffer>           keys   = getKeys();
+        Map<StaticBuffer, EntryList> result = store.getSlice(keys, getSliceQuery(), null);
+
+        // results of all batches are merged
+        assertEquals(result.size(), KEY_COUNT);
+
+        for (StaticBuffer key : keys) {
+            EntryList entries = result.get(key);
+
+            assertEquals(entries.size(), 1);
+            assertEquals(entries.get(0).getValue(), key);
+        }
+
+        // 5 keys on each server, in batches of at most 2 keys from a single server
+        assertEquals(requestedBatches.size(), 6);
+
+        for (List<byte[]> batch : requestedBatches) {
+            assertTrue(batch.size() <= BATCH_SIZE);
+
+            for (byte[] row : batch) {
+                assertEquals(row[0] % 2, batch.get(0)[0] % 2);
+            }
+        }
+    }
+
+    @Test
+    public void testMultiGetBatchFailure() throws Exception {
+        failingKeys.add((byte) 7);
+
+        try {
+            store.getSlice(getKeys(), getSliceQuery(), null);
+
+            fail("expected TemporaryBackendException");
+        } catch (TemporaryBackendException e) {
+            assertTrue(e.getCause() instanceof IOException);
+        }
+    }
+
+    @Test
+    public void testMultiGetWithoutRegionLocations() throws Exception {
+        when(cnx.getRegionLocations(eq(TABLE_NAME), anyList())).thenThrow(new IOException("meta unavailable"));
+
+        Map<StaticBuffer, EntryList> result = store.getSlice(getKeys(), getSliceQuery(), null);
+
+        // without region affinity, keys are still split into batches
+        assertEquals(result.size(), KEY_COUNT);
+        assertEquals(requestedBatches.size(), KEY_COUNT / BATCH_SIZE);
+    }
+
+    private List<StaticBuffer> getKeys() {
+        List<StaticBuffer> ret = new ArrayList<>(KEY_COUNT);
+
+        for (int i = 0; i < KEY_COUNT; i++) {
+            ret.add(StaticArrayBuffer.of(new byte[] { (byte) i }));
+        }
+
+        return ret;
+    }
+
+    private SliceQuery getSliceQuery() {
+        return new SliceQuery(StaticArrayBuffer.of(new byte[0]), StaticArrayBuffer.of(new byte[0]));
+    }
+}
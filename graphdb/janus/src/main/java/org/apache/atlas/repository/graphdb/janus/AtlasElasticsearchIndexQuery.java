@@ -87,6 +87,14 @@ public class AtlasElasticsearchIndexQuery implements AtlasIndexQuery<AtlasJanusV
         return runQuery(searchRequest);
     }
 
+    /**
+     * Cursors are not supported with Elasticsearch; basic search reads these results by offset.
+     */
+    @Override
+    public Iterator<Result<AtlasJanusVertex, AtlasJanusEdge>> verticesAfter(String cursor, int limit) {
+        return null;
+    }
+
     @Override
     public Long vertexTotals() {
         return searchResponse.getHits().getTotalHits().value;
@@ -109,5 +117,10 @@ public class AtlasElasticsearchIndexQuery implements AtlasIndexQuery<AtlasJanusV
         public double getScore() {
             return hit.getScore();
         }
+
+        @Override
+        public String getCursor() {
+            return null;
+        }
     }
 }
@@ -60,25 +60,35 @@ public class AtlasJanusElement<T extends Element> implements AtlasElement {
     @Override
     public <T> T getProperty(String propertyName, Class<T> clazz) {
 
+        Object propertyValue = getPropertyValue(propertyName);
+        if (propertyValue == null) {
+            return null;
+        }
+        if (AtlasEdge.class == clazz) {
+            return (T)graph.getEdge(propertyValue.toString());
+        }
+        if (AtlasVertex.class == clazz) {
+            return (T)graph.getVertex(propertyValue.toString());
+        }
+        return (T)propertyValue;
+    }
+
+    /**
+     * Gets the value of the given property, or null if the property does not exist.
+     */
+    protected Object getPropertyValue(String propertyName) {
         //add explicit logic to return null if the property does not exist
         //This is the behavior Atlas expects.  Janus throws an exception
         //in this scenario.
         Property p = getWrappedElement().property(propertyName);
-        if (p.isPresent()) {
-            Object propertyValue= p.value();
-            if (propertyValue == null) {
-                return null;
-            }
-            if (AtlasEdge.class == clazz) {
-                return (T)graph.getEdge(propertyValue.toString());
-            }
-            if (AtlasVertex.class == clazz) {
-                return (T)graph.getVertex(propertyValue.toString());
-            }
-            return (T)propertyValue;
 
-        }
-        return null;
+        return p.isPresent() ? p.value() : null;
+    }
+
+    /**
+     * Invoked before a property of this element is added, updated or removed.
+     */
+    protected void onPropertyMutation() {
     }
 
 
@@ -100,6 +110,8 @@ public class AtlasJanusElement<T extends Element> implements AtlasElement {
 
     @Override
     public void removeProperty(String propertyName) {
+        onPropertyMutation();
+
         Iterator<? extends Property<String>> it = getWrappedElement().properties(propertyName);
         while(it.hasNext()) {
             Property<String> property = it.next();
@@ -109,6 +121,8 @@ public class AtlasJanusElement<T extends Element> implements AtlasElement {
 
     @Override
     public void removePropertyValue(String propertyName, Object propertyValue) {
+        onPropertyMutation();
+
         Iterator<? extends Property<Object>> it = getWrappedElement().properties(propertyName);
 
         while (it.hasNext()) {
@@ -124,6 +138,8 @@ public class AtlasJanusElement<T extends Element> implements AtlasElement {
 
     @Override
     public void removeAllPropertyValue(String propertyName, Object propertyValue) {
+        onPropertyMutation();
+
         Iterator<? extends Property<Object>> it = getWrappedElement().properties(propertyName);
 
         while (it.hasNext()) {
@@ -138,6 +154,8 @@ public class AtlasJanusElement<T extends Element> implements AtlasElement {
 
     @Override
     public void setProperty(String propertyName, Object value) {
+        onPropertyMutation();
+
         try {
             if (value == null) {
                 Object existingVal = getProperty(propertyName, Object.class);
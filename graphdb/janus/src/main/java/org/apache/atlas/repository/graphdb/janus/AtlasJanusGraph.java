@@ -96,6 +96,7 @@ import static org.apache.atlas.type.Constants.STATE_PROPERTY_KEY;
 public class AtlasJanusGraph implements AtlasGraph<AtlasJanusVertex, AtlasJanusEdge> {
     private static final Logger LOG = LoggerFactory.getLogger(AtlasJanusGraph.class);
     private static final Parameter[] EMPTY_PARAMETER_ARRAY = new Parameter[0];
+    private static final String      SOLR_KEY_FIELD        = "id";
 
 
     private static Configuration APPLICATION_PROPERTIES = null;
@@ -104,6 +105,7 @@ public class AtlasJanusGraph implements AtlasGraph<AtlasJanusVertex, AtlasJanusE
     private final Set<String> multiProperties = new HashSet<>();
     private final StandardJanusGraph janusGraph;
     private final RestHighLevelClient esClient;
+    private final AtlasJanusVertexCache vertexCache;
     private final ThreadLocal<GremlinGroovyScriptEngine> scriptEngine = ThreadLocal.withInitial(() -> {
         DefaultImportCustomizer.Builder builder = DefaultImportCustomizer.build()
                 .addClassImports(java.util.function.Function.class)
@@ -139,6 +141,7 @@ public class AtlasJanusGraph implements AtlasGraph<AtlasJanusVertex, AtlasJanusE
 
         janusGraph = (StandardJanusGraph) graphInstance;
         this.esClient = esClient;
+        this.vertexCache = AtlasJanusGraphDatabase.getVertexCache(graphInstance);
     }
 
     @Override
@@ -206,6 +209,10 @@ public class AtlasJanusGraph implements AtlasGraph<AtlasJanusVertex, AtlasJanusE
     public void removeVertex(AtlasVertex<AtlasJanusVertex, AtlasJanusEdge> vertex) {
         Vertex wrapped = vertex.getV().getWrappedElement();
 
+        if (vertexCache != null) {
+            vertexCache.onVertexMutated(wrapped.id());
+        }
+
         wrapped.remove();
     }
 
@@ -250,11 +257,21 @@ public class AtlasJanusGraph implements AtlasGraph<AtlasJanusVertex, AtlasJanusE
     @Override
     public void commit() {
         getGraph().tx().commit();
+
+        if (vertexCache != null) {
+            vertexCache.onCommit();
+        }
     }
 
     @Override
     public void rollback() {
-        getGraph().tx().rollback();
+        try {
+            getGraph().tx().rollback();
+        } finally {
+            if (vertexCache != null) {
+                vertexCache.onRollback();
+            }
+        }
     }
 
     @Override
@@ -285,7 +302,35 @@ public class AtlasJanusGraph implements AtlasGraph<AtlasJanusVertex, AtlasJanusE
                 query = query.addParameter(new Parameter(indexQueryParameter.getParameterName(), indexQueryParameter.getParameterValue()));
             }
         }
-        return new AtlasJanusIndexQuery(this, query);
+        return new AtlasJanusIndexQuery(this, query, indexName, graphQuery, indexQueryParameterList);
+    }
+
+    /**
+     * Creates a query for the results of the given index query that follow the given cursor; null if the index backend
+     * doesn't support cursors. With Solr, results are ordered by the document key (the encoded vertex id), and the
+     * cursor is the key of the last result read. This is how Solr's cursorMark works; cursorMark itself can't be used,
+     * as JanusGraph doesn't return the next cursorMark from the Solr response.
+     */
+    JanusGraphIndexQuery indexQueryAfter(String indexName, String graphQuery, List<AtlasIndexQueryParameter> indexQueryParameterList, String cursor) {
+        initApplicationProperties();
+
+        String indexBackend = APPLICATION_PROPERTIES != null ? APPLICATION_PROPERTIES.getString(ApplicationProperties.INDEX_BACKEND_CONF) : null;
+
+        if (!ApplicationProperties.INDEX_BACKEND_SOLR.equalsIgnoreCase(indexBackend)) {
+            return null;
+        }
+
+        String queryAfter = cursor == null ? graphQuery : "(" + graphQuery + ") AND " + SOLR_KEY_FIELD + ":{\"" + cursor + "\" TO *]";
+
+        JanusGraphIndexQuery ret = getGraph().indexQuery(indexName, queryAfter).setElementIdentifier(getIndexQueryPrefix());
+
+        if (indexQueryParameterList != null) {
+            for (AtlasIndexQueryParameter indexQueryParameter : indexQueryParameterList) {
+                ret = ret.addParameter(new Parameter(indexQueryParameter.getParameterName(), indexQueryParameter.getParameterValue()));
+            }
+        }
+
+        return ret.addParameter(new Parameter("sort", SOLR_KEY_FIELD + " asc"));
     }
 
     @Override
@@ -360,6 +405,13 @@ public class AtlasJanusGraph implements AtlasGraph<AtlasJanusVertex, AtlasJanusE
         return this.janusGraph;
     }
 
+    /**
+     * @return cross-transaction vertex property cache; null if atlas.graph.vertex.cache.enabled is false
+     */
+    public AtlasJanusVertexCache getVertexCache() {
+        return vertexCache;
+    }
+
     @Override
     public void exportToGson(OutputStream os) throws IOException {
         GraphSONMapper mapper = getGraph().io(IoCore.graphson()).mapper().create();
@@ -22,6 +22,7 @@ import com.google.common.annotations.VisibleForTesting;
 import com.google.common.collect.ImmutableMap;
 import org.apache.atlas.ApplicationProperties;
 import org.apache.atlas.AtlasException;
+import org.apache.atlas.ha.HAConfiguration;
 import org.apache.atlas.repository.graphdb.AtlasGraph;
 import org.apache.atlas.repository.graphdb.GraphDatabase;
 import org.apache.atlas.repository.graphdb.janus.serializer.BigDecimalSerializer;
@@ -39,6 +40,7 @@ import org.janusgraph.core.schema.JanusGraphManagement;
 import org.janusgraph.diskstorage.StandardIndexProvider;
 import org.janusgraph.diskstorage.StandardStoreManager;
 import org.janusgraph.diskstorage.solr.Solr6Index;
+import org.janusgraph.graphdb.database.StandardJanusGraph;
 import org.janusgraph.graphdb.database.serialize.attribute.SerializableSerializer;
 import org.janusgraph.graphdb.tinkerpop.JanusGraphIoRegistry;
 import org.slf4j.Logger;
@@ -73,6 +75,7 @@ public class AtlasJanusGraphDatabase implements GraphDatabase<AtlasJanusVertex,
 
     private static volatile AtlasJanusGraph atlasGraphInstance = null;
     private static volatile JanusGraph graphInstance;
+    private static volatile AtlasJanusVertexCache vertexCache;
 
     public AtlasJanusGraphDatabase() {
         //update registry
@@ -167,6 +170,7 @@ public class AtlasJanusGraphDatabase implements GraphDatabase<AtlasJanusVertex,
                     }
 
                     graphInstance = initJanusGraph(config);
+                    vertexCache = createVertexCache(graphInstance);
                     atlasGraphInstance = new AtlasJanusGraph();
                     validateIndexBackend(config);
 
@@ -215,7 +219,33 @@ public class AtlasJanusGraphDatabase implements GraphDatabase<AtlasJanusVertex,
             graphInstance.tx().commit();
             graphInstance.close();
             graphInstance = null;
+
+            if (vertexCache != null) {
+                vertexCache.shutdown();
+
+                vertexCache = null;
+            }
+        }
+    }
+
+    private static AtlasJanusVertexCache createVertexCache(JanusGraph graph) {
+        boolean isHAEnabled;
+
+        try {
+            isHAEnabled = HAConfiguration.isHAEnabled(ApplicationProperties.get());
+        } catch (AtlasException e) {
+            throw new RuntimeException(e);
         }
+
+        return AtlasJanusVertexCache.create(((StandardJanusGraph) graph).getBackend().getUserConfiguration(), isHAEnabled);
+    }
+
+    /**
+     * @return vertex property cache shared by all AtlasJanusGraph instances wrapping the given graph;
+     * null if the cache is disabled or the graph is not the shared graph instance
+     */
+    static AtlasJanusVertexCache getVertexCache(JanusGraph graph) {
+        return graph != null && graph == graphInstance ? vertexCache : null;
     }
 
     static void validateIndexBackend(Configuration config) {
@@ -18,13 +18,16 @@
 package org.apache.atlas.repository.graphdb.janus;
 
 import java.util.Iterator;
+import java.util.List;
 
 import com.google.common.base.Preconditions;
 import org.apache.atlas.repository.graphdb.AtlasIndexQuery;
+import org.apache.atlas.repository.graphdb.AtlasIndexQueryParameter;
 import org.apache.atlas.repository.graphdb.AtlasVertex;
 
 import com.google.common.base.Function;
 import com.google.common.collect.Iterators;
+import org.apache.commons.lang.StringUtils;
 import org.apache.tinkerpop.gremlin.process.traversal.Order;
 import org.janusgraph.core.JanusGraphIndexQuery;
 import org.janusgraph.core.JanusGraphVertex;
@@ -34,12 +37,22 @@ import org.janusgraph.util.encoding.LongEncoding;
  * Janus implementation of AtlasIndexQuery.
  */
 public class AtlasJanusIndexQuery implements AtlasIndexQuery<AtlasJanusVertex, AtlasJanusEdge> {
-    private AtlasJanusGraph      graph;
-    private JanusGraphIndexQuery query;
+    private AtlasJanusGraph                graph;
+    private JanusGraphIndexQuery           query;
+    private String                         indexName;
+    private String                         queryString;
+    private List<AtlasIndexQueryParameter> queryParameters;
 
     public AtlasJanusIndexQuery(AtlasJanusGraph graph, JanusGraphIndexQuery query) {
-        this.query = query;
-        this.graph = graph;
+        this(graph, query, null, null, null);
+    }
+
+    public AtlasJanusIndexQuery(AtlasJanusGraph graph, JanusGraphIndexQuery query, String indexName, String queryString, List<AtlasIndexQueryParameter> queryParameters) {
+        this.query           = query;
+        this.graph           = graph;
+        this.indexName       = indexName;
+        this.queryString     = queryString;
+        this.queryParameters = queryParameters;
     }
 
     @Override
@@ -102,6 +115,33 @@ public class AtlasJanusIndexQuery implements AtlasIndexQuery<AtlasJanusVertex, A
         return Iterators.transform(results, function);
     }
 
+    @Override
+    public Iterator<Result<AtlasJanusVertex, AtlasJanusEdge>> verticesAfter(String cursor, int limit) {
+        Preconditions.checkArgument(limit >=0, "Index limit should be greater than or equals to 0");
+        Preconditions.checkArgument(cursor == null || StringUtils.isAlphanumeric(cursor), "Invalid index cursor");
+
+        JanusGraphIndexQuery queryAfter = queryString != null ? graph.indexQueryAfter(indexName, queryString, queryParameters, cursor) : null;
+
+        if (queryAfter == null) {
+            return null;
+        }
+
+        Iterator<JanusGraphIndexQuery.Result<JanusGraphVertex>> results = queryAfter
+                .limit(limit)
+                .vertices().iterator();
+
+        Function<JanusGraphIndexQuery.Result<JanusGraphVertex>, Result<AtlasJanusVertex, AtlasJanusEdge>> function =
+                new Function<JanusGraphIndexQuery.Result<JanusGraphVertex>, Result<AtlasJanusVertex, AtlasJanusEdge>>() {
+
+                    @Override
+                    public Result<AtlasJanusVertex, AtlasJanusEdge> apply(JanusGraphIndexQuery.Result<JanusGraphVertex> source) {
+                        return new ResultImpl(source);
+                    }
+                };
+
+        return Iterators.transform(results, function);
+    }
+
     @Override
     public Long vertexTotals() {
         return query.vertexTotals();
@@ -126,5 +166,11 @@ public class AtlasJanusIndexQuery implements AtlasIndexQuery<AtlasJanusVertex, A
         public double getScore() {
             return source.getScore();
         }
+
+        @Override
+        public String getCursor() {
+            // key of the vertex document in the index
+            return LongEncoding.encode(source.getElement().longId());
+        }
     }
 }
@@ -20,6 +20,9 @@ package org.apache.atlas.repository.graphdb.janus;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.stream.StreamSupport;
 
 import org.apache.atlas.repository.graphdb.AtlasEdge;
@@ -47,6 +50,8 @@ public class AtlasJanusVertex extends AtlasJanusElement<Vertex> implements Atlas
 
     @Override
     public <T> void addProperty(String propertyName, T value) {
+        onPropertyMutation();
+
         try {
             getWrappedElement().property(VertexProperty.Cardinality.set, propertyName, value);
         } catch(SchemaViolationException e) {
@@ -56,6 +61,8 @@ public class AtlasJanusVertex extends AtlasJanusElement<Vertex> implements Atlas
 
     @Override
     public <T> void addListProperty(String propertyName, T value) {
+        onPropertyMutation();
+
         try {
             getWrappedElement().property(VertexProperty.Cardinality.list, propertyName, value);
         } catch(SchemaViolationException e) {
@@ -108,6 +115,13 @@ public class AtlasJanusVertex extends AtlasJanusElement<Vertex> implements Atlas
 
     @Override
     public <T> Collection<T> getPropertyValues(String propertyName, Class<T> clazz) {
+        Map<String, List<Object>> cachedProperties = getCachedProperties();
+
+        if (cachedProperties != null) {
+            List<Object> values = cachedProperties.get(propertyName);
+
+            return values != null ? new ArrayList<>((Collection<T>) values) : new ArrayList<>();
+        }
 
         Collection<T> result = new ArrayList<T>();
         Iterator<VertexProperty<T>> it = getWrappedElement().properties(propertyName);
@@ -118,6 +132,45 @@ public class AtlasJanusVertex extends AtlasJanusElement<Vertex> implements Atlas
         return result;
     }
 
+    @Override
+    public Set<String> getPropertyKeys() {
+        Map<String, List<Object>> cachedProperties = getCachedProperties();
+
+        return cachedProperties != null ? cachedProperties.keySet() : super.getPropertyKeys();
+    }
+
+    @Override
+    protected Object getPropertyValue(String propertyName) {
+        Map<String, List<Object>> cachedProperties = getCachedProperties();
+
+        if (cachedProperties != null) {
+            List<Object> values = cachedProperties.get(propertyName);
+
+            if (values == null) {
+                return null;
+            } else if (values.size() == 1) {
+                return values.get(0);
+            }
+        }
+
+        return super.getPropertyValue(propertyName);
+    }
+
+    @Override
+    protected void onPropertyMutation() {
+        AtlasJanusVertexCache vertexCache = graph.getVertexCache();
+
+        if (vertexCache != null) {
+            vertexCache.onVertexMutated(getWrappedElement().id());
+        }
+    }
+
+    private Map<String, List<Object>> getCachedProperties() {
+        AtlasJanusVertexCache vertexCache = graph.getVertexCache();
+
+        return vertexCache != null ? vertexCache.getProperties(getWrappedElement()) : null;
+    }
+
     @Override
     public AtlasVertexQuery<AtlasJanusVertex, AtlasJanusEdge> query() {
 
@@ -0,0 +1,275 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.atlas.repository.graphdb.janus;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheStats;
+import com.google.common.cache.RemovalNotification;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import org.apache.atlas.AtlasConfiguration;
+import org.apache.tinkerpop.gremlin.structure.Vertex;
+import org.apache.tinkerpop.gremlin.structure.VertexProperty;
+import org.janusgraph.diskstorage.configuration.backend.KCVSConfiguration;
+import org.janusgraph.graphdb.internal.InternalVertex;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Read-through cache of vertex properties, shared across graph transactions and keyed by vertex id.
+ *
+ * Vertices that are new or modified in the current transaction are always read from the transaction. Ids of vertices
+ * mutated through AtlasJanusVertex are tracked per thread and invalidated when the transaction commits.
+ *
+ * A transaction can hold properties it read before another transaction's commit invalidated them; hence properties
+ * loaded on a cache miss are cached only if the vertex was not invalidated after the loading transaction started.
+ * Invalidations are numbered by a counter: each vertex records the count of its last invalidation, and each thread
+ * records the count when its previous transaction ended, which precedes the start of its current transaction.
+ *
+ * In HA deployments a version stamp is kept in the graph's user configuration store: an instance that committed
+ * mutations publishes a new stamp, and every instance clears its cache when it observes a stamp published by another.
+ */
+public class AtlasJanusVertexCache {
+    private static final Logger LOG = LoggerFactory.getLogger(AtlasJanusVertexCache.class);
+
+    static final String CLUSTER_VERSION_KEY = "atlas.graph.vertex.cache.version";
+
+    private final Cache<Object, Map<String, List<Object>>> cache;
+    private final Cache<Object, Long>                      invalidatedAt;          // vertex id -> count of its last invalidation
+    private final AtomicLong                               invalidatedAtWatermark = new AtomicLong(); // count of the last invalidation dropped from invalidatedAt
+    private final ThreadLocal<Long>                        txStartInvalidations   = ThreadLocal.withInitial(() -> 0L); // count at the end of the previous transaction of the thread
+    private final ThreadLocal<Set<Object>>                 mutatedVertexIds       = ThreadLocal.withInitial(HashSet::new);
+    private final AtomicLong                               invalidations          = new AtomicLong();
+    private final AtomicLong                               mutatingCommits        = new AtomicLong();
+    private final ScheduledExecutorService                 versionChecker;
+    private volatile String                                clusterVersion;
+    private long                                           publishedCommits;
+
+    AtlasJanusVertexCache(long maxSize, long ttlSeconds, KCVSConfiguration clusterConfig, long versionCheckIntervalMs) {
+        CacheBuilder<Object, Object> builder = CacheBuilder.newBuilder().maximumSize(maxSize).recordStats();
+
+        if (ttlSeconds > 0) {
+            builder.expireAfterWrite(ttlSeconds, TimeUnit.SECONDS);
+        }
+
+        this.cache         = builder.build();
+        this.invalidatedAt = CacheBuilder.newBuilder().maximumSize(maxSize).removalListener((RemovalNotification<Object, Long> notification) -> {
+            if (notification.wasEvicted()) {
+                invalidatedAtWatermark.accumulateAndGet(notification.getValue(), Math::max);
+            }
+        }).build();
+
+        if (clusterConfig != null) {
+            this.clusterVersion = clusterConfig.get(CLUSTER_VERSION_KEY, String.class);
+            this.versionChecker = Executors.newSingleThreadScheduledExecutor(new ThreadFactoryBuilder().setNameFormat("atlas-vertex-cache-version").setDaemon(true).build());
+
+            versionChecker.scheduleWithFixedDelay(() -> checkClusterVersion(clusterConfig), versionCheckIntervalMs, versionCheckIntervalMs, TimeUnit.MILLISECONDS);
+        } else {
+            this.versionChecker = null;
+        }
+    }
+
+    /**
+     * @return cache configured by atlas.graph.vertex.cache.* properties; null if the cache is disabled
+     */
+    public static AtlasJanusVertexCache create(KCVSConfiguration clusterConfig, boolean isHAEnabled) {
+        final AtlasJanusVertexCache ret;
+
+        if (AtlasConfiguration.GRAPH_VERTEX_CACHE_ENABLED.getBoolean()) {
+            long maxSize    = AtlasConfiguration.GRAPH_VERTEX_CACHE_MAX_SIZE.getLong();
+            long ttlSeconds = AtlasConfiguration.GRAPH_VERTEX_CACHE_TTL_SECONDS.getLong();
+
+            ret = new AtlasJanusVertexCache(maxSize, ttlSeconds, isHAEnabled ? clusterConfig : null, AtlasConfiguration.GRAPH_VERTEX_CACHE_VERSION_CHECK_INTERVAL_MS.getLong());
+
+            LOG.info("Vertex property cache enabled: maxSize={}, ttlSeconds={}, haEnabled={}", maxSize, ttlSeconds, isHAEnabled);
+        } else {
+            ret = null;
+        }
+
+        return ret;
+    }
+
+    /**
+     * Returns properties of the given vertex, loading them from the vertex on a cache miss.
+     *
+     * @return property values keyed by property name; null if the vertex must be read from the current transaction
+     */
+    public Map<String, List<Object>> getProperties(Vertex vertex) {
+        if (!isCacheable(vertex)) {
+            return null;
+        }
+
+        Object                    vertexId = vertex.id();
+        Map<String, List<Object>> ret      = cache.getIfPresent(vertexId);
+
+        if (ret == null) {
+            long txStart = txStartInvalidations.get();
+
+            ret = loadProperties(vertex);
+
+            // skip caching if the vertex was invalidated after this transaction started, as the transaction might have
+            // read the properties before the invalidation; check again after caching, as onCommit() might have run
+            // between the check and the put
+            if (!isInvalidatedAfter(vertexId, txStart)) {
+                cache.put(vertexId, ret);
+
+                if (isInvalidatedAfter(vertexId, txStart)) {
+                    cache.invalidate(vertexId);
+                }
+            }
+        }
+
+        return ret;
+    }
+
+    public void onVertexMutated(Object vertexId) {
+        if (vertexId != null) {
+            mutatedVertexIds.get().add(vertexId);
+        }
+    }
+
+    public void onCommit() {
+        Set<Object> vertexIds = mutatedVertexIds.get();
+
+        if (!vertexIds.isEmpty()) {
+            long invalidationCount = invalidations.incrementAndGet();
+
+            for (Object vertexId : vertexIds) {
+                invalidatedAt.put(vertexId, invalidationCount);
+            }
+
+            cache.invalidateAll(vertexIds);
+
+            mutatingCommits.incrementAndGet();
+
+            if (LOG.isDebugEnabled()) {
+                LOG.debug("Invalidated {} vertices on commit", vertexIds.size());
+            }
+
+            vertexIds.clear();
+        }
+
+        txStartInvalidations.set(invalidations.get());
+    }
+
+    public void onRollback() {
+        mutatedVertexIds.get().clear();
+
+        txStartInvalidations.set(invalidations.get());
+    }
+
+    public void invalidateAll() {
+        invalidatedAtWatermark.accumulateAndGet(invalidations.incrementAndGet(), Math::max);
+
+        cache.invalidateAll();
+        invalidatedAt.invalidateAll();
+    }
+
+    public long size() {
+        return cache.size();
+    }
+
+    public CacheStats getStats() {
+        return cache.stats();
+    }
+
+    public void shutdown() {
+        if (versionChecker != null) {
+            versionChecker.shutdownNow();
+        }
+    }
+
+    private boolean isCacheable(Vertex vertex) {
+        if (vertex instanceof InternalVertex) {
+            InternalVertex v = (InternalVertex) vertex;
+
+            if (v.isNew() || v.isRemoved() || v.hasAddedRelations() || v.hasRemovedRelations()) {
+                return false;
+            }
+        }
+
+        return !mutatedVertexIds.get().contains(vertex.id());
+    }
+
+    private boolean isInvalidatedAfter(Object vertexId, long invalidationCount) {
+        Long vertexInvalidationCount = invalidatedAt.getIfPresent(vertexId);
+
+        return invalidatedAtWatermark.get() > invalidationCount || (vertexInvalidationCount != null && vertexInvalidationCount > invalidationCount);
+    }
+
+    private Map<String, List<Object>> loadProperties(Vertex vertex) {
+        Map<String, List<Object>>        ret = new HashMap<>();
+        Iterator<VertexProperty<Object>> it  = vertex.properties();
+
+        while (it.hasNext()) {
+            VertexProperty<Object> property = it.next();
+
+            ret.computeIfAbsent(property.key(), k -> new ArrayList<>(1)).add(property.value());
+        }
+
+        for (Map.Entry<String, List<Object>> entry : ret.entrySet()) {
+            entry.setValue(Collections.unmodifiableList(entry.getValue()));
+        }
+
+        return Collections.unmodifiableMap(ret);
+    }
+
+    private void checkClusterVersion(KCVSConfiguration clusterConfig) {
+        try {
+            long commits = mutatingCommits.get();
+
+            if (commits != publishedCommits) {
+                String version = UUID.randomUUID().toString();
+
+                clusterConfig.set(CLUSTER_VERSION_KEY, version);
+
+                clusterVersion   = version;
+                publishedCommits = commits;
+            } else {
+                String version = clusterConfig.get(CLUSTER_VERSION_KEY, String.class);
+
+                if (!Objects.equals(version, clusterVersion)) {
+                    LOG.info("Vertex cache version changed from {} to {}; clearing {} cached vertices", clusterVersion, version, cache.size());
+
+                    invalidateAll();
+
+                    clusterVersion = version;
+                }
+            }
+        } catch (Exception excp) {
+            LOG.warn("Vertex cache version check failed; clearing cache", excp);
+
+            invalidateAll();
+        }
+    }
+}
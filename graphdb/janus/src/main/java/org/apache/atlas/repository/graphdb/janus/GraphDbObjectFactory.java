@@ -22,6 +22,7 @@ import org.janusgraph.core.EdgeLabel;
 import org.apache.atlas.repository.graphdb.AtlasCardinality;
 import org.apache.atlas.repository.graphdb.AtlasGraphIndex;
 import org.apache.atlas.repository.graphdb.janus.query.AtlasJanusGraphQuery;
+import org.apache.atlas.utils.AtlasRequestProfiler;
 import org.apache.tinkerpop.gremlin.structure.Edge;
 import org.apache.tinkerpop.gremlin.structure.Vertex;
 
@@ -51,6 +52,9 @@ public final class GraphDbObjectFactory {
         if (source == null) {
             return null;
         }
+
+        AtlasRequestProfiler.recordEdgeTouched();
+
         return new AtlasJanusEdge(graph, source);
     }
 
@@ -75,6 +79,9 @@ public final class GraphDbObjectFactory {
         if (source == null) {
             return null;
         }
+
+        AtlasRequestProfiler.recordVertexTouched();
+
         return new AtlasJanusVertex(graph, source);
     }
 
@@ -0,0 +1,188 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.atlas.repository.graphdb.janus;
+
+import org.apache.tinkerpop.gremlin.structure.Vertex;
+import org.apache.tinkerpop.gremlin.structure.VertexProperty;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNull;
+
+public class AtlasJanusVertexCacheTest {
+    private AtlasJanusVertexCache cache;
+
+    @BeforeMethod
+    public void setUp() {
+        cache = new AtlasJanusVertexCache(100, 0, null, 0);
+    }
+
+    @Test
+    public void testReadThrough() {
+        Vertex vertex = createVertex(1L, "name", "db1");
+
+        Map<String, List<Object>> properties = cache.getProperties(vertex);
+
+        assertEquals(properties.get("name"), Collections.singletonList("db1"));
+
+        cache.getProperties(vertex);
+
+        verify(vertex, times(1)).properties();
+        assertEquals(cache.size(), 1);
+    }
+
+    @Test
+    public void testMultiValuedProperty() {
+        Vertex vertex = createVertex(2L, "__traitNames", "PII", "__traitNames", "Sensitive");
+
+        assertEquals(cache.getProperties(vertex).get("__traitNames"), Arrays.asList("PII", "Sensitive"));
+    }
+
+    @Test
+    public void testMutatedVertexBypassesCacheUntilCommit() {
+        Vertex vertex = createVertex(3L, "name", "db1");
+
+        cache.getProperties(vertex);
+        cache.onVertexMutated(3L);
+
+        assertNull(cache.getProperties(vertex));
+
+        cache.onCommit();
+
+        assertEquals(cache.size(), 0);
+
+        cache.getProperties(vertex);
+
+        verify(vertex, times(2)).properties();
+    }
+
+    @Test
+    public void testRollbackKeepsCachedProperties() {
+        Vertex vertex = createVertex(4L, "name", "db1");
+
+        cache.getProperties(vertex);
+        cache.onVertexMutated(4L);
+        cache.onRollback();
+
+        assertEquals(cache.getProperties(vertex).get("name"), Collections.singletonList("db1"));
+        verify(vertex, times(1)).properties();
+    }
+
+    @Test
+    public void testMutationIsTrackedPerThread() throws Exception {
+        Vertex vertex = createVertex(5L, "name", "db1");
+
+        cache.getProperties(vertex);
+
+        Thread other = new Thread(() -> cache.onVertexMutated(5L));
+
+        other.start();
+        other.join();
+
+        assertEquals(cache.getProperties(vertex).get("name"), Collections.singletonList("db1"));
+    }
+
+    @Test
+    public void testLoadInTransactionStartedBeforeInvalidationIsNotCached() throws Exception {
+        Vertex vertex = createVertex(8L, "name", "db1");
+        Vertex other  = createVertex(9L, "name", "db2");
+
+        // another thread commits a mutation of vertex 8 while this thread's transaction is open
+        Thread writer = new Thread(() -> {
+            cache.onVertexMutated(8L);
+            cache.onCommit();
+        });
+
+        writer.start();
+        writer.join();
+
+        // this transaction might have read vertex 8 before the commit: served, but not cached
+        assertEquals(cache.getProperties(vertex).get("name"), Collections.singletonList("db1"));
+        assertEquals(cache.size(), 0);
+
+        // vertices not invalidated since the transaction started are cached
+        cache.getProperties(other);
+
+        assertEquals(cache.size(), 1);
+
+        // a transaction started after the commit caches vertex 8
+        cache.onRollback();
+        cache.getProperties(vertex);
+
+        assertEquals(cache.size(), 2);
+        verify(vertex, times(2)).properties();
+    }
+
+    @Test
+    public void testLoadInTransactionStartedBeforeInvalidateAllIsNotCached() throws Exception {
+        Thread other = new Thread(() -> cache.invalidateAll());
+
+        other.start();
+        other.join();
+
+        cache.getProperties(createVertex(10L, "name", "db1"));
+
+        assertEquals(cache.size(), 0);
+
+        cache.onCommit();
+        cache.getProperties(createVertex(10L, "name", "db1"));
+
+        assertEquals(cache.size(), 1);
+    }
+
+    @Test
+    public void testInvalidateAll() {
+        cache.getProperties(createVertex(6L, "name", "db1"));
+        cache.getProperties(createVertex(7L, "name", "db2"));
+
+        assertEquals(cache.size(), 2);
+
+        cache.invalidateAll();
+
+        assertEquals(cache.size(), 0);
+    }
+
+    private Vertex createVertex(Object id, String... keyValues) {
+        Vertex           vertex     = mock(Vertex.class);
+        VertexProperty[] properties = new VertexProperty[keyValues.length / 2];
+
+        for (int i = 0; i < properties.length; i++) {
+            VertexProperty property = mock(VertexProperty.class);
+
+            when(property.key()).thenReturn(keyValues[i * 2]);
+            when(property.value()).thenReturn(keyValues[i * 2 + 1]);
+
+            properties[i] = property;
+        }
+
+        when(vertex.id()).thenReturn(id);
+        when(vertex.properties()).thenAnswer(invocation -> Arrays.asList(properties).iterator());
+
+        return vertex;
+    }
+}
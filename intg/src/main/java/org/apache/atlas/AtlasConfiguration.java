@@ -31,10 +31,18 @@ public enum AtlasConfiguration {
     WEBSERVER_KEEPALIVE_SECONDS("atlas.webserver.keepalivetimesecs", 60),
     WEBSERVER_QUEUE_SIZE("atlas.webserver.queuesize", 100),
     WEBSERVER_REQUEST_BUFFER_SIZE("atlas.jetty.request.buffer.size", 16192),
+    WEBSERVER_ADMISSION_CONTROL_ENABLED("atlas.webserver.admission.control.enabled", false),
+    WEBSERVER_ADMISSION_QUEUE_TIMEOUT_MS("atlas.webserver.admission.queue.timeout.ms", 1000),
+    WEBSERVER_ADMISSION_RETRY_AFTER_SECONDS("atlas.webserver.admission.retry.after.seconds", 1),
+    WEBSERVER_ADMISSION_ADAPTIVE_ENABLED("atlas.webserver.admission.adaptive.enabled", false),
+    WEBSERVER_ADMISSION_ADAPTIVE_TARGET_LATENCY_MS("atlas.webserver.admission.adaptive.target.latency.ms", 2000),
+    WEBSERVER_ADMISSION_ADAPTIVE_MIN_CONCURRENT("atlas.webserver.admission.adaptive.min.concurrent", 1),
+    WEBSERVER_ADMISSION_ADAPTIVE_WINDOW_MS("atlas.webserver.admission.adaptive.window.ms", 5000),
 
     QUERY_PARAM_MAX_LENGTH("atlas.query.param.max.length", 4*1024),
 
     REST_API_ENABLE_DELETE_TYPE_OVERRIDE("atlas.rest.enable.delete.type.override", false),
+    REST_API_STREAMING_BATCH_SIZE("atlas.rest.streaming.batch.size", 100),
     NOTIFICATION_RELATIONSHIPS_ENABLED("atlas.notification.relationships.enabled", false),
 
     NOTIFICATION_HOOK_TOPIC_NAME("atlas.notification.hook.topic.name", "ATLAS_HOOK"),
@@ -51,16 +59,69 @@ public enum AtlasConfiguration {
     NOTIFICATION_CREATE_SHELL_ENTITY_FOR_NON_EXISTING_REF("atlas.notification.consumer.create.shell.entity.for.non-existing.ref", true),
     REST_API_CREATE_SHELL_ENTITY_FOR_NON_EXISTING_REF("atlas.rest.create.shell.entity.for.non-existing.ref", false),
 
+    GRAPH_VERTEX_CACHE_ENABLED("atlas.graph.vertex.cache.enabled", false),
+    GRAPH_VERTEX_CACHE_MAX_SIZE("atlas.graph.vertex.cache.max.size", 100000),
+    GRAPH_VERTEX_CACHE_TTL_SECONDS("atlas.graph.vertex.cache.ttl.seconds", 600),
+    GRAPH_VERTEX_CACHE_VERSION_CHECK_INTERVAL_MS("atlas.graph.vertex.cache.version.check.interval.ms", 5000),
+
     GRAPHSTORE_INDEXED_STRING_SAFE_LENGTH("atlas.graphstore.indexed.string.safe.length", Short.MAX_VALUE),  // based on org.apache.hadoop.hbase.client.Mutation.checkRow()
 
     RELATIONSHIP_WARN_NO_RELATIONSHIPS("atlas.relationships.warnOnNoRelationships", false),
+    RELATIONSHIP_BULK_CHUNK_SIZE("atlas.relationships.bulk.chunk.size", 1000),
+    ENTITY_DELETE_BULK_CHUNK_SIZE("atlas.entity.delete.bulk.chunk.size", 1000),
+    ENTITY_DELETE_BULK_CHUNK_MAX_RETRIES("atlas.entity.delete.bulk.chunk.max.retries", 3),
+    ENTITY_DELETE_BULK_CHUNK_RETRY_SLEEP_MS("atlas.entity.delete.bulk.chunk.retry.sleep.ms", 1000),
+    ENTITY_PURGE_SCHEDULED_ENABLED("atlas.entity.purge.scheduled.enabled", false),
+    ENTITY_PURGE_RETENTION_DAYS("atlas.entity.purge.retention.days", 30),
+    ENTITY_PURGE_INTERVAL_MS("atlas.entity.purge.interval.ms", 60 * 60 * 1000),
+    ENTITY_PURGE_BATCH_SIZE("atlas.entity.purge.batch.size", 100),
+    ENTITY_PURGE_BATCH_DELAY_MS("atlas.entity.purge.batch.delay.ms", 1000),
+    ENTITY_PURGE_MAX_PER_RUN("atlas.entity.purge.max.per.run", 100000),
+    ENTITY_PURGE_USER("atlas.entity.purge.user", ""),
     ENTITY_CHANGE_NOTIFY_IGNORE_RELATIONSHIP_ATTRIBUTES("atlas.entity.change.notify.ignore.relationship.attributes", true),
 
     CLASSIFICATION_PROPAGATION_DEFAULT("atlas.classification.propagation.default", true),
 
+    TYPEDEF_SNAPSHOT_ENABLED("atlas.typedef.snapshot.enabled", true),
+
+    HA_PASSIVE_READ_ENABLED("atlas.server.ha.passive.read.enabled", false),
+    HA_PASSIVE_TYPEDEF_REFRESH_INTERVAL_MS("atlas.server.ha.passive.typedef.refresh.interval.ms", 10000),
+
     //search configuration
     SEARCH_MAX_LIMIT("atlas.search.maxlimit", 10000),
     SEARCH_DEFAULT_LIMIT("atlas.search.defaultlimit", 100),
+    SEARCH_PARALLEL_ENABLED("atlas.search.parallel.enabled", false),
+    SEARCH_PARALLEL_MIN_TYPES("atlas.search.parallel.min.types", 16),
+    SEARCH_PARALLEL_MAX_PARTITIONS("atlas.search.parallel.max.partitions", 8),
+    SEARCH_PARALLEL_THREADS("atlas.search.parallel.threads", 16),
+    DSL_EXECUTOR_TRAVERSAL("atlas.dsl.executor.traversal", true),
+    DSL_QUERY_PLAN_CACHE_MAX_SIZE("atlas.dsl.query.plan.cache.max.size", 1000),
+    FULLTEXT_MAPPING_DEFERRED("atlas.search.fulltext.mapping.deferred", false),
+    FULLTEXT_MAPPING_BATCH_SIZE("atlas.search.fulltext.mapping.batch.size", 500),
+    SEARCH_CLASSIFICATION_ATTRIBUTES_ENTITY_INDEX_ENABLED("atlas.search.classification.attributes.entity.index.enabled", false),
+    SEARCH_AGGREGATION_CACHE_TTL_MS("atlas.search.aggregation.cache.ttl.ms", 60000),
+    SEARCH_AGGREGATION_CACHE_MAX_VALUES("atlas.search.aggregation.cache.max.values", 100000),
+    SEARCH_AGGREGATION_CACHE_INVALIDATE_CHANGE_COUNT("atlas.search.aggregation.cache.invalidate.change.count", 100),
+    GLOSSARY_TERM_ASSIGNED_ENTITIES_MAX_SORTED("atlas.glossary.term.assigned.entities.max.sorted", -1),
+
+    //audit configuration
+    AUDIT_ASYNC_ENABLED("atlas.audit.async.enabled", false),
+    AUDIT_ASYNC_QUEUE_SIZE("atlas.audit.async.queue.size", 10000),
+    AUDIT_ASYNC_BATCH_SIZE("atlas.audit.async.batch.size", 500),
+    AUDIT_ASYNC_FLUSH_INTERVAL_MS("atlas.audit.async.flush.interval.ms", 200),
+    AUDIT_ASYNC_SPILL_DIR("atlas.audit.async.spill.dir", ""), // default: audit-spill directory under atlas.data
+    AUDIT_HBASE_COMPRESSION_ENABLED("atlas.audit.hbase.compression.enabled", false),
+    AUDIT_HBASE_COMPRESSION_MIN_SIZE("atlas.audit.hbase.compression.min.size", 1024),
+
+    //metrics configuration
+    METRICS_LATENCY_ENABLED("atlas.metrics.latency.enabled", true),
+    METRICS_LATENCY_SAMPLE_PERCENT("atlas.metrics.latency.sample.percent", 100),
+    METRICS_LATENCY_WINDOW_SECONDS("atlas.metrics.latency.window.seconds", 60),
+    METRICS_LATENCY_WINDOW_BUCKETS("atlas.metrics.latency.window.buckets", 6),
+    METRICS_LATENCY_MAX_NAMES("atlas.metrics.latency.max.names", 500),
+    METRICS_PROFILER_ENABLED("atlas.metrics.profiler.enabled", false),
+    METRICS_PROFILER_THRESHOLD_MS("atlas.metrics.profiler.threshold.ms", 1000),
+    METRICS_PROFILER_BUFFER_SIZE("atlas.metrics.profiler.buffer.size", 100),
 
     CUSTOM_ATTRIBUTE_KEY_MAX_LENGTH("atlas.custom.attribute.key.max.length", 50),
     CUSTOM_ATTRIBUTE_VALUE_MAX_LENGTH("atlas.custom.attribute.value.max.length", 500),
@@ -50,6 +50,7 @@ public class AtlasSearchResult implements Serializable {
     private List<AtlasFullTextResult>      fullTextResult;
     private Map<String, AtlasEntityHeader> referredEntities;
     private long                           approximateCount = -1;
+    private String                         nextContinuationToken;
 
     public AtlasSearchResult() {}
 
@@ -128,6 +129,10 @@ public class AtlasSearchResult implements Serializable {
 
     public void setApproximateCount(long approximateCount) { this.approximateCount = approximateCount; }
 
+    public String getNextContinuationToken() { return nextContinuationToken; }
+
+    public void setNextContinuationToken(String nextContinuationToken) { this.nextContinuationToken = nextContinuationToken; }
+
     public Map<String, Float> getSearchScore() {
         return searchScore;
     }
@@ -204,6 +209,7 @@ public class AtlasSearchResult implements Serializable {
                 ", fullTextResult=" + fullTextResult +
                 ", referredEntities=" + referredEntities +
                 ", approximateCount=" + approximateCount +
+                ", nextContinuationToken=" + nextContinuationToken +
                 '}';
     }
 
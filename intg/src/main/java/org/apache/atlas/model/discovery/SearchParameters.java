@@ -52,6 +52,7 @@ public class SearchParameters implements Serializable {
     private boolean includeSubClassifications       = true;
     private int     limit;
     private int     offset;
+    private String  continuationToken;
 
     private FilterCriteria entityFilters;
     private FilterCriteria tagFilters;
@@ -65,6 +66,7 @@ public class SearchParameters implements Serializable {
     public static final String NO_CLASSIFICATIONS       = "_NOT_CLASSIFIED";
     public static final String ALL_ENTITY_TYPES         = "_ALL_ENTITY_TYPES";
     public static final String ALL_CLASSIFICATION_TYPES = "_ALL_CLASSIFICATION_TYPES";
+    public static final String CONTINUATION_TOKEN_START = "*";
 
     /**
      * @return The type of query
@@ -231,6 +233,23 @@ public class SearchParameters implements Serializable {
         this.offset = offset;
     }
 
+    /**
+     * @return token to continue from the previous page of results, returned in AtlasSearchResult.nextContinuationToken;
+     * CONTINUATION_TOKEN_START to request the first page with a continuation token. The offset is ignored when a
+     * continuation token is given. Index cursors are used only for unsorted classification searches with the Solr index
+     * backend; for other searches the token holds the offset of the next page.
+     */
+    public String getContinuationToken() {
+        return continuationToken;
+    }
+
+    /**
+     * @param continuationToken
+     */
+    public void setContinuationToken(String continuationToken) {
+        this.continuationToken = continuationToken;
+    }
+
     /**
      * Entity attribute filters for the type (if type name is specified)
      * @return
@@ -325,6 +344,7 @@ public class SearchParameters implements Serializable {
                 includeClassificationAttributes == that.includeClassificationAttributes &&
                 limit == that.limit &&
                 offset == that.offset &&
+                Objects.equals(continuationToken, that.continuationToken) &&
                 minScore == that.minScore &&
                 Objects.equals(query, that.query) &&
                 Objects.equals(typeName, that.typeName) &&
@@ -340,7 +360,7 @@ public class SearchParameters implements Serializable {
     @Override
     public int hashCode() {
         return Objects.hash(query, typeName, classification, termName, excludeDeletedEntities, includeClassificationAttributes,
-                            limit, offset, entityFilters, tagFilters, attributes, sortBy, sortOrder);
+                            limit, offset, continuationToken, entityFilters, tagFilters, attributes, sortBy, sortOrder);
     }
 
     public StringBuilder toString(StringBuilder sb) {
@@ -357,6 +377,7 @@ public class SearchParameters implements Serializable {
         sb.append(", includeClassificationAttributes=").append(includeClassificationAttributes);
         sb.append(", limit=").append(limit);
         sb.append(", offset=").append(offset);
+        sb.append(", continuationToken=").append(continuationToken);
         sb.append(", minScore=").append(minScore);
         sb.append(", entityFilters=").append(entityFilters);
         sb.append(", tagFilters=").append(tagFilters);
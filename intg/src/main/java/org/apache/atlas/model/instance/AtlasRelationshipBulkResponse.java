@@ -0,0 +1,256 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.atlas.model.instance;
+
+import com.fasterxml.jackson.annotation.JsonAutoDetect;
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+
+import javax.xml.bind.annotation.XmlAccessType;
+import javax.xml.bind.annotation.XmlAccessorType;
+import javax.xml.bind.annotation.XmlRootElement;
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.List;
+
+import static com.fasterxml.jackson.annotation.JsonAutoDetect.Visibility.NONE;
+import static com.fasterxml.jackson.annotation.JsonAutoDetect.Visibility.PUBLIC_ONLY;
+
+
+/**
+ * Result of a bulk relationship create: one result for each relationship in the request, in request order.
+ */
+@JsonAutoDetect(getterVisibility=PUBLIC_ONLY, setterVisibility=PUBLIC_ONLY, fieldVisibility=NONE)
+@JsonSerialize(include=JsonSerialize.Inclusion.NON_NULL)
+@JsonIgnoreProperties(ignoreUnknown=true)
+@XmlRootElement
+@XmlAccessorType(XmlAccessType.PROPERTY)
+public class AtlasRelationshipBulkResponse implements Serializable {
+    private static final long serialVersionUID = 1L;
+
+    public enum Status { CREATED, EXISTING, FAILED }
+
+    private int                      processedCount = 0;
+    private int                      createdCount   = 0;
+    private int                      existingCount  = 0;
+    private int                      failedCount    = 0;
+    private List<RelationshipResult> results        = new ArrayList<>();
+
+
+    public AtlasRelationshipBulkResponse() {
+    }
+
+    public int getProcessedCount() {
+        return processedCount;
+    }
+
+    public void setProcessedCount(int processedCount) {
+        this.processedCount = processedCount;
+    }
+
+    public int getCreatedCount() {
+        return createdCount;
+    }
+
+    public void setCreatedCount(int createdCount) {
+        this.createdCount = createdCount;
+    }
+
+    public int getExistingCount() {
+        return existingCount;
+    }
+
+    public void setExistingCount(int existingCount) {
+        this.existingCount = existingCount;
+    }
+
+    public int getFailedCount() {
+        return failedCount;
+    }
+
+    public void setFailedCount(int failedCount) {
+        this.failedCount = failedCount;
+    }
+
+    public List<RelationshipResult> getResults() {
+        return results;
+    }
+
+    public void setResults(List<RelationshipResult> results) {
+        this.results = results;
+    }
+
+    public void addResult(RelationshipResult result) {
+        if (results == null) {
+            results = new ArrayList<>();
+        }
+
+        results.add(result);
+
+        processedCount++;
+
+        if (result.getStatus() != null) {
+            switch (result.getStatus()) {
+                case CREATED:
+                    createdCount++;
+                    break;
+
+                case EXISTING:
+                    existingCount++;
+                    break;
+
+                case FAILED:
+                    failedCount++;
+                    break;
+            }
+        }
+    }
+
+    public StringBuilder toString(StringBuilder sb) {
+        if (sb == null) {
+            sb = new StringBuilder();
+        }
+
+        sb.append("AtlasRelationshipBulkResponse{");
+        sb.append("processedCount=").append(processedCount);
+        sb.append(", createdCount=").append(createdCount);
+        sb.append(", existingCount=").append(existingCount);
+        sb.append(", failedCount=").append(failedCount);
+
+        sb.append(", results=[");
+        if (results != null) {
+            boolean isFirst = true;
+            for (RelationshipResult result : results) {
+                if (isFirst) {
+                    isFirst = false;
+                } else {
+                    sb.append(",");
+                }
+
+                result.toString(sb);
+            }
+        }
+        sb.append("]");
+
+        sb.append("}");
+
+        return sb;
+    }
+
+    @Override
+    public String toString() {
+        return toString(new StringBuilder()).toString();
+    }
+
+    @JsonAutoDetect(getterVisibility=PUBLIC_ONLY, setterVisibility=PUBLIC_ONLY, fieldVisibility=NONE)
+    @JsonSerialize(include=JsonSerialize.Inclusion.NON_NULL)
+    @JsonIgnoreProperties(ignoreUnknown=true)
+    @XmlRootElement
+    @XmlAccessorType(XmlAccessType.PROPERTY)
+    public static class RelationshipResult implements Serializable {
+        private static final long serialVersionUID = 1L;
+
+        private int    index;
+        private Status status;
+        private String guid;
+        private String typeName;
+        private String errorCode;
+        private String errorMessage;
+
+
+        public RelationshipResult() {
+        }
+
+        public RelationshipResult(int index, Status status, String guid, String typeName) {
+            this.index    = index;
+            this.status   = status;
+            this.guid     = guid;
+            this.typeName = typeName;
+        }
+
+        public int getIndex() {
+            return index;
+        }
+
+        public void setIndex(int index) {
+            this.index = index;
+        }
+
+        public Status getStatus() {
+            return status;
+        }
+
+        public void setStatus(Status status) {
+            this.status = status;
+        }
+
+        public String getGuid() {
+            return guid;
+        }
+
+        public void setGuid(String guid) {
+            this.guid = guid;
+        }
+
+        public String getTypeName() {
+            return typeName;
+        }
+
+        public void setTypeName(String typeName) {
+            this.typeName = typeName;
+        }
+
+        public String getErrorCode() {
+            return errorCode;
+        }
+
+        public void setErrorCode(String errorCode) {
+            this.errorCode = errorCode;
+        }
+
+        public String getErrorMessage() {
+            return errorMessage;
+        }
+
+        public void setErrorMessage(String errorMessage) {
+            this.errorMessage = errorMessage;
+        }
+
+        public StringBuilder toString(StringBuilder sb) {
+            if (sb == null) {
+                sb = new StringBuilder();
+            }
+
+            sb.append("RelationshipResult{");
+            sb.append("index=").append(index);
+            sb.append(", status=").append(status);
+            sb.append(", guid=").append(guid);
+            sb.append(", typeName=").append(typeName);
+            sb.append(", errorCode=").append(errorCode);
+            sb.append(", errorMessage=").append(errorMessage);
+            sb.append("}");
+
+            return sb;
+        }
+
+        @Override
+        public String toString() {
+            return toString(new StringBuilder()).toString();
+        }
+    }
+}
@@ -35,6 +35,13 @@ import org.apache.atlas.model.typedef.AtlasTypesDef;
 public interface AtlasTypeDefStore {
     void init() throws AtlasBaseException;
 
+    /**
+     * Reloads typedefs from the store if they were updated since the last load, without making any updates to the
+     * store. Used by passive instances that serve reads.
+     * @return true if typedefs were reloaded
+     */
+    boolean refresh() throws AtlasBaseException;
+
     /* EnumDef operations */
 
     AtlasEnumDef getEnumDefByName(String name) throws AtlasBaseException;
@@ -38,6 +38,7 @@ import javax.inject.Singleton;
 import java.util.*;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.concurrent.locks.ReentrantLock;
 
 import static org.apache.atlas.model.typedef.AtlasBaseTypeDef.*;
@@ -59,7 +60,7 @@ public class AtlasTypeRegistry {
         registryData              = new RegistryData();
         updateSynchronizer        = new TypeRegistryUpdateSynchronizer(this);
         missingRelationshipDefs   = new HashSet<>();
-        commonIndexFieldNameCache = new HashMap<>();
+        commonIndexFieldNameCache = new ConcurrentHashMap<>();
 
         resolveReferencesForRootTypes();
         resolveIndexFieldNamesForRootTypes();
@@ -253,6 +254,13 @@ public class AtlasTypeRegistry {
         updateSynchronizer.releaseTypeRegistryForUpdate(transientTypeRegistry, commitUpdates);
     }
 
+    /**
+     * @return a number that changes every time updates to the registry are committed
+     */
+    public long getVersion() {
+        return updateSynchronizer.getVersion();
+    }
+
     public void reportMissingRelationshipDef(String entityType1, String entityType2, String attributeName) {
         String key = entityType1 + "->" + entityType2 + ":" + attributeName;
 
@@ -264,7 +272,9 @@ public class AtlasTypeRegistry {
     }
 
     public void addIndexFieldName(String propertyName, String indexFieldName) {
-        commonIndexFieldNameCache.put(propertyName, indexFieldName);
+        if (propertyName != null && indexFieldName != null) {
+            commonIndexFieldNameCache.put(propertyName, indexFieldName);
+        }
     }
 
     private void resolveReferencesForRootTypes() {
@@ -299,7 +309,14 @@ public class AtlasTypeRegistry {
      * @return the index name for the common field passed in.
      */
     public String getIndexFieldName(String propertyName) {
-        return commonIndexFieldNameCache.get(propertyName);
+        return propertyName != null ? commonIndexFieldNameCache.get(propertyName) : null;
+    }
+
+    /**
+     * @return index field names of all properties resolved so far, keyed by vertex property name
+     */
+    public Map<String, String> getIndexFieldNames() {
+        return new HashMap<>(commonIndexFieldNameCache);
     }
 
     static class RegistryData {
@@ -943,6 +960,7 @@ public class AtlasTypeRegistry {
         private final ReentrantLock     typeRegistryUpdateLock;
         private AtlasTransientTypeRegistry typeRegistryUnderUpdate = null;
         private String                     lockedByThread          = null;
+        private final AtomicLong           version                 = new AtomicLong();
 
         TypeRegistryUpdateSynchronizer(AtlasTypeRegistry typeRegistry) {
             this.typeRegistry           = typeRegistry;
@@ -1003,6 +1021,8 @@ public class AtlasTypeRegistry {
                             copyIndexNameFromCurrent(ttr.getAllBusinessMetadataTypes());
 
                             typeRegistry.registryData = ttr.registryData;
+
+                            version.incrementAndGet();
                         }
                     }
 
@@ -1023,6 +1043,10 @@ public class AtlasTypeRegistry {
             LOG.debug("<== releaseTypeRegistryForUpdate()");
         }
 
+        long getVersion() {
+            return version.get();
+        }
+
         private void copyIndexNameFromCurrent(Collection<? extends AtlasStructType> ttrTypes) {
             for (AtlasStructType ttrType : ttrTypes) {
                 final AtlasStructType currType;
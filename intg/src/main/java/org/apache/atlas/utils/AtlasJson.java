@@ -47,6 +47,7 @@ import org.slf4j.LoggerFactory;
 
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.OutputStream;
 import java.text.DateFormat;
 import java.text.ParseException;
 import java.text.SimpleDateFormat;
@@ -117,6 +118,10 @@ public class AtlasJson {
         return ret;
     }
 
+    public static void toJson(Object obj, OutputStream out) throws IOException {
+        mapper.writeValue(out, obj);
+    }
+
     public static <T> T fromJson(String jsonStr, Class<T> type) {
         T ret = null;
 
@@ -36,7 +36,9 @@ import org.slf4j.LoggerFactory;
 
 import java.io.IOException;
 import java.security.PrivilegedExceptionAction;
+import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.LinkedBlockingDeque;
 import java.util.concurrent.ThreadPoolExecutor;
@@ -54,6 +56,15 @@ public abstract class AtlasHook {
     public static final String ATLAS_NOTIFICATION_ASYNCHRONOUS_MAX_THREADS        = "atlas.notification.hook.asynchronous.maxThreads";
     public static final String ATLAS_NOTIFICATION_ASYNCHRONOUS_KEEP_ALIVE_TIME_MS = "atlas.notification.hook.asynchronous.keepAliveTimeMs";
     public static final String ATLAS_NOTIFICATION_ASYNCHRONOUS_QUEUE_SIZE         = "atlas.notification.hook.asynchronous.queueSize";
+    public static final String ATLAS_NOTIFICATION_BATCHING_ENABLED                = "atlas.notification.hook.batching.enabled";
+    public static final String ATLAS_NOTIFICATION_BATCHING_QUEUE_SIZE             = "atlas.notification.hook.batching.queueSize";
+    public static final String ATLAS_NOTIFICATION_BATCHING_MAX_MESSAGES           = "atlas.notification.hook.batching.maxMessages";
+    public static final String ATLAS_NOTIFICATION_BATCHING_MAX_BYTES              = "atlas.notification.hook.batching.maxBytes";
+    public static final String ATLAS_NOTIFICATION_BATCHING_LINGER_MS              = "atlas.notification.hook.batching.lingerMs";
+    public static final String ATLAS_NOTIFICATION_BATCHING_MERGE_WINDOW_MS        = "atlas.notification.hook.batching.mergeWindowMs";
+    public static final String ATLAS_NOTIFICATION_BATCHING_MAX_MERGED_ENTITIES    = "atlas.notification.hook.batching.maxMergedEntities";
+    public static final String ATLAS_NOTIFICATION_BATCHING_QUEUE_FULL_POLICY      = "atlas.notification.hook.batching.queueFullPolicy";
+    public static final String ATLAS_NOTIFICATION_BATCHING_BLOCK_TIMEOUT_MS       = "atlas.notification.hook.batching.blockTimeoutMs";
     public static final String ATLAS_NOTIFICATION_MAX_RETRIES                     = "atlas.notification.hook.retry.maxRetries";
     public static final String ATLAS_NOTIFICATION_RETRY_INTERVAL                  = "atlas.notification.hook.retry.interval";
     public static final String ATLAS_NOTIFICATION_FAILED_MESSAGES_FILENAME_KEY    = "atlas.notification.failed.messages.filename";
@@ -66,13 +77,14 @@ public abstract class AtlasHook {
     protected static Configuration         atlasProperties;
     protected static NotificationInterface notificationInterface;
 
-    private static final String               metadataNamespace;
-    private static final int                  SHUTDOWN_HOOK_WAIT_TIME_MS = 3000;
-    private static final boolean              logFailedMessages;
-    private static final FailedMessagesLogger failedMessagesLogger;
-    private static final int                  notificationMaxRetries;
-    private static final int                  notificationRetryInterval;
-    private static       ExecutorService      executor = null;
+    private static final String                 metadataNamespace;
+    private static final int                    SHUTDOWN_HOOK_WAIT_TIME_MS = 3000;
+    private static final boolean                logFailedMessages;
+    private static final FailedMessagesLogger   failedMessagesLogger;
+    private static final int                    notificationMaxRetries;
+    private static final int                    notificationRetryInterval;
+    private static       ExecutorService        executor = null;
+    private static       HookNotificationSender sender   = null;
 
 
     static {
@@ -108,9 +120,33 @@ public abstract class AtlasHook {
 
         notificationInterface.setCurrentUser(currentUser);
 
-        boolean isAsync = atlasProperties.getBoolean(ATLAS_NOTIFICATION_ASYNCHRONOUS, Boolean.TRUE);
+        boolean isAsync    = atlasProperties.getBoolean(ATLAS_NOTIFICATION_ASYNCHRONOUS, Boolean.TRUE);
+        boolean isBatching = atlasProperties.getBoolean(ATLAS_NOTIFICATION_BATCHING_ENABLED, Boolean.FALSE);
 
-        if (isAsync) {
+        if (isBatching) {
+            sender = new HookNotificationSender(notificationInterface, logFailedMessages, failedMessagesLogger,
+                                                atlasProperties.getInt(ATLAS_NOTIFICATION_BATCHING_QUEUE_SIZE, 10000),
+                                                atlasProperties.getInt(ATLAS_NOTIFICATION_BATCHING_MAX_MESSAGES, 100),
+                                                atlasProperties.getLong(ATLAS_NOTIFICATION_BATCHING_MAX_BYTES, 1024 * 1024),
+                                                atlasProperties.getLong(ATLAS_NOTIFICATION_BATCHING_LINGER_MS, 100),
+                                                atlasProperties.getLong(ATLAS_NOTIFICATION_BATCHING_MERGE_WINDOW_MS, 1000),
+                                                atlasProperties.getInt(ATLAS_NOTIFICATION_BATCHING_MAX_MERGED_ENTITIES, 1000),
+                                                atlasProperties.getString(ATLAS_NOTIFICATION_BATCHING_QUEUE_FULL_POLICY, HookNotificationSender.QUEUE_FULL_POLICY_DROP),
+                                                atlasProperties.getLong(ATLAS_NOTIFICATION_BATCHING_BLOCK_TIMEOUT_MS, 1000));
+
+            sender.start();
+
+            ShutdownHookManager.get().addShutdownHook(new Thread() {
+                @Override
+                public void run() {
+                    LOG.info("==> Shutdown of Atlas Hook");
+
+                    sender.stop(SHUTDOWN_HOOK_WAIT_TIME_MS);
+
+                    LOG.info("<== Shutdown of Atlas Hook");
+                }
+            }, AtlasConstants.ATLAS_SHUTDOWN_HOOK_PRIORITY);
+        } else if (isAsync) {
             int  minThreads      = atlasProperties.getInt(ATLAS_NOTIFICATION_ASYNCHRONOUS_MIN_THREADS, 1);
             int  maxThreads      = atlasProperties.getInt(ATLAS_NOTIFICATION_ASYNCHRONOUS_MAX_THREADS, 1);
             long keepAliveTimeMs = atlasProperties.getLong(ATLAS_NOTIFICATION_ASYNCHRONOUS_KEEP_ALIVE_TIME_MS, 10000);
@@ -151,7 +187,9 @@ public abstract class AtlasHook {
      * @param maxRetries maximum number of retries while sending message to messaging system
      */
     public static void notifyEntities(List<HookNotification> messages, UserGroupInformation ugi, int maxRetries) {
-        if (executor == null) { // send synchronously
+        if (sender != null) {
+            sender.add(messages, ugi, maxRetries);
+        } else if (executor == null) { // send synchronously
             notifyEntitiesInternal(messages, maxRetries, ugi, notificationInterface, logFailedMessages, failedMessagesLogger);
         } else {
             executor.submit(new Runnable() {
@@ -163,12 +201,15 @@ public abstract class AtlasHook {
         }
     }
 
+    /**
+     * @return true if the messages were sent; false if sending failed after all attempts
+     */
     @VisibleForTesting
-    static void notifyEntitiesInternal(List<HookNotification> messages, int maxRetries, UserGroupInformation ugi,
-                                       NotificationInterface notificationInterface,
-                                       boolean shouldLogFailedMessages, FailedMessagesLogger logger) {
+    static boolean notifyEntitiesInternal(List<HookNotification> messages, int maxRetries, UserGroupInformation ugi,
+                                          NotificationInterface notificationInterface,
+                                          boolean shouldLogFailedMessages, FailedMessagesLogger logger) {
         if (messages == null || messages.isEmpty()) {
-            return;
+            return true;
         }
 
         final int maxAttempts         = maxRetries < 1 ? 1 : maxRetries;
@@ -223,6 +264,15 @@ public abstract class AtlasHook {
 
             LOG.error("Giving up after {} failed attempts to send notification to Atlas: {}", maxAttempts, messages.toString(), notificationFailure);
         }
+
+        return notificationFailure == null;
+    }
+
+    /**
+     * @return metrics of the batching notification sender; empty if batching is not enabled
+     */
+    public static Map<String, Object> getNotificationSenderMetrics() {
+        return sender != null ? sender.getMetrics() : Collections.emptyMap();
     }
 
     /**
@@ -0,0 +1,697 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.atlas.hook;
+
+import com.google.common.annotations.VisibleForTesting;
+import org.apache.atlas.model.instance.AtlasClassification;
+import org.apache.atlas.model.instance.AtlasEntity;
+import org.apache.atlas.model.instance.AtlasEntity.AtlasEntitiesWithExtInfo;
+import org.apache.atlas.model.instance.AtlasEntity.AtlasEntityWithExtInfo;
+import org.apache.atlas.model.instance.AtlasObjectId;
+import org.apache.atlas.model.instance.AtlasStruct;
+import org.apache.atlas.model.notification.HookNotification;
+import org.apache.atlas.model.notification.HookNotification.EntityCreateRequestV2;
+import org.apache.atlas.model.notification.HookNotification.EntityDeleteRequestV2;
+import org.apache.atlas.model.notification.HookNotification.EntityPartialUpdateRequestV2;
+import org.apache.atlas.model.notification.HookNotification.EntityUpdateRequestV2;
+import org.apache.atlas.notification.AbstractNotification;
+import org.apache.atlas.notification.NotificationInterface;
+import org.apache.commons.lang.StringUtils;
+import org.apache.hadoop.security.UserGroupInformation;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Sends hook notifications in batches from a background thread.
+ *
+ * Messages are added to a bounded queue and sent when the queue holds maxMessages messages or maxBytes estimated bytes,
+ * or when the oldest message has waited for lingerMs. A create/update message is merged into the previous queued
+ * message of the same type and user when that message is younger than mergeWindowMs: entities already present in the
+ * previous message, identified by typeName and qualifiedName, are updated in place instead of being sent again.
+ *
+ * When the queue is full, messages are dropped - either right away or after blocking the caller for up to
+ * blockTimeoutMs - so that the host process is never blocked indefinitely. Dropped messages are written to the failed
+ * messages log, when enabled. Metrics are available via getMetrics() and JMX.
+ *
+ * Messages must not be modified by the caller after being added.
+ */
+public class HookNotificationSender implements HookNotificationSenderMXBean {
+    private static final Logger LOG = LoggerFactory.getLogger(HookNotificationSender.class);
+
+    public static final String QUEUE_FULL_POLICY_DROP  = "drop";
+    public static final String QUEUE_FULL_POLICY_BLOCK = "block";
+
+    private static final String ATTR_QUALIFIED_NAME = "qualifiedName";
+    private static final String MBEAN_NAME          = "org.apache.atlas.hook:type=HookNotificationSender";
+
+    private static final long DEFAULT_MESSAGE_SIZE_ESTIMATE = 1024;
+
+    private final NotificationInterface notificationInterface;
+    private final boolean               logFailedMessages;
+    private final FailedMessagesLogger  failedMessagesLogger;
+    private final int                   queueSize;
+    private final int                   maxMessages;
+    private final long                  maxBytes;
+    private final long                  lingerMs;
+    private final long                  mergeWindowMs;
+    private final int                   maxMergedEntities;
+    private final long                  blockTimeoutMs;
+    private final Deque<PendingMessage> queue         = new ArrayDeque<>();
+    private final AtomicLong            addedCount    = new AtomicLong();
+    private final AtomicLong            mergedCount   = new AtomicLong();
+    private final AtomicLong            sentCount     = new AtomicLong();
+    private final AtomicLong            batchCount    = new AtomicLong();
+    private final AtomicLong            failedCount   = new AtomicLong();
+    private final AtomicLong            droppedCount  = new AtomicLong();
+    private long                        queuedBytes   = 0;
+    private boolean                     isRunning     = false;
+    private Thread                      senderThread;
+
+    public HookNotificationSender(NotificationInterface notificationInterface, boolean logFailedMessages, FailedMessagesLogger failedMessagesLogger,
+                                  int queueSize, int maxMessages, long maxBytes, long lingerMs, long mergeWindowMs, int maxMergedEntities,
+                                  String queueFullPolicy, long blockTimeoutMs) {
+        this.notificationInterface = notificationInterface;
+        this.logFailedMessages     = logFailedMessages;
+        this.failedMessagesLogger  = failedMessagesLogger;
+        this.queueSize             = Math.max(1, queueSize);
+        this.maxMessages           = Math.max(1, maxMessages);
+        this.maxBytes              = maxBytes;
+        this.lingerMs              = lingerMs;
+        this.mergeWindowMs         = mergeWindowMs;
+        this.maxMergedEntities     = maxMergedEntities;
+        this.blockTimeoutMs        = StringUtils.equalsIgnoreCase(queueFullPolicy, QUEUE_FULL_POLICY_BLOCK) ? blockTimeoutMs : 0;
+
+        LOG.info("HookNotificationSender: queueSize={}, maxMessages={}, maxBytes={}, lingerMs={}, mergeWindowMs={}, maxMergedEntities={}, queueFullPolicy={}, blockTimeoutMs={}",
+                 this.queueSize, this.maxMessages, maxBytes, lingerMs, mergeWindowMs, maxMergedEntities, queueFullPolicy, this.blockTimeoutMs);
+    }
+
+    public synchronized void start() {
+        if (senderThread == null) {
+            isRunning    = true;
+            senderThread = new Thread(this::run, "Atlas Notification Sender");
+
+            senderThread.setDaemon(true);
+            senderThread.start();
+
+            try {
+                ManagementFactory.getPlatformMBeanServer().registerMBean(this, new ObjectName(MBEAN_NAME));
+            } catch (Exception excp) {
+                LOG.warn("HookNotificationSender: failed to register MBean {}", MBEAN_NAME, excp);
+            }
+        }
+    }
+
+    /**
+     * Stops the sender, after sending queued messages for up to waitTimeMs.
+     */
+    public void stop(long waitTimeMs) {
+        Thread thread;
+
+        synchronized (this) {
+            isRunning = false;
+            thread    = senderThread;
+
+            notifyAll();
+        }
+
+        if (thread != null) {
+            try {
+                thread.join(waitTimeMs);
+            } catch (InterruptedException excp) {
+                Thread.currentThread().interrupt();
+            }
+
+            try {
+                ManagementFactory.getPlatformMBeanServer().unregisterMBean(new ObjectName(MBEAN_NAME));
+            } catch (Exception excp) {
+                LOG.debug("HookNotificationSender: failed to unregister MBean {}", MBEAN_NAME, excp);
+            }
+        }
+
+        synchronized (this) {
+            if (!queue.isEmpty()) {
+                LOG.warn("HookNotificationSender: {} messages not sent at shutdown", queue.size());
+
+                for (PendingMessage pending : queue) {
+                    logFailedMessage(pending.message);
+                }
+
+                droppedCount.addAndGet(queue.size());
+
+                queue.clear();
+
+                queuedBytes = 0;
+            }
+        }
+    }
+
+    public void add(List<HookNotification> messages, UserGroupInformation ugi, int maxRetries) {
+        if (messages == null) {
+            return;
+        }
+
+        for (HookNotification message : messages) {
+            add(message, ugi, maxRetries);
+        }
+    }
+
+    public synchronized void add(HookNotification message, UserGroupInformation ugi, int maxRetries) {
+        addedCount.incrementAndGet();
+
+        if (mergeIntoLast(message, ugi, maxRetries)) {
+            mergedCount.incrementAndGet();
+
+            return;
+        }
+
+        if (queue.size() >= queueSize && blockTimeoutMs > 0) {
+            long waitUntil = System.currentTimeMillis() + blockTimeoutMs;
+
+            try {
+                for (long waitMs = blockTimeoutMs; queue.size() >= queueSize && waitMs > 0; waitMs = waitUntil - System.currentTimeMillis()) {
+                    wait(waitMs);
+                }
+            } catch (InterruptedException excp) {
+                Thread.currentThread().interrupt();
+            }
+        }
+
+        if (queue.size() >= queueSize) {
+            droppedCount.incrementAndGet();
+
+            LOG.warn("HookNotificationSender: queue full ({} messages); dropping message of type {}", queue.size(), message.getType());
+
+            logFailedMessage(message);
+
+            return;
+        }
+
+        PendingMessage pending = new PendingMessage(message, ugi, maxRetries);
+
+        queue.addLast(pending);
+
+        queuedBytes += pending.estimatedSize;
+
+        if (queue.size() == 1 || queue.size() >= maxMessages || queuedBytes >= maxBytes) {
+            notifyAll();
+        }
+    }
+
+    public Map<String, Object> getMetrics() {
+        Map<String, Object> ret = new HashMap<>();
+
+        ret.put("addedCount", getAddedCount());
+        ret.put("mergedCount", getMergedCount());
+        ret.put("sentCount", getSentCount());
+        ret.put("batchCount", getBatchCount());
+        ret.put("failedCount", getFailedCount());
+        ret.put("droppedCount", getDroppedCount());
+        ret.put("queueSize", getQueueSize());
+        ret.put("queuedBytes", getQueuedBytes());
+
+        return ret;
+    }
+
+    @Override
+    public long getAddedCount() {
+        return addedCount.get();
+    }
+
+    @Override
+    public long getMergedCount() {
+        return mergedCount.get();
+    }
+
+    @Override
+    public long getSentCount() {
+        return sentCount.get();
+    }
+
+    @Override
+    public long getBatchCount() {
+        return batchCount.get();
+    }
+
+    @Override
+    public long getFailedCount() {
+        return failedCount.get();
+    }
+
+    @Override
+    public long getDroppedCount() {
+        return droppedCount.get();
+    }
+
+    @Override
+    public synchronized int getQueueSize() {
+        return queue.size();
+    }
+
+    @Override
+    public synchronized long getQueuedBytes() {
+        return queuedBytes;
+    }
+
+    /**
+     * Removes the next batch from the queue, waiting for count/bytes/linger thresholds while the sender is running.
+     *
+     * @return next batch; null if the sender is stopped and the queue is empty
+     */
+    @VisibleForTesting
+    synchronized List<PendingMessage> takeBatch() throws InterruptedException {
+        while (true) {
+            if (queue.isEmpty()) {
+                if (!isRunning) {
+                    return null;
+                }
+
+                wait();
+
+                continue;
+            }
+
+            long waitMs = lingerMs - (System.currentTimeMillis() - queue.peekFirst().createTime);
+
+            if (isRunning && waitMs > 0 && queue.size() < maxMessages && queuedBytes < maxBytes) {
+                wait(waitMs);
+
+                continue;
+            }
+
+            break;
+        }
+
+        List<PendingMessage> ret   = new ArrayList<>();
+        PendingMessage       first = queue.peekFirst();
+        long                 bytes = 0;
+
+        for (Iterator<PendingMessage> iter = queue.iterator(); iter.hasNext() && ret.size() < maxMessages; ) {
+            PendingMessage pending = iter.next();
+
+            if (!ret.isEmpty() && (!pending.canBeSentWith(first) || bytes + pending.estimatedSize > maxBytes)) {
+                break;
+            }
+
+            ret.add(pending);
+
+            bytes += pending.estimatedSize;
+
+            iter.remove();
+        }
+
+        queuedBytes -= bytes;
+
+        notifyAll(); // wake up callers waiting for space in the queue
+
+        return ret;
+    }
+
+    @VisibleForTesting
+    void send(List<PendingMessage> batch) {
+        List<HookNotification> messages = new ArrayList<>(batch.size());
+
+        for (PendingMessage pending : batch) {
+            messages.add(pending.message);
+        }
+
+        PendingMessage first = batch.get(0);
+        boolean        isSent = AtlasHook.notifyEntitiesInternal(messages, first.maxRetries, first.ugi, notificationInterface, logFailedMessages, failedMessagesLogger);
+
+        batchCount.incrementAndGet();
+
+        if (isSent) {
+            sentCount.addAndGet(messages.size());
+        } else {
+            failedCount.addAndGet(messages.size());
+        }
+    }
+
+    private void run() {
+        LOG.info("==> HookNotificationSender: started");
+
+        while (true) {
+            try {
+                List<PendingMessage> batch = takeBatch();
+
+                if (batch == null) {
+                    break;
+                }
+
+                send(batch);
+            } catch (InterruptedException excp) {
+                LOG.info("HookNotificationSender: interrupted");
+
+                break;
+            } catch (Throwable t) {
+                LOG.error("HookNotificationSender: failed to send notifications", t);
+            }
+        }
+
+        LOG.info("<== HookNotificationSender: stopped");
+    }
+
+    private boolean mergeIntoLast(HookNotification message, UserGroupInformation ugi, int maxRetries) {
+        PendingMessage last = queue.peekLast();
+
+        if (last == null || last.entitiesByKey == null || !Objects.equals(last.ugi, ugi) || last.maxRetries != maxRetries) {
+            return false;
+        }
+
+        if (message.getClass() != last.message.getClass() || !StringUtils.equals(message.getUser(), last.message.getUser())) {
+            return false;
+        }
+
+        if (System.currentTimeMillis() - last.createTime > mergeWindowMs) {
+            return false;
+        }
+
+        AtlasEntitiesWithExtInfo entities = getEntities(message);
+
+        if (entities == null || last.entityCount + countEntities(entities) > maxMergedEntities) {
+            return false;
+        }
+
+        long size = estimateSize(entities);
+
+        last.merge(entities);
+
+        last.estimatedSize += size;
+        queuedBytes        += size;
+
+        return true;
+    }
+
+    private void logFailedMessage(HookNotification message) {
+        if (logFailedMessages && failedMessagesLogger != null) {
+            failedMessagesLogger.log(AbstractNotification.getMessageJson(message));
+        }
+    }
+
+    private static AtlasEntitiesWithExtInfo getEntities(HookNotification message) {
+        if (message instanceof EntityCreateRequestV2) {
+            return ((EntityCreateRequestV2) message).getEntities();
+        } else if (message instanceof EntityUpdateRequestV2) {
+            return ((EntityUpdateRequestV2) message).getEntities();
+        }
+
+        return null;
+    }
+
+    private static int countEntities(AtlasEntitiesWithExtInfo entities) {
+        int ret = entities.getEntities() != null ? entities.getEntities().size() : 0;
+
+        return ret + (entities.getReferredEntities() != null ? entities.getReferredEntities().size() : 0);
+    }
+
+    private static String getEntityKey(AtlasEntity entity) {
+        Object qualifiedName = entity.getAttribute(ATTR_QUALIFIED_NAME);
+
+        return qualifiedName instanceof String && entity.getTypeName() != null ? entity.getTypeName() + ":" + qualifiedName : null;
+    }
+
+    /**
+     * @return approximate size of the JSON representation of the given value
+     */
+    @VisibleForTesting
+    static long estimateSize(Object value) {
+        long ret;
+
+        if (value == null) {
+            ret = 4;
+        } else if (value instanceof String) {
+            ret = ((String) value).length() + 2;
+        } else if (value instanceof Map) {
+            ret = 2;
+
+            for (Map.Entry<?, ?> entry : ((Map<?, ?>) value).entrySet()) {
+                ret += estimateSize(entry.getKey()) + 2 + estimateSize(entry.getValue());
+            }
+        } else if (value instanceof Collection) {
+            ret = 2;
+
+            for (Object element : (Collection<?>) value) {
+                ret += estimateSize(element) + 1;
+            }
+        } else if (value instanceof HookNotification) {
+            HookNotification message = (HookNotification) value;
+
+            if (message instanceof EntityCreateRequestV2 || message instanceof EntityUpdateRequestV2) {
+                ret = 64 + estimateSize(getEntities(message));
+            } else if (message instanceof EntityPartialUpdateRequestV2) {
+                AtlasEntityWithExtInfo entity = ((EntityPartialUpdateRequestV2) message).getEntity();
+
+                ret = 128 + estimateSize(entity != null ? entity.getEntity() : null) + estimateSize(entity != null ? entity.getReferredEntities() : null);
+            } else if (message instanceof EntityDeleteRequestV2) {
+                ret = 64 + estimateSize(((EntityDeleteRequestV2) message).getEntities());
+            } else { // V1 messages
+                ret = DEFAULT_MESSAGE_SIZE_ESTIMATE;
+            }
+        } else if (value instanceof AtlasEntitiesWithExtInfo) {
+            AtlasEntitiesWithExtInfo entities = (AtlasEntitiesWithExtInfo) value;
+
+            ret = 32 + estimateSize(entities.getEntities()) + estimateSize(entities.getReferredEntities());
+        } else if (value instanceof AtlasEntity) {
+            AtlasEntity entity = (AtlasEntity) value;
+
+            ret = 64 + estimateSize(entity.getGuid()) + estimateSize(entity.getTypeName()) + estimateSize(entity.getAttributes())
+                     + estimateSize(entity.getRelationshipAttributes()) + estimateSize(entity.getClassifications());
+        } else if (value instanceof AtlasStruct) {
+            AtlasStruct struct = (AtlasStruct) value;
+
+            ret = 32 + estimateSize(struct.getTypeName()) + estimateSize(struct.getAttributes());
+        } else if (value instanceof AtlasObjectId) {
+            AtlasObjectId objectId = (AtlasObjectId) value;
+
+            ret = 48 + estimateSize(objectId.getGuid()) + estimateSize(objectId.getTypeName()) + estimateSize(objectId.getUniqueAttributes());
+        } else {
+            ret = 16;
+        }
+
+        return ret;
+    }
+
+    @VisibleForTesting
+    static final class PendingMessage {
+        final HookNotification         message;
+        final UserGroupInformation     ugi;
+        final int                      maxRetries;
+        final long                     createTime;
+        final Map<String, AtlasEntity> entitiesByKey; // null if the message can't be merged with others
+        int                            entityCount;
+        long                           estimatedSize;
+
+        PendingMessage(HookNotification message, UserGroupInformation ugi, int maxRetries) {
+            AtlasEntitiesWithExtInfo entities = getEntities(message);
+
+            this.message       = message;
+            this.ugi           = ugi;
+            this.maxRetries    = maxRetries;
+            this.createTime    = System.currentTimeMillis();
+            this.entitiesByKey = entities != null ? new HashMap<>() : null;
+
+            if (entities != null) {
+                if (entities.getEntities() != null) {
+                    entities.setEntities(new ArrayList<>(entities.getEntities())); // entities of later messages can be added
+
+                    for (AtlasEntity entity : entities.getEntities()) {
+                        index(entity);
+                    }
+                }
+
+                if (entities.getReferredEntities() != null) {
+                    for (AtlasEntity entity : entities.getReferredEntities().values()) {
+                        index(entity);
+                    }
+                }
+
+                this.entityCount = countEntities(entities);
+            }
+
+            this.estimatedSize = estimateSize(message);
+        }
+
+        boolean canBeSentWith(PendingMessage other) {
+            return Objects.equals(ugi, other.ugi) && maxRetries == other.maxRetries;
+        }
+
+        /**
+         * Adds entities of a later message to this message. Entities already in this message are updated with attributes
+         * of the later entity, as the server would have done when processing both messages in order; references to the
+         * later entity are updated to refer to the existing entity.
+         */
+        void merge(AtlasEntitiesWithExtInfo other) {
+            AtlasEntitiesWithExtInfo entities      = getEntities(message);
+            Map<String, String>      guidMappings  = new HashMap<>();
+            List<AtlasEntity>        otherEntities = new ArrayList<>();
+
+            if (other.getEntities() != null) {
+                otherEntities.addAll(other.getEntities());
+            }
+
+            if (other.getReferredEntities() != null) {
+                otherEntities.addAll(other.getReferredEntities().values());
+            }
+
+            for (AtlasEntity entity : otherEntities) {
+                String      key      = getEntityKey(entity);
+                AtlasEntity existing = key != null ? entitiesByKey.get(key) : null;
+
+                if (existing != null && entity.getGuid() != null && !Objects.equals(existing.getGuid(), entity.getGuid())) {
+                    guidMappings.put(entity.getGuid(), existing.getGuid());
+                }
+            }
+
+            if (!guidMappings.isEmpty()) {
+                for (AtlasEntity entity : otherEntities) {
+                    updateReferences(entity.getAttributes(), guidMappings);
+                    updateReferences(entity.getRelationshipAttributes(), guidMappings);
+                    updateReferences(entity.getClassifications(), guidMappings);
+                }
+            }
+
+            List<AtlasEntity> addedEntities = new ArrayList<>();
+
+            if (other.getEntities() != null) {
+                for (AtlasEntity entity : other.getEntities()) {
+                    if (!mergeEntity(entity)) {
+                        entities.addEntity(entity);
+
+                        addedEntities.add(entity);
+                    }
+                }
+            }
+
+            if (other.getReferredEntities() != null) {
+                for (AtlasEntity entity : other.getReferredEntities().values()) {
+                    if (!mergeEntity(entity)) {
+                        entities.addReferredEntity(entity);
+
+                        addedEntities.add(entity);
+                    }
+                }
+            }
+
+            // entities are indexed after the merge, so that only entities of earlier messages are merged with
+            for (AtlasEntity entity : addedEntities) {
+                index(entity);
+            }
+
+            entityCount += addedEntities.size();
+        }
+
+        private boolean mergeEntity(AtlasEntity entity) {
+            String      key      = getEntityKey(entity);
+            AtlasEntity existing = key != null ? entitiesByKey.get(key) : null;
+
+            if (existing == null) {
+                return false;
+            }
+
+            if (entity.getAttributes() != null) {
+                if (existing.getAttributes() == null) {
+                    existing.setAttributes(new HashMap<>());
+                }
+
+                existing.getAttributes().putAll(entity.getAttributes());
+            }
+
+            if (entity.getRelationshipAttributes() != null) {
+                if (existing.getRelationshipAttributes() == null) {
+                    existing.setRelationshipAttributes(new HashMap<>());
+                }
+
+                existing.getRelationshipAttributes().putAll(entity.getRelationshipAttributes());
+            }
+
+            if (entity.getClassifications() != null) {
+                existing.setClassifications(entity.getClassifications());
+            }
+
+            if (entity.getCustomAttributes() != null) {
+                existing.setCustomAttributes(entity.getCustomAttributes());
+            }
+
+            if (entity.getLabels() != null) {
+                existing.setLabels(entity.getLabels());
+            }
+
+            return true;
+        }
+
+        private void index(AtlasEntity entity) {
+            String key = getEntityKey(entity);
+
+            if (key != null) {
+                entitiesByKey.putIfAbsent(key, entity);
+            }
+        }
+
+        @SuppressWarnings("unchecked")
+        private static void updateReferences(Object value, Map<String, String> guidMappings) {
+            if (value instanceof AtlasObjectId) {
+                AtlasObjectId objectId = (AtlasObjectId) value;
+                String        newGuid  = objectId.getGuid() != null ? guidMappings.get(objectId.getGuid()) : null;
+
+                if (newGuid != null) {
+                    objectId.setGuid(newGuid);
+                }
+            } else if (value instanceof AtlasClassification) {
+                AtlasClassification classification = (AtlasClassification) value;
+                String              newGuid        = classification.getEntityGuid() != null ? guidMappings.get(classification.getEntityGuid()) : null;
+
+                if (newGuid != null) {
+                    classification.setEntityGuid(newGuid);
+                }
+
+                updateReferences(classification.getAttributes(), guidMappings);
+            } else if (value instanceof AtlasStruct) {
+                updateReferences(((AtlasStruct) value).getAttributes(), guidMappings);
+            } else if (value instanceof Map) {
+                Map<Object, Object> map     = (Map<Object, Object>) value;
+                Object              guid    = map.get(AtlasObjectId.KEY_GUID);
+                String              newGuid = guid instanceof String ? guidMappings.get(guid) : null;
+
+                if (newGuid != null) {
+                    map.put(AtlasObjectId.KEY_GUID, newGuid);
+                }
+
+                for (Object mapValue : map.values()) {
+                    updateReferences(mapValue, guidMappings);
+                }
+            } else if (value instanceof Collection) {
+                for (Object element : (Collection<?>) value) {
+                    updateReferences(element, guidMappings);
+                }
+            }
+        }
+    }
+}
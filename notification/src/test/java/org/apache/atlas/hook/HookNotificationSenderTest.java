@@ -0,0 +1,283 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.atlas.hook;
+
+import org.apache.atlas.hook.HookNotificationSender.PendingMessage;
+import org.apache.atlas.model.instance.AtlasEntity;
+import org.apache.atlas.model.instance.AtlasEntity.AtlasEntitiesWithExtInfo;
+import org.apache.atlas.model.instance.AtlasObjectId;
+import org.apache.atlas.model.notification.HookNotification;
+import org.apache.atlas.model.notification.HookNotification.EntityCreateRequestV2;
+import org.apache.atlas.model.notification.HookNotification.EntityUpdateRequestV2;
+import org.apache.atlas.notification.NotificationInterface;
+import org.apache.atlas.v1.model.notification.HookNotificationV1.EntityCreateRequest;
+import org.apache.hadoop.security.UserGroupInformation;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.security.PrivilegedExceptionAction;
+import java.util.Collections;
+import java.util.List;
+
+import static org.mockito.Matchers.anyString;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNotSame;
+import static org.testng.Assert.assertNull;
+import static org.testng.Assert.assertSame;
+import static org.testng.Assert.assertTrue;
+
+public class HookNotificationSenderTest {
+    @Mock
+    private NotificationInterface notificationInterface;
+
+    @Mock
+    private FailedMessagesLogger failedMessagesLogger;
+
+    @BeforeMethod
+    public void setup() {
+        MockitoAnnotations.initMocks(this);
+    }
+
+    @Test
+    public void testBatchesByMessageCount() throws Exception {
+        HookNotificationSender sender = createSender(100, 3, 1000, HookNotificationSender.QUEUE_FULL_POLICY_DROP, 0);
+
+        for (int i = 0; i < 7; i++) {
+            sender.add(new EntityCreateRequest("u" + i), null, 1);
+        }
+
+        assertEquals(sender.takeBatch().size(), 3);
+        assertEquals(sender.takeBatch().size(), 3);
+
+        List<PendingMessage> batch = sender.takeBatch();
+
+        assertEquals(batch.size(), 1);
+        assertEquals(batch.get(0).message.getUser(), "u6");
+        assertNull(sender.takeBatch()); // not started: no wait on an empty queue
+    }
+
+    @Test
+    public void testBatchesByEstimatedBytes() throws Exception {
+        HookNotificationSender sender = new HookNotificationSender(notificationInterface, true, failedMessagesLogger, 100, 100, 2500, 60000, 0, 1000,
+                                                                   HookNotificationSender.QUEUE_FULL_POLICY_DROP, 0);
+
+        for (int i = 0; i < 5; i++) {
+            sender.add(new EntityCreateRequest("u" + i), null, 1); // estimated at 1024 bytes each
+        }
+
+        assertEquals(sender.getQueuedBytes(), 5 * 1024);
+        assertEquals(sender.takeBatch().size(), 2);
+        assertEquals(sender.takeBatch().size(), 2);
+        assertEquals(sender.takeBatch().size(), 1);
+        assertEquals(sender.getQueuedBytes(), 0);
+    }
+
+    @Test
+    public void testUpdatesForSameEntitiesAreMerged() throws Exception {
+        HookNotificationSender sender = createSender(100, 100, 60000, HookNotificationSender.QUEUE_FULL_POLICY_DROP, 0);
+
+        AtlasEntity db1    = createEntity("-1", "hive_db", "db@cl1");
+        AtlasEntity table1 = createEntity("-2", "hive_table", "db.t1@cl1");
+        AtlasEntity db2    = createEntity("-3", "hive_db", "db@cl1");
+        AtlasEntity table2 = createEntity("-4", "hive_table", "db.t2@cl1");
+        AtlasEntity table3 = createEntity("-5", "hive_table", "db.t1@cl1");
+
+        table1.setRelationshipAttribute("db", new AtlasObjectId("-1", "hive_db"));
+        table2.setRelationshipAttribute("db", new AtlasObjectId("-3", "hive_db"));
+        db2.setAttribute("owner", "admin");
+        table3.setAttribute("comment", "updated");
+
+        sender.add(createUpdateRequest("u1", table1, db1), null, 1);
+        sender.add(createUpdateRequest("u1", table2, db2), null, 1);
+        sender.add(createUpdateRequest("u1", table3, null), null, 1);
+
+        assertEquals(sender.getQueueSize(), 1);
+        assertEquals(sender.getMergedCount(), 2);
+
+        AtlasEntitiesWithExtInfo entities = ((EntityUpdateRequestV2) sender.takeBatch().get(0).message).getEntities();
+
+        assertEquals(entities.getEntities().size(), 2);
+        assertEquals(entities.getReferredEntities().size(), 1);
+        assertSame(entities.getEntities().get(1), table2);
+        assertEquals(((AtlasObjectId) table2.getRelationshipAttribute("db")).getGuid(), "-1");
+        assertEquals(db1.getAttribute("owner"), "admin");
+        assertEquals(table1.getAttribute("comment"), "updated");
+        assertEquals(table1.getAttribute("qualifiedName"), "db.t1@cl1");
+    }
+
+    @Test
+    public void testMessagesNotMerged() throws Exception {
+        HookNotificationSender sender = createSender(100, 100, 60000, HookNotificationSender.QUEUE_FULL_POLICY_DROP, 0);
+
+        sender.add(createUpdateRequest("u1", createEntity("-1", "hive_db", "db@cl1"), null), null, 1);
+        sender.add(createUpdateRequest("u2", createEntity("-2", "hive_db", "db@cl1"), null), null, 1); // different user
+        sender.add(new EntityCreateRequestV2("u2", new AtlasEntitiesWithExtInfo(createEntity("-3", "hive_db", "db@cl1"))), null, 1); // different type
+        sender.add(new EntityCreateRequest("u2"), null, 1);
+
+        assertEquals(sender.getQueueSize(), 4);
+        assertEquals(sender.getMergedCount(), 0);
+    }
+
+    @Test
+    public void testMergedForSameUgiSubject() throws Exception {
+        HookNotificationSender sender  = createSender(100, 100, 60000, HookNotificationSender.QUEUE_FULL_POLICY_DROP, 0);
+        UserGroupInformation   user1   = UserGroupInformation.createRemoteUser("u1");
+        UserGroupInformation   user2   = UserGroupInformation.createRemoteUser("u2");
+        UserGroupInformation   ugi1    = getCurrentUser(user1);
+        UserGroupInformation   ugi2    = getCurrentUser(user1); // hooks get a new instance for each message
+
+        assertNotSame(ugi1, ugi2);
+
+        sender.add(createUpdateRequest("u1", createEntity("-1", "hive_db", "db@cl1"), null), ugi1, 1);
+        sender.add(createUpdateRequest("u1", createEntity("-2", "hive_db", "db@cl1"), null), ugi2, 1);
+
+        assertEquals(sender.getQueueSize(), 1);
+        assertEquals(sender.getMergedCount(), 1);
+
+        sender.add(new EntityCreateRequest("u1"), ugi1, 1);
+        sender.add(new EntityCreateRequest("u1"), ugi2, 1);
+        sender.add(new EntityCreateRequest("u2"), getCurrentUser(user2), 1);
+
+        // messages of the same user are sent in a batch; a message of another user is not
+        assertEquals(sender.takeBatch().size(), 3);
+        assertEquals(sender.takeBatch().size(), 1);
+    }
+
+    @Test
+    public void testMergeWindow() throws Exception {
+        HookNotificationSender sender = createSender(100, 100, 0, HookNotificationSender.QUEUE_FULL_POLICY_DROP, 0);
+
+        sender.add(createUpdateRequest("u1", createEntity("-1", "hive_db", "db@cl1"), null), null, 1);
+
+        Thread.sleep(5);
+
+        sender.add(createUpdateRequest("u1", createEntity("-2", "hive_db", "db@cl1"), null), null, 1);
+
+        assertEquals(sender.getQueueSize(), 2);
+    }
+
+    @Test
+    public void testDropWhenQueueFull() {
+        HookNotificationSender sender = createSender(2, 100, 1000, HookNotificationSender.QUEUE_FULL_POLICY_DROP, 0);
+
+        sender.add(new EntityCreateRequest("u1"), null, 1);
+        sender.add(new EntityCreateRequest("u2"), null, 1);
+        sender.add(new EntityCreateRequest("u3"), null, 1);
+
+        assertEquals(sender.getQueueSize(), 2);
+        assertEquals(sender.getDroppedCount(), 1);
+
+        verify(failedMessagesLogger, times(1)).log(anyString());
+    }
+
+    @Test(timeOut = 10000)
+    public void testBlockWhenQueueFull() throws Exception {
+        HookNotificationSender sender = createSender(1, 100, 1000, HookNotificationSender.QUEUE_FULL_POLICY_BLOCK, 5000);
+
+        sender.add(new EntityCreateRequest("u1"), null, 1);
+
+        Thread consumer = new Thread(() -> {
+            try {
+                Thread.sleep(200);
+
+                sender.takeBatch();
+            } catch (InterruptedException excp) {
+                // ignore
+            }
+        });
+
+        consumer.start();
+
+        long startTime = System.currentTimeMillis();
+
+        sender.add(new EntityCreateRequest("u2"), null, 1);
+
+        consumer.join();
+
+        assertTrue(System.currentTimeMillis() - startTime >= 150);
+        assertEquals(sender.getDroppedCount(), 0);
+        assertEquals(sender.getQueueSize(), 1);
+    }
+
+    @Test
+    public void testSend() throws Exception {
+        HookNotificationSender sender  = createSender(100, 100, 1000, HookNotificationSender.QUEUE_FULL_POLICY_DROP, 0);
+        HookNotification       message = new EntityCreateRequest("u1");
+
+        sender.add(message, null, 1);
+        sender.send(sender.takeBatch());
+
+        verify(notificationInterface, times(1)).send(NotificationInterface.NotificationType.HOOK, Collections.singletonList(message));
+
+        assertEquals(sender.getSentCount(), 1);
+        assertEquals(sender.getBatchCount(), 1);
+    }
+
+    @Test(timeOut = 10000)
+    public void testStopSendsQueuedMessages() throws Exception {
+        HookNotificationSender sender = createSender(100, 100, 60000, HookNotificationSender.QUEUE_FULL_POLICY_DROP, 0);
+
+        sender.start();
+
+        sender.add(new EntityCreateRequest("u1"), null, 1);
+        sender.add(new EntityCreateRequest("u2"), null, 1);
+
+        sender.stop(5000);
+
+        assertEquals(sender.getSentCount(), 2);
+        assertEquals(sender.getQueueSize(), 0);
+    }
+
+    private static UserGroupInformation getCurrentUser(UserGroupInformation ugi) throws Exception {
+        return ugi.doAs(new PrivilegedExceptionAction<UserGroupInformation>() {
+            @Override
+            public UserGroupInformation run() throws Exception {
+                return UserGroupInformation.getCurrentUser();
+            }
+        });
+    }
+
+    private HookNotificationSender createSender(int queueSize, int maxMessages, long mergeWindowMs, String queueFullPolicy, long blockTimeoutMs) {
+        return new HookNotificationSender(notificationInterface, true, failedMessagesLogger, queueSize, maxMessages, 1024 * 1024, 60000,
+                                          mergeWindowMs, 1000, queueFullPolicy, blockTimeoutMs);
+    }
+
+    private static AtlasEntity createEntity(String guid, String typeName, String qualifiedName) {
+        AtlasEntity ret = new AtlasEntity(typeName);
+
+        ret.setGuid(guid);
+        ret.setAttribute("qualifiedName", qualifiedName);
+
+        return ret;
+    }
+
+    private static EntityUpdateRequestV2 createUpdateRequest(String user, AtlasEntity entity, AtlasEntity referredEntity) {
+        AtlasEntitiesWithExtInfo entities = new AtlasEntitiesWithExtInfo(entity);
+
+        if (referredEntity != null) {
+            entities.addReferredEntity(referredEntity);
+        }
+
+        return new EntityUpdateRequestV2(user, entities);
+    }
+}
@@ -19,6 +19,10 @@
 package org.apache.atlas.kafka;
 
 import org.apache.atlas.ApplicationProperties;
+import org.apache.atlas.hook.HookNotificationSender;
+import org.apache.atlas.model.instance.AtlasEntity;
+import org.apache.atlas.model.instance.AtlasEntity.AtlasEntitiesWithExtInfo;
+import org.apache.atlas.model.notification.HookNotification.EntityUpdateRequestV2;
 import org.apache.atlas.v1.model.instance.Referenceable;
 import org.apache.atlas.notification.NotificationConsumer;
 import org.apache.atlas.notification.NotificationInterface;
@@ -30,6 +34,7 @@ import org.testng.annotations.BeforeClass;
 import org.testng.annotations.Test;
 import org.apache.atlas.model.notification.HookNotification;
 
+import java.util.ArrayList;
 import java.util.List;
 
 import static org.testng.Assert.assertEquals;
@@ -77,6 +82,49 @@ public class KafkaNotificationTest {
         consumer.close();
     }
 
+    @Test
+    public void testBatchingSender() throws Exception {
+        HookNotificationSender sender = new HookNotificationSender(kafkaNotification, false, null, 100, 10, 1024 * 1024, 100, 5000, 1000,
+                                                                   HookNotificationSender.QUEUE_FULL_POLICY_DROP, 0);
+
+        sender.start();
+
+        for (int i = 0; i < 3; i++) {
+            AtlasEntity db = new AtlasEntity("hive_db");
+
+            db.setGuid("-" + (i + 1));
+            db.setAttribute("qualifiedName", "db1@cl1");
+            db.setAttribute("description", "update" + i);
+
+            sender.add(new EntityUpdateRequestV2("batch-user", new AtlasEntitiesWithExtInfo(db)), null, 1);
+        }
+
+        sender.stop(10000);
+
+        assertEquals(sender.getMergedCount(), 2);
+        assertEquals(sender.getSentCount(), 1);
+
+        NotificationConsumer<Object> consumer  = kafkaNotification.createConsumers(NotificationInterface.NotificationType.HOOK, 1).get(0);
+        List<EntityUpdateRequestV2>  received  = new ArrayList<>();
+        long                         startTime = System.currentTimeMillis();
+
+        while (received.isEmpty() && (System.currentTimeMillis() - startTime) < 10000) {
+            for (AtlasKafkaMessage<Object> msg : consumer.receive()) {
+                HookNotification message = (HookNotification) msg.getMessage();
+
+                if ("batch-user".equals(message.getUser())) {
+                    received.add((EntityUpdateRequestV2) message);
+                }
+            }
+        }
+
+        consumer.close();
+
+        assertEquals(received.size(), 1);
+        assertEquals(received.get(0).getEntities().getEntities().size(), 1);
+        assertEquals(received.get(0).getEntities().getEntities().get(0).getAttribute("description"), "update2");
+    }
+
     // retry starting notification services every 2 mins for total of 20 mins
     // running parallel tests will keep the notification service ports occupied, hence retry
     void startNotificationServicesWithRetry() throws Exception {
@@ -119,23 +119,7 @@ public class GraphTransactionInterceptor implements MethodInterceptor {
                 innerFailure.set(Boolean.FALSE);
                 guidVertexCache.get().clear();
 
-                List<PostTransactionHook> trxHooks = postTransactionHooks.get();
-
-                if (trxHooks != null) {
-                    if (LOG.isDebugEnabled()) {
-                        LOG.debug("Processing post-txn hooks");
-                    }
-
-                    postTransactionHooks.remove();
-
-                    for (PostTransactionHook trxHook : trxHooks) {
-                        try {
-                            trxHook.onComplete(isSuccess);
-                        } catch (Throwable t) {
-                            LOG.error("postTransactionHook failed", t);
-                        }
-                    }
-                }
+                processPostTransactionHooks(isSuccess);
             }
 
             OBJECT_UPDATE_SYNCHRONIZER.releaseLockedObjects();
@@ -173,6 +157,30 @@ public class GraphTransactionInterceptor implements MethodInterceptor {
         graph.rollback();
     }
 
+    /**
+     * Runs, and removes, the hooks registered in the current thread. Code that commits or rolls back the graph
+     * transaction itself, outside of a @GraphTransaction method, must call this after each commit or rollback.
+     */
+    public static void processPostTransactionHooks(boolean isSuccess) {
+        List<PostTransactionHook> trxHooks = postTransactionHooks.get();
+
+        if (trxHooks != null) {
+            if (LOG.isDebugEnabled()) {
+                LOG.debug("Processing post-txn hooks");
+            }
+
+            postTransactionHooks.remove();
+
+            for (PostTransactionHook trxHook : trxHooks) {
+                try {
+                    trxHook.onComplete(isSuccess);
+                } catch (Throwable t) {
+                    LOG.error("postTransactionHook failed", t);
+                }
+            }
+        }
+    }
+
     public static void lockObjectAndReleasePostCommit(final String guid) {
         OBJECT_UPDATE_SYNCHRONIZER.lockObject(guid);
     }
@@ -22,7 +22,9 @@ package org.apache.atlas.discovery;
 import org.apache.atlas.SortOrder;
 import org.apache.atlas.exception.AtlasBaseException;
 import org.apache.atlas.model.discovery.*;
+import org.apache.atlas.model.instance.AtlasEntityHeader;
 import org.apache.atlas.model.profile.AtlasUserSavedSearch;
+import org.apache.atlas.utils.AtlasBatchConsumer;
 
 import java.util.List;
 import java.util.Set;
@@ -79,6 +81,17 @@ public interface AtlasDiscoveryService {
      */
     AtlasSearchResult searchWithParameters(SearchParameters searchParameters) throws AtlasBaseException;
 
+    /**
+     * Search for entities matching the search criteria, handing matching entities to the consumer in batches as they
+     * are read, instead of adding them to the result
+     * @param searchParameters Search criteria
+     * @param batchSize        Maximum number of entities in a batch
+     * @param consumer         Consumer of batches of matching entities
+     * @return Search result without entities: approximate count, continuation token and referred entities
+     * @throws AtlasBaseException
+     */
+    AtlasSearchResult searchWithParameters(SearchParameters searchParameters, int batchSize, AtlasBatchConsumer<AtlasEntityHeader> consumer) throws AtlasBaseException;
+
     /**
      *
      * @param guid unique ID of the entity.
@@ -21,6 +21,7 @@ import org.apache.atlas.SortOrder;
 import org.apache.atlas.exception.AtlasBaseException;
 import org.apache.atlas.model.discovery.SearchParameters.FilterCriteria;
 import org.apache.atlas.repository.Constants;
+import org.apache.atlas.repository.graph.ClassificationAttributeIndexHelper;
 import org.apache.atlas.repository.graphdb.*;
 import org.apache.atlas.repository.store.graph.v2.AtlasGraphUtilsV2;
 import org.apache.atlas.type.AtlasClassificationType;
@@ -100,6 +101,16 @@ public class ClassificationSearchProcessor extends SearchProcessor {
                                                         CollectionUtils.isNotEmpty(indexAttributes) &&
                                                         canApplyIndexFilter(classificationTypes, filterCriteria, false);
 
+        /* When classification attributes are copied to entity vertices, filter on classification attributes with an
+         * index query on entities, instead of reading the entity of each matching classification vertex.
+         */
+        final boolean useIndexSearchForEntityWithAttributes = !useIndexSearchForEntity && !isWildcardSearch &&
+                                                              CollectionUtils.isNotEmpty(classificationTypes) &&
+                                                              (typeAndSubTypesQryStr.length() <= MAX_QUERY_STR_LENGTH_TAGS) &&
+                                                              ClassificationAttributeIndexHelper.canUseForSearch() &&
+                                                              ClassificationAttributeIndexHelper.isSupportedFilter(filterCriteria) &&
+                                                              ClassificationAttributeIndexHelper.isIndexedOnEntity(classificationTypes, filterCriteria, context.getTypeRegistry());
+
         final boolean useGraphSearchForClassification = (CollectionUtils.isNotEmpty(classificationTypes) &&
                                                         classificationTypes.iterator().next() != SearchContext.MATCH_ALL_NOT_CLASSIFIED &&
                                                         !isWildcardSearch && CollectionUtils.isNotEmpty(graphAttributes));
@@ -137,13 +148,34 @@ public class ClassificationSearchProcessor extends SearchProcessor {
             indexQueryString        = STRAY_ELIPSIS_PATTERN.matcher(indexQueryString).replaceAll("");
             indexQuery              = graph.indexQuery(Constants.VERTEX_INDEX, indexQueryString);
 
+            LOG.debug("Using query string  '{}'.", indexQuery);
+        } else if (useIndexSearchForEntityWithAttributes) {
+            StringBuilder queryString = new StringBuilder();
+
+            graphIndexQueryBuilder.addActiveStateQueryFilter(queryString);
+            graphIndexQueryBuilder.addClassificationAndSubTypesQueryFilter(queryString);
+
+            constructFilterQuery(queryString, classificationTypes, filterCriteria, allAttributes, Constants.CLASSIFICATION_ATTRIBUTES_KEY_PREFIX);
+
+            String indexQueryString = STRAY_AND_PATTERN.matcher(queryString).replaceAll(")");
+            indexQueryString        = STRAY_OR_PATTERN.matcher(indexQueryString).replaceAll(")");
+            indexQueryString        = STRAY_ELIPSIS_PATTERN.matcher(indexQueryString).replaceAll("");
+            indexQuery              = graph.indexQuery(Constants.VERTEX_INDEX, indexQueryString);
+            whiteSpaceFilter        = true;
+
+            // values of different instances of the classification are indexed together: verify each entity in memory
+            Predicate typeNamePredicate  = SearchPredicateUtil.getINPredicateGenerator().generatePredicate(Constants.TYPE_NAME_PROPERTY_KEY, typeAndSubTypes, String.class);
+            Predicate attributePredicate = constructInMemoryPredicate(classificationTypes, filterCriteria, allAttributes);
+
+            inMemoryPredicate = attributePredicate == null ? typeNamePredicate : PredicateUtils.andPredicate(typeNamePredicate, attributePredicate);
+
             LOG.debug("Using query string  '{}'.", indexQuery);
         } else {
             indexQuery = null;
         }
 
         // index query directly on classification
-        if (useIndexSearchForClassification) {
+        if (useIndexSearchForClassification && !useIndexSearchForEntityWithAttributes) {
 
             StringBuilder queryString = new StringBuilder();
 
@@ -174,7 +206,7 @@ public class ClassificationSearchProcessor extends SearchProcessor {
         }
 
         // only registered classification will search with tag filters
-        if (useGraphSearchForClassification) {
+        if (useGraphSearchForClassification && !useIndexSearchForEntityWithAttributes) {
 
             AtlasGremlinQueryProvider queryProvider = AtlasGremlinQueryProvider.INSTANCE;
             AtlasGraphQuery query = graph.query();
@@ -227,6 +259,14 @@ public class ClassificationSearchProcessor extends SearchProcessor {
         }
 
         try {
+            if (context.useIndexCursor() && indexQuery != null) {
+                List<AtlasVertex> cursorResult = collectResultVerticesAfter(indexQuery, context.getSearchParameters().getLimit(), this::filterEntityIndexQueryResult);
+
+                if (cursorResult != null) {
+                    return cursorResult;
+                }
+            }
+
             final int     startIdx   = context.getSearchParameters().getOffset();
             final int     limit      = context.getSearchParameters().getLimit();
 
@@ -273,6 +313,10 @@ public class ClassificationSearchProcessor extends SearchProcessor {
                     CollectionUtils.filter(entityVertices, traitPredicate);
                     CollectionUtils.filter(entityVertices, isEntityPredicate);
 
+                    if (inMemoryPredicate != null) {
+                        filterByClassificationVertices(entityVertices);
+                    }
+
                 } else {
                     if (tagGraphQueryWithAttributes != null) {
 
@@ -342,6 +386,21 @@ public class ClassificationSearchProcessor extends SearchProcessor {
         return ret;
     }
 
+    private void filterEntityIndexQueryResult(List<AtlasVertex> entityVertices) {
+        CollectionUtils.filter(entityVertices, traitPredicate);
+        CollectionUtils.filter(entityVertices, isEntityPredicate);
+
+        if (inMemoryPredicate != null) {
+            filterByClassificationVertices(entityVertices);
+        }
+
+        if (whiteSpaceFilter) {
+            filterWhiteSpaceClassification(entityVertices);
+        }
+
+        super.filter(entityVertices);
+    }
+
     @Override
     public void filter(List<AtlasVertex> entityVertices) {
         if (LOG.isDebugEnabled()) {
@@ -374,35 +433,7 @@ public class ClassificationSearchProcessor extends SearchProcessor {
             //in case of classification type + index attributes
             CollectionUtils.filter(entityVertices, traitPredicate);
 
-            //filter attributes (filterCriteria). Find classification vertex(typeName = classification) from entity vertex (traitName = classification)
-            final Set<String> processedGuids = new HashSet<>();
-            List<AtlasVertex> matchEntityVertices = new ArrayList<>();
-            if (CollectionUtils.isNotEmpty(entityVertices)) {
-                for (AtlasVertex entityVertex : entityVertices) {
-                    Iterable<AtlasEdge> edges = entityVertex.getEdges(AtlasEdgeDirection.OUT, Constants.CLASSIFICATION_LABEL);
-
-                    for (AtlasEdge edge : edges) {
-                        AtlasVertex classificationVertex = edge.getInVertex();
-
-                        AtlasVertex matchVertex = (AtlasVertex) CollectionUtils.find(Collections.singleton(classificationVertex), inMemoryPredicate);
-                        if (matchVertex != null) {
-                            String guid = AtlasGraphUtilsV2.getIdFromVertex(entityVertex);
-
-                            if (processedGuids.contains(guid)) {
-                                continue;
-                            }
-
-                            matchEntityVertices.add(entityVertex);
-                            processedGuids.add(guid);
-                            break;
-
-                        }
-                    }
-                }
-            }
-            entityVertices.clear();
-            entityVertices.addAll(matchEntityVertices);
-
+            filterByClassificationVertices(entityVertices);
         } else {
             //in case of only classsification type
             CollectionUtils.filter(entityVertices, traitPredicate);
@@ -416,6 +447,37 @@ public class ClassificationSearchProcessor extends SearchProcessor {
         }
     }
 
+    //filter attributes (filterCriteria). Find classification vertex(typeName = classification) from entity vertex (traitName = classification)
+    private void filterByClassificationVertices(List<AtlasVertex> entityVertices) {
+        final Set<String> processedGuids = new HashSet<>();
+        List<AtlasVertex> matchEntityVertices = new ArrayList<>();
+        if (CollectionUtils.isNotEmpty(entityVertices)) {
+            for (AtlasVertex entityVertex : entityVertices) {
+                Iterable<AtlasEdge> edges = entityVertex.getEdges(AtlasEdgeDirection.OUT, Constants.CLASSIFICATION_LABEL);
+
+                for (AtlasEdge edge : edges) {
+                    AtlasVertex classificationVertex = edge.getInVertex();
+
+                    AtlasVertex matchVertex = (AtlasVertex) CollectionUtils.find(Collections.singleton(classificationVertex), inMemoryPredicate);
+                    if (matchVertex != null) {
+                        String guid = AtlasGraphUtilsV2.getIdFromVertex(entityVertex);
+
+                        if (processedGuids.contains(guid)) {
+                            continue;
+                        }
+
+                        matchEntityVertices.add(entityVertex);
+                        processedGuids.add(guid);
+                        break;
+
+                    }
+                }
+            }
+        }
+        entityVertices.clear();
+        entityVertices.addAll(matchEntityVertices);
+    }
+
     @Override
     public long getResultCount() {
         return (indexQuery != null) ? indexQuery.vertexTotals() : -1;
@@ -19,6 +19,7 @@ package org.apache.atlas.discovery;
 
 import com.google.common.annotations.VisibleForTesting;
 import org.apache.atlas.ApplicationProperties;
+import org.apache.atlas.AtlasConfiguration;
 import org.apache.atlas.AtlasErrorCode;
 import org.apache.atlas.AtlasException;
 import org.apache.atlas.SortOrder;
@@ -33,7 +34,8 @@ import org.apache.atlas.model.discovery.AtlasSearchResult.AttributeSearchResult;
 import org.apache.atlas.model.instance.AtlasEntityHeader;
 import org.apache.atlas.model.instance.AtlasObjectId;
 import org.apache.atlas.model.profile.AtlasUserSavedSearch;
-import org.apache.atlas.query.AtlasDSL;
+import org.apache.atlas.query.DSLQueryPlanCache;
+import org.apache.atlas.query.GremlinClauseToTraversalTranslator;
 import org.apache.atlas.query.GremlinQuery;
 import org.apache.atlas.query.QueryParams;
 import org.apache.atlas.repository.Constants;
@@ -50,6 +52,7 @@ import org.apache.atlas.type.AtlasStructType.AtlasAttribute;
 import org.apache.atlas.util.AtlasGremlinQueryProvider;
 import org.apache.atlas.util.AtlasGremlinQueryProvider.AtlasGremlinQuery;
 import org.apache.atlas.util.SearchTracker;
+import org.apache.atlas.utils.AtlasBatchConsumer;
 import org.apache.commons.collections.CollectionUtils;
 import org.apache.commons.collections.MapUtils;
 import org.apache.commons.lang.StringUtils;
@@ -90,13 +93,17 @@ public class EntityDiscoveryService implements AtlasDiscoveryService {
     private final String                          indexSearchPrefix;
     private final UserProfileService              userProfileService;
     private final SuggestionsProvider             suggestionsProvider;
+    private final DSLQueryPlanCache               queryPlanCache;
+    private final SearchAggregationCache          aggregationCache;
 
     @Inject
     EntityDiscoveryService(AtlasTypeRegistry typeRegistry,
                            AtlasGraph graph,
                            GraphBackedSearchIndexer indexer,
                            SearchTracker searchTracker,
-                           UserProfileService userProfileService) throws AtlasException {
+                           UserProfileService userProfileService,
+                           DSLQueryPlanCache queryPlanCache,
+                           SearchAggregationCache aggregationCache) throws AtlasException {
         this.graph                    = graph;
         this.entityRetriever          = new EntityGraphRetriever(this.graph, typeRegistry);
         this.indexer                  = indexer;
@@ -108,7 +115,9 @@ public class EntityDiscoveryService implements AtlasDiscoveryService {
         this.maxTagsLengthInIdxQuery  = ApplicationProperties.get().getInt(Constants.INDEX_SEARCH_TAGS_MAX_QUERY_STR_LENGTH, 512);
         this.indexSearchPrefix        = AtlasGraphUtilsV2.getIndexSearchPrefix();
         this.userProfileService       = userProfileService;
-        this.suggestionsProvider      = new SuggestionsProviderImpl(graph, typeRegistry);
+        this.suggestionsProvider      = new SuggestionsProviderImpl(graph, typeRegistry, aggregationCache);
+        this.queryPlanCache           = queryPlanCache;
+        this.aggregationCache         = aggregationCache;
     }
 
     @Override
@@ -122,7 +131,7 @@ public class EntityDiscoveryService implements AtlasDiscoveryService {
             LOG.debug("Executing DSL: query={}, gremlinQuery={}", dslQuery, queryStr);
         }
 
-        Object result = graph.executeGremlinScript(queryStr, false);
+        Object result = executeDslQuery(gremlinQuery);
 
         if (result instanceof List && CollectionUtils.isNotEmpty((List)result)) {
             List   queryResult  = (List) result;
@@ -438,7 +447,7 @@ public class EntityDiscoveryService implements AtlasDiscoveryService {
         // load the facet fields and attributes.
         Set<String>                              aggregationFields     = getAggregationFields();
         Set<AtlasAttribute>                      aggregationAttributes = getAggregationAtlasAttributes();
-        SearchAggregator                         searchAggregator      = new SearchAggregatorImpl(searchContext);
+        SearchAggregator                         searchAggregator      = new SearchAggregatorImpl(searchContext, aggregationCache);
         Map<String, List<AtlasAggregationEntry>> aggregatedMetrics     = searchAggregator.getAggregatedMetrics(aggregationFields, aggregationAttributes);
         AtlasQuickSearchResult                   ret                   = new AtlasQuickSearchResult(searchResult, aggregatedMetrics);
 
@@ -457,7 +466,25 @@ public class EntityDiscoveryService implements AtlasDiscoveryService {
         return searchWithSearchContext(new SearchContext(searchParameters, typeRegistry, graph, indexer.getVertexIndexKeys()));
     }
 
+    @Override
+    @GraphTransaction
+    public AtlasSearchResult searchWithParameters(SearchParameters searchParameters, int batchSize, AtlasBatchConsumer<AtlasEntityHeader> consumer) throws AtlasBaseException {
+        if (batchSize <= 0 || consumer == null) {
+            throw new AtlasBaseException(AtlasErrorCode.INVALID_PARAMETERS, "batchSize: " + batchSize + ", consumer: " + consumer);
+        }
+
+        return searchWithSearchContext(new SearchContext(searchParameters, typeRegistry, graph, indexer.getVertexIndexKeys()), batchSize, consumer);
+    }
+
     private AtlasSearchResult searchWithSearchContext(SearchContext searchContext) throws AtlasBaseException {
+        return searchWithSearchContext(searchContext, 0, null);
+    }
+
+    /**
+     * When consumer is not null, matching entities are scrubbed and handed to the consumer every batchSize entities,
+     * instead of being retained in the returned result; referred entities are retained in the result in either case.
+     */
+    private AtlasSearchResult searchWithSearchContext(SearchContext searchContext, int batchSize, AtlasBatchConsumer<AtlasEntityHeader> consumer) throws AtlasBaseException {
         SearchParameters  searchParameters = searchContext.getSearchParameters();
         AtlasSearchResult ret              = new AtlasSearchResult(searchParameters);
         final QueryParams params           = QueryParams.getNormalizedParams(searchParameters.getLimit(),searchParameters.getOffset());
@@ -467,10 +494,27 @@ public class EntityDiscoveryService implements AtlasDiscoveryService {
         searchParameters.setOffset(params.offset());
 
         try {
-            List<AtlasVertex> resultList = searchContext.getSearchProcessor().execute();
+            List<AtlasVertex> resultList;
+
+            try {
+                resultList = searchContext.getSearchProcessor().execute();
+            } catch (IllegalArgumentException excp) {
+                if (searchContext.getStartCursor() == null) {
+                    throw excp;
+                }
+
+                // index cursor in the continuation token was rejected by the index backend
+                throw new AtlasBaseException(AtlasErrorCode.INVALID_PARAMETERS, excp, "continuationToken=" + searchParameters.getContinuationToken());
+            }
 
             ret.setApproximateCount(searchContext.getSearchProcessor().getResultCount());
 
+            if (searchContext.getStartCursor() != null && !searchContext.isCursorPaged()) {
+                throw new AtlasBaseException(AtlasErrorCode.INVALID_PARAMETERS, "continuationToken: search can't be continued from an index cursor");
+            }
+
+            ret.setNextContinuationToken(searchContext.getNextContinuationToken(resultList.size()));
+
             // By default any attribute that shows up in the search parameter should be sent back in the response
             // If additional values are requested then the entityAttributes will be a superset of the all search attributes
             // and the explicitly requested attribute(s)
@@ -510,15 +554,25 @@ public class EntityDiscoveryService implements AtlasDiscoveryService {
                 }
             }
 
+            Set<String> streamedGuids = consumer != null ? new HashSet<>() : null;
+
             for (AtlasVertex atlasVertex : resultList) {
                 AtlasEntityHeader entity = entityRetriever.toAtlasEntityHeader(atlasVertex, resultAttributes);
 
+                if (streamedGuids != null && streamedGuids.contains(entity.getGuid())) {
+                    continue;
+                }
+
                 if(searchParameters.getIncludeClassificationAttributes()) {
                     entity.setClassifications(entityRetriever.getAllClassifications(atlasVertex));
                 }
 
                 ret.addEntity(entity);
 
+                if (consumer != null && ret.getEntities().size() >= batchSize) {
+                    streamEntities(ret, streamedGuids, consumer);
+                }
+
                 // populate ret.referredEntities
                 for (String entityAttribute : entityAttributes) {
                     Object attrValue = entity.getAttribute(entityAttribute);
@@ -552,6 +606,10 @@ public class EntityDiscoveryService implements AtlasDiscoveryService {
                     }
                 }
             }
+
+            if (consumer != null && CollectionUtils.isNotEmpty(ret.getEntities())) {
+                streamEntities(ret, streamedGuids, consumer);
+            }
         } finally {
             searchTracker.remove(searchID);
         }
@@ -561,6 +619,23 @@ public class EntityDiscoveryService implements AtlasDiscoveryService {
         return ret;
     }
 
+    private void streamEntities(AtlasSearchResult result, Set<String> streamedGuids, AtlasBatchConsumer<AtlasEntityHeader> consumer) throws AtlasBaseException {
+        List<AtlasEntityHeader> batch       = result.getEntities();
+        AtlasSearchResult       batchResult = new AtlasSearchResult(result.getSearchParameters());
+
+        batchResult.setEntities(batch);
+
+        scrubSearchResults(batchResult);
+
+        for (AtlasEntityHeader entity : batch) {
+            streamedGuids.add(entity.getGuid());
+        }
+
+        result.setEntities(null);
+
+        consumer.accept(batch);
+    }
+
     @Override
     @GraphTransaction
     public AtlasSearchResult searchRelatedEntities(String guid, String relation, Set<String> attributes, String sortBy, SortOrder sortOrder,
@@ -769,7 +844,7 @@ public class EntityDiscoveryService implements AtlasDiscoveryService {
 
     private GremlinQuery toGremlinQuery(String query, int limit, int offset) throws AtlasBaseException {
         QueryParams                 params       = QueryParams.getNormalizedParams(limit, offset);
-        GremlinQuery                gremlinQuery = new AtlasDSL.Translator(query, typeRegistry, params.offset(), params.limit()).translate();
+        GremlinQuery                gremlinQuery = queryPlanCache.getGremlinQuery(query, params.offset(), params.limit());
 
         if (LOG.isDebugEnabled()) {
             LOG.debug("Translated Gremlin Query: {}", gremlinQuery.queryStr());
@@ -778,6 +853,18 @@ public class EntityDiscoveryService implements AtlasDiscoveryService {
         return gremlinQuery;
     }
 
+    private Object executeDslQuery(GremlinQuery gremlinQuery) throws AtlasBaseException {
+        if (AtlasConfiguration.DSL_EXECUTOR_TRAVERSAL.getBoolean()) {
+            AtlasGraphTraversal traversal = GremlinClauseToTraversalTranslator.run(graph, gremlinQuery);
+
+            if (traversal != null) {
+                return traversal.getAtlasVertexList();
+            }
+        }
+
+        return graph.executeGremlinScript(gremlinQuery.queryStr(), false);
+    }
+
     private AtlasIndexQuery toAtlasIndexQuery(String fullTextQuery) {
         String graphQuery = String.format(indexSearchPrefix + "\"%s\":(%s)", Constants.ENTITY_TEXT_PROPERTY_KEY, fullTextQuery);
         return graph.indexQuery(Constants.FULLTEXT_INDEX, graphQuery);
@@ -58,6 +58,14 @@ public class EntitySearchProcessor extends SearchProcessor {
     private String ESIndexQueryString = null;
 
     public EntitySearchProcessor(SearchContext context) {
+        this(context, context.getEntityTypeNames(), context.getEntityTypesQryStr());
+    }
+
+    /**
+     * Creates a processor that searches only the given subset of the types in the context; used to search partitions
+     * of a large type hierarchy in parallel.
+     */
+    EntitySearchProcessor(SearchContext context, Set<String> typeAndSubTypes, String typeAndSubTypesQryStr) {
         super(context);
 
         sourceBuilder = new SearchSourceBuilder();
@@ -67,8 +75,6 @@ public class EntitySearchProcessor extends SearchProcessor {
         final Set<String> indexAttributes = new HashSet<>();
         final Set<String> graphAttributes = new HashSet<>();
         final Set<String> allAttributes = new HashSet<>();
-        final Set<String> typeAndSubTypes = context.getEntityTypeNames();
-        final String typeAndSubTypesQryStr = context.getEntityTypesQryStr();
         final String fullTextQuery = context.getSearchParameters().getQuery();
         final AtlasEntityType entityType = context.getEntityTypes().iterator().next();
         String sortBy = context.getSearchParameters().getSortBy();
@@ -250,7 +256,7 @@ public class EntitySearchProcessor extends SearchProcessor {
             LOG.debug("==> EntitySearchProcessor.execute({})", context);
         }
 
-        List<AtlasVertex> ret = new ArrayList<>();
+        List<AtlasVertex> ret = null;
 
         AtlasPerfTracer perf = null;
 
@@ -259,7 +265,13 @@ public class EntitySearchProcessor extends SearchProcessor {
         }
 
         try {
-            ret = getResultForQuery();
+            if (context.useIndexCursor() && indexQuery != null) {
+                ret = collectResultVerticesAfter(indexQuery, context.getSearchParameters().getLimit(), this::filterIndexQueryResult);
+            }
+
+            if (ret == null) {
+                ret = getResultForQuery();
+            }
         } finally {
             AtlasPerfTracer.log(perf);
         }
@@ -272,10 +284,10 @@ public class EntitySearchProcessor extends SearchProcessor {
     }
 
     private List<AtlasVertex> getResultForQuery() {
+        return getResultForQuery(context.getSearchParameters().getOffset(), context.getSearchParameters().getLimit());
+    }
 
-        final int startIdx = context.getSearchParameters().getOffset();
-        final int limit = context.getSearchParameters().getLimit();
-
+    List<AtlasVertex> getResultForQuery(final int startIdx, final int limit) {
         // when subsequent filtering stages are involved, query should start at 0 even though startIdx can be higher
         //
         // first 'startIdx' number of entries will be ignored
@@ -338,6 +350,16 @@ public class EntitySearchProcessor extends SearchProcessor {
         return ret;
     }
 
+    private void filterIndexQueryResult(List<AtlasVertex> entityVertices) {
+        CollectionUtils.filter(entityVertices, inMemoryPredicate);
+
+        if (graphQueryPredicate != null) {
+            CollectionUtils.filter(entityVertices, graphQueryPredicate);
+        }
+
+        super.filter(entityVertices);
+    }
+
     @Override
     public void filter(List<AtlasVertex> entityVertices) {
         if (LOG.isDebugEnabled()) {
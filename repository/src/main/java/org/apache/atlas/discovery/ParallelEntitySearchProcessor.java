@@ -0,0 +1,337 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.atlas.discovery;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import org.apache.atlas.AtlasConfiguration;
+import org.apache.atlas.RequestContext;
+import org.apache.atlas.SortOrder;
+import org.apache.atlas.repository.graphdb.AtlasGraph;
+import org.apache.atlas.repository.graphdb.AtlasVertex;
+import org.apache.atlas.type.AtlasEntityType;
+import org.apache.atlas.type.AtlasStructType.AtlasAttribute;
+import org.apache.atlas.utils.AtlasPerfTracer;
+import org.apache.commons.lang3.StringUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Searches entities of a large type hierarchy by splitting the types into partitions, each searched by its own
+ * EntitySearchProcessor in parallel. Each partition returns its first offset + limit matches; these are merged in
+ * sort order to find the requested page.
+ *
+ * Partitions are executed in worker threads, each in its own graph transaction. Only vertex ids and sort values are
+ * passed back; vertices are loaded again in the calling thread.
+ */
+public class ParallelEntitySearchProcessor extends SearchProcessor {
+    private static final Logger LOG      = LoggerFactory.getLogger(ParallelEntitySearchProcessor.class);
+    private static final Logger PERF_LOG = AtlasPerfTracer.getPerfLogger("ParallelEntitySearchProcessor");
+
+    private static final long TERMINATION_CHECK_INTERVAL_MS = 500;
+
+    private static final ExecutorService EXECUTOR = Executors.newFixedThreadPool(AtlasConfiguration.SEARCH_PARALLEL_THREADS.getInt(),
+                                                                                 new ThreadFactoryBuilder().setNameFormat("atlas-search-partition-%d").setDaemon(true).build());
+
+    private final List<EntitySearchProcessor> partitionProcessors = new ArrayList<>();
+    private final String                      sortByPropertyName;
+    private final boolean                     sortDescending;
+
+    public ParallelEntitySearchProcessor(SearchContext context) {
+        super(context);
+
+        for (Set<String> partition : partition(context.getEntityTypeNames(), AtlasConfiguration.SEARCH_PARALLEL_MAX_PARTITIONS.getInt())) {
+            partitionProcessors.add(new EntitySearchProcessor(context, partition, AtlasAttribute.escapeIndexQueryValue(partition)));
+        }
+
+        AtlasEntityType entityType      = context.getEntityTypes().iterator().next();
+        String          sortBy          = context.getSearchParameters().getSortBy();
+        AtlasAttribute  sortByAttribute = StringUtils.isNotEmpty(sortBy) ? entityType.getAttribute(sortBy) : null;
+
+        this.sortByPropertyName = sortByAttribute != null ? sortByAttribute.getVertexPropertyName() : null;
+        this.sortDescending     = context.getSearchParameters().getSortOrder() == SortOrder.DESCENDING;
+    }
+
+    /**
+     * @return true if the search in the given context can be executed by partitioning the entity types
+     */
+    static boolean canPartition(SearchContext context) {
+        // a single index query, read with a cursor, pages through deep results faster than merging partitions
+        return AtlasConfiguration.SEARCH_PARALLEL_ENABLED.getBoolean() &&
+               !context.useContinuationToken() &&
+               context.getEntityTypeNames().size() >= AtlasConfiguration.SEARCH_PARALLEL_MIN_TYPES.getInt() &&
+               !context.needFullTextProcessor() &&
+               !context.needClassificationProcessor();
+    }
+
+    @Override
+    public List<AtlasVertex> execute() {
+        if (LOG.isDebugEnabled()) {
+            LOG.debug("==> ParallelEntitySearchProcessor.execute({}): partitions={}", context, partitionProcessors.size());
+        }
+
+        List<AtlasVertex> ret  = new ArrayList<>();
+        AtlasPerfTracer   perf = null;
+
+        if (AtlasPerfTracer.isPerfTraceEnabled(PERF_LOG)) {
+            perf = AtlasPerfTracer.getPerfTracer(PERF_LOG, "ParallelEntitySearchProcessor.execute(" + context + ")");
+        }
+
+        try {
+            final int startIdx = context.getSearchParameters().getOffset();
+            final int limit    = context.getSearchParameters().getLimit();
+
+            List<List<PartitionEntry>> partitionResults = executePartitions(startIdx + limit);
+
+            if (partitionResults != null) {
+                AtlasGraph graph = context.getGraph();
+
+                for (PartitionEntry entry : merge(partitionResults, getComparator(), startIdx, limit)) {
+                    AtlasVertex vertex = graph.getVertex(entry.vertexId);
+
+                    if (vertex != null) {
+                        ret.add(vertex);
+                    }
+                }
+            }
+        } finally {
+            AtlasPerfTracer.log(perf);
+        }
+
+        if (LOG.isDebugEnabled()) {
+            LOG.debug("<== ParallelEntitySearchProcessor.execute({}): ret.size()={}", context, ret.size());
+        }
+
+        return ret;
+    }
+
+    @Override
+    public long getResultCount() {
+        long ret = 0;
+
+        for (EntitySearchProcessor processor : partitionProcessors) {
+            long count = processor.getResultCount();
+
+            if (count < 0) {
+                return -1L;
+            }
+
+            ret += count;
+        }
+
+        return ret;
+    }
+
+    /**
+     * @return matches of each partition, in partition order; null if the search was terminated
+     */
+    private List<List<PartitionEntry>> executePartitions(final int maxResults) {
+        List<Future<List<PartitionEntry>>> futures = new ArrayList<>(partitionProcessors.size());
+        List<List<PartitionEntry>>         ret     = new ArrayList<>(partitionProcessors.size());
+
+        try {
+            for (EntitySearchProcessor processor : partitionProcessors) {
+                futures.add(EXECUTOR.submit(() -> executePartition(processor, maxResults)));
+            }
+
+            for (Future<List<PartitionEntry>> future : futures) {
+                while (true) {
+                    if (context.terminateSearch()) {
+                        LOG.warn("query terminated: {}", context.getSearchParameters());
+
+                        return null;
+                    }
+
+                    try {
+                        ret.add(future.get(TERMINATION_CHECK_INTERVAL_MS, TimeUnit.MILLISECONDS));
+
+                        break;
+                    } catch (TimeoutException excp) {
+                        // check for termination and wait again
+                    }
+                }
+            }
+        } catch (InterruptedException excp) {
+            Thread.currentThread().interrupt();
+
+            throw new IllegalStateException("search interrupted", excp);
+        } catch (ExecutionException excp) {
+            Throwable cause = excp.getCause();
+
+            throw cause instanceof RuntimeException ? (RuntimeException) cause : new IllegalStateException(cause);
+        } finally {
+            for (Future<List<PartitionEntry>> future : futures) {
+                future.cancel(true);
+            }
+        }
+
+        return ret;
+    }
+
+    private List<PartitionEntry> executePartition(EntitySearchProcessor processor, int maxResults) {
+        AtlasGraph graph = context.getGraph();
+
+        try {
+            List<AtlasVertex>    vertices = processor.getResultForQuery(0, maxResults);
+            List<PartitionEntry> ret      = new ArrayList<>(vertices.size());
+
+            for (int i = 0; i < vertices.size(); i++) {
+                AtlasVertex vertex    = vertices.get(i);
+                Object      sortValue = sortByPropertyName != null ? vertex.getProperty(sortByPropertyName, Object.class) : null;
+
+                ret.add(new PartitionEntry(vertex.getIdForDisplay(), sortValue, i));
+            }
+
+            return ret;
+        } finally {
+            // the worker thread's transaction is only used for reads
+            graph.rollback();
+
+            // metrics recorded by the partition go to the worker thread's request context, which is not reported with
+            // the request; clear it, so that it isn't retained by the pool thread and listed as an active request
+            RequestContext.clear();
+        }
+    }
+
+    private Comparator<PartitionEntry> getComparator() {
+        // without a sort attribute, results of partitions are interleaved in the order returned by each partition
+        Comparator<PartitionEntry> ret = Comparator.comparingInt(e -> e.rank);
+
+        if (sortByPropertyName != null) {
+            Comparator<PartitionEntry> byValue = (e1, e2) -> compareValues(e1.sortValue, e2.sortValue);
+
+            ret = (sortDescending ? byValue.reversed() : byValue).thenComparing(ret);
+        }
+
+        return ret;
+    }
+
+    /**
+     * Splits the type names into at most maxPartitions partitions of nearly equal size.
+     */
+    static List<Set<String>> partition(Set<String> typeNames, int maxPartitions) {
+        int               count = Math.max(1, Math.min(maxPartitions, typeNames.size()));
+        List<Set<String>> ret   = new ArrayList<>(count);
+
+        for (int i = 0; i < count; i++) {
+            ret.add(new TreeSet<>());
+        }
+
+        int idx = 0;
+
+        for (String typeName : new TreeSet<>(typeNames)) {
+            ret.get(idx++ % count).add(typeName);
+        }
+
+        return ret;
+    }
+
+    /**
+     * k-way merge of sorted partition results, skipping the first startIdx entries.
+     */
+    static List<PartitionEntry> merge(List<List<PartitionEntry>> partitionResults, Comparator<PartitionEntry> comparator, int startIdx, int limit) {
+        PriorityQueue<PartitionCursor> heads = new PriorityQueue<>(Math.max(1, partitionResults.size()), (c1, c2) -> {
+            int ret = comparator.compare(c1.current(), c2.current());
+
+            return ret != 0 ? ret : Integer.compare(c1.partitionIdx, c2.partitionIdx);
+        });
+
+        for (int i = 0; i < partitionResults.size(); i++) {
+            List<PartitionEntry> entries = partitionResults.get(i);
+
+            if (!entries.isEmpty()) {
+                heads.add(new PartitionCursor(i, entries));
+            }
+        }
+
+        List<PartitionEntry> ret       = new ArrayList<>(limit);
+        int                  resultIdx = 0;
+
+        while (ret.size() < limit && !heads.isEmpty()) {
+            PartitionCursor cursor = heads.poll();
+
+            if (resultIdx++ >= startIdx) {
+                ret.add(cursor.current());
+            }
+
+            if (cursor.advance()) {
+                heads.add(cursor);
+            }
+        }
+
+        return ret;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static int compareValues(Object v1, Object v2) {
+        if (v1 == v2) {
+            return 0;
+        } else if (v1 == null) { // nulls last
+            return 1;
+        } else if (v2 == null) {
+            return -1;
+        } else if (v1 instanceof Comparable && v1.getClass().equals(v2.getClass())) {
+            return ((Comparable<Object>) v1).compareTo(v2);
+        } else {
+            return v1.toString().compareTo(v2.toString());
+        }
+    }
+
+    static class PartitionEntry {
+        final String vertexId;
+        final Object sortValue;
+        final int    rank;
+
+        PartitionEntry(String vertexId, Object sortValue, int rank) {
+            this.vertexId  = vertexId;
+            this.sortValue = sortValue;
+            this.rank      = rank;
+        }
+    }
+
+    private static class PartitionCursor {
+        private final int                  partitionIdx;
+        private final List<PartitionEntry> entries;
+        private int                        idx = 0;
+
+        PartitionCursor(int partitionIdx, List<PartitionEntry> entries) {
+            this.partitionIdx = partitionIdx;
+            this.entries      = entries;
+        }
+
+        PartitionEntry current() {
+            return entries.get(idx);
+        }
+
+        boolean advance() {
+            return ++idx < entries.size();
+        }
+    }
+}
@@ -0,0 +1,447 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.atlas.discovery;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheStats;
+import com.google.common.cache.Weigher;
+import com.google.common.util.concurrent.UncheckedExecutionException;
+import org.apache.atlas.AtlasConfiguration;
+import org.apache.atlas.AtlasException;
+import org.apache.atlas.listener.EntityChangeListenerV2;
+import org.apache.atlas.model.discovery.AtlasAggregationEntry;
+import org.apache.atlas.model.glossary.AtlasGlossaryTerm;
+import org.apache.atlas.model.instance.AtlasClassification;
+import org.apache.atlas.model.instance.AtlasEntity;
+import org.apache.atlas.model.instance.AtlasRelatedObjectId;
+import org.apache.atlas.model.instance.AtlasRelationship;
+import org.apache.atlas.repository.graphdb.AggregationContext;
+import org.apache.atlas.type.AtlasEntityType;
+import org.apache.atlas.type.AtlasType;
+import org.apache.atlas.type.AtlasTypeRegistry;
+import org.apache.commons.lang.StringUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import javax.inject.Inject;
+import javax.inject.Singleton;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Cache of facet counts and prefix suggestions fetched from the index, keyed by the normalized search context and
+ * index fields. Concurrent requests for the same key share a single index query: the first request loads the value,
+ * others wait for it.
+ *
+ * Entries expire atlas.search.aggregation.cache.ttl.ms after they are loaded. Entity changes are also counted as they
+ * are notified, against the type of the changed entity and each of its supertypes. Once
+ * atlas.search.aggregation.cache.invalidate.change.count entities of a type have changed, entries scoped to that type
+ * are invalidated - so that on a busy catalog the counts are refreshed sooner than the TTL. An entry is scoped to the
+ * entity types of its search, or for suggestions to the type that defines the field; entries of searches across all
+ * types, or of suggestions on common fields, are invalidated after the given count of changes of any type.
+ *
+ * Scoping trades precision for hit rate: a change is not checked against the query or filters of an entry, hence
+ * entries of a type are refreshed even when the changed entities don't match their search; and an entry can remain
+ * stale, until the TTL, for up to the given count of changes that do match. Entries of searches on widely inherited
+ * types (like DataSet) are refreshed nearly as often as entries across all types. Invalidated entries are not
+ * removed; they are no longer read, and are evicted by the TTL or, being least recently used, by the size bound.
+ *
+ * The size of the cache is bounded by the number of facet values and suggestions held,
+ * atlas.search.aggregation.cache.max.values.
+ */
+@Component
+@Singleton
+public class SearchAggregationCache implements EntityChangeListenerV2 {
+    private static final Logger LOG = LoggerFactory.getLogger(SearchAggregationCache.class);
+
+    private static final String KEY_PREFIX_AGGREGATION = "a|";
+    private static final String KEY_PREFIX_SUGGESTION  = "s|";
+    private static final String SCOPE_ALL_TYPES        = "*";
+
+    private final AtlasTypeRegistry     typeRegistry;
+    private final Cache<String, Object> cache;
+    private final long                  invalidateChangeCount;
+    private final AtomicLong            generation         = new AtomicLong();
+    private final AtomicLong            invalidationCount  = new AtomicLong();
+
+    private final ConcurrentMap<String, AtomicLong> scopeGenerations    = new ConcurrentHashMap<>(); // scope -> generation
+    private final ConcurrentMap<String, AtomicLong> pendingChangeCounts = new ConcurrentHashMap<>(); // scope -> changes since invalidation
+
+    public interface Loader<T> {
+        T load() throws AtlasException;
+    }
+
+    @Inject
+    public SearchAggregationCache(AtlasTypeRegistry typeRegistry) {
+        this(typeRegistry, AtlasConfiguration.SEARCH_AGGREGATION_CACHE_TTL_MS.getLong(),
+             AtlasConfiguration.SEARCH_AGGREGATION_CACHE_MAX_VALUES.getLong(),
+             AtlasConfiguration.SEARCH_AGGREGATION_CACHE_INVALIDATE_CHANGE_COUNT.getLong());
+    }
+
+    SearchAggregationCache(AtlasTypeRegistry typeRegistry, long ttlMs, long maxValues, long invalidateChangeCount) {
+        this.typeRegistry          = typeRegistry;
+        this.invalidateChangeCount = invalidateChangeCount;
+        this.cache                 = (ttlMs > 0 && maxValues > 0) ? CacheBuilder.newBuilder()
+                                                                               .expireAfterWrite(ttlMs, TimeUnit.MILLISECONDS)
+                                                                               .maximumWeight(maxValues)
+                                                                               .weigher(new ValueCountWeigher())
+                                                                               .recordStats()
+                                                                               .build() : null;
+
+        LOG.info("search aggregation cache: ttlMs={}, maxValues={}, invalidateChangeCount={}", ttlMs, maxValues, invalidateChangeCount);
+    }
+
+    public boolean isEnabled() {
+        return cache != null;
+    }
+
+    /**
+     * @return facet counts for the given context, from the cache or the loader; the caller is free to modify the returned map
+     */
+    public Map<String, List<AtlasAggregationEntry>> getAggregatedMetrics(AggregationContext context, Loader<Map<String, List<AtlasAggregationEntry>>> loader) throws AtlasException {
+        if (cache == null) {
+            return loader.load();
+        }
+
+        Map<String, List<AtlasAggregationEntry>> cached = get(KEY_PREFIX_AGGREGATION + getAggregationKey(context), loader);
+
+        return copyOf(cached);
+    }
+
+    /**
+     * @param fieldName qualified name of the attribute, like hive_table.name, or a common field name
+     * @return suggestions for the given prefix and index field, from the cache or the loader
+     */
+    public List<String> getSuggestions(String prefixString, String fieldName, String indexFieldName, Loader<List<String>> loader) throws AtlasException {
+        if (cache == null) {
+            return loader.load();
+        }
+
+        List<String> cached = get(KEY_PREFIX_SUGGESTION + getSuggestionKey(prefixString, fieldName, indexFieldName), loader);
+
+        return new ArrayList<>(cached);
+    }
+
+    public void invalidateAll() {
+        if (cache != null) {
+            // entries being loaded for the previous generation are not returned to requests that arrive after this
+            generation.incrementAndGet();
+            pendingChangeCounts.clear();
+            invalidationCount.incrementAndGet();
+
+            cache.invalidateAll();
+        }
+    }
+
+    public Map<String, Object> getMetrics() {
+        Map<String, Object> ret = new LinkedHashMap<>();
+
+        if (cache != null) {
+            CacheStats stats = cache.stats();
+
+            ret.put("size", cache.size());
+            ret.put("hitCount", stats.hitCount());
+            ret.put("missCount", stats.missCount());
+            ret.put("hitRate", stats.hitRate());
+            ret.put("evictionCount", stats.evictionCount());
+            ret.put("invalidationCount", invalidationCount.get());
+            ret.put("pendingChangeCount", getPendingChangeCount(SCOPE_ALL_TYPES));
+        }
+
+        return ret;
+    }
+
+    @Override
+    public void onEntitiesAdded(List<AtlasEntity> entities, boolean isImport) {
+        recordChanges(entities);
+    }
+
+    @Override
+    public void onEntitiesUpdated(List<AtlasEntity> entities, boolean isImport) {
+        recordChanges(entities);
+    }
+
+    @Override
+    public void onEntitiesDeleted(List<AtlasEntity> entities, boolean isImport) {
+        recordChanges(entities);
+    }
+
+    @Override
+    public void onEntitiesPurged(List<AtlasEntity> entities) {
+        recordChanges(entities);
+    }
+
+    @Override
+    public void onClassificationsAdded(AtlasEntity entity, List<AtlasClassification> classifications) {
+        recordChange(entity);
+    }
+
+    @Override
+    public void onClassificationsAdded(List<AtlasEntity> entities, List<AtlasClassification> classifications) {
+        recordChanges(entities);
+    }
+
+    @Override
+    public void onClassificationsUpdated(AtlasEntity entity, List<AtlasClassification> classifications) {
+        recordChange(entity);
+    }
+
+    @Override
+    public void onClassificationsDeleted(AtlasEntity entity, List<AtlasClassification> classifications) {
+        recordChange(entity);
+    }
+
+    @Override
+    public void onClassificationsDeleted(List<AtlasEntity> entities, List<AtlasClassification> classifications) {
+        recordChanges(entities);
+    }
+
+    @Override
+    public void onTermAdded(AtlasGlossaryTerm term, List<AtlasRelatedObjectId> entities) {
+        recordTermChanges(entities);
+    }
+
+    @Override
+    public void onTermDeleted(AtlasGlossaryTerm term, List<AtlasRelatedObjectId> entities) {
+        recordTermChanges(entities);
+    }
+
+    @Override
+    public void onRelationshipsAdded(List<AtlasRelationship> relationships, boolean isImport) {
+        // relationships don't change indexed entity attributes used in facets and suggestions
+    }
+
+    @Override
+    public void onRelationshipsUpdated(List<AtlasRelationship> relationships, boolean isImport) {
+    }
+
+    @Override
+    public void onRelationshipsDeleted(List<AtlasRelationship> relationships, boolean isImport) {
+    }
+
+    @Override
+    public void onRelationshipsPurged(List<AtlasRelationship> relationships) {
+    }
+
+    @Override
+    public void onLabelsAdded(AtlasEntity entity, Set<String> labels) {
+        recordChange(entity);
+    }
+
+    @Override
+    public void onLabelsDeleted(AtlasEntity entity, Set<String> labels) {
+        recordChange(entity);
+    }
+
+    @Override
+    public void onBusinessAttributesUpdated(AtlasEntity entity, Map<String, Map<String, Object>> updatedBusinessAttributes) {
+        recordChange(entity);
+    }
+
+    /**
+     * Records changes to the given count of entities of the given type; typeName null or unknown counts only towards
+     * entries across all types.
+     */
+    void recordChanges(String typeName, int count) {
+        if (cache == null || count <= 0) {
+            return;
+        }
+
+        AtlasEntityType entityType = typeName != null ? typeRegistry.getEntityTypeByName(typeName) : null;
+
+        recordScopeChanges(SCOPE_ALL_TYPES, count);
+
+        if (entityType != null) {
+            recordScopeChanges(entityType.getTypeName(), count);
+
+            for (String superTypeName : entityType.getAllSuperTypes()) {
+                recordScopeChanges(superTypeName, count);
+            }
+        }
+    }
+
+    String getAggregationKey(AggregationContext context) {
+        Set<String>   typeNames = getTypeNames(context.getSearchForEntityTypes());
+        StringBuilder sb        = new StringBuilder();
+
+        sb.append(getScopeGenerations(typeNames)).append('|').append(typeRegistry.getVersion())
+          .append("|q=").append(StringUtils.trimToEmpty(context.getQueryString()))
+          .append("|f=").append(context.getFilterCriteria() != null ? AtlasType.toJson(context.getFilterCriteria()) : "")
+          .append("|t=").append(typeNames)
+          .append("|i=").append(context.getIndexFieldNameCache() != null ? new TreeMap<>(context.getIndexFieldNameCache()) : "")
+          .append("|d=").append(context.isExcludeDeletedEntities())
+          .append("|s=").append(context.isIncludeSubTypes());
+
+        return sb.toString();
+    }
+
+    String getSuggestionKey(String prefixString, String fieldName, String indexFieldName) {
+        // the type that defines the attribute; changes to entities of other types don't change the values of the field
+        String          typeName   = StringUtils.substringBeforeLast(StringUtils.defaultString(fieldName), ".");
+        AtlasEntityType entityType = StringUtils.isNotEmpty(typeName) ? typeRegistry.getEntityTypeByName(typeName) : null;
+        Set<String>     typeNames  = entityType != null ? Collections.singleton(entityType.getTypeName()) : Collections.emptySet();
+
+        return getScopeGenerations(typeNames) + "|" + StringUtils.defaultString(indexFieldName) + "|" + StringUtils.defaultString(prefixString);
+    }
+
+    private void recordChanges(List<AtlasEntity> entities) {
+        if (entities != null) {
+            for (AtlasEntity entity : entities) {
+                recordChange(entity);
+            }
+        }
+    }
+
+    private void recordChange(AtlasEntity entity) {
+        recordChanges(entity != null ? entity.getTypeName() : null, 1);
+    }
+
+    private void recordTermChanges(List<AtlasRelatedObjectId> entities) {
+        if (entities != null) {
+            for (AtlasRelatedObjectId entity : entities) {
+                recordChanges(entity != null ? entity.getTypeName() : null, 1);
+            }
+        }
+    }
+
+    private void recordScopeChanges(String scope, long count) {
+        AtomicLong pendingCount = pendingChangeCounts.computeIfAbsent(scope, k -> new AtomicLong());
+        long       pending      = pendingCount.addAndGet(count);
+
+        if (pending >= invalidateChangeCount && pendingCount.compareAndSet(pending, 0)) {
+            if (LOG.isDebugEnabled()) {
+                LOG.debug("search aggregation cache: invalidating entries of {} after {} entity changes", scope, pending);
+            }
+
+            // entries of this scope, including those being loaded, are not read by requests that arrive after this
+            scopeGenerations.computeIfAbsent(scope, k -> new AtomicLong()).incrementAndGet();
+            invalidationCount.incrementAndGet();
+        }
+    }
+
+    private long getPendingChangeCount(String scope) {
+        AtomicLong ret = pendingChangeCounts.get(scope);
+
+        return ret != null ? ret.get() : 0;
+    }
+
+    /**
+     * @return generations of the given types - or of all-types scope, when no type is given - prefixed by the generation of the cache
+     */
+    private String getScopeGenerations(Set<String> typeNames) {
+        StringBuilder sb = new StringBuilder().append(generation.get());
+
+        for (String scope : typeNames.isEmpty() ? Collections.singleton(SCOPE_ALL_TYPES) : typeNames) {
+            AtomicLong scopeGeneration = scopeGenerations.get(scope);
+
+            sb.append(',').append(scope).append(':').append(scopeGeneration != null ? scopeGeneration.get() : 0);
+        }
+
+        return sb.toString();
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T> T get(String key, Loader<T> loader) throws AtlasException {
+        try {
+            return (T) cache.get(key, () -> {
+                T ret = loader.load();
+
+                if (LOG.isDebugEnabled()) {
+                    LOG.debug("search aggregation cache: loaded {}", key);
+                }
+
+                return ret;
+            });
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof AtlasException) {
+                throw (AtlasException) e.getCause();
+            }
+
+            throw new AtlasException(e.getCause());
+        } catch (UncheckedExecutionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+
+            throw e;
+        }
+    }
+
+    private static Set<String> getTypeNames(Collection<AtlasEntityType> entityTypes) {
+        Set<String> ret = new TreeSet<>();
+
+        if (entityTypes != null) {
+            for (AtlasEntityType entityType : entityTypes) {
+                ret.add(entityType.getTypeName());
+            }
+        }
+
+        return ret;
+    }
+
+    private static Map<String, List<AtlasAggregationEntry>> copyOf(Map<String, List<AtlasAggregationEntry>> metrics) {
+        Map<String, List<AtlasAggregationEntry>> ret = new LinkedHashMap<>();
+
+        for (Map.Entry<String, List<AtlasAggregationEntry>> entry : metrics.entrySet()) {
+            List<AtlasAggregationEntry> entries = null;
+
+            if (entry.getValue() != null) {
+                entries = new ArrayList<>(entry.getValue().size());
+
+                for (AtlasAggregationEntry aggregationEntry : entry.getValue()) {
+                    entries.add(new AtlasAggregationEntry(aggregationEntry.getName(), aggregationEntry.getCount()));
+                }
+            }
+
+            ret.put(entry.getKey(), entries);
+        }
+
+        return ret;
+    }
+
+    private static class ValueCountWeigher implements Weigher<String, Object> {
+        @Override
+        public int weigh(String key, Object value) {
+            int ret = 1;
+
+            if (value instanceof Map) {
+                for (Object values : ((Map<?, ?>) value).values()) {
+                    ret += values instanceof Collection ? ((Collection<?>) values).size() : 1;
+                }
+            } else if (value instanceof Collection) {
+                ret += ((Collection<?>) value).size();
+            }
+
+            return ret;
+        }
+    }
+}
@@ -36,12 +36,12 @@ import java.util.*;
 public class SearchAggregatorImpl implements SearchAggregator {
     private static final Logger LOG = LoggerFactory.getLogger(SearchAggregatorImpl.class);
 
-    private final SearchContext searchContext;
+    private final SearchContext          searchContext;
+    private final SearchAggregationCache aggregationCache;
 
-
-
-    public SearchAggregatorImpl(SearchContext searchContext) {
-        this.searchContext = searchContext;
+    public SearchAggregatorImpl(SearchContext searchContext, SearchAggregationCache aggregationCache) {
+        this.searchContext    = searchContext;
+        this.aggregationCache = aggregationCache;
     }
 
     public Map<String, List<AtlasAggregationEntry>> getAggregatedMetrics(Set<String> aggregationFields,
@@ -50,9 +50,6 @@ public class SearchAggregatorImpl implements SearchAggregator {
         AtlasGraph          graph              = searchContext.getGraph();
         AtlasTypeRegistry   typeRegistry       = searchContext.getTypeRegistry();
         String              queryString        = searchParameters.getQuery();
-        List<PostProcessor> postProcessors     = new ArrayList<>();
-
-        postProcessors.add(new ServiceTypeAggregator(searchContext.getTypeRegistry()));
 
         try {
             AtlasGraphIndexClient graphIndexClient    = graph.getGraphIndexClient();
@@ -86,32 +83,44 @@ public class SearchAggregatorImpl implements SearchAggregator {
                                                                           searchParameters.getExcludeDeletedEntities(),
                                                                           searchParameters.getIncludeSubTypes());
 
-            Map<String, List<AtlasAggregationEntry>> aggregatedMetrics = graphIndexClient.getAggregatedMetrics(aggregatorContext);
+            if (aggregationCache != null) {
+                return aggregationCache.getAggregatedMetrics(aggregatorContext, () -> collectAggregatedMetrics(graphIndexClient, aggregatorContext));
+            }
 
-            for (String aggregationMetricName: aggregatedMetrics.keySet()) {
-                for (PostProcessor postProcessor: postProcessors) {
-                    if (postProcessor.needsProcessing(aggregationMetricName)) {
-                        postProcessor.prepareForMetric(aggregationMetricName);
+            return collectAggregatedMetrics(graphIndexClient, aggregatorContext);
+        } catch (AtlasException e) {
+            LOG.error("Error encountered in post processing stage of aggrgation metrics collection. Empty metrics will be returned.", e);
 
-                        for (AtlasAggregationEntry aggregationEntry: aggregatedMetrics.get(aggregationMetricName)) {
-                            postProcessor.process(aggregationEntry);
-                        }
+            return Collections.EMPTY_MAP;
+        }
+    }
 
-                        postProcessor.handleMetricCompletion(aggregationMetricName);
-                    }
-                }
-            }
+    private Map<String, List<AtlasAggregationEntry>> collectAggregatedMetrics(AtlasGraphIndexClient graphIndexClient, AggregationContext aggregatorContext) throws AtlasException {
+        List<PostProcessor> postProcessors = new ArrayList<>();
 
+        postProcessors.add(new ServiceTypeAggregator(searchContext.getTypeRegistry()));
+
+        Map<String, List<AtlasAggregationEntry>> aggregatedMetrics = graphIndexClient.getAggregatedMetrics(aggregatorContext);
+
+        for (String aggregationMetricName: aggregatedMetrics.keySet()) {
             for (PostProcessor postProcessor: postProcessors) {
-                postProcessor.handleCompletion(aggregatedMetrics);
-            }
+                if (postProcessor.needsProcessing(aggregationMetricName)) {
+                    postProcessor.prepareForMetric(aggregationMetricName);
 
-            return aggregatedMetrics;
-        } catch (AtlasException e) {
-            LOG.error("Error encountered in post processing stage of aggrgation metrics collection. Empty metrics will be returned.", e);
+                    for (AtlasAggregationEntry aggregationEntry: aggregatedMetrics.get(aggregationMetricName)) {
+                        postProcessor.process(aggregationEntry);
+                    }
 
-            return Collections.EMPTY_MAP;
+                    postProcessor.handleMetricCompletion(aggregationMetricName);
+                }
+            }
         }
+
+        for (PostProcessor postProcessor: postProcessors) {
+            postProcessor.handleCompletion(aggregatedMetrics);
+        }
+
+        return aggregatedMetrics;
     }
 
     private String getIndexFieldNameForCommonFieldName(AtlasTypeRegistry typeRegistry, String fieldName) {
@@ -40,9 +40,11 @@ import org.apache.atlas.type.AtlasTypeRegistry;
 import org.apache.atlas.util.AtlasRepositoryConfiguration;
 import org.apache.commons.collections.CollectionUtils;
 import org.apache.commons.lang3.StringUtils;
+import org.apache.commons.lang3.math.NumberUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.nio.charset.StandardCharsets;
 import java.util.*;
 import java.util.stream.Collectors;
 
@@ -70,9 +72,12 @@ public class SearchContext {
     private final Set<String> classificationTypeAndSubTypes;
     private final String typeAndSubTypesQryStr;
     private final String classificationTypeAndSubTypesQryStr;
-    private boolean terminateSearch = false;
+    private volatile boolean terminateSearch = false;
     private SearchProcessor searchProcessor;
     private boolean useLegacySearch = false;
+    private final String startCursor;
+    private String nextCursor;
+    private boolean isCursorPaged = false;
 
     public final static AtlasClassificationType MATCH_ALL_WILDCARD_CLASSIFICATION = new AtlasClassificationType(new AtlasClassificationDef(WILDCARD_CLASSIFICATIONS));
     public final static AtlasClassificationType MATCH_ALL_CLASSIFIED = new AtlasClassificationType(new AtlasClassificationDef(ALL_CLASSIFICATIONS));
@@ -81,6 +86,9 @@ public class SearchContext {
     public final static AtlasEntityType MATCH_ALL_ENTITY_TYPES = AtlasEntityType.getEntityRoot();
     public final static String TYPENAME_DELIMITER = ",";
 
+    private static final String TOKEN_PREFIX_CURSOR = "c:";
+    private static final String TOKEN_PREFIX_OFFSET = "o:";
+
 
     public SearchContext(SearchParameters searchParameters, AtlasTypeRegistry typeRegistry, AtlasGraph graph, Set<String> indexedKeys) throws AtlasBaseException {
         this.searchParameters = searchParameters;
@@ -91,6 +99,7 @@ public class SearchContext {
         this.entityTypes = getEntityTypes(searchParameters.getTypeName());
         this.classificationNames = getClassificationNames(searchParameters.getClassification());
         this.classificationTypes = getClassificationTypes(this.classificationNames);
+        this.startCursor = decodeContinuationToken(searchParameters);
 
         //Set use legacy search
         String useLegacySearchFlag = System.getProperty("atlas.flags.legacy-search-enabled");
@@ -188,7 +197,11 @@ public class SearchContext {
 
         EntitySearchProcessor entitySearchProcessor = null;
         if (needEntityProcessor()) {
-            entitySearchProcessor = new EntitySearchProcessor(this);
+            if (glossaryTermVertex == null && ParallelEntitySearchProcessor.canPartition(this)) {
+                addProcessor(new ParallelEntitySearchProcessor(this));
+            } else {
+                entitySearchProcessor = new EntitySearchProcessor(this);
+            }
         }
 
         if (needFullTextProcessor() && (needClassificationProcessor() || entitySearchProcessor == null
@@ -217,6 +230,63 @@ public class SearchContext {
         return searchParameters;
     }
 
+    /**
+     * @return true if the results should be paged with a continuation token instead of the offset
+     */
+    public boolean useContinuationToken() {
+        return searchParameters.getContinuationToken() != null;
+    }
+
+    /**
+     * @return true if the index query can be read with a cursor: the continuation token is the start token or an index
+     * cursor, and results are not sorted by an attribute - cursors follow the order of the index document key
+     */
+    public boolean useIndexCursor() {
+        return useContinuationToken() && StringUtils.isEmpty(searchParameters.getSortBy()) &&
+               (startCursor != null || CONTINUATION_TOKEN_START.equals(searchParameters.getContinuationToken()));
+    }
+
+    /**
+     * @return index cursor to continue the search from; null to start from the first result
+     */
+    public String getStartCursor() {
+        return startCursor;
+    }
+
+    /**
+     * @return true if the results were read with an index cursor
+     */
+    public boolean isCursorPaged() {
+        return isCursorPaged;
+    }
+
+    /**
+     * @param nextCursor index cursor of the last result returned; null if there are no more results
+     */
+    public void setNextCursor(String nextCursor) {
+        this.nextCursor    = nextCursor;
+        this.isCursorPaged = true;
+    }
+
+    /**
+     * @param resultCount number of results returned for the current page
+     * @return token to read the next page of results; null if there are no more results. When the results could not
+     * be read with an index cursor, the token holds the offset of the next page.
+     */
+    public String getNextContinuationToken(int resultCount) {
+        final String ret;
+
+        if (!useContinuationToken()) {
+            ret = null;
+        } else if (isCursorPaged) {
+            ret = nextCursor != null ? encodeContinuationToken(TOKEN_PREFIX_CURSOR + nextCursor) : null;
+        } else {
+            ret = resultCount >= searchParameters.getLimit() ? encodeContinuationToken(TOKEN_PREFIX_OFFSET + (searchParameters.getOffset() + resultCount)) : null;
+        }
+
+        return ret;
+    }
+
     public AtlasTypeRegistry getTypeRegistry() {
         return typeRegistry;
     }
@@ -547,4 +617,64 @@ public class SearchContext {
     public boolean useLegacySearch() {
         return this.useLegacySearch;
     }
+
+    private static String encodeContinuationToken(String token) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(token.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Decodes the continuation token into an index cursor, or into the offset of the search parameters.
+     *
+     * @return index cursor to continue the search from; null if the search starts from the first result or the offset
+     */
+    private static String decodeContinuationToken(SearchParameters searchParameters) throws AtlasBaseException {
+        String continuationToken = searchParameters.getContinuationToken();
+
+        if (continuationToken == null) {
+            return null;
+        }
+
+        if (CONTINUATION_TOKEN_START.equals(continuationToken)) {
+            searchParameters.setOffset(0);
+
+            return null;
+        }
+
+        final String token;
+
+        try {
+            token = new String(Base64.getUrlDecoder().decode(continuationToken), StandardCharsets.UTF_8);
+        } catch (IllegalArgumentException excp) {
+            throw new AtlasBaseException(AtlasErrorCode.INVALID_PARAMETERS, "continuationToken=" + continuationToken);
+        }
+
+        if (token.startsWith(TOKEN_PREFIX_OFFSET)) {
+            int offset = NumberUtils.toInt(token.substring(TOKEN_PREFIX_OFFSET.length()), -1);
+
+            if (offset < 0) {
+                throw new AtlasBaseException(AtlasErrorCode.INVALID_PARAMETERS, "continuationToken=" + continuationToken);
+            }
+
+            searchParameters.setOffset(offset);
+
+            return null;
+        }
+
+        String cursor = token.startsWith(TOKEN_PREFIX_CURSOR) ? token.substring(TOKEN_PREFIX_CURSOR.length()) : null;
+
+        // cursor is a Solr document key; cursors are not issued with other index backends
+        if (!isValidCursor(cursor)) {
+            throw new AtlasBaseException(AtlasErrorCode.INVALID_PARAMETERS, "continuationToken=" + continuationToken);
+        }
+
+        if (StringUtils.isNotEmpty(searchParameters.getSortBy())) {
+            throw new AtlasBaseException(AtlasErrorCode.INVALID_PARAMETERS, "continuationToken of an unsorted search can't be used with sortBy=" + searchParameters.getSortBy());
+        }
+
+        return cursor;
+    }
+
+    private static boolean isValidCursor(String cursor) {
+        return StringUtils.isNotEmpty(cursor) && StringUtils.isAlphanumeric(cursor);
+    }
 }
@@ -19,6 +19,7 @@ package org.apache.atlas.discovery;
 
 import org.apache.atlas.ApplicationProperties;
 import org.apache.atlas.AtlasException;
+import org.apache.atlas.RequestContext;
 import org.apache.atlas.SortOrder;
 import org.apache.atlas.exception.AtlasBaseException;
 import org.apache.atlas.model.discovery.SearchParameters;
@@ -36,6 +37,7 @@ import org.apache.atlas.type.AtlasStructType.AtlasAttribute;
 import org.apache.atlas.util.AtlasGremlinQueryProvider;
 import org.apache.atlas.util.SearchPredicateUtil;
 import org.apache.atlas.util.SearchPredicateUtil.*;
+import org.apache.atlas.utils.AtlasPerfMetrics.MetricRecorder;
 import org.apache.commons.collections.CollectionUtils;
 import org.apache.commons.collections.Predicate;
 import org.apache.commons.collections.PredicateUtils;
@@ -47,6 +49,7 @@ import org.slf4j.LoggerFactory;
 import java.math.BigDecimal;
 import java.math.BigInteger;
 import java.util.*;
+import java.util.function.Consumer;
 import java.util.regex.Pattern;
 
 import static org.apache.atlas.SortOrder.ASCENDING;
@@ -191,6 +194,84 @@ public abstract class SearchProcessor {
         return resultIdx;
     }
 
+    /**
+     * Collects up to limit vertices from the results of the index query that follow the cursor in the search context,
+     * so that the index doesn't have to skip over the results of earlier pages. The cursor of the last collected
+     * vertex is set in the search context, to continue the search from.
+     *
+     * @param filter filters each page of vertices read from the index query
+     * @return null if the index query doesn't support cursors
+     */
+    protected List<AtlasVertex> collectResultVerticesAfter(final AtlasIndexQuery indexQuery, final int limit, final Consumer<List<AtlasVertex>> filter) {
+        final List<AtlasVertex>   ret            = new ArrayList<>();
+        final List<AtlasVertex>   entityVertices = new ArrayList<>();
+        final Map<Object, String> vertexCursors  = new HashMap<>();
+        String                    cursor         = context.getStartCursor();
+        String                    nextCursor     = cursor;
+
+        while (ret.size() < limit) {
+            if (context.terminateSearch()) {
+                LOG.warn("query terminated: {}", context.getSearchParameters());
+
+                break;
+            }
+
+            Iterator<AtlasIndexQuery.Result> idxQueryResult = indexQuery.verticesAfter(cursor, limit);
+
+            if (idxQueryResult == null) {
+                return null;
+            }
+
+            int resultCount = 0;
+
+            entityVertices.clear();
+            vertexCursors.clear();
+
+            while (idxQueryResult.hasNext()) {
+                AtlasIndexQuery.Result result = idxQueryResult.next();
+                AtlasVertex            vertex = result.getVertex();
+
+                cursor = result.getCursor();
+
+                resultCount++;
+
+                if (vertex != null) {
+                    entityVertices.add(vertex);
+                    vertexCursors.put(vertex.getId(), cursor);
+                }
+            }
+
+            final boolean isLastResultPage = resultCount < limit;
+
+            filter.accept(entityVertices);
+
+            // unless the page fills the result, all its rows are consumed - including the ones filtered out
+            nextCursor = cursor;
+
+            for (AtlasVertex entityVertex : entityVertices) {
+                ret.add(entityVertex);
+
+                if (ret.size() == limit) {
+                    nextCursor = vertexCursors.get(entityVertex.getId());
+
+                    break;
+                }
+            }
+
+            if (isLastResultPage) {
+                if (ret.size() < limit) {
+                    nextCursor = null;
+                }
+
+                break;
+            }
+        }
+
+        context.setNextCursor(nextCursor);
+
+        return ret;
+    }
+
     public void filter(List<AtlasVertex> entityVertices) {
         if (nextProcessor != null && CollectionUtils.isNotEmpty(entityVertices)) {
             nextProcessor.filter(entityVertices);
@@ -382,12 +463,20 @@ public abstract class SearchProcessor {
     }
 
     protected void constructFilterQuery(StringBuilder indexQuery, Set<? extends AtlasStructType> structTypes, FilterCriteria filterCriteria, Set<String> indexAttributes) {
+        constructFilterQuery(indexQuery, structTypes, filterCriteria, indexAttributes, EMPTY_STRING);
+    }
+
+    /**
+     * @param propertyKeyPrefix prefix to add to vertex property names of the attributes, to query copies of the attributes
+     *                          stored in other vertices - like classification attributes in entity vertices
+     */
+    protected void constructFilterQuery(StringBuilder indexQuery, Set<? extends AtlasStructType> structTypes, FilterCriteria filterCriteria, Set<String> indexAttributes, String propertyKeyPrefix) {
         if (filterCriteria != null) {
             if (LOG.isDebugEnabled()) {
                 LOG.debug("Processing Filters");
             }
 
-            String filterQuery = toIndexQuery(structTypes, filterCriteria, indexAttributes, 0);
+            String filterQuery = toIndexQuery(structTypes, filterCriteria, indexAttributes, propertyKeyPrefix, 0);
 
             if (StringUtils.isNotEmpty(filterQuery)) {
                 if (indexQuery.length() > 0) {
@@ -491,11 +580,11 @@ public abstract class SearchProcessor {
         return ret;
     }
 
-    private String toIndexQuery(Set<? extends AtlasStructType> structTypes, FilterCriteria criteria, Set<String> indexAttributes, int level) {
-        return toIndexQuery(structTypes, criteria, indexAttributes, new StringBuilder(), level);
+    private String toIndexQuery(Set<? extends AtlasStructType> structTypes, FilterCriteria criteria, Set<String> indexAttributes, String propertyKeyPrefix, int level) {
+        return toIndexQuery(structTypes, criteria, indexAttributes, propertyKeyPrefix, new StringBuilder(), level);
     }
 
-    private String toIndexQuery(Set<? extends AtlasStructType> structTypes, FilterCriteria criteria, Set<String> indexAttributes, StringBuilder sb, int level) {
+    private String toIndexQuery(Set<? extends AtlasStructType> structTypes, FilterCriteria criteria, Set<String> indexAttributes, String propertyKeyPrefix, StringBuilder sb, int level) {
         Set<String> filterAttributes = new HashSet<>();
         filterAttributes.addAll(indexAttributes);
 
@@ -504,7 +593,7 @@ public abstract class SearchProcessor {
             StringBuilder nestedExpression = new StringBuilder();
 
             for (FilterCriteria filterCriteria : criteria.getCriterion()) {
-                String nestedQuery = toIndexQuery(structTypes, filterCriteria, filterAttributes, level + 1);
+                String nestedQuery = toIndexQuery(structTypes, filterCriteria, filterAttributes, propertyKeyPrefix, level + 1);
 
                 if (StringUtils.isNotEmpty(nestedQuery)) {
                     if (nestedExpression.length() > 0) {
@@ -530,7 +619,7 @@ public abstract class SearchProcessor {
                     String name = structType.getVertexPropertyName(criteria.getAttributeName());
 
                     if (filterAttributes.contains(name)) {
-                        String nestedQuery = toIndexExpression(structType, criteria.getAttributeName(), criteria.getOperator(), criteria.getAttributeValue());
+                        String nestedQuery = toIndexExpression(structType, criteria.getAttributeName(), criteria.getOperator(), criteria.getAttributeValue(), propertyKeyPrefix);
                         orExpQuery.add(nestedQuery);
                         filterAttributes.remove(name);
                     }
@@ -649,12 +738,12 @@ public abstract class SearchProcessor {
         return ret;
     }
 
-    private String toIndexExpression(AtlasStructType type, String attrName, SearchParameters.Operator op, String attrVal) {
+    private String toIndexExpression(AtlasStructType type, String attrName, SearchParameters.Operator op, String attrVal, String propertyKeyPrefix) {
         String ret = EMPTY_STRING;
 
         try {
             if (OPERATOR_MAP.get(op) != null) {
-                String qualifiedName         = type.getVertexPropertyName(attrName);
+                String qualifiedName         = propertyKeyPrefix + type.getVertexPropertyName(attrName);
                 String escapeIndexQueryValue = AtlasAttribute.escapeIndexQueryValue(attrVal);
 
                 // map '__customAttributes' 'CONTAINS' operator to 'EQ' operator (solr limitation for json serialized string search)
@@ -1098,11 +1187,17 @@ public abstract class SearchProcessor {
     }
 
     protected static Iterator<AtlasIndexQuery.Result> executeIndexQuery(SearchContext context, AtlasIndexQuery indexQuery, int qryOffset, int limit) {
-        String sortBy = getSortByAttribute(context);
-        if (sortBy != null && !sortBy.isEmpty()) {
-            Order sortOrder = getSortOrderAttribute(context);
-            return indexQuery.vertices(qryOffset, limit, sortBy, sortOrder);
+        MetricRecorder metric = RequestContext.get().startMetricRecord("indexQuery");
+
+        try {
+            String sortBy = getSortByAttribute(context);
+            if (sortBy != null && !sortBy.isEmpty()) {
+                Order sortOrder = getSortOrderAttribute(context);
+                return indexQuery.vertices(qryOffset, limit, sortBy, sortOrder);
+            }
+            return indexQuery.vertices(qryOffset, limit);
+        } finally {
+            RequestContext.get().endMetricRecord(metric);
         }
-        return indexQuery.vertices(qryOffset, limit);
     }
 }
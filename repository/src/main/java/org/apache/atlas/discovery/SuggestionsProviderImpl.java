@@ -31,12 +31,18 @@ import java.util.Collections;
 public class SuggestionsProviderImpl implements SuggestionsProvider {
     private static final Logger LOG = LoggerFactory.getLogger(SuggestionsProviderImpl.class);
 
-    private final AtlasGraph        graph;
-    private final AtlasTypeRegistry typeRegistry;
+    private final AtlasGraph             graph;
+    private final AtlasTypeRegistry      typeRegistry;
+    private final SearchAggregationCache aggregationCache;
 
     public SuggestionsProviderImpl(AtlasGraph graph, AtlasTypeRegistry typeRegistry) {
-        this.graph        = graph;
-        this.typeRegistry = typeRegistry;
+        this(graph, typeRegistry, null);
+    }
+
+    public SuggestionsProviderImpl(AtlasGraph graph, AtlasTypeRegistry typeRegistry, SearchAggregationCache aggregationCache) {
+        this.graph            = graph;
+        this.typeRegistry     = typeRegistry;
+        this.aggregationCache = aggregationCache;
     }
 
     @Override
@@ -47,7 +53,11 @@ public class SuggestionsProviderImpl implements SuggestionsProvider {
             AtlasGraphIndexClient graphIndexClient = graph.getGraphIndexClient();
             String                indexFieldName   = (fieldName == null) ? null : typeRegistry.getIndexFieldName(fieldName);
 
-            result.setSuggestions(graphIndexClient.getSuggestions(prefixString, indexFieldName));
+            if (aggregationCache != null) {
+                result.setSuggestions(aggregationCache.getSuggestions(prefixString, fieldName, indexFieldName, () -> graphIndexClient.getSuggestions(prefixString, indexFieldName)));
+            } else {
+                result.setSuggestions(graphIndexClient.getSuggestions(prefixString, indexFieldName));
+            }
         } catch (AtlasException e) {
             LOG.error("Error encountered in performing quick suggestions. Will return no suggestions.", e);
 
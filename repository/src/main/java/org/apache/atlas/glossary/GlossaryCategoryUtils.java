@@ -29,6 +29,7 @@ import org.apache.atlas.model.instance.AtlasRelationship;
 import org.apache.atlas.model.instance.AtlasStruct;
 import org.apache.atlas.repository.graphdb.AtlasVertex;
 import org.apache.atlas.repository.ogm.DataAccess;
+import org.apache.atlas.repository.ogm.glossary.AtlasGlossaryDTO;
 import org.apache.atlas.repository.store.graph.AtlasRelationshipStore;
 import org.apache.atlas.repository.store.graph.v2.AtlasGraphUtilsV2;
 import org.apache.atlas.type.AtlasRelationshipType;
@@ -106,7 +107,7 @@ public class GlossaryCategoryUtils extends GlossaryUtils {
 
                     // Derive the qualifiedName when anchor changes
                     String        anchorGlossaryGuid = updatedCategory.getAnchor().getGlossaryGuid();
-                    AtlasGlossary glossary           = dataAccess.load(getGlossarySkeleton(anchorGlossaryGuid));
+                    AtlasGlossary glossary           = dataAccess.load(getGlossarySkeleton(anchorGlossaryGuid), AtlasGlossaryDTO.HEADER_PROJECTION);
                     storeObject.setQualifiedName(storeObject.getName()+ "@" + glossary.getQualifiedName());
 
                     if (LOG.isDebugEnabled()) {
@@ -204,7 +205,7 @@ public class GlossaryCategoryUtils extends GlossaryUtils {
 
         // Derive the qualifiedName of the Glossary
         String        anchorGlossaryGuid = updatedCategory.getAnchor().getGlossaryGuid();
-        AtlasGlossary glossary           = dataAccess.load(getGlossarySkeleton(anchorGlossaryGuid));
+        AtlasGlossary glossary           = dataAccess.load(getGlossarySkeleton(anchorGlossaryGuid), AtlasGlossaryDTO.HEADER_PROJECTION);
         storeObject.setQualifiedName(storeObject.getName() + "@" + glossary.getQualifiedName());
 
         if (LOG.isDebugEnabled()) {
@@ -538,7 +539,7 @@ public class GlossaryCategoryUtils extends GlossaryUtils {
                 if (LOG.isDebugEnabled()) {
                     LOG.debug("Parent removed, deriving qualifiedName using Glossary");
                 }
-                AtlasGlossary glossary = dataAccess.load(getGlossarySkeleton(childAnchorGuid));
+                AtlasGlossary glossary = dataAccess.load(getGlossarySkeleton(childAnchorGuid), AtlasGlossaryDTO.HEADER_PROJECTION);
                 qualifiedName += glossary.getQualifiedName();
                 child.setParentCategory(null);
             } else {
@@ -17,6 +17,7 @@
  */
 package org.apache.atlas.glossary;
 
+import org.apache.atlas.AtlasConfiguration;
 import org.apache.atlas.AtlasErrorCode;
 import org.apache.atlas.SortOrder;
 import org.apache.atlas.annotation.GraphTransaction;
@@ -33,12 +34,20 @@ import org.apache.atlas.model.glossary.relations.AtlasTermCategorizationHeader;
 import org.apache.atlas.model.instance.AtlasRelatedObjectId;
 import org.apache.atlas.repository.Constants;
 import org.apache.atlas.repository.graph.AtlasGraphProvider;
+import org.apache.atlas.repository.graphdb.AtlasEdge;
+import org.apache.atlas.repository.graphdb.AtlasEdgeDirection;
 import org.apache.atlas.repository.graphdb.AtlasGraph;
 import org.apache.atlas.repository.graphdb.AtlasVertex;
+import org.apache.atlas.repository.graphdb.AtlasVertexQuery;
 import org.apache.atlas.repository.ogm.DataAccess;
+import org.apache.atlas.repository.ogm.LoadProjection;
+import org.apache.atlas.repository.ogm.glossary.AtlasGlossaryCategoryDTO;
+import org.apache.atlas.repository.ogm.glossary.AtlasGlossaryDTO;
+import org.apache.atlas.repository.ogm.glossary.AtlasGlossaryTermDTO;
 import org.apache.atlas.repository.store.graph.AtlasRelationshipStore;
 import org.apache.atlas.repository.store.graph.v2.AtlasEntityChangeNotifier;
 import org.apache.atlas.repository.store.graph.v2.AtlasGraphUtilsV2;
+import org.apache.atlas.repository.store.graph.v2.EntityGraphRetriever;
 import org.apache.atlas.type.AtlasTypeRegistry;
 import org.apache.atlas.util.FileUtils;
 import org.apache.commons.collections.CollectionUtils;
@@ -72,17 +81,20 @@ public class GlossaryService {
     private final GlossaryCategoryUtils glossaryCategoryUtils;
     private final AtlasTypeRegistry atlasTypeRegistry;
     private final AtlasEntityChangeNotifier entityChangeNotifier;
+    private final EntityGraphRetriever entityRetriever;
 
     private static final char[] invalidNameChars = {'@', '.'};
 
     @Inject
     public GlossaryService(DataAccess dataAccess, final AtlasRelationshipStore relationshipStore,
-                           final AtlasTypeRegistry typeRegistry, AtlasEntityChangeNotifier entityChangeNotifier) {
+                           final AtlasTypeRegistry typeRegistry, AtlasEntityChangeNotifier entityChangeNotifier,
+                           AtlasGraph graph) {
         this.dataAccess = dataAccess;
         atlasTypeRegistry = typeRegistry;
         glossaryTermUtils = new GlossaryTermUtils(relationshipStore, typeRegistry, dataAccess);
         glossaryCategoryUtils = new GlossaryCategoryUtils(relationshipStore, typeRegistry, dataAccess);
         this.entityChangeNotifier = entityChangeNotifier;
+        this.entityRetriever = new EntityGraphRetriever(graph, typeRegistry);
     }
 
     /**
@@ -106,9 +118,8 @@ public class GlossaryService {
         List<AtlasGlossary> ret;
         List<String> guidsToLoad = paginationHelper.getPaginatedList();
         if (CollectionUtils.isNotEmpty(guidsToLoad)) {
-            ret = guidsToLoad.stream().map(GlossaryUtils::getGlossarySkeleton).collect(Collectors.toList());
-            Iterable<AtlasGlossary> glossaries = dataAccess.load(ret);
-            ret.clear();
+            List<AtlasGlossary> glossaries = dataAccess.load(guidsToLoad, AtlasGlossary.class, LoadProjection.ALL);
+            ret = new ArrayList<>();
 
             // Set the displayText for all relations
             for (AtlasGlossary glossary : glossaries) {
@@ -285,7 +296,7 @@ public class GlossaryService {
             throw new AtlasBaseException(AtlasErrorCode.BAD_REQUEST, "glossaryGuid is null/empty");
         }
 
-        AtlasGlossary storeObject = dataAccess.load(getGlossarySkeleton(glossaryGuid));
+        AtlasGlossary storeObject = dataAccess.load(getGlossarySkeleton(glossaryGuid), AtlasGlossaryDTO.RELATIONS_PROJECTION);
 
         Set<AtlasRelatedTermHeader> terms = storeObject.getTerms();
         deleteTerms(storeObject, terms);
@@ -345,7 +356,7 @@ public class GlossaryService {
         } else {
             // Derive the qualifiedName
             String anchorGlossaryGuid = glossaryTerm.getAnchor().getGlossaryGuid();
-            AtlasGlossary glossary = dataAccess.load(getGlossarySkeleton(anchorGlossaryGuid));
+            AtlasGlossary glossary = dataAccess.load(getGlossarySkeleton(anchorGlossaryGuid), AtlasGlossaryDTO.HEADER_PROJECTION);
             glossaryTerm.setQualifiedName(glossaryTerm.getName() + "@" + glossary.getQualifiedName());
 
             if (LOG.isDebugEnabled()) {
@@ -608,7 +619,7 @@ public class GlossaryService {
         } else {
             // Derive the qualifiedName
             String anchorGlossaryGuid = glossaryCategory.getAnchor().getGlossaryGuid();
-            AtlasGlossary glossary = dataAccess.load(getGlossarySkeleton(anchorGlossaryGuid));
+            AtlasGlossary glossary = dataAccess.load(getGlossarySkeleton(anchorGlossaryGuid), AtlasGlossaryDTO.HEADER_PROJECTION);
             glossaryCategory.setQualifiedName(glossaryCategory.getName() + "@" + glossary.getQualifiedName());
 
             if (LOG.isDebugEnabled()) {
@@ -843,9 +854,7 @@ public class GlossaryService {
 
         runPaginatedTermsQuery(offset, limit, sortOrder, termHeaders, query);
 
-        for (AtlasRelatedTermHeader header : termHeaders) {
-            ret.add(dataAccess.load(getAtlasGlossaryTermSkeleton(header.getTermGuid())));
-        }
+        ret.addAll(loadTerms(termHeaders));
 
         return ret;
     }
@@ -916,9 +925,7 @@ public class GlossaryService {
 
         runPaginatedTermsQuery(offset, limit, sortOrder, termHeaders, query);
 
-        for (AtlasRelatedTermHeader header : termHeaders) {
-            ret.add(dataAccess.load(getAtlasGlossaryTermSkeleton(header.getTermGuid())));
-        }
+        ret.addAll(loadTerms(termHeaders));
 
         return ret;
     }
@@ -937,6 +944,10 @@ public class GlossaryService {
         constructTermsHeaders(ret, results);
     }
 
+    private List<AtlasGlossaryTerm> loadTerms(List<AtlasRelatedTermHeader> termHeaders) throws AtlasBaseException {
+        return dataAccess.load(termHeaders.stream().map(AtlasRelatedTermHeader::getTermGuid).collect(Collectors.toList()), AtlasGlossaryTerm.class, LoadProjection.ALL, false);
+    }
+
     private void constructTermsHeaders(List<AtlasRelatedTermHeader> ret, Set<Map<String, List<String>>> queryResult) {
         for (Map<String, List<String>> res : queryResult) {
             AtlasRelatedTermHeader atlasRelatedTermHeader = new AtlasRelatedTermHeader();
@@ -1010,12 +1021,8 @@ public class GlossaryService {
             LOG.debug("==> GlossaryService.getGlossaryTerms({}, {}, {}, {})", glossaryGuid, offset, limit, sortOrder);
         }
 
-        List<AtlasGlossaryTerm> ret = new ArrayList<>();
-
         List<AtlasRelatedTermHeader> termHeaders = getGlossaryTermsHeaders(glossaryGuid, offset, limit, sortOrder);
-        for (AtlasRelatedTermHeader header : termHeaders) {
-            ret.add(dataAccess.load(getAtlasGlossaryTermSkeleton(header.getTermGuid())));
-        }
+        List<AtlasGlossaryTerm> ret = loadTerms(termHeaders);
 
         if (DEBUG_ENABLED) {
             LOG.debug("<== GlossaryService.getGlossaryTerms() : {}", ret);
@@ -1067,12 +1074,8 @@ public class GlossaryService {
             LOG.debug("==> GlossaryService.getGlossaryCategories({}, {}, {}, {})", glossaryGuid, offset, limit, sortOrder);
         }
 
-        List<AtlasGlossaryCategory> ret = new ArrayList<>();
-
         List<AtlasRelatedCategoryHeader> categoryHeaders = getGlossaryCategoriesHeaders(glossaryGuid, offset, limit, sortOrder);
-        for (AtlasRelatedCategoryHeader header : categoryHeaders) {
-            ret.add(dataAccess.load(getAtlasGlossaryCategorySkeleton(header.getCategoryGuid())));
-        }
+        List<AtlasGlossaryCategory> ret = dataAccess.load(categoryHeaders.stream().map(AtlasRelatedCategoryHeader::getCategoryGuid).collect(Collectors.toList()), AtlasGlossaryCategory.class, LoadProjection.ALL, false);
 
         if (DEBUG_ENABLED) {
             LOG.debug("<== GlossaryService.getGlossaryCategories() : {}", ret);
@@ -1174,25 +1177,105 @@ public class GlossaryService {
             throw new AtlasBaseException(AtlasErrorCode.BAD_REQUEST, "termGuid is null/empty");
         }
 
-        AtlasGlossaryTerm glossaryTerm = dataAccess.load(getAtlasGlossaryTermSkeleton(termGuid));
-        Set<AtlasRelatedObjectId> assignedEntities = glossaryTerm.getAssignedEntities();
+        if (DEBUG_ENABLED) {
+            LOG.debug("==> GlossaryService.getAssignedEntities({}, {}, {}, {})", termGuid, offset, limit, sortOrder);
+        }
 
-        List<AtlasRelatedObjectId> ret;
-        if (CollectionUtils.isNotEmpty(assignedEntities)) {
-            ret = new ArrayList<>(assignedEntities);
-            if (sortOrder != null) {
-                ret.sort((o1, o2) -> sortOrder == SortOrder.ASCENDING ?
-                        o1.getDisplayText().compareTo(o2.getDisplayText()) :
-                        o2.getDisplayText().compareTo(o1.getDisplayText()));
+        AtlasVertex termVertex = getTermVertex(termGuid);
+        List<AtlasRelatedObjectId> ret = new ArrayList<>();
+
+        if (offset < 0) {
+            offset = 0;
+        }
+
+        if (sortOrder == null) {
+            // only edges up to the end of the requested page are read
+            int index = 0;
+
+            for (AtlasEdge edge : getAssignedEntityEdges(termVertex, limit > 0 ? offset + limit : -1)) {
+                if (index++ >= offset) {
+                    addRelatedObjectId(ret, termVertex, edge);
+                }
             }
-            ret = new PaginationHelper<>(assignedEntities, offset, limit).getPaginatedList();
         } else {
-            ret = Collections.emptyList();
+            // display text depends on the type of each assigned entity, and entities don't have an indexed property
+            // for the assigned terms; hence sorting can't be pushed to an index query. Sorting is done in memory - for
+            // terms assigned to at most GLOSSARY_TERM_ASSIGNED_ENTITIES_MAX_SORTED entities, when set: only the display
+            // text is read for each entity, the rest is read for the page alone
+            int                                maxSorted   = AtlasConfiguration.GLOSSARY_TERM_ASSIGNED_ENTITIES_MAX_SORTED.getInt();
+            List<Map.Entry<String, AtlasEdge>> sortedEdges = new ArrayList<>();
+
+            for (AtlasEdge edge : getAssignedEntityEdges(termVertex, maxSorted >= 0 ? maxSorted + 1 : -1)) {
+                if (maxSorted >= 0 && sortedEdges.size() >= maxSorted) {
+                    throw new AtlasBaseException(AtlasErrorCode.BAD_REQUEST, "term " + termGuid + " is assigned to more than " + maxSorted + " entities; sorted listing is not supported, retry with unsorted=true");
+                }
+
+                Object displayText = entityRetriever.getDisplayText(edge.getInVertex());
+
+                sortedEdges.add(new AbstractMap.SimpleImmutableEntry<>(displayText != null ? displayText.toString() : "", edge));
+            }
+
+            Comparator<Map.Entry<String, AtlasEdge>> comparator = Map.Entry.comparingByKey();
+
+            sortedEdges.sort(sortOrder == SortOrder.ASCENDING ? comparator : comparator.reversed());
+
+            int endIndex = limit > 0 ? Math.min(offset + limit, sortedEdges.size()) : sortedEdges.size();
+
+            for (int i = offset; i < endIndex; i++) {
+                addRelatedObjectId(ret, termVertex, sortedEdges.get(i).getValue());
+            }
+        }
+
+        if (DEBUG_ENABLED) {
+            LOG.debug("<== GlossaryService.getAssignedEntities() : {} entities", ret.size());
         }
 
         return ret;
     }
 
+    /**
+     * @return number of entities assigned with the given term, counted from the term's edges
+     */
+    @GraphTransaction
+    public long getAssignedEntitiesCount(final String termGuid) throws AtlasBaseException {
+        if (Objects.isNull(termGuid)) {
+            throw new AtlasBaseException(AtlasErrorCode.BAD_REQUEST, "termGuid is null/empty");
+        }
+
+        return getAssignedEntityEdgesQuery(getTermVertex(termGuid)).count();
+    }
+
+    private AtlasVertex getTermVertex(String termGuid) throws AtlasBaseException {
+        AtlasVertex ret = AtlasGraphUtilsV2.findByGuid(termGuid);
+
+        if (ret == null || !StringUtils.equals(AtlasGraphUtilsV2.getTypeName(ret), GlossaryUtils.ATLAS_GLOSSARY_TERM_TYPENAME)) {
+            throw new AtlasBaseException(AtlasErrorCode.INSTANCE_GUID_NOT_FOUND, termGuid);
+        }
+
+        return ret;
+    }
+
+    private AtlasVertexQuery getAssignedEntityEdgesQuery(AtlasVertex termVertex) {
+        return termVertex.query()
+                .direction(AtlasEdgeDirection.OUT)
+                .label(Constants.TERM_ASSIGNMENT_LABEL)
+                .has(Constants.STATE_PROPERTY_KEY, Constants.ACTIVE_STATE_VALUE);
+    }
+
+    private Iterable<AtlasEdge> getAssignedEntityEdges(AtlasVertex termVertex, int maxEdges) {
+        AtlasVertexQuery query = getAssignedEntityEdgesQuery(termVertex);
+
+        return maxEdges > 0 ? query.edges(maxEdges) : query.edges();
+    }
+
+    private void addRelatedObjectId(List<AtlasRelatedObjectId> ret, AtlasVertex termVertex, AtlasEdge edge) throws AtlasBaseException {
+        AtlasRelatedObjectId relatedObjectId = entityRetriever.mapEdgeToRelatedObjectId(termVertex, edge);
+
+        if (relatedObjectId != null) {
+            ret.add(relatedObjectId);
+        }
+    }
+
     private boolean glossaryExists(AtlasGlossary atlasGlossary) {
         AtlasVertex vertex = AtlasGraphUtilsV2.findByUniqueAttributes(atlasTypeRegistry.getEntityTypeByName(GlossaryUtils.ATLAS_GLOSSARY_TYPENAME), new HashMap<String, Object>() {{
             put(QUALIFIED_NAME_ATTR, atlasGlossary.getQualifiedName());
@@ -1269,22 +1352,22 @@ public class GlossaryService {
     }
 
     private void setDisplayNameForTermCategories(final Set<AtlasTermCategorizationHeader> categorizationHeaders) throws AtlasBaseException {
-        List<AtlasGlossaryCategory> categories = categorizationHeaders
+        List<String> categoryGuids = categorizationHeaders
                 .stream()
-                .map(id -> getAtlasGlossaryCategorySkeleton(id.getCategoryGuid()))
+                .map(AtlasTermCategorizationHeader::getCategoryGuid)
                 .collect(Collectors.toList());
         Map<String, AtlasGlossaryCategory> categoryMap = new HashMap<>();
-        dataAccess.load(categories).forEach(c -> categoryMap.put(c.getGuid(), c));
+        dataAccess.load(categoryGuids, AtlasGlossaryCategory.class, AtlasGlossaryCategoryDTO.ANCHOR_PROJECTION).forEach(c -> categoryMap.put(c.getGuid(), c));
         categorizationHeaders.forEach(c -> c.setDisplayText(categoryMap.get(c.getCategoryGuid()).getName()));
     }
 
     private void setInfoForRelatedCategories(final Collection<AtlasRelatedCategoryHeader> categoryHeaders) throws AtlasBaseException {
-        List<AtlasGlossaryCategory> categories = categoryHeaders
+        List<String> categoryGuids = categoryHeaders
                 .stream()
-                .map(id -> getAtlasGlossaryCategorySkeleton(id.getCategoryGuid()))
+                .map(AtlasRelatedCategoryHeader::getCategoryGuid)
                 .collect(Collectors.toList());
         Map<String, AtlasGlossaryCategory> categoryMap = new HashMap<>();
-        dataAccess.load(categories).forEach(c -> categoryMap.put(c.getGuid(), c));
+        dataAccess.load(categoryGuids, AtlasGlossaryCategory.class, AtlasGlossaryCategoryDTO.ANCHOR_PROJECTION).forEach(c -> categoryMap.put(c.getGuid(), c));
         for (AtlasRelatedCategoryHeader c : categoryHeaders) {
             AtlasGlossaryCategory category = categoryMap.get(c.getCategoryGuid());
             c.setDisplayText(category.getName());
@@ -1295,12 +1378,12 @@ public class GlossaryService {
     }
 
     private void setInfoForTerms(final Collection<AtlasRelatedTermHeader> termHeaders) throws AtlasBaseException {
-        List<AtlasGlossaryTerm> terms = termHeaders
+        List<String> termGuids = termHeaders
                 .stream()
-                .map(id -> getAtlasGlossaryTermSkeleton(id.getTermGuid()))
+                .map(AtlasRelatedTermHeader::getTermGuid)
                 .collect(Collectors.toList());
         Map<String, AtlasGlossaryTerm> termMap = new HashMap<>();
-        dataAccess.load(terms).iterator().forEachRemaining(t -> termMap.put(t.getGuid(), t));
+        dataAccess.load(termGuids, AtlasGlossaryTerm.class, AtlasGlossaryTermDTO.ANCHOR_PROJECTION).forEach(t -> termMap.put(t.getGuid(), t));
 
         termHeaders.forEach(t -> t.setDisplayText(getDisplayText(termMap.get(t.getTermGuid()))));
     }
@@ -27,6 +27,7 @@ import org.apache.atlas.model.glossary.relations.AtlasTermCategorizationHeader;
 import org.apache.atlas.model.instance.*;
 import org.apache.atlas.repository.graphdb.AtlasVertex;
 import org.apache.atlas.repository.ogm.DataAccess;
+import org.apache.atlas.repository.ogm.glossary.AtlasGlossaryDTO;
 import org.apache.atlas.repository.store.graph.AtlasRelationshipStore;
 import org.apache.atlas.repository.store.graph.v2.AtlasGraphUtilsV2;
 import org.apache.atlas.type.AtlasRelationshipType;
@@ -175,7 +176,7 @@ public class GlossaryTermUtils extends GlossaryUtils {
 
                     // Derive the qualifiedName when anchor changes
                     String        anchorGlossaryGuid = updatedTermAnchor.getGlossaryGuid();
-                    AtlasGlossary glossary           = dataAccess.load(getGlossarySkeleton(anchorGlossaryGuid));
+                    AtlasGlossary glossary           = dataAccess.load(getGlossarySkeleton(anchorGlossaryGuid), AtlasGlossaryDTO.HEADER_PROJECTION);
                     storeObject.setQualifiedName(storeObject.getName() + "@" + glossary.getQualifiedName());
 
                     if (LOG.isDebugEnabled()) {
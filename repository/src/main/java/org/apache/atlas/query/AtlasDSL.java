@@ -39,6 +39,7 @@ import java.io.IOException;
 import java.io.InputStream;
 import java.util.Arrays;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Set;
 
 public class AtlasDSL {
@@ -111,6 +112,8 @@ public class AtlasDSL {
         private final int                         offset;
         private final int                         limit;
         private final String                      query;
+        private GremlinQueryComposer              gremlinQueryComposer;
+        private QueryMetadata                     queryMetadata;
 
         public Translator(String query, AtlasTypeRegistry typeRegistry, int offset, int limit) throws AtlasBaseException {
             this.query = query;
@@ -121,8 +124,8 @@ public class AtlasDSL {
         }
 
         public GremlinQuery translate() throws AtlasBaseException {
-            QueryMetadata queryMetadata = new QueryMetadata(queryContext);
-            GremlinQueryComposer gremlinQueryComposer = new GremlinQueryComposer(typeRegistry, queryMetadata, limit, offset);
+            queryMetadata        = new QueryMetadata(queryContext);
+            gremlinQueryComposer = new GremlinQueryComposer(typeRegistry, queryMetadata, limit, offset);
             DSLVisitor dslVisitor = new DSLVisitor(gremlinQueryComposer);
 
             queryContext.accept(dslVisitor);
@@ -131,7 +134,18 @@ public class AtlasDSL {
 
             String gremlinQuery = gremlinQueryComposer.get();
 
-            return new GremlinQuery(gremlinQuery, queryMetadata.hasSelect());
+            // queries that need a groovy transformation of the results can only be executed as script
+            GremlinClauseList clauses = queryMetadata.needTransformation() ? null : gremlinQueryComposer.getQueryClauses();
+
+            return new GremlinQuery(gremlinQuery, queryMetadata.hasSelect(), clauses);
+        }
+
+        /**
+         * @param literals literals in the query, in the order they appear
+         * @return plan to reuse the translation for queries of the same shape; null if the query can't be reused
+         */
+        GremlinQueryPlan createQueryPlan(List<String> literals) {
+            return gremlinQueryComposer != null ? GremlinQueryPlan.create(gremlinQueryComposer, queryMetadata, literals) : null;
         }
 
         private void processErrorList(GremlinQueryComposer gremlinQueryComposer) throws AtlasBaseException {
@@ -0,0 +1,233 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.atlas.query;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheStats;
+import org.antlr.v4.runtime.BaseErrorListener;
+import org.antlr.v4.runtime.CharStreams;
+import org.antlr.v4.runtime.RecognitionException;
+import org.antlr.v4.runtime.Recognizer;
+import org.antlr.v4.runtime.Token;
+import org.apache.atlas.AtlasConfiguration;
+import org.apache.atlas.exception.AtlasBaseException;
+import org.apache.atlas.listener.ChangedTypeDefs;
+import org.apache.atlas.listener.TypeDefChangeListener;
+import org.apache.atlas.query.antlr4.AtlasDSLLexer;
+import org.apache.atlas.type.AtlasTypeRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import javax.inject.Inject;
+import javax.inject.Singleton;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Pattern;
+
+/**
+ * LRU cache of translated DSL queries, keyed by the shape of the query: the query text with literals replaced by
+ * placeholders. A cached translation is bound to the literals of the query being run, which skips parsing and
+ * translation for queries that differ only in literal values.
+ *
+ * The translation depends on the types, so the key includes the version of the type registry; entries are also
+ * invalidated when type definitions change through the type store.
+ */
+@Component
+@Singleton
+public class DSLQueryPlanCache implements TypeDefChangeListener {
+    private static final Logger LOG = LoggerFactory.getLogger(DSLQueryPlanCache.class);
+
+    private static final Pattern LITERAL_PATTERN = Pattern.compile("'[^']*'|\"[^\"]*\"|[+-]?\\d+(\\.\\d+)?([eE][+-]?\\d+)?|(?i:true|false)");
+
+    private final AtlasTypeRegistry              typeRegistry;
+    private final Cache<String, GremlinQueryPlan> cache;
+    private final AtomicLong                     uncacheableCount = new AtomicLong();
+
+    @Inject
+    public DSLQueryPlanCache(AtlasTypeRegistry typeRegistry) {
+        this(typeRegistry, AtlasConfiguration.DSL_QUERY_PLAN_CACHE_MAX_SIZE.getInt());
+    }
+
+    DSLQueryPlanCache(AtlasTypeRegistry typeRegistry, int maxSize) {
+        this.typeRegistry = typeRegistry;
+        this.cache        = maxSize > 0 ? CacheBuilder.newBuilder().maximumSize(maxSize).recordStats().build() : null;
+
+        LOG.info("DSL query plan cache: maxSize={}", maxSize);
+    }
+
+    public GremlinQuery getGremlinQuery(String query, int offset, int limit) throws AtlasBaseException {
+        QueryShape shape = cache != null ? QueryShape.parse(query) : null;
+
+        if (shape == null) {
+            return new AtlasDSL.Translator(query, typeRegistry, offset, limit).translate();
+        }
+
+        // plans of earlier type registry versions are not looked up again, and are evicted as the cache fills up
+        final GremlinQuery     ret;
+        final long             typeRegistryVersion = typeRegistry.getVersion();
+        final String           key                 = typeRegistryVersion + "|" + offset + "|" + limit + "|" + shape.getKey();
+        final GremlinQueryPlan plan                = cache.getIfPresent(key);
+
+        if (plan != null) {
+            ret = plan.bind(query, shape.getLiterals());
+        } else {
+            AtlasDSL.Translator translator = new AtlasDSL.Translator(query, typeRegistry, offset, limit);
+
+            ret = translator.translate();
+
+            GremlinQueryPlan newPlan = translator.createQueryPlan(shape.getLiterals());
+
+            if (newPlan != null) {
+                cache.put(key, newPlan);
+            } else {
+                uncacheableCount.incrementAndGet();
+
+                if (LOG.isDebugEnabled()) {
+                    LOG.debug("DSL query can't be reused for other literals; not cached. query={}", query);
+                }
+            }
+        }
+
+        return ret;
+    }
+
+    public void invalidateAll() {
+        if (cache != null) {
+            cache.invalidateAll();
+        }
+    }
+
+    public Map<String, Object> getMetrics() {
+        Map<String, Object> ret = new LinkedHashMap<>();
+
+        if (cache != null) {
+            CacheStats stats = cache.stats();
+
+            ret.put("size", cache.size());
+            ret.put("hitCount", stats.hitCount());
+            ret.put("missCount", stats.missCount());
+            ret.put("hitRate", stats.hitRate());
+            ret.put("evictionCount", stats.evictionCount());
+            ret.put("uncacheableCount", uncacheableCount.get());
+        }
+
+        return ret;
+    }
+
+    @Override
+    public void onChange(ChangedTypeDefs changedTypeDefs) {
+        invalidateAll();
+    }
+
+    @Override
+    public void onLoadCompletion() {
+        invalidateAll();
+    }
+
+    /**
+     * @return true if the given text is a literal that is replaced by a placeholder in the query shape
+     */
+    static boolean isLiteral(String text) {
+        return text != null && LITERAL_PATTERN.matcher(text).matches();
+    }
+
+    static class QueryShape {
+        private final String       key;
+        private final List<String> literals;
+
+        private QueryShape(String key, List<String> literals) {
+            this.key      = key;
+            this.literals = literals;
+        }
+
+        public String getKey() {
+            return key;
+        }
+
+        public List<String> getLiterals() {
+            return literals;
+        }
+
+        /**
+         * @return shape of the query; null if the query couldn't be tokenized
+         */
+        static QueryShape parse(String query) {
+            AtlasDSLLexer  lexer        = new AtlasDSLLexer(CharStreams.fromString(query));
+            ErrorListener  listener     = new ErrorListener();
+            StringBuilder  key          = new StringBuilder();
+            List<String>   literals     = new ArrayList<>();
+            int            prevType     = Token.INVALID_TYPE;
+
+            lexer.removeErrorListeners();
+            lexer.addErrorListener(listener);
+
+            for (Token token = lexer.nextToken(); token.getType() != Token.EOF; token = lexer.nextToken()) {
+                if (token.getChannel() != Token.DEFAULT_CHANNEL) {
+                    continue;
+                }
+
+                String text        = token.getText();
+                String placeholder = null;
+
+                switch (token.getType()) {
+                    case AtlasDSLLexer.ID:
+                        if (text.startsWith("'") || text.startsWith("\"")) {
+                            placeholder = "?s";
+                        }
+                    break;
+
+                    case AtlasDSLLexer.NUMBER:
+                    case AtlasDSLLexer.FLOATING_NUMBER:
+                        // limit and offset values are part of the shape
+                        if (prevType != AtlasDSLLexer.K_LIMIT && prevType != AtlasDSLLexer.K_OFFSET) {
+                            placeholder = "?n";
+                        }
+                    break;
+
+                    case AtlasDSLLexer.BOOL:
+                        placeholder = "?b";
+                    break;
+                }
+
+                if (placeholder != null) {
+                    literals.add(text);
+                }
+
+                key.append(placeholder != null ? placeholder : text).append(' ');
+
+                prevType = token.getType();
+            }
+
+            return listener.hasErrors ? null : new QueryShape(key.toString(), literals);
+        }
+    }
+
+    private static class ErrorListener extends BaseErrorListener {
+        private boolean hasErrors = false;
+
+        @Override
+        public void syntaxError(Recognizer<?, ?> recognizer, Object offendingSymbol, int line, int charPositionInLine, String msg, RecognitionException e) {
+            hasErrors = true;
+        }
+    }
+}
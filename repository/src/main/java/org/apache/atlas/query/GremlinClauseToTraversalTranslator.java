@@ -0,0 +1,362 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.atlas.query;
+
+import org.apache.atlas.repository.graphdb.AtlasGraph;
+import org.apache.atlas.repository.graphdb.AtlasGraphTraversal;
+import org.apache.commons.lang.StringUtils;
+import org.apache.tinkerpop.gremlin.process.traversal.Order;
+import org.apache.tinkerpop.gremlin.process.traversal.P;
+import org.apache.tinkerpop.gremlin.process.traversal.Traversal;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Pattern;
+
+/**
+ * Builds a graph traversal from the clauses created by GremlinQueryComposer, so that DSL queries can be executed
+ * without compiling a Groovy script. Literals are passed to the traversal as values, converted the same way the
+ * Groovy script engine would have converted them.
+ *
+ * Queries with clauses that are not supported here (like select transformations and group by) are not translated;
+ * those continue to be executed as Gremlin scripts.
+ */
+public class GremlinClauseToTraversalTranslator {
+    private static final Logger LOG = LoggerFactory.getLogger(GremlinClauseToTraversalTranslator.class);
+
+    private static final Pattern INTEGER_PATTERN = Pattern.compile("-?\\d+");
+    private static final Pattern LONG_PATTERN    = Pattern.compile("-?\\d+[lL]");
+    private static final Pattern DECIMAL_PATTERN = Pattern.compile("-?\\d+\\.\\d+([eE][+-]?\\d+)?");
+    private static final Pattern FLOAT_PATTERN   = Pattern.compile("-?\\d+(\\.\\d+)?([eE][+-]?\\d+)?[fF]");
+    private static final Pattern DOUBLE_PATTERN  = Pattern.compile("-?\\d+(\\.\\d+)?([eE][+-]?\\d+)?[dD]");
+
+    private final AtlasGraph graph;
+
+    private GremlinClauseToTraversalTranslator(AtlasGraph graph) {
+        this.graph = graph;
+    }
+
+    /**
+     * @return traversal equivalent to the given query; null if the query can't be executed as a traversal
+     */
+    public static AtlasGraphTraversal run(AtlasGraph graph, GremlinQuery query) {
+        GremlinClauseList   clauses = query.getClauses();
+        AtlasGraphTraversal ret     = null;
+
+        if (clauses != null && clauses.size() > 0) {
+            try {
+                ret = new GremlinClauseToTraversalTranslator(graph).traverse(null, clauses);
+            } catch (UnsupportedClauseException excp) {
+                if (LOG.isDebugEnabled()) {
+                    LOG.debug("DSL query will be executed as script: {}. query={}", excp.getMessage(), query.queryStr());
+                }
+            }
+        }
+
+        return ret;
+    }
+
+    private AtlasGraphTraversal traverse(AtlasGraphTraversal parent, GremlinClauseList clauses) throws UnsupportedClauseException {
+        AtlasGraphTraversal ret = null;
+
+        for (int i = 0; i < clauses.size(); i++) {
+            GremlinQueryComposer.GremlinClauseValue clauseValue = clauses.getAt(i);
+            GremlinClause                           clause      = clauseValue.getClause();
+            String[]                                values      = clauseValue.getValues();
+
+            if (ret == null && clause != GremlinClause.G && clause != GremlinClause.V && clause != GremlinClause.NESTED_START) {
+                throw new UnsupportedClauseException(clause, "traversal not started");
+            }
+
+            switch (clause) {
+                case G:
+                case TO_LIST:
+                    break;
+
+                case V:
+                    ret = graph.V();
+                    break;
+
+                case NESTED_START:
+                    if (parent == null) {
+                        throw new UnsupportedClauseException(clause, "nested query without a parent");
+                    }
+
+                    ret = parent.startAnonymousTraversal();
+                    break;
+
+                case AS:
+                    ret.as(getValue(clause, values, 0));
+                    break;
+
+                case HAS_TYPE:
+                    ret.has("__typeName", getValue(clause, values, 0));
+                    break;
+
+                case HAS_TYPE_WITHIN:
+                    ret.has("__typeName", P.within(toValues(clause, getValue(clause, values, 0))));
+                    break;
+
+                case HAS_PROPERTY:
+                    ret.has(getValue(clause, values, 0));
+                    break;
+
+                case HAS_NOT_PROPERTY:
+                    ret.hasNot(getValue(clause, values, 0));
+                    break;
+
+                case HAS_OPERATOR:
+                    ret.has(getValue(clause, values, 0), toPredicate(clause, getValue(clause, values, 1), getValue(clause, values, 2)));
+                    break;
+
+                case STRING_CONTAINS:
+                    ret.has(getValue(clause, values, 0), new P(ret.textPredicate().regex(), toStringValue(clause, getValue(clause, values, 1))));
+                    break;
+
+                case TEXT_CONTAINS:
+                    ret.has(getValue(clause, values, 0), new P(ret.textPredicate().containsRegex(), toStringValue(clause, getValue(clause, values, 1))));
+                    break;
+
+                case IN:
+                    ret.in(getValue(clause, values, 0));
+                    break;
+
+                case OUT:
+                    ret.out(getValue(clause, values, 0));
+                    break;
+
+                case TRAIT:
+                    ret.outE("classifiedAs").has("__name", P.within(getValue(clause, values, 0))).outV();
+                    break;
+
+                case ANY_TRAIT:
+                    ret.or(ret.startAnonymousTraversal().has("__traitNames"), ret.startAnonymousTraversal().has("__propagatedTraitNames"));
+                    break;
+
+                case NO_TRAIT:
+                    ret.and(ret.startAnonymousTraversal().hasNot("__traitNames"), ret.startAnonymousTraversal().hasNot("__propagatedTraitNames"));
+                    break;
+
+                case AND:
+                    ret.and(toNestedTraversals(ret, clauseValue));
+                    break;
+
+                case OR:
+                    ret.or(toNestedTraversals(ret, clauseValue));
+                    break;
+
+                case DEDUP:
+                    ret.dedup();
+                    break;
+
+                case LIMIT:
+                    ret.limit(toLong(clause, getValue(clause, values, 0)));
+                    break;
+
+                case RANGE: {
+                    long offset = toLong(clause, getValue(clause, values, 0));
+                    long limit  = toLong(clause, getValue(clause, values, 2));
+
+                    ret.range(offset, offset + limit);
+                }
+                break;
+
+                case ORDER_BY:
+                    ret.order().by(getValue(clause, values, 0));
+                    break;
+
+                case ORDER_BY_DESC:
+                    ret.order().by(getValue(clause, values, 0), Order.decr);
+                    break;
+
+                default:
+                    throw new UnsupportedClauseException(clause, "no equivalent traversal step");
+            }
+        }
+
+        return ret;
+    }
+
+    private Traversal[] toNestedTraversals(AtlasGraphTraversal parent, GremlinQueryComposer.GremlinClauseValue clauseValue) throws UnsupportedClauseException {
+        List<GremlinClauseList> subClauses = clauseValue.getSubClauses();
+
+        if (subClauses == null) {
+            throw new UnsupportedClauseException(clauseValue.getClause(), "nested clauses not available");
+        }
+
+        Traversal[] ret = new Traversal[subClauses.size()];
+
+        for (int i = 0; i < ret.length; i++) {
+            ret[i] = traverse(parent, subClauses.get(i));
+        }
+
+        return ret;
+    }
+
+    private P toPredicate(GremlinClause clause, String operator, String literal) throws UnsupportedClauseException {
+        switch (operator) {
+            case "eq":
+                return P.eq(toValue(clause, literal));
+            case "neq":
+                return P.neq(toValue(clause, literal));
+            case "lt":
+                return P.lt(toValue(clause, literal));
+            case "lte":
+                return P.lte(toValue(clause, literal));
+            case "gt":
+                return P.gt(toValue(clause, literal));
+            case "gte":
+                return P.gte(toValue(clause, literal));
+            case "within":
+                return P.within(toValues(clause, literal));
+        }
+
+        throw new UnsupportedClauseException(clause, "unknown operator " + operator);
+    }
+
+    private static String getValue(GremlinClause clause, String[] values, int idx) throws UnsupportedClauseException {
+        if (values == null || values.length <= idx || values[idx] == null) {
+            throw new UnsupportedClauseException(clause, "missing argument " + idx);
+        }
+
+        return values[idx];
+    }
+
+    private static long toLong(GremlinClause clause, String literal) throws UnsupportedClauseException {
+        try {
+            return Long.parseLong(literal.trim());
+        } catch (NumberFormatException excp) {
+            throw new UnsupportedClauseException(clause, "invalid number " + literal);
+        }
+    }
+
+    private static String toStringValue(GremlinClause clause, String literal) throws UnsupportedClauseException {
+        Object ret = toValue(clause, literal);
+
+        if (!(ret instanceof String)) {
+            throw new UnsupportedClauseException(clause, "expected a string literal " + literal);
+        }
+
+        return (String) ret;
+    }
+
+    /**
+     * Converts a comma separated list of literals, as used in within(), to values.
+     */
+    static List<Object> toValues(GremlinClause clause, String literals) throws UnsupportedClauseException {
+        List<Object> ret   = new ArrayList<>();
+        char         quote = 0;
+        int          start = 0;
+
+        for (int i = 0; i < literals.length(); i++) {
+            char c = literals.charAt(i);
+
+            if (quote != 0) {
+                if (c == quote) {
+                    quote = 0;
+                }
+            } else if (c == '\'' || c == '"') {
+                quote = c;
+            } else if (c == ',') {
+                ret.add(toValue(clause, literals.substring(start, i)));
+
+                start = i + 1;
+            }
+        }
+
+        if (quote != 0) {
+            throw new UnsupportedClauseException(clause, "unterminated string " + literals);
+        }
+
+        ret.add(toValue(clause, literals.substring(start)));
+
+        return ret;
+    }
+
+    /**
+     * Converts a Groovy literal, as generated by GremlinQueryComposer, to the value the script engine would create.
+     */
+    static Object toValue(GremlinClause clause, String literal) throws UnsupportedClauseException {
+        String s = StringUtils.trim(literal);
+
+        if (StringUtils.isEmpty(s)) {
+            throw new UnsupportedClauseException(clause, "empty literal");
+        }
+
+        char first = s.charAt(0);
+
+        if (first == '\'' || first == '"') {
+            // escape sequences and GString interpolation are left to the script engine
+            if (s.length() < 2 || s.charAt(s.length() - 1) != first || s.indexOf('\\') != -1 || (first == '"' && s.indexOf('$') != -1)) {
+                throw new UnsupportedClauseException(clause, "unsupported string literal " + s);
+            }
+
+            String ret = s.substring(1, s.length() - 1);
+
+            if (ret.indexOf(first) != -1) {
+                throw new UnsupportedClauseException(clause, "unsupported string literal " + s);
+            }
+
+            return ret;
+        }
+
+        if (s.equals("true") || s.equals("false")) {
+            return Boolean.valueOf(s);
+        }
+
+        if (INTEGER_PATTERN.matcher(s).matches()) {
+            BigInteger ret = new BigInteger(s);
+
+            if (ret.bitLength() < Integer.SIZE) {
+                return ret.intValue();
+            } else if (ret.bitLength() < Long.SIZE) {
+                return ret.longValue();
+            }
+
+            return ret;
+        }
+
+        if (LONG_PATTERN.matcher(s).matches()) {
+            return Long.valueOf(s.substring(0, s.length() - 1));
+        }
+
+        if (DECIMAL_PATTERN.matcher(s).matches()) {
+            return new BigDecimal(s);
+        }
+
+        if (FLOAT_PATTERN.matcher(s).matches()) {
+            return Float.valueOf(s);
+        }
+
+        if (DOUBLE_PATTERN.matcher(s).matches()) {
+            return Double.valueOf(s);
+        }
+
+        throw new UnsupportedClauseException(clause, "unsupported literal " + s);
+    }
+
+    static class UnsupportedClauseException extends Exception {
+        UnsupportedClauseException(GremlinClause clause, String reason) {
+            super(clause + ": " + reason);
+        }
+    }
+}
@@ -18,12 +18,18 @@
 package org.apache.atlas.query;
 
 public class GremlinQuery {
-    private final String queryStr;
-    private final boolean hasSelect;
+    private final String            queryStr;
+    private final boolean           hasSelect;
+    private final GremlinClauseList clauses;
 
     public GremlinQuery(String text, boolean hasSelect) {
-        this.queryStr = text;
+        this(text, hasSelect, null);
+    }
+
+    GremlinQuery(String text, boolean hasSelect, GremlinClauseList clauses) {
+        this.queryStr  = text;
         this.hasSelect = hasSelect;
+        this.clauses   = clauses;
     }
 
     public String queryStr() {
@@ -33,4 +39,8 @@ public class GremlinQuery {
     public boolean hasSelectList() {
         return hasSelect;
     }
-}
\ No newline at end of file
+
+    GremlinClauseList getClauses() {
+        return clauses;
+    }
+}
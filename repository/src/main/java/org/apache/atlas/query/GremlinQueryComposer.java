@@ -189,28 +189,22 @@ public class GremlinQueryComposer {
             return;
         }
 
-        if (lhsI.isDate()) {
-            rhs = parseDate(rhs);
-        } else if (lhsI.isNumeric()) {
-            rhs = parseNumber(rhs, this.context);
-        }
+        SearchParameters.Operator op              = SearchParameters.Operator.fromString(operator);
+        boolean                   isStringIndexed = false;
 
-        rhs = addQuotesIfNecessary(lhsI, rhs);
-        SearchParameters.Operator op = SearchParameters.Operator.fromString(operator);
         if (op == SearchParameters.Operator.LIKE) {
             final AtlasStructType.AtlasAttribute attribute = context.getActiveEntityType().getAttribute(lhsI.getAttributeName());
             final AtlasStructDef.AtlasAttributeDef.IndexType indexType = attribute.getAttributeDef().getIndexType();
 
-            if (indexType == AtlasStructDef.AtlasAttributeDef.IndexType.STRING || !containsNumberAndLettersOnly(rhs)) {
-                add(GremlinClause.STRING_CONTAINS, getPropertyForClause(lhsI), IdentifierHelper.getFixedRegEx(rhs));
-            } else {
-                add(GremlinClause.TEXT_CONTAINS, getPropertyForClause(lhsI), IdentifierHelper.getFixedRegEx(rhs));
-            }
-        } else if (op == SearchParameters.Operator.IN) {
-            add(GremlinClause.HAS_OPERATOR, getPropertyForClause(lhsI), "within", rhs);
-        } else {
-            add(GremlinClause.HAS_OPERATOR, getPropertyForClause(lhsI), op.getSymbols()[1], rhs);
+            isStringIndexed = indexType == AtlasStructDef.AtlasAttributeDef.IndexType.STRING;
         }
+
+        WhereClause whereClause = new WhereClause(getPropertyForClause(lhsI), op, lhsI.isDate(), lhsI.isNumeric(),
+                                                  lhsI.isNumeric() ? context.getNumericTypeFormatter() : null, isStringIndexed, rhs);
+
+        queryClauses.add(whereClause.compose(context.getErrorList()));
+        context.addWhereClause(whereClause);
+
         // record that the attribute has been processed so that the select clause doesn't add a attr presence check
         attributesProcessed.add(lhsI.getQualifiedName());
 
@@ -226,20 +220,12 @@ public class GremlinQueryComposer {
         }
     }
 
-    private boolean containsNumberAndLettersOnly(String rhs) {
-        return Pattern.matches(REGEX_ALPHA_NUMERIC_PATTERN, IdentifierHelper.removeWildcards(rhs));
+    public void addAndClauses(List<GremlinQueryComposer> queryComposers) {
+        addNestedClauses(GremlinClause.AND, queryComposers);
     }
 
-    private String parseNumber(String rhs, Context context) {
-        return rhs.replace("'", "").replace("\"", "") + context.getNumericTypeFormatter();
-    }
-
-    public void addAndClauses(List<String> clauses) {
-        add(GremlinClause.AND, String.join(",", clauses));
-    }
-
-    public void addOrClauses(List<String> clauses) {
-        add(GremlinClause.OR, String.join(",", clauses));
+    public void addOrClauses(List<GremlinQueryComposer> queryComposers) {
+        addNestedClauses(GremlinClause.OR, queryComposers);
     }
 
     public Set<String> getAttributesProcessed() {
@@ -319,10 +305,7 @@ public class GremlinQueryComposer {
         close();
 
         boolean mustTransform = !isNestedQuery && queryMetadata.needTransformation();
-        String  items[]       = getFormattedClauses(mustTransform);
-        String s = mustTransform ?
-                           getTransformedClauses(items) :
-                           String.join(".", items);
+        String  s             = toQueryString(queryClauses, mustTransform, isNestedQuery);
 
         if (LOG.isDebugEnabled()) {
             LOG.debug("Gremlin: {}", s);
@@ -335,6 +318,14 @@ public class GremlinQueryComposer {
         return context.getErrorList();
     }
 
+    GremlinClauseList getQueryClauses() {
+        return queryClauses;
+    }
+
+    List<WhereClause> getWhereClauses() {
+        return context.getWhereClauses();
+    }
+
     public void addOrderBy(String name, boolean isDesc) {
         if (LOG.isDebugEnabled()) {
             LOG.debug("addOrderBy(name={}, isDesc={})", name, isDesc);
@@ -352,7 +343,16 @@ public class GremlinQueryComposer {
     }
 
     public long getDateFormat(String s) {
+        Long ret = parseDateTime(s);
+
+        if (ret == null) {
+            context.validator.check(false, AtlasErrorCode.INVALID_DSL_INVALID_DATE, s);
+        }
+
+        return ret == null ? -1 : ret;
+    }
 
+    private static Long parseDateTime(String s) {
         for (DateFormat dateFormat : DSL_DATE_FORMAT.get()) {
             try {
                 return dateFormat.parse(s).getTime();
@@ -360,8 +360,7 @@ public class GremlinQueryComposer {
             }
         }
 
-        context.validator.check(false, AtlasErrorCode.INVALID_DSL_INVALID_DATE, s);
-        return -1;
+        return null;
     }
 
     public boolean hasFromClause() {
@@ -459,7 +458,15 @@ public class GremlinQueryComposer {
         }
     }
 
-    private String getTransformedClauses(String[] items) {
+    static String toQueryString(GremlinClauseList queryClauses, boolean mustTransform, boolean isNestedQuery) {
+        String items[] = getFormattedClauses(queryClauses, mustTransform);
+
+        return mustTransform ?
+                       getTransformedClauses(queryClauses, items, isNestedQuery) :
+                       String.join(".", items);
+    }
+
+    private static String getTransformedClauses(GremlinClauseList queryClauses, String[] items, boolean isNestedQuery) {
         String ret;
         String body     = String.join(".", Stream.of(items).filter(Objects::nonNull).collect(Collectors.toList()));
         String inlineFn = queryClauses.getValue(queryClauses.size() - 1);
@@ -472,7 +479,7 @@ public class GremlinQueryComposer {
         return ret;
     }
 
-    private String[] getFormattedClauses(boolean needTransformation) {
+    private static String[] getFormattedClauses(GremlinClauseList queryClauses, boolean needTransformation) {
         String[] items    = new String[queryClauses.size()];
         int      startIdx = needTransformation ? 1 : 0;
         int      endIdx   = needTransformation ? queryClauses.size() - 1 : queryClauses.size();
@@ -518,22 +525,6 @@ public class GremlinQueryComposer {
         add(GremlinClause.INLINE_TRANSFORM_CALL);
     }
 
-    private String addQuotesIfNecessary(IdentifierHelper.Info rhsI, String rhs) {
-        if(rhsI.isNumeric()) return rhs;
-        if (IdentifierHelper.isTrueOrFalse(rhs)) return rhs;
-        if (IdentifierHelper.isQuoted(rhs)) return rhs;
-        return IdentifierHelper.getQuoted(rhs);
-    }
-
-    private String parseDate(String rhs) {
-        String s = IdentifierHelper.isQuoted(rhs) ?
-                           IdentifierHelper.removeQuotes(rhs) :
-                           rhs;
-
-
-        return String.format("'%d'", getDateFormat(s));
-    }
-
     private void close() {
         if (isNestedQuery)
             return;
@@ -636,11 +627,23 @@ public class GremlinQueryComposer {
     }
 
     private void add(GremlinClause clause, String... args) {
-        queryClauses.add(new GremlinClauseValue(clause, clause.get(args)));
+        queryClauses.add(new GremlinClauseValue(clause, args));
     }
 
     private void add(int idx, GremlinClause clause, String... args) {
-        queryClauses.add(idx, new GremlinClauseValue(clause, clause.get(args)));
+        queryClauses.add(idx, new GremlinClauseValue(clause, args));
+    }
+
+    private void addNestedClauses(GremlinClause clause, List<GremlinQueryComposer> queryComposers) {
+        List<String>            queries    = new ArrayList<>(queryComposers.size());
+        List<GremlinClauseList> subClauses = new ArrayList<>(queryComposers.size());
+
+        for (GremlinQueryComposer queryComposer : queryComposers) {
+            queries.add(queryComposer.get());
+            subClauses.add(queryComposer.getQueryClauses());
+        }
+
+        queryClauses.add(new GremlinClauseValue(clause, subClauses, String.join(",", queries)));
     }
 
     private void addTrait(GremlinClause clause, IdentifierHelper.Info idInfo) {
@@ -652,12 +655,24 @@ public class GremlinQueryComposer {
     }
 
     static class GremlinClauseValue {
-        private final GremlinClause clause;
-        private final String        value;
+        private final GremlinClause           clause;
+        private final String                  value;
+        private final String[]                values;
+        private final List<GremlinClauseList> subClauses;
 
-        public GremlinClauseValue(GremlinClause clause, String value) {
-            this.clause = clause;
-            this.value = value;
+        public GremlinClauseValue(GremlinClause clause, String... values) {
+            this(clause, clause.get(values), values, null);
+        }
+
+        public GremlinClauseValue(GremlinClause clause, List<GremlinClauseList> subClauses, String value) {
+            this(clause, clause.get(value), null, subClauses);
+        }
+
+        private GremlinClauseValue(GremlinClause clause, String value, String[] values, List<GremlinClauseList> subClauses) {
+            this.clause     = clause;
+            this.value      = value;
+            this.values     = values;
+            this.subClauses = subClauses;
         }
 
         public GremlinClause getClause() {
@@ -667,6 +682,120 @@ public class GremlinQueryComposer {
         public String getValue() {
             return value;
         }
+
+        /**
+         * @return arguments the clause template was formatted with; null for AND/OR clauses
+         */
+        public String[] getValues() {
+            return values;
+        }
+
+        /**
+         * @return clauses of the nested queries of an AND/OR clause
+         */
+        public List<GremlinClauseList> getSubClauses() {
+            return subClauses;
+        }
+    }
+
+    /**
+     * Comparison in a where clause. Keeps what's needed to create the clause for a different value of the literal,
+     * which lets a translated query be reused for queries that differ only in literals.
+     */
+    static class WhereClause {
+        private final String                    propertyName;
+        private final SearchParameters.Operator operator;
+        private final boolean                   isDate;
+        private final boolean                   isNumeric;
+        private final String                    numericTypeFormatter;
+        private final boolean                   isStringIndexed;
+        private final String                    rhs;
+        private GremlinClauseValue              clauseValue;
+
+        WhereClause(String propertyName, SearchParameters.Operator operator, boolean isDate, boolean isNumeric,
+                    String numericTypeFormatter, boolean isStringIndexed, String rhs) {
+            this.propertyName         = propertyName;
+            this.operator             = operator;
+            this.isDate               = isDate;
+            this.isNumeric            = isNumeric;
+            this.numericTypeFormatter = numericTypeFormatter;
+            this.isStringIndexed      = isStringIndexed;
+            this.rhs                  = rhs;
+        }
+
+        public String getRhs() {
+            return rhs;
+        }
+
+        public boolean isInClause() {
+            return operator == SearchParameters.Operator.IN;
+        }
+
+        /**
+         * @return clause created by compose()
+         */
+        public GremlinClauseValue getClauseValue() {
+            return clauseValue;
+        }
+
+        /**
+         * Creates the clause for the rhs this where clause was created with.
+         *
+         * @param errors list to add errors in the rhs to
+         */
+        public GremlinClauseValue compose(List<String> errors) {
+            clauseValue = toClauseValue(rhs, errors);
+
+            return clauseValue;
+        }
+
+        /**
+         * @param errors list to add errors in the rhs to
+         * @return clause for the given rhs
+         */
+        public GremlinClauseValue toClauseValue(String rhs, List<String> errors) {
+            if (isDate) {
+                rhs = toDateLiteral(rhs, errors);
+            } else if (isNumeric) {
+                rhs = rhs.replace("'", "").replace("\"", "") + numericTypeFormatter;
+            }
+
+            rhs = addQuotesIfNecessary(rhs);
+
+            if (operator == SearchParameters.Operator.LIKE) {
+                if (isStringIndexed || !containsNumberAndLettersOnly(rhs)) {
+                    return new GremlinClauseValue(GremlinClause.STRING_CONTAINS, propertyName, IdentifierHelper.getFixedRegEx(rhs));
+                } else {
+                    return new GremlinClauseValue(GremlinClause.TEXT_CONTAINS, propertyName, IdentifierHelper.getFixedRegEx(rhs));
+                }
+            } else if (operator == SearchParameters.Operator.IN) {
+                return new GremlinClauseValue(GremlinClause.HAS_OPERATOR, propertyName, "within", rhs);
+            } else {
+                return new GremlinClauseValue(GremlinClause.HAS_OPERATOR, propertyName, operator.getSymbols()[1], rhs);
+            }
+        }
+
+        private String addQuotesIfNecessary(String rhs) {
+            if (isNumeric) return rhs;
+            if (IdentifierHelper.isTrueOrFalse(rhs)) return rhs;
+            if (IdentifierHelper.isQuoted(rhs)) return rhs;
+            return IdentifierHelper.getQuoted(rhs);
+        }
+
+        private static String toDateLiteral(String rhs, List<String> errors) {
+            String s    = IdentifierHelper.isQuoted(rhs) ? IdentifierHelper.removeQuotes(rhs) : rhs;
+            Long   time = parseDateTime(s);
+
+            if (time == null) {
+                errors.add(AtlasErrorCode.INVALID_DSL_INVALID_DATE.getFormattedErrorMessage(s));
+            }
+
+            return String.format("'%d'", time == null ? -1 : time);
+        }
+
+        private static boolean containsNumberAndLettersOnly(String rhs) {
+            return Pattern.matches(REGEX_ALPHA_NUMERIC_PATTERN, IdentifierHelper.removeWildcards(rhs));
+        }
     }
 
     @VisibleForTesting
@@ -679,6 +808,7 @@ public class GremlinQueryComposer {
         private SelectClauseComposer        selectClauseComposer;
         private ClauseValidator             validator;
         private String                      numericTypeFormatter = "";
+        private final List<WhereClause>     whereClauses = new ArrayList<>();
 
         public Context(Lookup lookup) {
             this.lookup = lookup;
@@ -778,6 +908,17 @@ public class GremlinQueryComposer {
         public String getNumericTypeFormatter() {
             return this.numericTypeFormatter;
         }
+
+        public void addWhereClause(WhereClause whereClause) {
+            whereClauses.add(whereClause);
+        }
+
+        /**
+         * @return where clauses of the query and its nested queries, in the order they were added
+         */
+        public List<WhereClause> getWhereClauses() {
+            return whereClauses;
+        }
     }
 
     private static class ClauseValidator {
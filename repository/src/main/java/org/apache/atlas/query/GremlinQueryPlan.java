@@ -0,0 +1,184 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.atlas.query;
+
+import org.apache.atlas.AtlasErrorCode;
+import org.apache.atlas.exception.AtlasBaseException;
+import org.apache.commons.lang.StringUtils;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Translation of a DSL query that can be reused for other queries of the same shape, i.e. queries that differ only
+ * in the values of literals. Literals are bound to the where clauses they were used in; the clauses for new values are
+ * created from the same type information, without parsing and translating the query again.
+ */
+class GremlinQueryPlan {
+    private final GremlinClauseList    queryClauses;
+    private final boolean              mustTransform;
+    private final boolean              hasSelect;
+    private final List<LiteralBinding> bindings;
+
+    private GremlinQueryPlan(GremlinClauseList queryClauses, boolean mustTransform, boolean hasSelect, List<LiteralBinding> bindings) {
+        this.queryClauses  = queryClauses;
+        this.mustTransform = mustTransform;
+        this.hasSelect     = hasSelect;
+        this.bindings      = bindings;
+    }
+
+    /**
+     * @param literals literals in the query, in the order they appear
+     * @return plan for the translated query; null if literals of the query can't all be mapped to where clauses
+     */
+    static GremlinQueryPlan create(GremlinQueryComposer composer, AtlasDSL.QueryMetadata queryMetadata, List<String> literals) {
+        List<LiteralBinding> bindings = new ArrayList<>();
+        int                  idx      = 0;
+
+        for (GremlinQueryComposer.WhereClause whereClause : composer.getWhereClauses()) {
+            List<String> values       = whereClause.isInClause() ? splitList(whereClause.getRhs()) : Collections.singletonList(whereClause.getRhs());
+            int          valueCount   = values.size();
+            int          literalCount = 0;
+
+            for (String value : values) {
+                if (DSLQueryPlanCache.isLiteral(value)) {
+                    literalCount++;
+                }
+            }
+
+            if (literalCount == 0) { // rhs has no literals, so it is part of the query shape
+                continue;
+            }
+
+            if (literalCount != valueCount || idx + valueCount > literals.size()) {
+                return null;
+            }
+
+            String boundRhs = String.join(",", literals.subList(idx, idx + valueCount));
+
+            if (!StringUtils.equals(boundRhs, whereClause.getRhs())) {
+                return null;
+            }
+
+            bindings.add(new LiteralBinding(whereClause, idx, valueCount));
+
+            idx += valueCount;
+        }
+
+        if (idx != literals.size()) {
+            return null;
+        }
+
+        return new GremlinQueryPlan(composer.getQueryClauses(), queryMetadata.needTransformation(), queryMetadata.hasSelect(), bindings);
+    }
+
+    /**
+     * @param query    query to bind; used in error messages
+     * @param literals literals in the query, in the order they appear
+     */
+    GremlinQuery bind(String query, List<String> literals) throws AtlasBaseException {
+        Map<GremlinQueryComposer.GremlinClauseValue, GremlinQueryComposer.GremlinClauseValue> boundClauses = new IdentityHashMap<>();
+        List<String>                                                                          errors       = new ArrayList<>();
+
+        for (LiteralBinding binding : bindings) {
+            String rhs = String.join(",", literals.subList(binding.literalIdx, binding.literalIdx + binding.literalCount));
+
+            boundClauses.put(binding.whereClause.getClauseValue(), binding.whereClause.toClauseValue(rhs, errors));
+        }
+
+        if (!errors.isEmpty()) {
+            throw new AtlasBaseException(AtlasErrorCode.INVALID_DSL_QUERY, query, StringUtils.join(errors, ", "));
+        }
+
+        GremlinClauseList clauses  = copy(queryClauses, boundClauses);
+        String            queryStr = GremlinQueryComposer.toQueryString(clauses, mustTransform, false);
+
+        return new GremlinQuery(queryStr, hasSelect, mustTransform ? null : clauses);
+    }
+
+    private static GremlinClauseList copy(GremlinClauseList clauses, Map<GremlinQueryComposer.GremlinClauseValue, GremlinQueryComposer.GremlinClauseValue> boundClauses) {
+        GremlinClauseList ret = new GremlinClauseList();
+
+        for (int i = 0; i < clauses.size(); i++) {
+            GremlinQueryComposer.GremlinClauseValue clauseValue = clauses.get(i);
+            GremlinQueryComposer.GremlinClauseValue boundClause = boundClauses.get(clauseValue);
+
+            if (boundClause != null) {
+                ret.add(boundClause);
+            } else if (clauseValue.getSubClauses() != null) {
+                List<GremlinClauseList> subClauses = new ArrayList<>(clauseValue.getSubClauses().size());
+                List<String>            queries    = new ArrayList<>(clauseValue.getSubClauses().size());
+
+                for (GremlinClauseList subClause : clauseValue.getSubClauses()) {
+                    GremlinClauseList boundSubClause = copy(subClause, boundClauses);
+
+                    subClauses.add(boundSubClause);
+                    queries.add(GremlinQueryComposer.toQueryString(boundSubClause, false, true));
+                }
+
+                ret.add(new GremlinQueryComposer.GremlinClauseValue(clauseValue.getClause(), subClauses, String.join(",", queries)));
+            } else {
+                ret.add(clauseValue);
+            }
+        }
+
+        return ret;
+    }
+
+    // splits values of an IN clause, like 'a','b'
+    private static List<String> splitList(String values) {
+        List<String> ret   = new ArrayList<>();
+        char         quote = 0;
+        int          start = 0;
+
+        for (int i = 0; i < values.length(); i++) {
+            char c = values.charAt(i);
+
+            if (quote != 0) {
+                if (c == quote) {
+                    quote = 0;
+                }
+            } else if (c == '\'' || c == '"') {
+                quote = c;
+            } else if (c == ',') {
+                ret.add(values.substring(start, i));
+
+                start = i + 1;
+            }
+        }
+
+        ret.add(values.substring(start));
+
+        return ret;
+    }
+
+    private static class LiteralBinding {
+        private final GremlinQueryComposer.WhereClause whereClause;
+        private final int                              literalIdx;
+        private final int                              literalCount;
+
+        LiteralBinding(GremlinQueryComposer.WhereClause whereClause, int literalIdx, int literalCount) {
+            this.whereClause  = whereClause;
+            this.literalIdx   = literalIdx;
+            this.literalCount = literalCount;
+        }
+    }
+}
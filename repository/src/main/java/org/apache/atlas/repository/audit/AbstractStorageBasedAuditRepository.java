@@ -32,6 +32,7 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -52,6 +53,7 @@ public abstract class AbstractStorageBasedAuditRepository implements Service, En
   protected static Configuration      APPLICATION_PROPERTIES       = null;
   protected Map<String, List<String>> auditExcludedAttributesCache = new HashMap<>();
   protected static boolean            persistEntityDefinition;
+  protected AsyncAuditWriter          asyncWriter;
 
   static {
     try {
@@ -84,6 +86,48 @@ public abstract class AbstractStorageBasedAuditRepository implements Service, En
     putEventsV2(Arrays.asList(events));
   }
 
+  @Override
+  public void putEventsV2(List<EntityAuditEventV2> events) throws AtlasBaseException {
+    if (asyncWriter != null) {
+      asyncWriter.submit(events);
+    } else {
+      writeEventsV2(events);
+    }
+  }
+
+  /**
+   * Writes the events to the storage backend; called directly when writes are synchronous, and by the async writer otherwise
+   */
+  protected abstract void writeEventsV2(List<EntityAuditEventV2> events) throws AtlasBaseException;
+
+  /**
+   * Starts asynchronous writes of v2 events, if enabled by atlas.audit.async.enabled
+   * @param name name of the storage backend
+   * @param sink writes a batch of events to the storage backend
+   */
+  protected void startAsyncWriter(String name, AsyncAuditWriter.AuditEventSink sink) {
+    asyncWriter = AsyncAuditWriter.create(name, sink);
+
+    if (asyncWriter != null) {
+      asyncWriter.start();
+    }
+  }
+
+  protected void stopAsyncWriter() {
+    if (asyncWriter != null) {
+      asyncWriter.stop();
+
+      asyncWriter = null;
+    }
+  }
+
+  /**
+   * @return metrics of the async writer; empty if writes are synchronous
+   */
+  public Map<String, Object> getAsyncWriterMetrics() {
+    return asyncWriter != null ? asyncWriter.getMetrics() : Collections.emptyMap();
+  }
+
   @Override
   public List<Object> listEvents(String entityId, String startKey, short maxResults) throws AtlasBaseException {
     List ret = listEventsV2(entityId, null, startKey, maxResults);
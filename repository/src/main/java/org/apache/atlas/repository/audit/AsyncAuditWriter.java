@@ -0,0 +1,450 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * <p/>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p/>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.atlas.repository.audit;
+
+import org.apache.atlas.ApplicationProperties;
+import org.apache.atlas.AtlasConfiguration;
+import org.apache.atlas.AtlasException;
+import org.apache.atlas.exception.AtlasBaseException;
+import org.apache.atlas.ha.AtlasServerIdSelector;
+import org.apache.atlas.ha.HAConfiguration;
+import org.apache.atlas.model.audit.EntityAuditEventV2;
+import org.apache.atlas.security.SecurityProperties;
+import org.apache.atlas.type.AtlasType;
+import org.apache.commons.configuration.Configuration;
+import org.apache.commons.lang.StringUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Writes audit events to a repository asynchronously, so that audit writes don't add to the latency of entity
+ * mutations. Events are queued in a bounded queue and written in batches by a writer thread, when a batch is full
+ * or the flush interval elapses.
+ *
+ * When the queue is full, or the repository fails to write a batch, events are appended to a local spill file. The
+ * spill file is replayed to the repository once writes succeed again, and on start. The spill file is kept under
+ * atlas.data by default, so that it survives a restart, and its name includes the server id (HA) or port of the
+ * instance, so that instances on the same host don't share it.
+ */
+public class AsyncAuditWriter {
+    private static final Logger LOG = LoggerFactory.getLogger(AsyncAuditWriter.class);
+
+    private static final long   STOP_WAIT_TIME_MS        = 30000;
+    private static final long   REPLAY_RETRY_INTERVAL_MS = 30000;
+    private static final String SPILL_DIR_NAME          = "audit-spill";
+    private static final String SPILL_DIR_PROPERTY      = "atlas.audit.async.spill.dir";
+    private static final String ATLAS_HOME              = "atlas.home";
+    private static final String ATLAS_DATA              = "atlas.data";
+    private static final String ATLAS_SERVER_HTTP_PORT  = "atlas.server.http.port";
+    private static final String ATLAS_SERVER_HTTPS_PORT = "atlas.server.https.port";
+
+    /**
+     * Synchronous write of audit events to a repository.
+     */
+    public interface AuditEventSink {
+        void write(List<EntityAuditEventV2> events) throws Exception;
+    }
+
+    private final String                            name;
+    private final AuditEventSink                    sink;
+    private final BlockingQueue<EntityAuditEventV2> queue;
+    private final int                               batchSize;
+    private final long                              flushIntervalMs;
+    private final File                              spillFile;
+    private final Object                            spillLock       = new Object();
+    private final AtomicLong                        flushCount      = new AtomicLong();
+    private final AtomicLong                        flushTimeMs     = new AtomicLong();
+    private final AtomicLong                        maxFlushTimeMs  = new AtomicLong();
+    private final AtomicLong                        eventsWritten   = new AtomicLong();
+    private final AtomicLong                        eventsSpilled   = new AtomicLong();
+    private final AtomicLong                        eventsReplayed  = new AtomicLong();
+    private final AtomicLong                        eventsDropped   = new AtomicLong();
+    private final Thread                            writerThread;
+    private volatile long                           lastFlushTimeMs = -1;
+    private long                                    nextReplayTime  = 0;
+    private volatile boolean                        isSinkAvailable = true;
+    private volatile boolean                        isStopped       = false;
+
+    public AsyncAuditWriter(String name, AuditEventSink sink, int queueSize, int batchSize, long flushIntervalMs, File spillFile) {
+        this.name            = name;
+        this.sink            = sink;
+        this.queue           = new ArrayBlockingQueue<>(queueSize);
+        this.batchSize       = batchSize;
+        this.flushIntervalMs = flushIntervalMs;
+        this.spillFile       = spillFile;
+        this.writerThread    = new Thread(this::run, "atlas-audit-writer-" + name);
+
+        writerThread.setDaemon(true);
+    }
+
+    /**
+     * @return writer configured by atlas.audit.async.* properties; null if asynchronous audit writes are disabled
+     */
+    public static AsyncAuditWriter create(String name, AuditEventSink sink) {
+        if (!AtlasConfiguration.AUDIT_ASYNC_ENABLED.getBoolean()) {
+            return null;
+        }
+
+        File spillFile = getSpillFile(name);
+
+        LOG.info("Asynchronous audit writes enabled: repository={}, spillFile={}", name, spillFile);
+
+        return new AsyncAuditWriter(name, sink, AtlasConfiguration.AUDIT_ASYNC_QUEUE_SIZE.getInt(), AtlasConfiguration.AUDIT_ASYNC_BATCH_SIZE.getInt(),
+                                    AtlasConfiguration.AUDIT_ASYNC_FLUSH_INTERVAL_MS.getLong(), spillFile);
+    }
+
+    static File getSpillFile(String name) {
+        File spillDir = getSpillDir();
+
+        if (!spillDir.isDirectory() && !spillDir.mkdirs()) {
+            LOG.warn("AsyncAuditWriter({}): failed to create spill directory {}", name, spillDir);
+        }
+
+        return new File(spillDir, "atlas-audit-" + getInstanceId() + "-" + name + ".spill");
+    }
+
+    private static File getSpillDir() {
+        String spillDir = AtlasConfiguration.AUDIT_ASYNC_SPILL_DIR.getString();
+
+        if (StringUtils.isNotEmpty(spillDir)) {
+            return new File(spillDir);
+        }
+
+        String atlasData = System.getProperty(ATLAS_DATA);
+
+        if (StringUtils.isEmpty(atlasData) && StringUtils.isNotEmpty(System.getProperty(ATLAS_HOME))) {
+            atlasData = System.getProperty(ATLAS_HOME) + File.separator + "data";
+        }
+
+        if (StringUtils.isEmpty(atlasData)) {
+            LOG.warn("None of {}, {} and {} is set; spilling audit events to {}, which might not survive a restart",
+                     SPILL_DIR_PROPERTY, ATLAS_DATA, ATLAS_HOME, System.getProperty("java.io.tmpdir"));
+
+            atlasData = System.getProperty("java.io.tmpdir");
+        }
+
+        return new File(atlasData, SPILL_DIR_NAME);
+    }
+
+    /**
+     * @return server id in HA deployments, else the port of this instance
+     */
+    private static String getInstanceId() {
+        Configuration configuration;
+
+        try {
+            configuration = ApplicationProperties.get();
+        } catch (AtlasException excp) {
+            throw new IllegalStateException("failed to load application properties", excp);
+        }
+
+        if (HAConfiguration.isHAEnabled(configuration)) {
+            try {
+                return AtlasServerIdSelector.selectServerId(configuration);
+            } catch (AtlasException excp) {
+                LOG.warn("Failed to determine server id; using port to name the audit spill file", excp);
+            }
+        }
+
+        boolean isTLSEnabled = configuration.getBoolean(SecurityProperties.TLS_ENABLED, true);
+
+        int     port         = isTLSEnabled ? configuration.getInt(ATLAS_SERVER_HTTPS_PORT, 21443) : configuration.getInt(ATLAS_SERVER_HTTP_PORT, 21000);
+
+        return String.valueOf(port);
+    }
+
+    public void start() {
+        writerThread.start();
+    }
+
+    /**
+     * Stops the writer thread, after writing queued events to the repository; events that can't be written are spilled.
+     */
+    public void stop() {
+        isStopped = true;
+
+        try {
+            writerThread.join(STOP_WAIT_TIME_MS);
+        } catch (InterruptedException excp) {
+            Thread.currentThread().interrupt();
+        }
+
+        List<EntityAuditEventV2> remaining = new ArrayList<>();
+
+        queue.drainTo(remaining);
+
+        if (!remaining.isEmpty()) {
+            spill(remaining);
+        }
+    }
+
+    public void submit(List<EntityAuditEventV2> events) {
+        List<EntityAuditEventV2> overflow = null;
+
+        for (EntityAuditEventV2 event : events) {
+            if (isStopped || !queue.offer(event)) {
+                if (overflow == null) {
+                    overflow = new ArrayList<>();
+                }
+
+                overflow.add(event);
+            }
+        }
+
+        if (overflow != null) {
+            spill(overflow);
+        }
+    }
+
+    public Map<String, Object> getMetrics() {
+        Map<String, Object> ret     = new LinkedHashMap<>();
+        long                flushes = flushCount.get();
+
+        ret.put("queueDepth", queue.size());
+        ret.put("queueRemainingCapacity", queue.remainingCapacity());
+        ret.put("flushCount", flushes);
+        ret.put("lastFlushTimeMs", lastFlushTimeMs);
+        ret.put("avgFlushTimeMs", flushes > 0 ? flushTimeMs.get() / flushes : -1);
+        ret.put("maxFlushTimeMs", maxFlushTimeMs.get());
+        ret.put("eventsWritten", eventsWritten.get());
+        ret.put("eventsSpilled", eventsSpilled.get());
+        ret.put("eventsReplayed", eventsReplayed.get());
+        ret.put("eventsDropped", eventsDropped.get());
+        ret.put("spillFileSize", spillFile.length());
+        ret.put("sinkAvailable", isSinkAvailable);
+
+        return ret;
+    }
+
+    private void run() {
+        List<EntityAuditEventV2> batch = new ArrayList<>(batchSize);
+
+        LOG.info("==> AsyncAuditWriter({}): started", name);
+
+        replaySpillFile();
+
+        while (!isStopped || !queue.isEmpty()) {
+            try {
+                EntityAuditEventV2 event = isStopped ? queue.poll() : queue.poll(flushIntervalMs, TimeUnit.MILLISECONDS);
+
+                if (event != null) {
+                    long flushTime = System.currentTimeMillis() + flushIntervalMs;
+
+                    batch.add(event);
+
+                    // collect events until the batch is full or the flush interval elapses
+                    while (event != null && batch.size() < batchSize) {
+                        queue.drainTo(batch, batchSize - batch.size());
+
+                        long waitTime = flushTime - System.currentTimeMillis();
+
+                        if (batch.size() >= batchSize || waitTime <= 0 || isStopped) {
+                            break;
+                        }
+
+                        event = queue.poll(waitTime, TimeUnit.MILLISECONDS);
+
+                        if (event != null) {
+                            batch.add(event);
+                        }
+                    }
+                }
+            } catch (InterruptedException excp) {
+                LOG.warn("AsyncAuditWriter({}): interrupted", name);
+            }
+
+            boolean replay = !isStopped;
+
+            if (!batch.isEmpty()) {
+                if (!flush(batch)) {
+                    spill(batch);
+
+                    replay = false;
+                }
+
+                batch.clear();
+            }
+
+            if (replay) {
+                replaySpillFile();
+            }
+        }
+
+        LOG.info("<== AsyncAuditWriter({}): stopped", name);
+    }
+
+    private boolean flush(List<EntityAuditEventV2> batch) {
+        long startTime = System.currentTimeMillis();
+
+        try {
+            sink.write(batch);
+
+            long timeTaken = System.currentTimeMillis() - startTime;
+
+            lastFlushTimeMs = timeTaken;
+
+            flushCount.incrementAndGet();
+            flushTimeMs.addAndGet(timeTaken);
+            eventsWritten.addAndGet(batch.size());
+            maxFlushTimeMs.accumulateAndGet(timeTaken, Math::max);
+
+            if (!isSinkAvailable) {
+                LOG.info("AsyncAuditWriter({}): audit repository is available again", name);
+
+                isSinkAvailable = true;
+            }
+
+            return true;
+        } catch (Exception excp) {
+            if (isSinkAvailable) {
+                LOG.warn("AsyncAuditWriter({}): failed to write {} audit events; events will be spilled to {}", name, batch.size(), spillFile, excp);
+
+                isSinkAvailable = false;
+            }
+
+            return false;
+        }
+    }
+
+    private void spill(List<EntityAuditEventV2> events) {
+        synchronized (spillLock) {
+            try (Writer writer = new BufferedWriter(new OutputStreamWriter(new FileOutputStream(spillFile, true), StandardCharsets.UTF_8))) {
+                for (EntityAuditEventV2 event : events) {
+                    writer.write(AtlasType.toJson(event));
+                    writer.write('\n');
+                }
+
+                eventsSpilled.addAndGet(events.size());
+            } catch (IOException excp) {
+                LOG.error("AsyncAuditWriter({}): failed to spill {} audit events to {}; events are lost", name, events.size(), spillFile, excp);
+
+                eventsDropped.addAndGet(events.size());
+            }
+        }
+    }
+
+    /**
+     * Writes events in the spill file to the repository. Called only from the writer thread.
+     */
+    private void replaySpillFile() {
+        File replayFile = new File(spillFile.getPath() + ".replay");
+
+        if ((spillFile.length() == 0 && !replayFile.exists()) || (!isSinkAvailable && System.currentTimeMillis() < nextReplayTime)) {
+            return;
+        }
+
+        synchronized (spillLock) {
+            // events left in an earlier replay file are written first
+            if (!replayFile.exists() && !spillFile.renameTo(replayFile)) {
+                LOG.warn("AsyncAuditWriter({}): failed to rename {} to {}", name, spillFile, replayFile);
+
+                return;
+            }
+        }
+
+        List<EntityAuditEventV2> batch    = new ArrayList<>(batchSize);
+        long                     replayed = 0;
+
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(new FileInputStream(replayFile), StandardCharsets.UTF_8))) {
+            for (String line = reader.readLine(); line != null; line = reader.readLine()) {
+                if (StringUtils.isNotBlank(line)) {
+                    batch.add(AtlasType.fromJson(line, EntityAuditEventV2.class));
+                }
+
+                if (batch.size() == batchSize) {
+                    if (!flush(batch)) {
+                        break;
+                    }
+
+                    replayed += batch.size();
+
+                    batch.clear();
+                }
+            }
+
+            if (!batch.isEmpty() && flush(batch)) {
+                replayed += batch.size();
+
+                batch.clear();
+            }
+
+            if (!batch.isEmpty()) { // repository is unavailable; move the rest of the events back to the spill file
+                nextReplayTime = System.currentTimeMillis() + REPLAY_RETRY_INTERVAL_MS;
+
+                if (!moveToSpillFile(batch, reader)) {
+                    return;
+                }
+            }
+        } catch (IOException excp) {
+            LOG.error("AsyncAuditWriter({}): failed to read spill file {}", name, replayFile, excp);
+
+            return;
+        }
+
+        if (!replayFile.delete()) {
+            LOG.warn("AsyncAuditWriter({}): failed to delete {}", name, replayFile);
+        }
+
+        if (replayed > 0) {
+            eventsReplayed.addAndGet(replayed);
+
+            LOG.info("AsyncAuditWriter({}): replayed {} audit events from {}", name, replayed, spillFile);
+        }
+    }
+
+    private boolean moveToSpillFile(List<EntityAuditEventV2> events, BufferedReader remaining) {
+        synchronized (spillLock) {
+            try (Writer writer = new BufferedWriter(new OutputStreamWriter(new FileOutputStream(spillFile, true), StandardCharsets.UTF_8))) {
+                for (EntityAuditEventV2 event : events) {
+                    writer.write(AtlasType.toJson(event));
+                    writer.write('\n');
+                }
+
+                for (String line = remaining.readLine(); line != null; line = remaining.readLine()) {
+                    writer.write(line);
+                    writer.write('\n');
+                }
+
+                return true;
+            } catch (IOException excp) {
+                LOG.error("AsyncAuditWriter({}): failed to move unwritten events to {}; will retry", name, spillFile, excp);
+
+                return false;
+            }
+        }
+    }
+}
@@ -0,0 +1,129 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * <p/>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p/>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.atlas.repository.audit;
+
+import org.apache.atlas.AtlasConfiguration;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Encodes audit column values, optionally gzip compressed. Compressed values start with a codec marker, which can't
+ * appear at the start of an uncompressed value; values without the marker are read as UTF-8 strings, as written by
+ * earlier versions.
+ */
+final class AuditColumnCodec {
+    private static final Logger LOG = LoggerFactory.getLogger(AuditColumnCodec.class);
+
+    static final byte[] GZIP_MARKER = new byte[] { 0, 'g', 'z' };
+
+    private final boolean compress;
+    private final int     minCompressSize;
+
+    AuditColumnCodec(boolean compress, int minCompressSize) {
+        this.compress        = compress;
+        this.minCompressSize = minCompressSize;
+    }
+
+    static AuditColumnCodec create() {
+        boolean compress        = AtlasConfiguration.AUDIT_HBASE_COMPRESSION_ENABLED.getBoolean();
+        int     minCompressSize = AtlasConfiguration.AUDIT_HBASE_COMPRESSION_MIN_SIZE.getInt();
+
+        if (compress) {
+            LOG.info("Audit details will be stored compressed: minSize={}", minCompressSize);
+        }
+
+        return new AuditColumnCodec(compress, minCompressSize);
+    }
+
+    /**
+     * @return value encoded as UTF-8; compressed if compression is enabled and it makes the value smaller
+     */
+    byte[] encode(String value) {
+        byte[] ret = value.getBytes(StandardCharsets.UTF_8);
+
+        if (compress && ret.length >= minCompressSize) {
+            byte[] compressed = gzip(ret);
+
+            if (compressed.length < ret.length) {
+                ret = compressed;
+            }
+        }
+
+        return ret;
+    }
+
+    static String decode(byte[] value) {
+        if (value == null) {
+            return null;
+        }
+
+        if (!isCompressed(value)) {
+            return new String(value, StandardCharsets.UTF_8);
+        }
+
+        try (InputStream in = new GZIPInputStream(new ByteArrayInputStream(value, GZIP_MARKER.length, value.length - GZIP_MARKER.length))) {
+            ByteArrayOutputStream out    = new ByteArrayOutputStream(value.length * 4);
+            byte[]                buffer = new byte[8 * 1024];
+
+            for (int len = in.read(buffer); len != -1; len = in.read(buffer)) {
+                out.write(buffer, 0, len);
+            }
+
+            return new String(out.toByteArray(), StandardCharsets.UTF_8);
+        } catch (IOException excp) {
+            throw new UncheckedIOException("failed to decompress audit column value", excp);
+        }
+    }
+
+    static boolean isCompressed(byte[] value) {
+        if (value == null || value.length < GZIP_MARKER.length) {
+            return false;
+        }
+
+        for (int i = 0; i < GZIP_MARKER.length; i++) {
+            if (value[i] != GZIP_MARKER[i]) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    private static byte[] gzip(byte[] value) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(value.length / 4 + GZIP_MARKER.length);
+
+        out.write(GZIP_MARKER, 0, GZIP_MARKER.length);
+
+        try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+            gzip.write(value);
+        } catch (IOException excp) { // not expected when writing to a byte array
+            throw new UncheckedIOException("failed to compress audit column value", excp);
+        }
+
+        return out.toByteArray();
+    }
+}
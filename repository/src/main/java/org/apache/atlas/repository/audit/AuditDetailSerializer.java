@@ -0,0 +1,181 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * <p/>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p/>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.atlas.repository.audit;
+
+import org.apache.atlas.model.instance.AtlasEntity;
+import org.apache.atlas.utils.AtlasJson;
+import org.apache.commons.collections.MapUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Map;
+
+/**
+ * Serializes an entity for the details of an audit event, within the size limit of the audit repository.
+ *
+ * JSON is written into a buffer bounded by the size limit; serialization is abandoned as soon as the limit is crossed,
+ * so an oversized entity costs at most maxSize bytes of output per attempt. Details degrade from the full entity, to the
+ * entity without attributes, to the entity without attributes and relationship attributes and finally to a summary.
+ */
+final class AuditDetailSerializer {
+    private static final Logger LOG = LoggerFactory.getLogger(AuditDetailSerializer.class);
+
+    private static final int INITIAL_BUFFER_SIZE = 8 * 1024;
+
+    private AuditDetailSerializer() {
+    }
+
+    /**
+     * @param maxSize maximum size, in bytes, of the details; negative for no limit
+     * @return auditPrefix followed by JSON of the entity
+     */
+    static String serialize(String auditPrefix, AtlasEntity entity, long maxSize) {
+        byte[] prefix = auditPrefix.getBytes(StandardCharsets.UTF_8);
+        long   limit  = maxSize < 0 ? Long.MAX_VALUE : maxSize;
+        String ret    = write(prefix, entity, limit);
+
+        if (ret == null) {
+            Map<String, Object> attrValues    = entity.getAttributes();
+            Map<String, Object> relAttrValues = entity.getRelationshipAttributes();
+
+            try {
+                if (MapUtils.isNotEmpty(attrValues)) {
+                    LOG.warn("audit record too long: entityType={}, guid={}, maxSize={}. entity attribute values not stored in audit",
+                             entity.getTypeName(), entity.getGuid(), maxSize);
+
+                    entity.setAttributes(null);
+
+                    ret = write(prefix, entity, limit);
+                }
+
+                if (ret == null && MapUtils.isNotEmpty(relAttrValues)) {
+                    LOG.warn("audit record too long: entityType={}, guid={}, maxSize={}. entity relationship attribute values not stored in audit",
+                             entity.getTypeName(), entity.getGuid(), maxSize);
+
+                    entity.setAttributes(null);
+                    entity.setRelationshipAttributes(null);
+
+                    ret = write(prefix, entity, limit);
+                }
+            } finally {
+                entity.setAttributes(attrValues);
+                entity.setRelationshipAttributes(relAttrValues);
+            }
+        }
+
+        if (ret == null) {
+            LOG.warn("audit record still too long: entityType={}, guid={}, maxSize={}. audit will have only summary details",
+                     entity.getTypeName(), entity.getGuid(), maxSize);
+
+            ret = write(prefix, toShallowEntity(entity), Long.MAX_VALUE);
+        }
+
+        return ret;
+    }
+
+    /**
+     * @return prefix followed by JSON of the object; null if it doesn't fit in limit bytes
+     */
+    private static String write(byte[] prefix, Object obj, long limit) {
+        BoundedOutputStream out = new BoundedOutputStream(limit);
+
+        try {
+            out.write(prefix);
+
+            AtlasJson.toJson(obj, out);
+        } catch (IOException excp) {
+            if (!out.isLimitExceeded()) {
+                LOG.error("AuditDetailSerializer.write(): failed to serialize {}", obj.getClass().getSimpleName(), excp);
+            }
+        }
+
+        return out.isLimitExceeded() ? null : out.toUtf8String();
+    }
+
+    private static AtlasEntity toShallowEntity(AtlasEntity entity) {
+        AtlasEntity ret = new AtlasEntity();
+
+        ret.setGuid(entity.getGuid());
+        ret.setTypeName(entity.getTypeName());
+        ret.setCreateTime(entity.getCreateTime());
+        ret.setUpdateTime(entity.getUpdateTime());
+        ret.setCreatedBy(entity.getCreatedBy());
+        ret.setUpdatedBy(entity.getUpdatedBy());
+        ret.setStatus(entity.getStatus());
+        ret.setVersion(entity.getVersion());
+
+        return ret;
+    }
+
+    /**
+     * Buffer that fails writes once limit bytes have been written, to stop serialization of oversized entities early.
+     */
+    private static class BoundedOutputStream extends OutputStream {
+        private final long limit;
+        private byte[]     buf;
+        private int        count         = 0;
+        private boolean    limitExceeded = false;
+
+        BoundedOutputStream(long limit) {
+            this.limit = limit;
+            this.buf   = new byte[(int) Math.min(limit, INITIAL_BUFFER_SIZE)];
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            ensureCapacity(1);
+
+            buf[count++] = (byte) b;
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            ensureCapacity(len);
+
+            System.arraycopy(b, off, buf, count, len);
+
+            count += len;
+        }
+
+        boolean isLimitExceeded() {
+            return limitExceeded;
+        }
+
+        String toUtf8String() {
+            return new String(buf, 0, count, StandardCharsets.UTF_8);
+        }
+
+        private void ensureCapacity(int len) throws IOException {
+            long required = (long) count + len;
+
+            if (limitExceeded || required > limit || required > Integer.MAX_VALUE - 8) {
+                limitExceeded = true;
+
+                throw new IOException("audit detail exceeds " + limit + " bytes");
+            }
+
+            if (required > buf.length) {
+                buf = Arrays.copyOf(buf, (int) Math.min(Math.max(required, buf.length * 2L), Math.min(limit, Integer.MAX_VALUE - 8)));
+            }
+        }
+    }
+}
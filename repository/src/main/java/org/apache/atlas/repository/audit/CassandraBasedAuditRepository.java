@@ -114,7 +114,7 @@ public class CassandraBasedAuditRepository extends AbstractStorageBasedAuditRepo
   }
 
   @Override
-  public void putEventsV2(List<EntityAuditEventV2> events) throws AtlasBaseException {
+  protected void writeEventsV2(List<EntityAuditEventV2> events) throws AtlasBaseException {
     BoundStatement stmt = new BoundStatement(insertStatement);
     BatchStatement batch = new BatchStatement();
     events.forEach(event -> batch.add(stmt.bind(event.getEntityId(), event.getTimestamp(),
@@ -212,6 +212,8 @@ public class CassandraBasedAuditRepository extends AbstractStorageBasedAuditRepo
   @VisibleForTesting
   void startInternal() throws AtlasException {
       createSession();
+
+      startAsyncWriter("cassandra", this::writeEventsV2);
   }
 
   void createSession() throws AtlasException {
@@ -244,6 +246,8 @@ public class CassandraBasedAuditRepository extends AbstractStorageBasedAuditRepo
 
   @Override
   public void stop() throws AtlasException {
+    stopAsyncWriter();
+
     cassSession.close();
   }
 
@@ -44,7 +44,6 @@ import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Component;
 
 import javax.inject.Inject;
-import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashMap;
@@ -408,47 +407,7 @@ public class EntityAuditListenerV2 implements EntityChangeListenerV2 {
     private String getAuditEventDetail(AtlasEntity entity, EntityAuditActionV2 action) {
         Map<String, Object> prunedAttributes = pruneEntityAttributesForAudit(entity);
 
-        String auditPrefix  = getV2AuditPrefix(action);
-        String auditString  = auditPrefix + AtlasType.toJson(entity);
-        byte[] auditBytes   = auditString.getBytes(StandardCharsets.UTF_8);
-        long   auditSize    = auditBytes != null ? auditBytes.length : 0;
-        long   auditMaxSize = auditRepository.repositoryMaxSize();
-
-        if (auditMaxSize >= 0 && auditSize > auditMaxSize) { // don't store attributes in audit
-            LOG.warn("audit record too long: entityType={}, guid={}, size={}; maxSize={}. entity attribute values not stored in audit",
-                    entity.getTypeName(), entity.getGuid(), auditSize, auditMaxSize);
-
-            Map<String, Object> attrValues    = entity.getAttributes();
-            Map<String, Object> relAttrValues = entity.getRelationshipAttributes();
-
-            entity.setAttributes(null);
-            entity.setRelationshipAttributes(null);
-
-            auditString = auditPrefix + AtlasType.toJson(entity);
-            auditBytes  = auditString.getBytes(StandardCharsets.UTF_8); // recheck auditString size
-            auditSize   = auditBytes != null ? auditBytes.length : 0;
-
-            if (auditMaxSize >= 0 && auditSize > auditMaxSize) { // don't store classifications and meanings as well
-                LOG.warn("audit record still too long: entityType={}, guid={}, size={}; maxSize={}. audit will have only summary details",
-                        entity.getTypeName(), entity.getGuid(), auditSize, auditMaxSize);
-
-                AtlasEntity shallowEntity = new AtlasEntity();
-
-                shallowEntity.setGuid(entity.getGuid());
-                shallowEntity.setTypeName(entity.getTypeName());
-                shallowEntity.setCreateTime(entity.getCreateTime());
-                shallowEntity.setUpdateTime(entity.getUpdateTime());
-                shallowEntity.setCreatedBy(entity.getCreatedBy());
-                shallowEntity.setUpdatedBy(entity.getUpdatedBy());
-                shallowEntity.setStatus(entity.getStatus());
-                shallowEntity.setVersion(entity.getVersion());
-
-                auditString = auditPrefix + AtlasType.toJson(shallowEntity);
-            }
-
-            entity.setAttributes(attrValues);
-            entity.setRelationshipAttributes(relAttrValues);
-        }
+        String auditString = AuditDetailSerializer.serialize(getV2AuditPrefix(action), entity, auditRepository.repositoryMaxSize());
 
         restoreEntityAttributes(entity, prunedAttributes);
 
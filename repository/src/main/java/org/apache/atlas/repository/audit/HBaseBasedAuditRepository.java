@@ -35,6 +35,7 @@ import org.apache.hadoop.hbase.HColumnDescriptor;
 import org.apache.hadoop.hbase.HTableDescriptor;
 import org.apache.hadoop.hbase.TableName;
 import org.apache.hadoop.hbase.client.Admin;
+import org.apache.hadoop.hbase.client.BufferedMutator;
 import org.apache.hadoop.hbase.client.Connection;
 import org.apache.hadoop.hbase.client.ConnectionFactory;
 import org.apache.hadoop.hbase.client.Put;
@@ -122,6 +123,8 @@ public class HBaseBasedAuditRepository extends AbstractStorageBasedAuditReposito
     }
     private TableName tableName;
     private Connection connection;
+    private BufferedMutator mutator;
+    private final AuditColumnCodec columnCodec = AuditColumnCodec.create();
 
     /**
      * Add events to the event repository
@@ -161,9 +164,9 @@ public class HBaseBasedAuditRepository extends AbstractStorageBasedAuditReposito
 
                 addColumn(put, COLUMN_ACTION, event.getAction());
                 addColumn(put, COLUMN_USER, event.getUser());
-                addColumn(put, COLUMN_DETAIL, event.getDetails());
+                addEncodedColumn(put, COLUMN_DETAIL, event.getDetails());
                 if (persistEntityDefinition) {
-                    addColumn(put, COLUMN_DEFINITION, event.getEntityDefinitionString());
+                    addEncodedColumn(put, COLUMN_DEFINITION, event.getEntityDefinitionString());
                 }
 
                 puts.add(put);
@@ -183,7 +186,7 @@ public class HBaseBasedAuditRepository extends AbstractStorageBasedAuditReposito
     }
 
     @Override
-    public void putEventsV2(List<EntityAuditEventV2> events) throws AtlasBaseException {
+    protected void writeEventsV2(List<EntityAuditEventV2> events) throws AtlasBaseException {
         if (LOG.isDebugEnabled()) {
             LOG.debug("Putting {} events", events.size());
         }
@@ -191,38 +194,74 @@ public class HBaseBasedAuditRepository extends AbstractStorageBasedAuditReposito
         Table table = null;
 
         try {
-            table          = connection.getTable(tableName);
-            List<Put> puts = new ArrayList<>(events.size());
+            table = connection.getTable(tableName);
 
-            for (int index = 0; index < events.size(); index++) {
-                EntityAuditEventV2 event = events.get(index);
+            table.put(toPutsV2(events));
+        } catch (IOException e) {
+            throw new AtlasBaseException(e);
+        } finally {
+            try {
+                close(table);
+            } catch (AtlasException e) {
+                throw new AtlasBaseException(e);
+            }
+        }
+    }
 
-                if (LOG.isDebugEnabled()) {
-                    LOG.debug("Adding entity audit event {}", event);
-                }
+    /**
+     * Writes events through a BufferedMutator; used by the async writer, which calls this from a single thread
+     */
+    private void mutateEventsV2(List<EntityAuditEventV2> events) throws IOException {
+        if (mutator == null) {
+            mutator = connection.getBufferedMutator(tableName);
+        }
 
-                Put put = new Put(getKey(event.getEntityId(), event.getTimestamp(), index));
+        try {
+            mutator.mutate(toPutsV2(events));
+            mutator.flush();
+        } catch (IOException e) {
+            // failed mutations are retried by the async writer; start again with an empty buffer
+            closeMutator();
 
-                addColumn(put, COLUMN_ACTION, event.getAction());
-                addColumn(put, COLUMN_USER, event.getUser());
-                addColumn(put, COLUMN_DETAIL, event.getDetails());
+            throw e;
+        }
+    }
 
-                if (persistEntityDefinition) {
-                    addColumn(put, COLUMN_DEFINITION, event.getEntityDefinitionString());
-                }
+    private List<Put> toPutsV2(List<EntityAuditEventV2> events) {
+        List<Put> puts = new ArrayList<>(events.size());
 
-                puts.add(put);
+        for (int index = 0; index < events.size(); index++) {
+            EntityAuditEventV2 event = events.get(index);
+
+            if (LOG.isDebugEnabled()) {
+                LOG.debug("Adding entity audit event {}", event);
             }
 
-            table.put(puts);
-        } catch (IOException e) {
-            throw new AtlasBaseException(e);
-        } finally {
+            Put put = new Put(getKey(event.getEntityId(), event.getTimestamp(), index));
+
+            addColumn(put, COLUMN_ACTION, event.getAction());
+            addColumn(put, COLUMN_USER, event.getUser());
+            addEncodedColumn(put, COLUMN_DETAIL, event.getDetails());
+
+            if (persistEntityDefinition) {
+                addEncodedColumn(put, COLUMN_DEFINITION, event.getEntityDefinitionString());
+            }
+
+            puts.add(put);
+        }
+
+        return puts;
+    }
+
+    private void closeMutator() {
+        if (mutator != null) {
             try {
-                close(table);
-            } catch (AtlasException e) {
-                throw new AtlasBaseException(e);
+                mutator.close();
+            } catch (IOException e) {
+                LOG.warn("Failed to close BufferedMutator for {}", tableName, e);
             }
+
+            mutator = null;
         }
     }
 
@@ -343,6 +382,12 @@ public class HBaseBasedAuditRepository extends AbstractStorageBasedAuditReposito
         }
     }
 
+    private void addEncodedColumn(Put put, byte[] columnName, String columnValue) {
+        if (columnValue != null && !columnValue.isEmpty()) {
+            put.addColumn(COLUMN_FAMILY, columnName, columnCodec.encode(columnValue));
+        }
+    }
+
     private byte[] getKey(String id, Long ts) {
         assert id != null : "entity id can't be null";
         assert ts != null : "timestamp can't be null";
@@ -464,7 +509,7 @@ public class HBaseBasedAuditRepository extends AbstractStorageBasedAuditReposito
     private String getResultString(Result result, byte[] columnName) {
         byte[] rawValue = result.getValue(COLUMN_FAMILY, columnName);
         if ( rawValue != null) {
-            return Bytes.toString(rawValue);
+            return AuditColumnCodec.decode(rawValue);
         }
         return null;
     }
@@ -620,6 +665,8 @@ public class HBaseBasedAuditRepository extends AbstractStorageBasedAuditReposito
             LOG.info("HA is disabled. Hence creating table on startup.");
             createTableIfNotExists();
         }
+
+        startAsyncWriter("hbase", this::mutateEventsV2);
     }
 
     @VisibleForTesting
@@ -629,6 +676,8 @@ public class HBaseBasedAuditRepository extends AbstractStorageBasedAuditReposito
 
     @Override
     public void stop() throws AtlasException {
+        stopAsyncWriter();
+        closeMutator();
         close(connection);
     }
 
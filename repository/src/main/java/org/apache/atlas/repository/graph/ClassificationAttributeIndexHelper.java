@@ -0,0 +1,240 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.atlas.repository.graph;
+
+import org.apache.atlas.AtlasConfiguration;
+import org.apache.atlas.model.TypeCategory;
+import org.apache.atlas.model.discovery.SearchParameters.FilterCriteria;
+import org.apache.atlas.model.discovery.SearchParameters.Operator;
+import org.apache.atlas.model.typedef.AtlasStructDef.AtlasAttributeDef.Cardinality;
+import org.apache.atlas.repository.graphdb.AtlasEdge;
+import org.apache.atlas.repository.graphdb.AtlasVertex;
+import org.apache.atlas.type.AtlasClassificationType;
+import org.apache.atlas.type.AtlasStructType.AtlasAttribute;
+import org.apache.atlas.type.AtlasTypeRegistry;
+import org.apache.commons.collections.CollectionUtils;
+import org.apache.commons.lang.StringUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.apache.atlas.model.instance.AtlasEntity.Status.ACTIVE;
+import static org.apache.atlas.repository.Constants.CLASSIFICATION_ATTRIBUTES_KEY_PREFIX;
+
+/**
+ * Maintains a copy of the attribute values of classifications, direct and propagated, on the entity vertex, so that
+ * searches with classification attribute filters can be answered by one index query on entities instead of reading
+ * the entity of each matching classification vertex.
+ *
+ * For classification attribute 'PII.level', values of every PII instance associated with an entity are stored in
+ * multi-valued property '__classificationAttr.PII.level' of the entity vertex. As values of all instances are indexed
+ * together, the index query may match entities where different instances satisfy different criteria; searches using
+ * these properties should verify the results against the classification vertices.
+ */
+public final class ClassificationAttributeIndexHelper {
+    private static final Logger LOG = LoggerFactory.getLogger(ClassificationAttributeIndexHelper.class);
+
+    private static volatile boolean isBackfillComplete = false;
+
+    private ClassificationAttributeIndexHelper() { }
+
+    public static boolean isEnabled() {
+        return AtlasConfiguration.SEARCH_CLASSIFICATION_ATTRIBUTES_ENTITY_INDEX_ENABLED.getBoolean();
+    }
+
+    /**
+     * Entity index can be used for searches only after the values of existing classifications have been copied to entities,
+     * and only if no classification was updated while the entity index was disabled.
+     */
+    public static boolean canUseForSearch() {
+        return isEnabled() && isBackfillComplete;
+    }
+
+    public static void setBackfillComplete(boolean backfillComplete) {
+        isBackfillComplete = backfillComplete;
+    }
+
+    public static String getEntityPropertyName(String classificationVertexPropertyName) {
+        return CLASSIFICATION_ATTRIBUTES_KEY_PREFIX + classificationVertexPropertyName;
+    }
+
+    public static boolean isIndexableAttribute(AtlasAttribute attribute) {
+        TypeCategory typeCategory = attribute.getAttributeType().getTypeCategory();
+        Cardinality  cardinality  = attribute.getAttributeDef().getCardinality();
+
+        return (typeCategory == TypeCategory.PRIMITIVE || typeCategory == TypeCategory.ENUM) && (cardinality == null || cardinality == Cardinality.SINGLE);
+    }
+
+    /**
+     * Criteria that match when any instance of the classification satisfies them give the same result on the multi-valued
+     * entity property; negated criteria (like NEQ, IS_NULL) don't, hence these can't be evaluated with the entity index.
+     */
+    public static boolean isSupportedFilter(FilterCriteria filterCriteria) {
+        if (filterCriteria == null) {
+            return true;
+        }
+
+        if (filterCriteria.getCondition() != null && CollectionUtils.isNotEmpty(filterCriteria.getCriterion())) {
+            for (FilterCriteria criteria : filterCriteria.getCriterion()) {
+                if (!isSupportedFilter(criteria)) {
+                    return false;
+                }
+            }
+
+            return true;
+        }
+
+        if (StringUtils.isEmpty(filterCriteria.getAttributeName())) {
+            return true;
+        }
+
+        Operator operator = filterCriteria.getOperator();
+
+        return operator != null && operator != Operator.NEQ && operator != Operator.NOT_CONTAINS && operator != Operator.IS_NULL;
+    }
+
+    /**
+     * Checks that all attributes referred in the filter are indexed on entities, for given classification types.
+     */
+    public static boolean isIndexedOnEntity(Set<AtlasClassificationType> classificationTypes, FilterCriteria filterCriteria, AtlasTypeRegistry typeRegistry) {
+        if (filterCriteria == null) {
+            return true;
+        }
+
+        if (filterCriteria.getCondition() != null && CollectionUtils.isNotEmpty(filterCriteria.getCriterion())) {
+            for (FilterCriteria criteria : filterCriteria.getCriterion()) {
+                if (!isIndexedOnEntity(classificationTypes, criteria, typeRegistry)) {
+                    return false;
+                }
+            }
+
+            return true;
+        }
+
+        String attributeName = filterCriteria.getAttributeName();
+
+        if (StringUtils.isEmpty(attributeName)) {
+            return true;
+        }
+
+        for (AtlasClassificationType classificationType : classificationTypes) {
+            AtlasAttribute attribute = classificationType.getAttribute(attributeName);
+
+            if (attribute == null || !isIndexableAttribute(attribute) ||
+                typeRegistry.getIndexFieldName(getEntityPropertyName(attribute.getVertexPropertyName())) == null) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    /**
+     * Recomputes classification attribute values on the entity vertex from its active classification edges. This is
+     * called after the classifications of the entity, or attributes of these classifications, are updated.
+     */
+    public static void updateEntityVertex(AtlasVertex entityVertex, AtlasTypeRegistry typeRegistry) {
+        if (entityVertex == null) {
+            return;
+        }
+
+        if (!isEnabled()) {
+            // values on the entity are now out of date; the entity index can't be used until the backfill is run again
+            if (isBackfillComplete) {
+                LOG.warn("classification attributes entity index is disabled; it won't be used for search until the backfill patch is applied again");
+
+                isBackfillComplete = false;
+            }
+
+            return;
+        }
+
+        Map<String, Set<Object>> attributeValues = new HashMap<>();
+
+        for (AtlasEdge edge : GraphHelper.getAllClassificationEdges(entityVertex)) {
+            if (GraphHelper.getStatus(edge) != ACTIVE) {
+                continue;
+            }
+
+            AtlasVertex             classificationVertex = edge.getInVertex();
+            AtlasClassificationType classificationType   = typeRegistry.getClassificationTypeByName(GraphHelper.getTypeName(classificationVertex));
+
+            if (classificationType == null) {
+                continue;
+            }
+
+            for (AtlasAttribute attribute : classificationType.getAllAttributes().values()) {
+                if (!isIndexableAttribute(attribute)) {
+                    continue;
+                }
+
+                String propertyName = getEntityPropertyName(attribute.getVertexPropertyName());
+
+                // property is not created in the graph when the feature was enabled after the type - until the backfill is run
+                if (typeRegistry.getIndexFieldName(propertyName) == null) {
+                    continue;
+                }
+
+                Object value = classificationVertex.getProperty(attribute.getVertexPropertyName(), Object.class);
+
+                if (value != null) {
+                    attributeValues.computeIfAbsent(propertyName, k -> new HashSet<>()).add(value);
+                }
+            }
+        }
+
+        List<String> propertiesToRemove = new ArrayList<>();
+
+        for (String propertyName : entityVertex.getPropertyKeys()) {
+            if (propertyName.startsWith(CLASSIFICATION_ATTRIBUTES_KEY_PREFIX) && !attributeValues.containsKey(propertyName)) {
+                propertiesToRemove.add(propertyName);
+            }
+        }
+
+        for (String propertyName : propertiesToRemove) {
+            entityVertex.removeProperty(propertyName);
+        }
+
+        for (Map.Entry<String, Set<Object>> entry : attributeValues.entrySet()) {
+            String             propertyName  = entry.getKey();
+            Set<Object>        values        = entry.getValue();
+            Collection<Object> currentValues = entityVertex.getPropertyValues(propertyName, Object.class);
+
+            if (currentValues != null && currentValues.size() == values.size() && values.containsAll(currentValues)) {
+                continue;
+            }
+
+            entityVertex.removeProperty(propertyName);
+
+            for (Object value : values) {
+                entityVertex.addProperty(propertyName, value);
+            }
+        }
+
+        if (LOG.isDebugEnabled()) {
+            LOG.debug("updateEntityVertex(vertex={}): attributes={}", entityVertex.getIdForDisplay(), attributeValues.keySet());
+        }
+    }
+}
@@ -0,0 +1,384 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.atlas.repository.graph;
+
+import com.google.common.annotations.VisibleForTesting;
+import org.apache.atlas.AtlasConfiguration;
+import org.apache.atlas.AtlasException;
+import org.apache.atlas.GraphTransactionInterceptor;
+import org.apache.atlas.RequestContext;
+import org.apache.atlas.exception.AtlasBaseException;
+import org.apache.atlas.ha.HAConfiguration;
+import org.apache.atlas.listener.ActiveStateChangeHandler;
+import org.apache.atlas.repository.graphdb.AtlasGraph;
+import org.apache.atlas.repository.graphdb.AtlasVertex;
+import org.apache.atlas.repository.store.graph.v2.AtlasGraphUtilsV2;
+import org.apache.atlas.service.Service;
+import org.apache.commons.configuration.Configuration;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+import javax.inject.Inject;
+import javax.inject.Singleton;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.apache.atlas.repository.Constants.ENTITY_TEXT_PROPERTY_KEY;
+import static org.apache.atlas.repository.Constants.FULLTEXT_PENDING_PROPERTY_KEY;
+import static org.apache.atlas.repository.Constants.FULLTEXT_PENDING_VALUE;
+
+/**
+ * Computes full-text mappings of entities in the background, instead of in the transaction that updated the entities.
+ *
+ * GUIDs of entities mutated in a transaction are recorded as dirty once the transaction commits. A worker thread maps
+ * dirty entities in batches: entities loaded by FullTextMapperV2 are cached in the request context for the whole batch,
+ * and the entityText updates of a batch are committed in a single transaction. Full-text search results are eventually
+ * consistent; the age of the oldest unmapped entity is reported as lag.
+ *
+ * Dirty entities are also flagged with __fullTextPending, in the transaction that updated them; the flag is removed in
+ * the transaction that updates entityText. Entities still flagged when the instance becomes active - i.e. that were not
+ * mapped before a restart or failover - are found with an index query and mapped again.
+ */
+@Component
+@Singleton
+@Order(8)
+public class DeferredFullTextMapper implements Service, ActiveStateChangeHandler {
+    private static final Logger LOG = LoggerFactory.getLogger(DeferredFullTextMapper.class);
+
+    private final AtlasGraph                 graph;
+    private final FullTextMapperV2           fullTextMapper;
+    private final Configuration              configuration;
+    private final boolean                    isEnabled;
+    private final int                        batchSize;
+    private final Map<String, Long>          pendingGuids  = new LinkedHashMap<>(); // guid -> time marked dirty
+    private final ThreadLocal<Set<String>>   txnGuids      = new ThreadLocal<>();
+    private final AtomicLong                 mappedCount   = new AtomicLong();
+    private final AtomicLong                 failedCount   = new AtomicLong();
+    private final AtomicLong                 batchCount    = new AtomicLong();
+    private volatile long                    lastBatchTimeMs;
+    private Thread                           worker;
+
+    @Inject
+    public DeferredFullTextMapper(AtlasGraph graph, FullTextMapperV2 fullTextMapper, Configuration configuration) {
+        this(graph, fullTextMapper, configuration, AtlasConfiguration.FULLTEXT_MAPPING_DEFERRED.getBoolean(), AtlasConfiguration.FULLTEXT_MAPPING_BATCH_SIZE.getInt());
+    }
+
+    @VisibleForTesting
+    DeferredFullTextMapper(AtlasGraph graph, FullTextMapperV2 fullTextMapper, Configuration configuration, boolean isEnabled, int batchSize) {
+        this.graph          = graph;
+        this.fullTextMapper = fullTextMapper;
+        this.configuration  = configuration;
+        this.isEnabled      = isEnabled;
+        this.batchSize      = Math.max(1, batchSize);
+
+        if (isEnabled) {
+            LOG.info("Full-text mapping will be done in background: batchSize={}", this.batchSize);
+        }
+    }
+
+    @Override
+    public void start() throws AtlasException {
+        if (!isEnabled) {
+            return;
+        }
+
+        if (configuration == null || !HAConfiguration.isHAEnabled(configuration)) {
+            instanceIsActive();
+        } else {
+            LOG.info("DeferredFullTextMapper.start(): deferring recovery of pending full-text mappings until instance activation");
+        }
+    }
+
+    @Override
+    public void stop() {
+        synchronized (pendingGuids) {
+            if (worker != null) {
+                worker.interrupt();
+
+                worker = null;
+            }
+        }
+    }
+
+    @Override
+    public void instanceIsActive() {
+        if (isEnabled) {
+            recoverPending();
+        }
+    }
+
+    @Override
+    public void instanceIsPassive() {
+        // entities are not updated on a passive instance, hence nothing gets marked dirty
+    }
+
+    @Override
+    public int getHandlerOrder() {
+        return HandlerOrder.DEFERRED_FULLTEXT_MAPPER.getOrder();
+    }
+
+    public boolean isEnabled() {
+        return isEnabled;
+    }
+
+    /**
+     * Records the given entities for full-text mapping after the current graph transaction commits successfully. The
+     * entities are flagged as pending in the current transaction, so that they are mapped even if this instance stops
+     * before mapping them.
+     */
+    public void markDirty(Collection<String> guids) {
+        Set<String> guidsInTxn = txnGuids.get();
+
+        if (guidsInTxn == null) {
+            guidsInTxn = new LinkedHashSet<>();
+
+            txnGuids.set(guidsInTxn);
+
+            new MarkDirtyHook();
+        }
+
+        for (String guid : guids) {
+            if (guidsInTxn.add(guid)) {
+                AtlasVertex vertex = findVertex(guid);
+
+                if (vertex != null) {
+                    vertex.setProperty(FULLTEXT_PENDING_PROPERTY_KEY, FULLTEXT_PENDING_VALUE);
+                }
+            }
+        }
+    }
+
+    public Map<String, Object> getMetrics() {
+        Map<String, Object> ret = new HashMap<>();
+
+        ret.put("enabled", isEnabled);
+        ret.put("pendingCount", getPendingCount());
+        ret.put("lagMs", getLagMs());
+        ret.put("mappedCount", mappedCount.get());
+        ret.put("failedCount", failedCount.get());
+        ret.put("batchCount", batchCount.get());
+        ret.put("lastBatchTimeMs", lastBatchTimeMs);
+
+        return ret;
+    }
+
+    public int getPendingCount() {
+        synchronized (pendingGuids) {
+            return pendingGuids.size();
+        }
+    }
+
+    /**
+     * @return time, in milliseconds, since the oldest pending entity was marked dirty; 0 if there are no pending entities
+     */
+    public long getLagMs() {
+        synchronized (pendingGuids) {
+            Iterator<Long> iter = pendingGuids.values().iterator();
+
+            return iter.hasNext() ? System.currentTimeMillis() - iter.next() : 0;
+        }
+    }
+
+    @VisibleForTesting
+    void addPending(Collection<String> guids) {
+        long now = System.currentTimeMillis();
+
+        synchronized (pendingGuids) {
+            for (String guid : guids) {
+                pendingGuids.putIfAbsent(guid, now);
+            }
+
+            if (isEnabled && worker == null) {
+                worker = new Thread(this::run, "atlas-fulltext-mapper");
+
+                worker.setDaemon(true);
+                worker.start();
+            }
+
+            pendingGuids.notifyAll();
+        }
+    }
+
+    /**
+     * Maps the next batch of pending entities, if any.
+     *
+     * @return number of entities taken from the pending list
+     */
+    @VisibleForTesting
+    int processBatch() {
+        List<String> guids = new ArrayList<>(batchSize);
+
+        synchronized (pendingGuids) {
+            Iterator<String> iter = pendingGuids.keySet().iterator();
+
+            while (iter.hasNext() && guids.size() < batchSize) {
+                guids.add(iter.next());
+
+                iter.remove();
+            }
+        }
+
+        if (!guids.isEmpty()) {
+            long startTime = System.currentTimeMillis();
+
+            try {
+                RequestContext.clear();
+
+                try {
+                    mapAndCommit(guids);
+                } catch (Exception excp) {
+                    LOG.warn("Full-text mapping of a batch of {} entities failed; mapping entities individually", guids.size(), excp);
+
+                    // isolate the entities that fail, so that the others still get mapped
+                    for (String guid : guids) {
+                        try {
+                            mapAndCommit(Collections.singletonList(guid));
+                        } catch (Exception e) {
+                            failedCount.incrementAndGet();
+
+                            LOG.error("FullText mapping failed for Vertex[ guid = {} ]", guid, e);
+                        }
+                    }
+                }
+            } finally {
+                RequestContext.clear();
+            }
+
+            batchCount.incrementAndGet();
+
+            lastBatchTimeMs = System.currentTimeMillis() - startTime;
+        }
+
+        return guids.size();
+    }
+
+    /**
+     * Adds entities flagged as pending in the graph to the pending list.
+     */
+    @VisibleForTesting
+    void recoverPending() {
+        List<String> guids = new ArrayList<>();
+
+        try {
+            Iterator<AtlasVertex> iter = graph.query().has(FULLTEXT_PENDING_PROPERTY_KEY, FULLTEXT_PENDING_VALUE).vertices().iterator();
+
+            while (iter.hasNext()) {
+                String guid = GraphHelper.getGuid(iter.next());
+
+                if (guid != null) {
+                    guids.add(guid);
+                }
+            }
+        } catch (Exception excp) {
+            LOG.error("Failed to find entities pending full-text mapping", excp);
+        } finally {
+            graph.commit();
+        }
+
+        if (!guids.isEmpty()) {
+            LOG.info("Recovered {} entities pending full-text mapping", guids.size());
+
+            addPending(guids);
+        }
+    }
+
+    @VisibleForTesting
+    AtlasVertex findVertex(String guid) {
+        return AtlasGraphUtilsV2.findByGuid(graph, guid);
+    }
+
+    private void mapAndCommit(List<String> guids) throws AtlasBaseException {
+        int mapped = 0;
+
+        try {
+            for (String guid : guids) {
+                AtlasVertex vertex = findVertex(guid);
+
+                if (vertex == null) {
+                    continue;
+                }
+
+                vertex.removeProperty(FULLTEXT_PENDING_PROPERTY_KEY);
+
+                if (GraphHelper.isInternalType(vertex)) {
+                    continue;
+                }
+
+                String fullText = fullTextMapper.getIndexTextForEntity(guid);
+
+                AtlasGraphUtilsV2.setEncodedProperty(vertex, ENTITY_TEXT_PROPERTY_KEY, fullText);
+
+                mapped++;
+            }
+
+            graph.commit();
+        } catch (AtlasBaseException | RuntimeException excp) {
+            graph.rollback();
+
+            throw excp;
+        }
+
+        mappedCount.addAndGet(mapped);
+    }
+
+    private void run() {
+        while (!Thread.currentThread().isInterrupted()) {
+            try {
+                synchronized (pendingGuids) {
+                    while (pendingGuids.isEmpty()) {
+                        pendingGuids.wait();
+                    }
+                }
+
+                processBatch();
+            } catch (InterruptedException excp) {
+                LOG.info("Full-text mapper interrupted; {} entities not mapped", getPendingCount());
+
+                Thread.currentThread().interrupt();
+
+                break;
+            } catch (Throwable t) {
+                LOG.error("Full-text mapper: unexpected error", t);
+            }
+        }
+    }
+
+    private class MarkDirtyHook extends GraphTransactionInterceptor.PostTransactionHook {
+        @Override
+        public void onComplete(boolean isSuccess) {
+            Set<String> guids = txnGuids.get();
+
+            txnGuids.remove();
+
+            if (isSuccess && guids != null && !guids.isEmpty()) {
+                addPending(guids);
+            }
+        }
+    }
+}
@@ -23,6 +23,7 @@ import com.google.common.base.Preconditions;
 import org.apache.atlas.ApplicationProperties;
 import org.apache.atlas.AtlasErrorCode;
 import org.apache.atlas.AtlasException;
+import org.apache.atlas.RequestContext;
 import org.apache.atlas.discovery.SearchIndexer;
 import org.apache.atlas.exception.AtlasBaseException;
 import org.apache.atlas.ha.HAConfiguration;
@@ -31,6 +32,7 @@ import org.apache.atlas.listener.ChangedTypeDefs;
 import org.apache.atlas.listener.TypeDefChangeListener;
 import org.apache.atlas.model.TypeCategory;
 import org.apache.atlas.model.typedef.AtlasBaseTypeDef;
+import org.apache.atlas.model.typedef.AtlasClassificationDef;
 import org.apache.atlas.model.typedef.AtlasEntityDef;
 import org.apache.atlas.model.typedef.AtlasEnumDef;
 import org.apache.atlas.model.typedef.AtlasRelationshipDef;
@@ -95,6 +97,7 @@ public class GraphBackedSearchIndexer implements SearchIndexer, ActiveStateChang
 
     private boolean recomputeIndexedKeys = true;
     private Set<String> vertexIndexKeys = new HashSet<>();
+    private volatile boolean isActive;
 
     public static boolean isValidSearchWeight(int searchWeight) {
         if (searchWeight != -1) {
@@ -127,6 +130,8 @@ public class GraphBackedSearchIndexer implements SearchIndexer, ActiveStateChang
 
         if (!HAConfiguration.isHAEnabled(configuration)) {
             initialize(provider.get());
+
+            isActive = true;
         }
         notifyInitializationStart();
     }
@@ -146,6 +151,8 @@ public class GraphBackedSearchIndexer implements SearchIndexer, ActiveStateChang
         LOG.info("Reacting to active: initializing index");
         try {
             initialize();
+
+            isActive = true;
         } catch (RepositoryException | IndexException e) {
             throw new AtlasException("Error in reacting to active on initialization", e);
         }
@@ -154,6 +161,8 @@ public class GraphBackedSearchIndexer implements SearchIndexer, ActiveStateChang
     @Override
     public void instanceIsPassive() {
         LOG.info("Reacting to passive state: No action right now.");
+
+        isActive = false;
     }
 
     @Override
@@ -168,24 +177,36 @@ public class GraphBackedSearchIndexer implements SearchIndexer, ActiveStateChang
         }
 
         AtlasGraphManagement management = null;
+        long                 startTime   = System.currentTimeMillis();
 
         try {
             management = provider.get().getManagementSystem();
 
-            // Update index for newly created types
+            // collect schema changes for created and updated types up front, so that attributes and types shared
+            // across the typedefs are processed once
+            SchemaChanges schemaChanges = new SchemaChanges();
+
             if (CollectionUtils.isNotEmpty(changedTypeDefs.getCreatedTypeDefs())) {
                 for (AtlasBaseTypeDef typeDef : changedTypeDefs.getCreatedTypeDefs()) {
-                    updateIndexForTypeDef(management, typeDef);
+                    addIndexForType(schemaChanges, typeDef);
                 }
             }
 
-            // Update index for updated types
             if (CollectionUtils.isNotEmpty(changedTypeDefs.getUpdatedTypeDefs())) {
                 for (AtlasBaseTypeDef typeDef : changedTypeDefs.getUpdatedTypeDefs()) {
-                    updateIndexForTypeDef(management, typeDef);
+                    addIndexForType(schemaChanges, typeDef);
                 }
             }
 
+            addEdgeLabels(schemaChanges, changedTypeDefs.getCreatedTypeDefs());
+            addEdgeLabels(schemaChanges, changedTypeDefs.getUpdatedTypeDefs());
+
+            startTime = recordPhaseTime("plan", startTime);
+
+            applySchemaChanges(management, schemaChanges);
+
+            startTime = System.currentTimeMillis();
+
             // Invalidate the property key for deleted types
             if (CollectionUtils.isNotEmpty(changedTypeDefs.getDeletedTypeDefs())) {
                 for (AtlasBaseTypeDef typeDef : changedTypeDefs.getDeletedTypeDefs()) {
@@ -196,17 +217,20 @@ public class GraphBackedSearchIndexer implements SearchIndexer, ActiveStateChang
             //resolve index fields names for the new entity attributes.
             resolveIndexFieldNames(management, changedTypeDefs);
 
-            createEdgeLabels(management, changedTypeDefs.getCreatedTypeDefs());
-            createEdgeLabels(management, changedTypeDefs.getUpdatedTypeDefs());
+            startTime = recordPhaseTime("resolveIndexFieldNames", startTime);
 
             //Commit indexes
             commit(management);
+
+            startTime = recordPhaseTime("commit", startTime);
         } catch (RepositoryException | IndexException e) {
             LOG.error("Failed to update indexes for changed typedefs", e);
             attemptRollback(changedTypeDefs, management);
         }
 
         notifyChangeListeners(changedTypeDefs);
+
+        recordPhaseTime("indexListeners", startTime);
     }
 
     @Override
@@ -229,10 +253,19 @@ public class GraphBackedSearchIndexer implements SearchIndexer, ActiveStateChang
             //resolve index fields names
             resolveIndexFieldNames(management, changedTypeDefs);
 
-            //Commit indexes
-            commit(management);
+            if (ClassificationAttributeIndexHelper.isEnabled()) {
+                resolveClassificationAttributeIndexFieldNames(management);
+            }
 
-            notifyInitializationCompletion(changedTypeDefs);
+            if (isActive) {
+                //Commit indexes
+                commit(management);
+
+                notifyInitializationCompletion(changedTypeDefs);
+            } else {
+                // passive instance serving reads: resolve index field names only; index configuration is updated by the active instance
+                rollback(management);
+            }
         } catch (RepositoryException | IndexException e) {
             LOG.error("Failed to update indexes for changed typedefs", e);
             attemptRollback(changedTypeDefs, management);
@@ -335,6 +368,7 @@ public class GraphBackedSearchIndexer implements SearchIndexer, ActiveStateChang
             createCommonVertexIndex(management, TRAIT_NAMES_PROPERTY_KEY, UniqueKind.NONE, String.class, SET, true, true);
             createCommonVertexIndex(management, PROPAGATED_TRAIT_NAMES_PROPERTY_KEY, UniqueKind.NONE, String.class, LIST, true, true);
             createCommonVertexIndex(management, IS_INCOMPLETE_PROPERTY_KEY, UniqueKind.NONE, Integer.class, SINGLE, true, true);
+            createCommonVertexIndex(management, FULLTEXT_PENDING_PROPERTY_KEY, UniqueKind.NONE, Integer.class, SINGLE, true, false);
             createCommonVertexIndex(management, CUSTOM_ATTRIBUTES_PROPERTY_KEY, UniqueKind.NONE, String.class, SINGLE, true, false);
             createCommonVertexIndex(management, LABELS_PROPERTY_KEY, UniqueKind.NONE, String.class, SINGLE, true, false);
 
@@ -344,6 +378,11 @@ public class GraphBackedSearchIndexer implements SearchIndexer, ActiveStateChang
             createCommonVertexIndex(management, PATCH_ACTION_PROPERTY_KEY, UniqueKind.NONE, String.class, SINGLE, true, false);
             createCommonVertexIndex(management, PATCH_STATE_PROPERTY_KEY, UniqueKind.NONE, String.class, SINGLE, true, false);
 
+            createCommonVertexIndex(management, DELETE_TASK_ID_PROPERTY_KEY, UniqueKind.GLOBAL_UNIQUE, String.class, SINGLE, true, false);
+            createCommonVertexIndex(management, DELETE_TASK_STATUS_PROPERTY_KEY, UniqueKind.NONE, String.class, SINGLE, true, false);
+
+            createCommonVertexIndex(management, TYPEDEF_SNAPSHOT_ID_PROPERTY_KEY, UniqueKind.GLOBAL_UNIQUE, String.class, SINGLE, true, false);
+
             // create vertex-centric index
             createVertexCentricIndex(management, CLASSIFICATION_LABEL, AtlasEdgeDirection.BOTH, CLASSIFICATION_EDGE_NAME_PROPERTY_KEY, String.class, SINGLE);
             createVertexCentricIndex(management, CLASSIFICATION_LABEL, AtlasEdgeDirection.BOTH, CLASSIFICATION_EDGE_IS_PROPAGATED_PROPERTY_KEY, Boolean.class, SINGLE);
@@ -413,8 +452,16 @@ public class GraphBackedSearchIndexer implements SearchIndexer, ActiveStateChang
                 AtlasStructType definedInType = attribute.getDefinedInType();
                 AtlasAttribute baseInstance = definedInType != null ? definedInType.getAttribute(attribute.getName()) : null;
 
+                String cachedIndexFieldName = typeRegistry.getIndexFieldName(attribute.getVertexPropertyName()); // resolved earlier, or loaded from typedef snapshot
+
                 if (baseInstance != null && baseInstance.getIndexFieldName() != null) {
                     attribute.setIndexFieldName(baseInstance.getIndexFieldName());
+                } else if (cachedIndexFieldName != null) {
+                    attribute.setIndexFieldName(cachedIndexFieldName);
+
+                    if (baseInstance != null) {
+                        baseInstance.setIndexFieldName(cachedIndexFieldName);
+                    }
                 } else if (isIndexApplicable(getPrimitiveClass(attribute.getTypeName()), toAtlasCardinality(attribute.getAttributeDef().getCardinality()))) {
                     AtlasPropertyKey propertyKey = managementSystem.getPropertyKey(attribute.getVertexPropertyName());
                     boolean isStringField = AtlasAttributeDef.IndexType.STRING.equals(attribute.getIndexType());
@@ -476,17 +523,21 @@ public class GraphBackedSearchIndexer implements SearchIndexer, ActiveStateChang
         }
     }
 
-    private void addIndexForType(AtlasGraphManagement management, AtlasBaseTypeDef typeDef) {
+    private void addIndexForType(SchemaChanges schemaChanges, AtlasBaseTypeDef typeDef) {
         if (typeDef instanceof AtlasEnumDef) {
             // Only handle complex types like Struct, Classification and Entity
             return;
         }
         if (typeDef instanceof AtlasStructDef) {
+            if (!schemaChanges.visitedTypes.add(typeDef.getName())) {
+                return;
+            }
+
             AtlasStructDef structDef = (AtlasStructDef) typeDef;
             List<AtlasAttributeDef> attributeDefs = structDef.getAttributeDefs();
             if (CollectionUtils.isNotEmpty(attributeDefs)) {
                 for (AtlasAttributeDef attributeDef : attributeDefs) {
-                    createIndexForAttribute(management, structDef, attributeDef);
+                    createIndexForAttribute(schemaChanges, structDef, attributeDef);
                 }
             }
         } else if (!AtlasTypeUtil.isBuiltInType(typeDef.getName())) {
@@ -515,7 +566,7 @@ public class GraphBackedSearchIndexer implements SearchIndexer, ActiveStateChang
         LOG.info("Completed deleting indexes for type {}", typeDef.getName());
     }
 
-    private void createIndexForAttribute(AtlasGraphManagement management, AtlasStructDef structDef, AtlasAttributeDef attributeDef) {
+    private void createIndexForAttribute(SchemaChanges schemaChanges, AtlasStructDef structDef, AtlasAttributeDef attributeDef) {
         String qualifiedName = AtlasAttribute.getQualifiedAttributeName(structDef, attributeDef.getName());
         final String propertyName = AtlasAttribute.generateVertexPropertyName(structDef, attributeDef, qualifiedName);
         AtlasCardinality cardinality = toAtlasCardinality(attributeDef.getCardinality());
@@ -539,33 +590,33 @@ public class GraphBackedSearchIndexer implements SearchIndexer, ActiveStateChang
             }
 
             if (isArrayType) {
-                createLabelIfNeeded(management, propertyName, attribTypeName);
+                createLabelIfNeeded(schemaChanges, propertyName, attribTypeName);
 
                 AtlasArrayType arrayType = (AtlasArrayType) attributeType;
                 boolean isReference = isReference(arrayType.getElementType());
 
                 if (!isReference) {
-                    createPropertyKey(management, propertyName, ArrayList.class, SINGLE);
+                    schemaChanges.addPropertyKey(propertyName, ArrayList.class, SINGLE);
                 }
             }
 
             if (isMapType) {
-                createLabelIfNeeded(management, propertyName, attribTypeName);
+                createLabelIfNeeded(schemaChanges, propertyName, attribTypeName);
 
                 AtlasMapType mapType = (AtlasMapType) attributeType;
                 boolean isReference = isReference(mapType.getValueType());
 
                 if (!isReference) {
-                    createPropertyKey(management, propertyName, HashMap.class, SINGLE);
+                    schemaChanges.addPropertyKey(propertyName, HashMap.class, SINGLE);
                 }
             }
 
             if (isEntityType(attributeType)) {
-                createEdgeLabel(management, propertyName);
+                schemaChanges.edgeLabels.add(getPropertyEdgeLabel(propertyName));
 
             } else if (isBuiltInType) {
                 if (isRelationshipType(atlasType)) {
-                    createEdgeIndex(management, propertyName, getPrimitiveClass(attribTypeName), cardinality, false);
+                    schemaChanges.addEdgeIndex(propertyName, getPrimitiveClass(attribTypeName), cardinality);
                 } else {
                     Class primitiveClassType = getPrimitiveClass(attribTypeName);
                     boolean isStringField = false;
@@ -575,32 +626,135 @@ public class GraphBackedSearchIndexer implements SearchIndexer, ActiveStateChang
                     }
 
 
-                    createVertexIndex(management, propertyName, UniqueKind.NONE, getPrimitiveClass(attribTypeName), cardinality, isIndexable, false, isStringField, attributeDef.getNormalizer(), attributeDef.getSetupEnhancedSearch());
+                    schemaChanges.addVertexIndex(propertyName, UniqueKind.NONE, getPrimitiveClass(attribTypeName), cardinality, isIndexable, false, isStringField, attributeDef.getNormalizer(), attributeDef.getSetupEnhancedSearch());
 
 
                     if (uniqPropName != null) {
-                        createVertexIndex(management, uniqPropName, UniqueKind.PER_TYPE_UNIQUE, getPrimitiveClass(attribTypeName), cardinality, isIndexable, true, isStringField);
+                        schemaChanges.addVertexIndex(uniqPropName, UniqueKind.PER_TYPE_UNIQUE, getPrimitiveClass(attribTypeName), cardinality, isIndexable, true, isStringField, "", false);
                     }
                 }
             } else if (isEnumType(attributeType)) {
                 if (isRelationshipType(atlasType)) {
-                    createEdgeIndex(management, propertyName, String.class, cardinality, false);
+                    schemaChanges.addEdgeIndex(propertyName, String.class, cardinality);
                 } else {
-                    createVertexIndex(management, propertyName, UniqueKind.NONE, String.class, cardinality, isIndexable, false, false);
+                    schemaChanges.addVertexIndex(propertyName, UniqueKind.NONE, String.class, cardinality, isIndexable, false, false, "", false);
 
                     if (uniqPropName != null) {
-                        createVertexIndex(management, uniqPropName, UniqueKind.PER_TYPE_UNIQUE, String.class, cardinality, isIndexable, true, false);
+                        schemaChanges.addVertexIndex(uniqPropName, UniqueKind.PER_TYPE_UNIQUE, String.class, cardinality, isIndexable, true, false, "", false);
                     }
                 }
             } else if (isStructType(attributeType)) {
                 AtlasStructDef attribureStructDef = typeRegistry.getStructDefByName(attribTypeName);
-                updateIndexForTypeDef(management, attribureStructDef);
+                Preconditions.checkNotNull(attribureStructDef, "Cannot index on null typedefs");
+                addIndexForType(schemaChanges, attribureStructDef);
+            }
+
+            if (isClassificationType(atlasType) && ClassificationAttributeIndexHelper.isEnabled()) {
+                schemaChanges.classificationAttributes.add(new ClassificationAttribute(structDef, attributeDef, attributeType));
             }
         } catch (AtlasBaseException e) {
             LOG.error("No type exists for {}", attribTypeName, e);
         }
     }
 
+    /**
+     * Creates entity vertex properties, with index, to store attribute values of all classification types.
+     * See ClassificationAttributeIndexHelper.
+     */
+    public void createClassificationAttributeIndexes() throws AtlasBaseException {
+        AtlasGraphManagement management = null;
+
+        try {
+            management = provider.get().getManagementSystem();
+
+            for (AtlasClassificationType classificationType : typeRegistry.getAllClassificationTypes()) {
+                AtlasClassificationDef classificationDef = classificationType.getClassificationDef();
+
+                if (CollectionUtils.isNotEmpty(classificationDef.getAttributeDefs())) {
+                    for (AtlasAttributeDef attributeDef : classificationDef.getAttributeDefs()) {
+                        createClassificationAttributeIndex(management, classificationDef, attributeDef, typeRegistry.getType(attributeDef.getTypeName()));
+                    }
+                }
+            }
+
+            commit(management);
+        } catch (RepositoryException | IndexException | AtlasBaseException e) {
+            LOG.error("Failed to create indexes for classification attributes", e);
+
+            if (management != null) {
+                try {
+                    rollback(management);
+                } catch (IndexException excp) {
+                    LOG.error("Index rollback has failed", excp);
+                }
+            }
+
+            throw new AtlasBaseException(AtlasErrorCode.INTERNAL_ERROR, e, e.getMessage());
+        }
+    }
+
+    private void createClassificationAttributeIndex(AtlasGraphManagement management, AtlasStructDef classificationDef, AtlasAttributeDef attributeDef, AtlasType attributeType) {
+        Class propertyClass = getClassificationAttributePropertyClass(attributeType);
+
+        if (propertyClass == null || toAtlasCardinality(attributeDef.getCardinality()).isMany()) {
+            return;
+        }
+
+        String           qualifiedName = AtlasAttribute.getQualifiedAttributeName(classificationDef, attributeDef.getName());
+        String           propertyName  = ClassificationAttributeIndexHelper.getEntityPropertyName(AtlasAttribute.generateVertexPropertyName(classificationDef, attributeDef, qualifiedName));
+        boolean          isStringField = propertyClass == String.class && AtlasAttributeDef.IndexType.STRING.equals(attributeDef.getIndexType());
+        AtlasPropertyKey propertyKey   = management.getPropertyKey(propertyName);
+        String           indexFieldName;
+
+        if (propertyKey == null) {
+            // values of all instances of the classification associated with the entity are stored
+            propertyKey    = management.makePropertyKey(propertyName, propertyClass, SET);
+            indexFieldName = management.addMixedIndex(VERTEX_INDEX, propertyKey, isStringField);
+
+            LOG.info("Created backing index for classification attribute {} on entity property {}", qualifiedName, propertyName);
+        } else {
+            indexFieldName = management.getIndexFieldName(VERTEX_INDEX, propertyKey, isStringField);
+        }
+
+        if (indexFieldName != null) {
+            typeRegistry.addIndexFieldName(propertyName, indexFieldName);
+        }
+    }
+
+    private Class getClassificationAttributePropertyClass(AtlasType attributeType) {
+        final Class ret;
+
+        if (isEnumType(attributeType)) {
+            ret = String.class;
+        } else if (attributeType.getTypeCategory() == TypeCategory.PRIMITIVE) {
+            ret = getPrimitiveClass(attributeType.getTypeName());
+        } else {
+            ret = null;
+        }
+
+        return ret == null || INDEX_EXCLUSION_CLASSES.contains(ret) ? null : ret;
+    }
+
+    private void resolveClassificationAttributeIndexFieldNames(AtlasGraphManagement management) {
+        for (AtlasClassificationType classificationType : typeRegistry.getAllClassificationTypes()) {
+            for (AtlasAttribute attribute : classificationType.getAllAttributes().values()) {
+                String           propertyName = ClassificationAttributeIndexHelper.getEntityPropertyName(attribute.getVertexPropertyName());
+                AtlasPropertyKey propertyKey  = management.getPropertyKey(propertyName);
+
+                if (propertyKey != null && typeRegistry.getIndexFieldName(propertyName) == null) {
+                    try {
+                        boolean isStringField = String.class.equals(getClassificationAttributePropertyClass(attribute.getAttributeType())) &&
+                                                AtlasAttributeDef.IndexType.STRING.equals(attribute.getIndexType());
+
+                        typeRegistry.addIndexFieldName(propertyName, management.getIndexFieldName(VERTEX_INDEX, propertyKey, isStringField));
+                    } catch (Exception excp) {
+                        LOG.warn("resolveClassificationAttributeIndexFieldNames(): failed for property {}", propertyName, excp);
+                    }
+                }
+            }
+        }
+    }
+
     private void deleteIndexForAttribute(AtlasGraphManagement management, String typeName, AtlasAttributeDef attributeDef) {
         final String propertyName = AtlasGraphUtilsV2.encodePropertyKey(typeName + "." + attributeDef.getName());
 
@@ -626,12 +780,12 @@ public class GraphBackedSearchIndexer implements SearchIndexer, ActiveStateChang
         return AtlasAttribute.getQualifiedAttributeName(baseTypeDef, attributeDef.getName());
     }
 
-    private void createLabelIfNeeded(final AtlasGraphManagement management, final String propertyName, final String attribTypeName) {
+    private void createLabelIfNeeded(final SchemaChanges schemaChanges, final String propertyName, final String attribTypeName) {
         // If any of the referenced typename is of type Entity or Struct then the edge label needs to be created
         for (String typeName : AtlasTypeUtil.getReferencedTypeNames(attribTypeName)) {
             if (typeRegistry.getEntityDefByName(typeName) != null || typeRegistry.getStructDefByName(typeName) != null) {
                 // Create the edge label upfront to avoid running into concurrent call issue (ATLAS-2092)
-                createEdgeLabel(management, propertyName);
+                schemaChanges.edgeLabels.add(getPropertyEdgeLabel(propertyName));
             }
         }
     }
@@ -699,14 +853,12 @@ public class GraphBackedSearchIndexer implements SearchIndexer, ActiveStateChang
         throw new IllegalArgumentException(String.format("Bad cardinality %s", cardinality));
     }
 
-    private void createEdgeLabel(final AtlasGraphManagement management, final String propertyName) {
+    private static String getPropertyEdgeLabel(final String propertyName) {
         // Create the edge label upfront to avoid running into concurrent call issue (ATLAS-2092)
         // ATLAS-2092 addresses this problem by creating the edge label upfront while type creation
         // which resolves the race condition during the entity creation
 
-        String label = Constants.INTERNAL_PROPERTY_KEY_PREFIX + propertyName;
-
-        createEdgeLabelUsingLabelName(management, label);
+        return Constants.INTERNAL_PROPERTY_KEY_PREFIX + propertyName;
     }
 
     private void createEdgeLabelUsingLabelName(final AtlasGraphManagement management, final String label) {
@@ -765,14 +917,7 @@ public class GraphBackedSearchIndexer implements SearchIndexer, ActiveStateChang
             }
 
             if (propertyKey != null) {
-                if (createCompositeIndex || uniqueKind == UniqueKind.GLOBAL_UNIQUE || uniqueKind == UniqueKind.PER_TYPE_UNIQUE) {
-                    createVertexCompositeIndex(management, propertyClass, propertyKey, uniqueKind == UniqueKind.GLOBAL_UNIQUE);
-                }
-
-                if (createCompositeIndexWithTypeAndSuperTypes) {
-                    createVertexCompositeIndexWithTypeName(management, propertyClass, propertyKey, uniqueKind == UniqueKind.PER_TYPE_UNIQUE);
-                    createVertexCompositeIndexWithSuperTypeName(management, propertyClass, propertyKey);
-                }
+                createVertexCompositeIndexes(management, propertyKey, uniqueKind, propertyClass, createCompositeIndex, createCompositeIndexWithTypeAndSuperTypes);
             } else {
                 LOG.warn("Index not created for {}: propertyKey is null", propertyName);
             }
@@ -781,6 +926,80 @@ public class GraphBackedSearchIndexer implements SearchIndexer, ActiveStateChang
         return indexFieldName;
     }
 
+    private void createVertexCompositeIndexes(AtlasGraphManagement management, AtlasPropertyKey propertyKey, UniqueKind uniqueKind, Class propertyClass,
+                                              boolean createCompositeIndex, boolean createCompositeIndexWithTypeAndSuperTypes) {
+        if (createCompositeIndex || uniqueKind == UniqueKind.GLOBAL_UNIQUE || uniqueKind == UniqueKind.PER_TYPE_UNIQUE) {
+            createVertexCompositeIndex(management, propertyClass, propertyKey, uniqueKind == UniqueKind.GLOBAL_UNIQUE);
+        }
+
+        if (createCompositeIndexWithTypeAndSuperTypes) {
+            createVertexCompositeIndexWithTypeName(management, propertyClass, propertyKey, uniqueKind == UniqueKind.PER_TYPE_UNIQUE);
+            createVertexCompositeIndexWithSuperTypeName(management, propertyClass, propertyKey);
+        }
+    }
+
+    /**
+     * Applies schema changes in phases: property keys along with their mixed index fields, then composite indexes,
+     * then edge labels. Changes are made in the given management transaction, which is committed by the caller.
+     */
+    private void applySchemaChanges(AtlasGraphManagement management, SchemaChanges schemaChanges) {
+        long startTime = System.currentTimeMillis();
+
+        for (PropertyIndex index : schemaChanges.propertyIndexes.values()) {
+            if (index.isEdgeIndex) {
+                createEdgeIndex(management, index.propertyName, index.propertyClass, index.cardinality, false);
+            } else if (index.uniqueKind == null) {
+                createPropertyKey(management, index.propertyName, index.propertyClass, index.cardinality);
+            } else if (management.getPropertyKey(index.propertyName) == null) {
+                AtlasPropertyKey propertyKey = management.makePropertyKey(index.propertyName, index.propertyClass, index.cardinality);
+
+                if (isIndexApplicable(index.propertyClass, index.cardinality)) {
+                    management.addMixedIndex(VERTEX_INDEX, propertyKey, index.isStringField, index.normalizer, index.setupEnhancedSearch);
+
+                    LOG.info("Created backing index for vertex property {} of type {} ", index.propertyName, index.propertyClass.getName());
+                }
+            }
+        }
+
+        for (ClassificationAttribute attribute : schemaChanges.classificationAttributes) {
+            createClassificationAttributeIndex(management, attribute.structDef, attribute.attributeDef, attribute.attributeType);
+        }
+
+        startTime = recordPhaseTime("propertyKeys", startTime);
+
+        for (PropertyIndex index : schemaChanges.propertyIndexes.values()) {
+            if (index.isEdgeIndex || index.uniqueKind == null) {
+                continue;
+            }
+
+            AtlasPropertyKey propertyKey = management.getPropertyKey(index.propertyName);
+
+            if (propertyKey != null) {
+                createVertexCompositeIndexes(management, propertyKey, index.uniqueKind, index.propertyClass, index.createCompositeIndex, index.createCompositeIndexWithTypeAndSuperTypes);
+            } else {
+                LOG.warn("Index not created for {}: propertyKey is null", index.propertyName);
+            }
+        }
+
+        startTime = recordPhaseTime("compositeIndexes", startTime);
+
+        for (String edgeLabel : schemaChanges.edgeLabels) {
+            createEdgeLabelUsingLabelName(management, edgeLabel);
+        }
+
+        recordPhaseTime("edgeLabels", startTime);
+
+        LOG.info("Applied schema changes: types={}, properties={}, edgeLabels={}", schemaChanges.visitedTypes.size(), schemaChanges.propertyIndexes.size(), schemaChanges.edgeLabels.size());
+    }
+
+    private static long recordPhaseTime(String phase, long startTime) {
+        long ret = System.currentTimeMillis();
+
+        RequestContext.get().addPhaseTime("index." + phase, ret - startTime);
+
+        return ret;
+    }
+
     private void createVertexCentricIndex(AtlasGraphManagement management, String edgeLabel, AtlasEdgeDirection edgeDirection,
                                           String propertyName, Class propertyClass, AtlasCardinality cardinality) {
         AtlasPropertyKey propertyKey = management.getPropertyKey(propertyName);
@@ -991,7 +1210,9 @@ public class GraphBackedSearchIndexer implements SearchIndexer, ActiveStateChang
         if (LOG.isDebugEnabled()) {
             LOG.debug("Creating indexes for type name={}, definition={}", typeDef.getName(), typeDef.getClass());
         }
-        addIndexForType(management, typeDef);
+        SchemaChanges schemaChanges = new SchemaChanges();
+        addIndexForType(schemaChanges, typeDef);
+        applySchemaChanges(management, schemaChanges);
         LOG.info("Index creation for type {} complete", typeDef.getName());
     }
 
@@ -1032,7 +1253,7 @@ public class GraphBackedSearchIndexer implements SearchIndexer, ActiveStateChang
     }
 
 
-    private void createEdgeLabels(AtlasGraphManagement management, List<? extends AtlasBaseTypeDef> typeDefs) {
+    private void addEdgeLabels(SchemaChanges schemaChanges, List<? extends AtlasBaseTypeDef> typeDefs) {
         if (CollectionUtils.isEmpty(typeDefs)) {
             return;
         }
@@ -1040,14 +1261,14 @@ public class GraphBackedSearchIndexer implements SearchIndexer, ActiveStateChang
         for (AtlasBaseTypeDef typeDef : typeDefs) {
             if (typeDef instanceof AtlasEntityDef) {
                 AtlasEntityDef entityDef = (AtlasEntityDef) typeDef;
-                createEdgeLabelsForStruct(management, entityDef);
+                addEdgeLabelsForStruct(schemaChanges, entityDef);
             } else if (typeDef instanceof AtlasRelationshipDef) {
-                createEdgeLabels(management, (AtlasRelationshipDef) typeDef);
+                addEdgeLabels(schemaChanges, (AtlasRelationshipDef) typeDef);
             }
         }
     }
 
-    private void createEdgeLabelsForStruct(AtlasGraphManagement management, AtlasEntityDef entityDef) {
+    private void addEdgeLabelsForStruct(SchemaChanges schemaChanges, AtlasEntityDef entityDef) {
         try {
             AtlasType type = typeRegistry.getType(entityDef.getName());
             if (!(type instanceof AtlasEntityType)) {
@@ -1059,7 +1280,9 @@ public class GraphBackedSearchIndexer implements SearchIndexer, ActiveStateChang
                 AtlasAttribute attribute = entityType.getAttribute(attributeDef.getName());
                 if (attribute.getAttributeType().getTypeCategory() == TypeCategory.STRUCT) {
                     String relationshipLabel = attribute.getRelationshipEdgeLabel();
-                    createEdgeLabelUsingLabelName(management, relationshipLabel);
+                    if (!StringUtils.isEmpty(relationshipLabel)) {
+                        schemaChanges.edgeLabels.add(relationshipLabel);
+                    }
                 }
             }
         } catch (AtlasBaseException e) {
@@ -1067,11 +1290,82 @@ public class GraphBackedSearchIndexer implements SearchIndexer, ActiveStateChang
         }
     }
 
-    private void createEdgeLabels(AtlasGraphManagement management, AtlasRelationshipDef relationshipDef) {
+    private void addEdgeLabels(SchemaChanges schemaChanges, AtlasRelationshipDef relationshipDef) {
         String relationshipTypeName = relationshipDef.getName();
         AtlasRelationshipType relationshipType = typeRegistry.getRelationshipTypeByName(relationshipTypeName);
         String relationshipLabel = relationshipType.getRelationshipLabel();
 
-        createEdgeLabelUsingLabelName(management, relationshipLabel);
+        if (!StringUtils.isEmpty(relationshipLabel)) {
+            schemaChanges.edgeLabels.add(relationshipLabel);
+        }
+    }
+
+    /**
+     * Schema changes needed for a set of typedefs, de-duplicated by property name and edge label.
+     */
+    private static class SchemaChanges {
+        private final Set<String>                   visitedTypes             = new HashSet<>();
+        private final Map<String, PropertyIndex>    propertyIndexes          = new LinkedHashMap<>();
+        private final List<ClassificationAttribute> classificationAttributes = new ArrayList<>();
+        private final Set<String>                   edgeLabels               = new LinkedHashSet<>();
+
+        void addPropertyKey(String propertyName, Class propertyClass, AtlasCardinality cardinality) {
+            add(new PropertyIndex(propertyName, propertyClass, cardinality, false, null, false, false, false, "", false));
+        }
+
+        void addEdgeIndex(String propertyName, Class propertyClass, AtlasCardinality cardinality) {
+            add(new PropertyIndex(propertyName, propertyClass, cardinality, true, null, false, false, false, "", false));
+        }
+
+        void addVertexIndex(String propertyName, UniqueKind uniqueKind, Class propertyClass, AtlasCardinality cardinality, boolean createCompositeIndex,
+                            boolean createCompositeIndexWithTypeAndSuperTypes, boolean isStringField, String normalizer, boolean setupEnhancedSearch) {
+            add(new PropertyIndex(propertyName, propertyClass, cardinality, false, uniqueKind, createCompositeIndex, createCompositeIndexWithTypeAndSuperTypes, isStringField, normalizer, setupEnhancedSearch));
+        }
+
+        private void add(PropertyIndex index) {
+            // first request for a property wins, as it would when the property key is created
+            if (!propertyIndexes.containsKey(index.propertyName)) {
+                propertyIndexes.put(index.propertyName, index);
+            }
+        }
+    }
+
+    private static class PropertyIndex {
+        private final String           propertyName;
+        private final Class            propertyClass;
+        private final AtlasCardinality cardinality;
+        private final boolean          isEdgeIndex;
+        private final UniqueKind       uniqueKind; // null for property keys without index
+        private final boolean          createCompositeIndex;
+        private final boolean          createCompositeIndexWithTypeAndSuperTypes;
+        private final boolean          isStringField;
+        private final String           normalizer;
+        private final boolean          setupEnhancedSearch;
+
+        PropertyIndex(String propertyName, Class propertyClass, AtlasCardinality cardinality, boolean isEdgeIndex, UniqueKind uniqueKind, boolean createCompositeIndex,
+                      boolean createCompositeIndexWithTypeAndSuperTypes, boolean isStringField, String normalizer, boolean setupEnhancedSearch) {
+            this.propertyName                              = propertyName;
+            this.propertyClass                             = propertyClass;
+            this.cardinality                               = cardinality;
+            this.isEdgeIndex                               = isEdgeIndex;
+            this.uniqueKind                                = uniqueKind;
+            this.createCompositeIndex                      = createCompositeIndex;
+            this.createCompositeIndexWithTypeAndSuperTypes = createCompositeIndexWithTypeAndSuperTypes;
+            this.isStringField                             = isStringField;
+            this.normalizer                                = normalizer;
+            this.setupEnhancedSearch                       = setupEnhancedSearch;
+        }
+    }
+
+    private static class ClassificationAttribute {
+        private final AtlasStructDef    structDef;
+        private final AtlasAttributeDef attributeDef;
+        private final AtlasType         attributeType;
+
+        ClassificationAttribute(AtlasStructDef structDef, AtlasAttributeDef attributeDef, AtlasType attributeType) {
+            this.structDef     = structDef;
+            this.attributeDef  = attributeDef;
+            this.attributeType = attributeType;
+        }
     }
 }
@@ -59,6 +59,7 @@ public class SolrIndexHelper implements IndexChangeListener {
     private static final int MIN_SEARCH_WEIGHT_FOR_SUGGESTIONS = 8;
 
     private final AtlasTypeRegistry typeRegistry;
+    private       Map<String, Integer> appliedSearchWeights = null;
 
 
     public SolrIndexHelper(AtlasTypeRegistry typeRegistry) {
@@ -84,8 +85,17 @@ public class SolrIndexHelper implements IndexChangeListener {
                 AtlasGraphIndexClient graphIndexClient               = graph.getGraphIndexClient();
                 Map<String, Integer>  indexFieldName2SearchWeightMap = geIndexFieldNamesWithSearchWeights();
 
+                // suggestion fields are derived from search weights; skip the update when neither changed
+                if (indexFieldName2SearchWeightMap.equals(appliedSearchWeights)) {
+                    LOG.info("SolrIndexHelper.onChange(): no change in search weights. No updates needed.");
+
+                    return;
+                }
+
                 graphIndexClient.applySearchWeight(Constants.VERTEX_INDEX, indexFieldName2SearchWeightMap);
                 graphIndexClient.applySuggestionFields(Constants.VERTEX_INDEX, getIndexFieldNamesForSuggestions(indexFieldName2SearchWeightMap));
+
+                appliedSearchWeights = indexFieldName2SearchWeightMap;
             } catch (AtlasException e) {
                 LOG.error("Error encountered in handling type system change notification.", e);
                 throw new RuntimeException("Error encountered in handling type system change notification.", e);
@@ -97,6 +107,7 @@ public class SolrIndexHelper implements IndexChangeListener {
     public void onInitStart() {
         LOG.info("SolrIndexHelper Initialization started.");
         initializationCompleted = false;
+        appliedSearchWeights    = null;
     }
 
     @Override
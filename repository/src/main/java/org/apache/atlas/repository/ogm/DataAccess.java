@@ -18,13 +18,22 @@
 package org.apache.atlas.repository.ogm;
 
 import org.apache.atlas.AtlasErrorCode;
+import org.apache.atlas.authorize.AtlasAuthorizationUtils;
+import org.apache.atlas.authorize.AtlasEntityAccessRequest;
+import org.apache.atlas.authorize.AtlasPrivilege;
 import org.apache.atlas.exception.AtlasBaseException;
 import org.apache.atlas.model.AtlasBaseModelObject;
 import org.apache.atlas.model.instance.AtlasEntity;
 import org.apache.atlas.model.instance.AtlasEntity.AtlasEntityWithExtInfo;
+import org.apache.atlas.model.instance.AtlasEntityHeader;
 import org.apache.atlas.model.instance.EntityMutationResponse;
+import org.apache.atlas.repository.graphdb.AtlasGraph;
+import org.apache.atlas.repository.graphdb.AtlasVertex;
 import org.apache.atlas.repository.store.graph.AtlasEntityStore;
 import org.apache.atlas.repository.store.graph.v2.AtlasEntityStream;
+import org.apache.atlas.repository.store.graph.v2.AtlasGraphUtilsV2;
+import org.apache.atlas.repository.store.graph.v2.EntityGraphRetriever;
+import org.apache.atlas.type.AtlasTypeRegistry;
 import org.apache.atlas.utils.AtlasPerfTracer;
 import org.apache.commons.collections.CollectionUtils;
 import org.apache.commons.lang3.StringUtils;
@@ -34,7 +43,9 @@ import org.springframework.stereotype.Component;
 
 import javax.inject.Inject;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 
 
@@ -43,13 +54,19 @@ public class DataAccess {
     private static final Logger LOG      = LoggerFactory.getLogger(DataAccess.class);
     private static final Logger PERF_LOG = AtlasPerfTracer.getPerfLogger("repository.DataAccess");
 
-    private final AtlasEntityStore entityStore;
-    private final DTORegistry      dtoRegistry;
+    private final AtlasEntityStore     entityStore;
+    private final DTORegistry          dtoRegistry;
+    private final AtlasGraph           graph;
+    private final AtlasTypeRegistry    typeRegistry;
+    private final EntityGraphRetriever entityRetriever;
 
     @Inject
-    public DataAccess(AtlasEntityStore entityStore, DTORegistry dtoRegistry) {
-        this.entityStore = entityStore;
-        this.dtoRegistry = dtoRegistry;
+    public DataAccess(AtlasEntityStore entityStore, DTORegistry dtoRegistry, AtlasGraph graph, AtlasTypeRegistry typeRegistry) {
+        this.entityStore     = entityStore;
+        this.dtoRegistry     = dtoRegistry;
+        this.graph           = graph;
+        this.typeRegistry    = typeRegistry;
+        this.entityRetriever = new EntityGraphRetriever(graph, typeRegistry);
     }
 
     public <T extends AtlasBaseModelObject> T save(T obj) throws AtlasBaseException {
@@ -185,6 +202,103 @@ public class DataAccess {
 
     }
 
+    /**
+     * Loads the object reading only the attributes and relationships in the given projection.
+     */
+    public <T extends AtlasBaseModelObject> T load(T obj, LoadProjection projection) throws AtlasBaseException {
+        if (projection == null || projection.isAll()) {
+            return load(obj);
+        }
+
+        Objects.requireNonNull(obj, "Can't load a null object");
+
+        AtlasPerfTracer perf = null;
+
+        try {
+            if (AtlasPerfTracer.isPerfTraceEnabled(PERF_LOG)) {
+                perf = AtlasPerfTracer.getPerfTracer(PERF_LOG, "DataAccess.loadProjection()");
+            }
+
+            DataTransferObject<T> dto = (DataTransferObject<T>) dtoRegistry.get(obj.getClass());
+
+            String      guid = obj.getGuid();
+            AtlasVertex vertex;
+
+            if (StringUtils.isNotEmpty(guid) && guid.charAt(0) != '-') {
+                vertex = entityRetriever.getEntityVertex(guid);
+            } else {
+                vertex = AtlasGraphUtilsV2.getVertexByUniqueAttributes(graph, dto.getEntityType(), dto.getUniqueAttributes(obj));
+            }
+
+            return dto.from(toProjectedEntity(dto, vertex, projection));
+
+        } finally {
+            AtlasPerfTracer.log(perf);
+        }
+    }
+
+    /**
+     * Loads objects of the given GUIDs; vertices of all GUIDs are fetched with a single graph query. Like the bulk
+     * load of objects, GUIDs that are not found, deleted or not accessible are skipped.
+     *
+     * @return loaded objects, in the order of the given GUIDs
+     */
+    public <T extends AtlasBaseModelObject> List<T> load(Collection<String> guids, Class<T> clazz, LoadProjection projection) throws AtlasBaseException {
+        return load(guids, clazz, projection, true);
+    }
+
+    /**
+     * Loads objects of the given GUIDs; vertices of all GUIDs are fetched with a single graph query.
+     *
+     * @param skipFailed true to skip GUIDs that are not found, deleted or not accessible, like the bulk load of
+     *                   objects; false to fail like the load of a single object
+     * @return loaded objects, in the order of the given GUIDs
+     */
+    public <T extends AtlasBaseModelObject> List<T> load(Collection<String> guids, Class<T> clazz, LoadProjection projection, boolean skipFailed) throws AtlasBaseException {
+        Objects.requireNonNull(guids, "guids");
+
+        AtlasPerfTracer perf = null;
+
+        try {
+            if (AtlasPerfTracer.isPerfTraceEnabled(PERF_LOG)) {
+                perf = AtlasPerfTracer.getPerfTracer(PERF_LOG, "DataAccess.multiLoadProjection(" + guids.size() + ")");
+            }
+
+            DataTransferObject<T>    dto      = (DataTransferObject<T>) dtoRegistry.get(clazz);
+            Map<String, AtlasVertex> vertices = entityRetriever.getEntityVertices(guids);
+            List<T>                  ret      = new ArrayList<>(vertices.size());
+
+            for (String guid : guids) {
+                AtlasVertex vertex = vertices.get(guid);
+
+                if (vertex == null) {
+                    if (!skipFailed) {
+                        throw new AtlasBaseException(AtlasErrorCode.INSTANCE_GUID_NOT_FOUND, guid);
+                    }
+
+                    LOG.warn("Bulk load: guid {} not found", guid);
+
+                    continue;
+                }
+
+                try {
+                    ret.add(dto.from(toProjectedEntity(dto, vertex, projection != null ? projection : LoadProjection.ALL)));
+                } catch (AtlasBaseException e) {
+                    if (!skipFailed) {
+                        throw e;
+                    }
+
+                    LOG.warn("Bulk load encountered an error.", e);
+                }
+            }
+
+            return ret;
+
+        } finally {
+            AtlasPerfTracer.log(perf);
+        }
+    }
+
     public <T extends AtlasBaseModelObject> T load(String guid, Class<? extends AtlasBaseModelObject> clazz) throws AtlasBaseException {
         DataTransferObject<T>  dto = (DataTransferObject<T>)dtoRegistry.get(clazz);
 
@@ -201,6 +315,24 @@ public class DataAccess {
         return dto.from(entityWithExtInfo);
     }
 
+    private AtlasEntityWithExtInfo toProjectedEntity(DataTransferObject<?> dto, AtlasVertex vertex, LoadProjection projection) throws AtlasBaseException {
+        AtlasEntity entity = entityRetriever.toAtlasEntity(vertex, projection.getAttributes(), projection.getRelationshipAttributes());
+
+        String actualTypeName   = entity.getTypeName();
+        String expectedTypeName = dto.getEntityType().getTypeName();
+        if (!actualTypeName.equals(expectedTypeName)) {
+            throw new AtlasBaseException(AtlasErrorCode.UNEXPECTED_TYPE, expectedTypeName, actualTypeName);
+        }
+
+        if (entity.getStatus() == AtlasEntity.Status.DELETED) {
+            throw new AtlasBaseException(AtlasErrorCode.INSTANCE_GUID_DELETED, entity.getGuid());
+        }
+
+        AtlasAuthorizationUtils.verifyAccess(new AtlasEntityAccessRequest(typeRegistry, AtlasPrivilege.ENTITY_READ, new AtlasEntityHeader(entity)), "read entity: guid=", entity.getGuid());
+
+        return new AtlasEntityWithExtInfo(entity);
+    }
+
     public void deleteUsingGuid(String guid) throws AtlasBaseException {
         entityStore.deleteById(guid);
     }
@@ -0,0 +1,65 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.atlas.repository.ogm;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+/**
+ * Attributes and relationship attributes to read when loading an object through DataAccess. A null set
+ * means all attributes (or relationship attributes) of the entity type are read.
+ */
+public final class LoadProjection {
+    public static final LoadProjection ALL = new LoadProjection(null, null);
+
+    private final Set<String> attributes;
+    private final Set<String> relationshipAttributes;
+
+    public LoadProjection(Collection<String> attributes, Collection<String> relationshipAttributes) {
+        this.attributes             = attributes != null ? Collections.unmodifiableSet(new LinkedHashSet<>(attributes)) : null;
+        this.relationshipAttributes = relationshipAttributes != null ? Collections.unmodifiableSet(new LinkedHashSet<>(relationshipAttributes)) : null;
+    }
+
+    public static LoadProjection attributes(String... attributes) {
+        return new LoadProjection(Arrays.asList(attributes), Collections.emptySet());
+    }
+
+    public LoadProjection withRelationships(String... relationshipAttributes) {
+        return new LoadProjection(attributes, Arrays.asList(relationshipAttributes));
+    }
+
+    public Set<String> getAttributes() {
+        return attributes;
+    }
+
+    public Set<String> getRelationshipAttributes() {
+        return relationshipAttributes;
+    }
+
+    public boolean isAll() {
+        return attributes == null && relationshipAttributes == null;
+    }
+
+    @Override
+    public String toString() {
+        return "LoadProjection{attributes=" + attributes + ", relationshipAttributes=" + relationshipAttributes + "}";
+    }
+}
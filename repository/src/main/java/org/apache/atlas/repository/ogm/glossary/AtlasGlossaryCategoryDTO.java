@@ -23,6 +23,7 @@ import org.apache.atlas.model.instance.AtlasEntity;
 import org.apache.atlas.model.instance.AtlasObjectId;
 import org.apache.atlas.model.instance.AtlasRelatedObjectId;
 import org.apache.atlas.model.instance.AtlasRelationship;
+import org.apache.atlas.repository.ogm.LoadProjection;
 import org.apache.atlas.type.AtlasTypeRegistry;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -38,6 +39,11 @@ import java.util.Collection;
 public class AtlasGlossaryCategoryDTO extends AbstractGlossaryDTO<AtlasGlossaryCategory> {
     private static final Logger LOG = LoggerFactory.getLogger(AtlasGlossaryCategoryDTO.class);
 
+    /**
+     * Attributes of the category, its anchor glossary and parent category, without children and terms
+     */
+    public static final LoadProjection ANCHOR_PROJECTION = LoadProjection.attributes("qualifiedName", "name", "shortDescription", "longDescription", "additionalAttributes").withRelationships("anchor", "parentCategory");
+
     @Inject
     protected AtlasGlossaryCategoryDTO(final AtlasTypeRegistry typeRegistry) {
         super(typeRegistry, AtlasGlossaryCategory.class);
@@ -21,6 +21,7 @@ import org.apache.atlas.exception.AtlasBaseException;
 import org.apache.atlas.model.glossary.AtlasGlossary;
 import org.apache.atlas.model.instance.AtlasEntity;
 import org.apache.atlas.model.instance.AtlasRelatedObjectId;
+import org.apache.atlas.repository.ogm.LoadProjection;
 import org.apache.atlas.type.AtlasTypeRegistry;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -36,6 +37,16 @@ import java.util.Objects;
 public class AtlasGlossaryDTO extends AbstractGlossaryDTO<AtlasGlossary> {
     private static final Logger LOG = LoggerFactory.getLogger(AtlasGlossaryDTO.class);
 
+    /**
+     * Attributes of the glossary, without its terms and categories
+     */
+    public static final LoadProjection HEADER_PROJECTION = LoadProjection.attributes("qualifiedName", "name", "shortDescription", "longDescription", "language", "usage", "additionalAttributes");
+
+    /**
+     * Name of the glossary, with its terms and categories
+     */
+    public static final LoadProjection RELATIONS_PROJECTION = LoadProjection.attributes("qualifiedName", "name").withRelationships("terms", "categories");
+
     @Inject
     public AtlasGlossaryDTO(AtlasTypeRegistry typeRegistry) {
         super(typeRegistry, AtlasGlossary.class);
@@ -23,6 +23,7 @@ import org.apache.atlas.model.instance.AtlasEntity;
 import org.apache.atlas.model.instance.AtlasObjectId;
 import org.apache.atlas.model.instance.AtlasRelatedObjectId;
 import org.apache.atlas.model.instance.AtlasRelationship;
+import org.apache.atlas.repository.ogm.LoadProjection;
 import org.apache.atlas.type.AtlasTypeRegistry;
 import org.apache.commons.collections.CollectionUtils;
 import org.slf4j.Logger;
@@ -40,6 +41,11 @@ import java.util.Objects;
 public class AtlasGlossaryTermDTO extends AbstractGlossaryDTO<AtlasGlossaryTerm> {
     private static final Logger LOG = LoggerFactory.getLogger(AtlasGlossaryTermDTO.class);
 
+    /**
+     * Attributes of the term and its anchor glossary, without other relationships
+     */
+    public static final LoadProjection ANCHOR_PROJECTION = LoadProjection.attributes("qualifiedName", "name", "shortDescription", "longDescription", "examples", "abbreviation", "usage", "additionalAttributes").withRelationships("anchor");
+
     @Inject
     protected AtlasGlossaryTermDTO(final AtlasTypeRegistry typeRegistry) {
         super(typeRegistry, AtlasGlossaryTerm.class);
@@ -20,6 +20,7 @@ package org.apache.atlas.repository.patches;
 
 import org.apache.atlas.model.patches.AtlasPatch;
 import org.apache.atlas.model.patches.AtlasPatch.PatchStatus;
+import org.apache.atlas.repository.graph.ClassificationAttributeIndexHelper;
 import org.apache.atlas.repository.graph.GraphBackedSearchIndexer;
 import org.apache.atlas.repository.graphdb.AtlasGraph;
 import org.apache.atlas.repository.store.graph.v2.EntityGraphMapper;
@@ -49,13 +50,17 @@ public class AtlasPatchManager {
     }
 
     public void applyAll() {
+        final ClassificationAttributeIndexPatch classificationAttributeIndexPatch = new ClassificationAttributeIndexPatch(context);
         final AtlasPatchHandler handlers[] = {
                 new UniqueAttributePatch(context),
                 new ClassificationTextPatch(context),
                 new FreeTextRequestHandlerPatch(context),
-                new SuggestionsRequestHandlerPatch(context)
+                new SuggestionsRequestHandlerPatch(context),
+                classificationAttributeIndexPatch
         };
 
+        classificationAttributeIndexPatch.resetIfDisabled();
+
         try {
             for (AtlasPatchHandler handler : handlers) {
                 PatchStatus patchStatus = handler.getStatusFromRegistry();
@@ -72,5 +77,7 @@ public class AtlasPatchManager {
         catch (Exception ex) {
             LOG.error("Error applying patches.", ex);
         }
+
+        ClassificationAttributeIndexHelper.setBackfillComplete(context.getPatchRegistry().getStatus(ClassificationAttributeIndexPatch.PATCH_ID) == APPLIED);
     }
 }
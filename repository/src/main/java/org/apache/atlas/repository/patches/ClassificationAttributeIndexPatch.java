@@ -0,0 +1,164 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.atlas.repository.patches;
+
+import org.apache.atlas.exception.AtlasBaseException;
+import org.apache.atlas.pc.WorkItemManager;
+import org.apache.atlas.repository.Constants;
+import org.apache.atlas.repository.graph.ClassificationAttributeIndexHelper;
+import org.apache.atlas.repository.graphdb.AtlasEdge;
+import org.apache.atlas.repository.graphdb.AtlasEdgeDirection;
+import org.apache.atlas.repository.graphdb.AtlasGraph;
+import org.apache.atlas.repository.graphdb.AtlasVertex;
+import org.apache.atlas.type.AtlasClassificationType;
+import org.apache.atlas.type.AtlasEntityType;
+import org.apache.atlas.type.AtlasStructType.AtlasAttribute;
+import org.apache.atlas.type.AtlasTypeRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.Set;
+
+import static org.apache.atlas.model.patches.AtlasPatch.PatchStatus.APPLIED;
+import static org.apache.atlas.model.patches.AtlasPatch.PatchStatus.UNKNOWN;
+import static org.apache.atlas.repository.Constants.CLASSIFICATION_LABEL;
+
+/**
+ * Copies attribute values of existing classifications to the entities they are associated with, directly or by
+ * propagation, for use in searches with classification attribute filters. The patch is applied only when
+ * atlas.search.classification.attributes.entity.index.enabled is set; until then it remains pending.
+ *
+ * Values are not copied while the setting is off, hence an applied patch is set back to pending when the server starts
+ * with the setting off, for the copies to be made again once it is turned on.
+ */
+public class ClassificationAttributeIndexPatch extends AtlasPatchHandler {
+    private static final Logger LOG = LoggerFactory.getLogger(ClassificationAttributeIndexPatch.class);
+
+    public  static final String PATCH_ID          = "JAVA_PATCH_0000_005";
+    private static final String PATCH_DESCRIPTION = "Populates attributes of classifications on entities, for use in search with classification attribute filters.";
+
+    private final PatchContext context;
+
+    public ClassificationAttributeIndexPatch(PatchContext context) {
+        super(context.getPatchRegistry(), PATCH_ID, PATCH_DESCRIPTION);
+
+        this.context = context;
+    }
+
+    @Override
+    public void apply() throws AtlasBaseException {
+        if (!ClassificationAttributeIndexHelper.isEnabled()) {
+            LOG.info("ClassificationAttributeIndexPatch.apply(): patchId={}, not enabled; will be applied once enabled", getPatchId());
+
+            return;
+        }
+
+        ConcurrentPatchProcessor patchProcessor = new ClassificationAttributeIndexPatchProcessor(context);
+
+        patchProcessor.apply();
+
+        setStatus(APPLIED);
+
+        ClassificationAttributeIndexHelper.setBackfillComplete(true);
+
+        LOG.info("ClassificationAttributeIndexPatch.apply(): patchId={}, status={}", getPatchId(), getStatus());
+    }
+
+    /**
+     * Sets the patch to be applied again, if it was applied and the entity index is now disabled.
+     */
+    public void resetIfDisabled() {
+        if (!ClassificationAttributeIndexHelper.isEnabled() && getStatus() == APPLIED) {
+            LOG.info("ClassificationAttributeIndexPatch.resetIfDisabled(): patchId={}, not enabled; will be applied again once enabled", getPatchId());
+
+            setStatus(UNKNOWN);
+
+            ClassificationAttributeIndexHelper.setBackfillComplete(false);
+        }
+    }
+
+    public static class ClassificationAttributeIndexPatchProcessor extends ConcurrentPatchProcessor {
+
+        public ClassificationAttributeIndexPatchProcessor(PatchContext context) {
+            super(context);
+        }
+
+        @Override
+        protected void prepareForExecution() throws AtlasBaseException {
+            getIndexer().createClassificationAttributeIndexes();
+        }
+
+        @Override
+        public void submitVerticesToUpdate(WorkItemManager manager) {
+            AtlasTypeRegistry typeRegistry = getTypeRegistry();
+            AtlasGraph        graph        = getGraph();
+            Set<Long>         vertexIds    = new HashSet<>();
+
+            for (AtlasClassificationType classificationType : typeRegistry.getAllClassificationTypes()) {
+                if (!hasIndexableAttribute(classificationType)) {
+                    continue;
+                }
+
+                LOG.info("finding classification of type {}", classificationType.getTypeName());
+
+                Iterable<AtlasVertex> iterable = graph.query().has(Constants.ENTITY_TYPE_PROPERTY_KEY, classificationType.getTypeName()).vertices();
+                int                   count    = 0;
+
+                for (Iterator<AtlasVertex> iter = iterable.iterator(); iter.hasNext(); ) {
+                    AtlasVertex         classificationVertex = iter.next();
+                    Iterable<AtlasEdge> edges                = classificationVertex.getEdges(AtlasEdgeDirection.IN, CLASSIFICATION_LABEL);
+
+                    for (AtlasEdge edge : edges) {
+                        Long vertexId = (Long) edge.getOutVertex().getId();
+
+                        if (vertexIds.add(vertexId)) {
+                            manager.checkProduce(vertexId);
+                        }
+                    }
+
+                    count++;
+                }
+
+                LOG.info("found {} classification of type {}", count, classificationType.getTypeName());
+            }
+
+            LOG.info("found {} entities with classification attributes", vertexIds.size());
+        }
+
+        @Override
+        protected void processVertexItem(Long vertexId, AtlasVertex vertex, String typeName, AtlasEntityType entityType) throws AtlasBaseException {
+            if (LOG.isDebugEnabled()) {
+                LOG.debug("processItem(typeName={}, vertexId={})", typeName, vertexId);
+            }
+
+            ClassificationAttributeIndexHelper.updateEntityVertex(vertex, getTypeRegistry());
+        }
+
+        private static boolean hasIndexableAttribute(AtlasClassificationType classificationType) {
+            for (AtlasAttribute attribute : classificationType.getAllAttributes().values()) {
+                if (ClassificationAttributeIndexHelper.isIndexableAttribute(attribute)) {
+                    return true;
+                }
+            }
+
+            return false;
+        }
+    }
+}
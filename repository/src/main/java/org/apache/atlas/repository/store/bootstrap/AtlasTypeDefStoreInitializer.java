@@ -21,6 +21,8 @@ package org.apache.atlas.repository.store.bootstrap;
 import com.fasterxml.jackson.annotation.JsonAutoDetect;
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import org.apache.atlas.AtlasConfiguration;
 import org.apache.atlas.AtlasErrorCode;
 import org.apache.atlas.AtlasException;
 import org.apache.atlas.RequestContext;
@@ -44,12 +46,14 @@ import org.apache.atlas.model.typedef.AtlasTypesDef;
 import org.apache.atlas.repository.graph.GraphBackedSearchIndexer;
 import org.apache.atlas.repository.graphdb.AtlasGraph;
 import org.apache.atlas.repository.patches.AtlasPatchRegistry;
+import org.apache.atlas.repository.store.graph.v2.AtlasTypeDefSnapshotStore;
 import org.apache.atlas.store.AtlasTypeDefStore;
 import org.apache.atlas.type.AtlasEntityType;
 import org.apache.atlas.type.AtlasStructType.AtlasAttribute;
 import org.apache.atlas.type.AtlasType;
 import org.apache.atlas.type.AtlasTypeRegistry;
 import org.apache.atlas.type.AtlasTypeUtil;
+import org.apache.atlas.utils.SHA256Utils;
 import org.apache.commons.collections.CollectionUtils;
 import org.apache.commons.collections.MapUtils;
 import org.apache.commons.configuration.Configuration;
@@ -66,9 +70,15 @@ import javax.xml.bind.annotation.XmlAccessType;
 import javax.xml.bind.annotation.XmlAccessorType;
 import javax.xml.bind.annotation.XmlRootElement;
 import java.io.File;
+import java.io.IOException;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
+import java.security.MessageDigest;
 import java.util.*;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
 
 import static com.fasterxml.jackson.annotation.JsonAutoDetect.Visibility.NONE;
 import static com.fasterxml.jackson.annotation.JsonAutoDetect.Visibility.PUBLIC_ONLY;
@@ -94,6 +104,12 @@ public class AtlasTypeDefStoreInitializer implements ActiveStateChangeHandler {
     private final AtlasTypeRegistry typeRegistry;
     private final Configuration conf;
     private final AtlasGraph graph;
+    private final boolean isPassiveReadEnabled;
+    private String modelsChecksum;
+    private boolean hasModelLoadErrors;
+    private ScheduledExecutorService refreshExecutor;
+    private ScheduledFuture<?> scheduledRefresh;
+    private volatile long lastTypeDefRefreshTime;
 
     @Inject
     public AtlasTypeDefStoreInitializer(AtlasTypeDefStore typeDefStore, AtlasTypeRegistry typeRegistry,
@@ -102,6 +118,7 @@ public class AtlasTypeDefStoreInitializer implements ActiveStateChangeHandler {
         this.typeRegistry = typeRegistry;
         this.conf = conf;
         this.graph = graph;
+        this.isPassiveReadEnabled = HAConfiguration.isHAEnabled(conf) && AtlasConfiguration.HA_PASSIVE_READ_ENABLED.getBoolean();
     }
 
     @PostConstruct
@@ -110,6 +127,18 @@ public class AtlasTypeDefStoreInitializer implements ActiveStateChangeHandler {
 
         if (!HAConfiguration.isHAEnabled(conf)) {
             startInternal();
+        } else if (isPassiveReadEnabled) {
+            LOG.info("AtlasTypeDefStoreInitializer.init(): loading types to serve reads until instance activation");
+
+            refreshTypeDefs();
+
+            try {
+                AtlasAuthorizerFactory.getAtlasAuthorizer();
+            } catch (Throwable t) {
+                LOG.error("AtlasTypeDefStoreInitializer.init(): Unable to obtain AtlasAuthorizer", t);
+            }
+
+            startTypeDefRefresh();
         } else {
             LOG.info("AtlasTypeDefStoreInitializer.init(): deferring type loading until instance activation");
         }
@@ -136,6 +165,24 @@ public class AtlasTypeDefStoreInitializer implements ActiveStateChangeHandler {
             // look for folders we need to load models from
             File topModeltypesDir = new File(modelsDirName);
             File[] modelsDirContents = topModeltypesDir.exists() ? topModeltypesDir.listFiles() : null;
+
+            modelsChecksum     = getModelsChecksum(topModeltypesDir);
+            hasModelLoadErrors = false;
+
+            if (modelsChecksum != null && AtlasTypeDefSnapshotStore.isEnabled()) {
+                String loadedModelsChecksum = new AtlasTypeDefSnapshotStore(graph).getModelsChecksum();
+
+                graph.commit();
+
+                if (StringUtils.equals(modelsChecksum, loadedModelsChecksum)) {
+                    LOG.info("Models in {} are unchanged since last load; skipped loading models", modelsDirName);
+
+                    LOG.info("<== AtlasTypeDefStoreInitializer.loadBootstrapTypeDefs()");
+
+                    return;
+                }
+            }
+
             AtlasPatchRegistry patchRegistry = new AtlasPatchRegistry(graph);
 
             if (modelsDirContents != null && modelsDirContents.length > 0) {
@@ -203,6 +250,8 @@ public class AtlasTypeDefStoreInitializer implements ActiveStateChangeHandler {
                         }
 
                     } catch (Throwable t) {
+                        hasModelLoadErrors = true;
+
                         LOG.error("error while registering types in file {}", typeDefFile.getAbsolutePath(), t);
                     }
                 }
@@ -366,9 +415,11 @@ public class AtlasTypeDefStoreInitializer implements ActiveStateChangeHandler {
     }
 
     @Override
-    public void instanceIsActive() {
+    public synchronized void instanceIsActive() {
         LOG.info("==> AtlasTypeDefStoreInitializer.instanceIsActive()");
 
+        stopTypeDefRefresh();
+
         startInternal();
 
         LOG.info("<== AtlasTypeDefStoreInitializer.instanceIsActive()");
@@ -379,6 +430,7 @@ public class AtlasTypeDefStoreInitializer implements ActiveStateChangeHandler {
             typeDefStore.init();
             loadBootstrapTypeDefs();
             typeDefStore.notifyLoadCompletion();
+            saveModelsChecksum();
             try {
                 AtlasAuthorizerFactory.getAtlasAuthorizer();
             } catch (Throwable t) {
@@ -391,13 +443,164 @@ public class AtlasTypeDefStoreInitializer implements ActiveStateChangeHandler {
         }
     }
 
+    /**
+     * Records checksum of the models loaded in the typedef snapshot, so that loading the models can be skipped at
+     * next startup if they are unchanged. Not recorded when there were errors, so that failed models are retried.
+     */
+    private void saveModelsChecksum() {
+        if (modelsChecksum == null || hasModelLoadErrors || !AtlasTypeDefSnapshotStore.isEnabled()) {
+            return;
+        }
+
+        try {
+            new AtlasTypeDefSnapshotStore(graph).setModelsChecksum(modelsChecksum);
+
+            graph.commit();
+        } catch (Throwable t) {
+            graph.rollback();
+
+            LOG.warn("Failed to save checksum of models", t);
+        }
+    }
+
+    private static String getModelsChecksum(File modelsDir) {
+        if (!modelsDir.isDirectory()) {
+            return null;
+        }
+
+        try {
+            MessageDigest digester = SHA256Utils.getDigester();
+
+            updateChecksum(digester, modelsDir, "");
+
+            return SHA256Utils.toString(digester.digest());
+        } catch (Exception excp) {
+            LOG.warn("Failed to compute checksum of models in {}", modelsDir, excp);
+
+            return null;
+        }
+    }
+
+    private static void updateChecksum(MessageDigest digester, File dir, String relativePath) throws IOException {
+        File[] files = dir.listFiles();
+
+        if (files == null) {
+            return;
+        }
+
+        Arrays.sort(files);
+
+        for (File file : files) {
+            String filePath = relativePath + "/" + file.getName();
+
+            if (file.isDirectory()) {
+                updateChecksum(digester, file, filePath);
+            } else if (file.isFile()) {
+                digester.update(filePath.getBytes(StandardCharsets.UTF_8));
+                digester.update(Files.readAllBytes(file.toPath()));
+            }
+        }
+    }
+
     @Override
     public void instanceIsPassive() throws AtlasException {
         LOG.info("==> AtlasTypeDefStoreInitializer.instanceIsPassive()");
 
+        if (isPassiveReadEnabled) {
+            startTypeDefRefresh();
+        }
+
         LOG.info("<== AtlasTypeDefStoreInitializer.instanceIsPassive()");
     }
 
+    /**
+     * @return true if this instance is passive and has types loaded to serve read requests
+     */
+    public boolean isServingPassiveReads() {
+        return isPassiveReadEnabled && lastTypeDefRefreshTime > 0 && scheduledRefresh != null;
+    }
+
+    /**
+     * @return milliseconds since types were last refreshed from the graph on a passive instance
+     */
+    public long getTypeDefStalenessMs() {
+        return lastTypeDefRefreshTime > 0 ? System.currentTimeMillis() - lastTypeDefRefreshTime : -1;
+    }
+
+    /**
+     * Upper bound of the staleness of data served by a passive instance: time since types were last refreshed, plus,
+     * when the vertex property cache is enabled, the time the cache can serve properties updated by the active instance.
+     * An update is observed after the active instance publishes a new cache version and this instance checks for it,
+     * each done once per atlas.graph.vertex.cache.version.check.interval.ms; entries also expire after the cache TTL.
+     *
+     * @return staleness bound in milliseconds; -1 if types were not loaded yet
+     */
+    public long getPassiveReadStalenessMs() {
+        long ret = getTypeDefStalenessMs();
+
+        if (ret >= 0 && AtlasConfiguration.GRAPH_VERTEX_CACHE_ENABLED.getBoolean()) {
+            long cacheStalenessMs = 2 * AtlasConfiguration.GRAPH_VERTEX_CACHE_VERSION_CHECK_INTERVAL_MS.getLong();
+            long ttlSeconds       = AtlasConfiguration.GRAPH_VERTEX_CACHE_TTL_SECONDS.getLong();
+
+            if (ttlSeconds > 0) {
+                cacheStalenessMs = Math.min(cacheStalenessMs, TimeUnit.SECONDS.toMillis(ttlSeconds));
+            }
+
+            ret += cacheStalenessMs;
+        }
+
+        return ret;
+    }
+
+    private synchronized void startTypeDefRefresh() {
+        if (scheduledRefresh != null) {
+            return;
+        }
+
+        long intervalMs = AtlasConfiguration.HA_PASSIVE_TYPEDEF_REFRESH_INTERVAL_MS.getLong();
+
+        if (refreshExecutor == null) {
+            refreshExecutor = Executors.newSingleThreadScheduledExecutor(new ThreadFactoryBuilder().setNameFormat("atlas-typedef-refresh-%d").setDaemon(true).build());
+        }
+
+        scheduledRefresh = refreshExecutor.scheduleWithFixedDelay(this::runScheduledRefresh, intervalMs, intervalMs, TimeUnit.MILLISECONDS);
+
+        LOG.info("AtlasTypeDefStoreInitializer: refreshing types every {} ms to serve reads on passive instance", intervalMs);
+    }
+
+    private synchronized void stopTypeDefRefresh() {
+        if (scheduledRefresh != null) {
+            scheduledRefresh.cancel(false);
+
+            scheduledRefresh = null;
+        }
+
+        lastTypeDefRefreshTime = 0;
+    }
+
+    // synchronized with instanceIsActive(), so that a refresh in progress completes before types are loaded for activation
+    private synchronized void runScheduledRefresh() {
+        if (scheduledRefresh != null) { // skip a run queued before the instance became active
+            refreshTypeDefs();
+        }
+    }
+
+    private synchronized void refreshTypeDefs() {
+        long startTime = System.currentTimeMillis();
+
+        try {
+            if (typeDefStore.refresh()) {
+                LOG.info("AtlasTypeDefStoreInitializer: refreshed types on passive instance in {} ms", System.currentTimeMillis() - startTime);
+            }
+
+            lastTypeDefRefreshTime = startTime;
+        } catch (Throwable t) {
+            LOG.error("AtlasTypeDefStoreInitializer: failed to refresh types on passive instance", t);
+        } finally {
+            RequestContext.clear();
+        }
+    }
+
     @Override
     public int getHandlerOrder() {
         return HandlerOrder.TYPEDEF_STORE_INITIALIZER.getOrder();
@@ -494,7 +697,8 @@ public class AtlasTypeDefStoreInitializer implements ActiveStateChangeHandler {
                                 try {
                                     status = patchHandler.applyPatch(patch);
                                 } catch (AtlasBaseException ex) {
-                                    status = FAILED;
+                                    status             = FAILED;
+                                    hasModelLoadErrors = true;
 
                                     LOG.error("Failed to apply {} (status: {}; action: {}) in file: {}. Ignored.",
                                             patch.getId(), status.toString(), patch.getAction(), patchFile);
@@ -507,6 +711,8 @@ public class AtlasTypeDefStoreInitializer implements ActiveStateChangeHandler {
                             }
                         }
                     } catch (Throwable t) {
+                        hasModelLoadErrors = true;
+
                         LOG.error("Failed to apply patches in file {}. Ignored", patchFile, t);
                     }
                 }
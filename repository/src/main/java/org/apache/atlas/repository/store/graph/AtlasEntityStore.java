@@ -19,6 +19,7 @@ package org.apache.atlas.repository.store.graph;
 
 import org.apache.atlas.exception.AtlasBaseException;
 import org.apache.atlas.model.instance.AtlasCheckStateRequest;
+import org.apache.atlas.model.instance.AtlasEntity;
 import org.apache.atlas.model.instance.AtlasCheckStateResult;
 import org.apache.atlas.model.instance.AtlasClassification;
 import org.apache.atlas.model.instance.AtlasEntity.AtlasEntitiesWithExtInfo;
@@ -29,6 +30,7 @@ import org.apache.atlas.model.instance.AtlasObjectId;
 import org.apache.atlas.model.instance.EntityMutationResponse;
 import org.apache.atlas.repository.store.graph.v2.EntityStream;
 import org.apache.atlas.type.AtlasEntityType;
+import org.apache.atlas.utils.AtlasBatchConsumer;
 import org.apache.atlas.bulkimport.BulkImportResponse;
 
 import java.io.InputStream;
@@ -104,6 +106,18 @@ public interface AtlasEntityStore {
      */
     AtlasEntitiesWithExtInfo getByIds(List<String> guid, boolean isMinExtInfo, boolean ignoreRelationships, boolean ignoreNotFoundException) throws AtlasBaseException;
 
+    /**
+     * Batch GET to retrieve entities by their ID, handing entities to the consumer in batches as they are read
+     * @param guid
+     * @param isMinExtInfo
+     * @param ignoreNotFoundException
+     * @param batchSize maximum number of entities in a batch
+     * @param consumer consumer of batches of entities
+     * @return referred entities of the entities retrieved
+     * @throws AtlasBaseException
+     */
+    AtlasEntitiesWithExtInfo getByIds(List<String> guid, boolean isMinExtInfo, boolean ignoreRelationships, boolean ignoreNotFoundException, int batchSize, AtlasBatchConsumer<AtlasEntity> consumer) throws AtlasBaseException;
+
     /**
      * Batch GET to retrieve entities by their uniqueIds
      * @param entityType
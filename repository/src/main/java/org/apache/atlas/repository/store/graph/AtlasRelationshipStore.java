@@ -20,8 +20,12 @@ package org.apache.atlas.repository.store.graph;
 import org.apache.atlas.exception.AtlasBaseException;
 import org.apache.atlas.model.instance.AtlasRelationship;
 import org.apache.atlas.model.instance.AtlasRelationship.AtlasRelationshipWithExtInfo;
+import org.apache.atlas.model.instance.AtlasRelationshipBulkResponse;
 import org.apache.atlas.repository.graphdb.AtlasEdge;
 import org.apache.atlas.repository.graphdb.AtlasVertex;
+import org.apache.atlas.repository.store.graph.v2.RelationshipEdgeRequest;
+
+import java.util.List;
 
 
 /**
@@ -35,6 +39,22 @@ public interface AtlasRelationshipStore {
      */
     AtlasRelationship create(AtlasRelationship relationship) throws AtlasBaseException;
 
+    /**
+     * Create new relationship instances. Existing relationships between the ends are looked up together, and
+     * each relationship type is validated once.
+     * @param relationships relationship instance definitions
+     * @return created relationships, in the order of the given definitions
+     */
+    List<AtlasRelationship> create(List<AtlasRelationship> relationships) throws AtlasBaseException;
+
+    /**
+     * Create new relationship instances in one transaction, like create(List), reporting the outcome of each.
+     * @param relationships relationship instance definitions
+     * @param ignoreExisting if true, relationships that already exist are reported as EXISTING instead of failing the request
+     * @return result of each relationship, in the order of the given definitions
+     */
+    AtlasRelationshipBulkResponse createRelationships(List<AtlasRelationship> relationships, boolean ignoreExisting) throws AtlasBaseException;
+
     /**
      * Update an existing relationship instance.
      * @param relationship relationship instance definition
@@ -59,6 +79,14 @@ public interface AtlasRelationshipStore {
 
     AtlasEdge getOrCreate(AtlasVertex end1Vertex, AtlasVertex end2Vertex, AtlasRelationship relationship) throws AtlasBaseException;
 
+    /**
+     * Retrieve relationship edges that exist, and create the rest. Existing edges are looked up with one scan of
+     * the adjacent edges of each vertex shared by several relationships.
+     * @param requests ends and definition of each relationship
+     * @return relationship edges, in the order of the given requests
+     */
+    List<AtlasEdge> getOrCreate(List<RelationshipEdgeRequest> requests) throws AtlasBaseException;
+
     AtlasEdge getRelationship(AtlasVertex end1Vertex, AtlasVertex end2Vertex, AtlasRelationship relationship) throws AtlasBaseException;
 
     AtlasEdge createRelationship(AtlasVertex end1Vertex, AtlasVertex end2Vertex, AtlasRelationship relationship) throws AtlasBaseException;
@@ -28,6 +28,8 @@ import org.apache.atlas.model.typedef.*;
 import org.apache.atlas.model.typedef.AtlasStructDef.AtlasAttributeDef;
 import org.apache.atlas.model.typedef.AtlasStructDef.AtlasConstraintDef;
 import org.apache.atlas.repository.graphdb.AtlasVertex;
+import org.apache.atlas.repository.store.graph.v2.AtlasTypeDefSnapshotStore;
+import org.apache.atlas.repository.store.graph.v2.AtlasTypeDefSnapshotStore.TypeDefSnapshot;
 import org.apache.atlas.repository.util.FilterUtil;
 import org.apache.atlas.store.AtlasTypeDefStore;
 import org.apache.atlas.type.*;
@@ -43,6 +45,7 @@ import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 
 import static org.apache.atlas.model.discovery.SearchParameters.ALL_ENTITY_TYPES;
@@ -61,12 +64,30 @@ public abstract class AtlasTypeDefGraphStore implements AtlasTypeDefStore {
     private final AtlasTypeRegistry          typeRegistry;
     private final Set<TypeDefChangeListener> typeDefChangeListeners;
     private final int                        typeUpdateLockMaxWaitTimeSeconds;
+    private final AtlasTypeDefSnapshotStore  snapshotStore;
+    private final boolean                    isSnapshotEnabled;
+    private volatile Long                    loadedVersionStamp          = null;
+    private volatile boolean                 isLoading                   = false;
+    private volatile boolean                 isSnapshotStale             = false;
+    private volatile int                     snapshotIndexFieldNameCount = 0;
 
     protected AtlasTypeDefGraphStore(AtlasTypeRegistry typeRegistry,
                                      Set<TypeDefChangeListener> typeDefChangeListeners) {
+        this(typeRegistry, typeDefChangeListeners, null);
+    }
+
+    /**
+     * @param snapshotStore store for the typedef version stamp and, if enabled, the snapshot to load typedefs from at
+     *                      startup instead of reading all typedef vertices; null to always read typedef vertices
+     */
+    protected AtlasTypeDefGraphStore(AtlasTypeRegistry typeRegistry,
+                                     Set<TypeDefChangeListener> typeDefChangeListeners,
+                                     AtlasTypeDefSnapshotStore snapshotStore) {
         this.typeRegistry                     = typeRegistry;
         this.typeDefChangeListeners           = typeDefChangeListeners;
         this.typeUpdateLockMaxWaitTimeSeconds = AtlasRepositoryConfiguration.getTypeUpdateLockMaxWaitTimeInSeconds();
+        this.snapshotStore                    = snapshotStore;
+        this.isSnapshotEnabled                = snapshotStore != null && AtlasTypeDefSnapshotStore.isEnabled();
     }
 
     protected abstract AtlasDefStore<AtlasEnumDef> getEnumDefStore(AtlasTypeRegistry typeRegistry);
@@ -87,31 +108,78 @@ public abstract class AtlasTypeDefGraphStore implements AtlasTypeDefStore {
     public void init() throws AtlasBaseException {
         LOG.info("==> AtlasTypeDefGraphStore.init()");
 
+        isLoading = true;
+
+        if (!loadTypes()) {
+            isSnapshotStale = true;
+        }
+
+        LOG.info("<== AtlasTypeDefGraphStore.init()");
+    }
+
+    @Override
+    public boolean refresh() throws AtlasBaseException {
+        Long versionStamp = snapshotStore != null ? snapshotStore.getVersionStamp() : null;
+
+        if (loadedVersionStamp != null && loadedVersionStamp.equals(versionStamp)) {
+            return false;
+        }
+
+        LOG.info("==> AtlasTypeDefGraphStore.refresh(): versionStamp={}, loadedVersionStamp={}", versionStamp, loadedVersionStamp);
+
+        loadTypes();
+
+        for (TypeDefChangeListener changeListener : typeDefChangeListeners) {
+            try {
+                changeListener.onLoadCompletion();
+            } catch (Throwable t) {
+                LOG.error("OnLoadCompletion failed for listener {}", changeListener.getClass().getName(), t);
+            }
+        }
+
+        LOG.info("<== AtlasTypeDefGraphStore.refresh()");
+
+        return true;
+    }
+
+    /**
+     * @return true if types were loaded from the snapshot, false if loaded from typedef vertices
+     */
+    private boolean loadTypes() throws AtlasBaseException {
         AtlasTransientTypeRegistry ttr           = null;
         boolean                    commitUpdates = false;
+        boolean                    ret;
 
         try {
             ttr = typeRegistry.lockTypeRegistryForUpdate(typeUpdateLockMaxWaitTimeSeconds);
 
             ttr.clear();
 
-            AtlasTypesDef typesDef = new AtlasTypesDef(getEnumDefStore(ttr).getAll(),
-                    getStructDefStore(ttr).getAll(),
-                    getClassificationDefStore(ttr).getAll(),
-                    getEntityDefStore(ttr).getAll(),
-                    getRelationshipDefStore(ttr).getAll(),
-                    getBusinessMetadataDefStore(ttr).getAll());
+            // read before types, so that an update made while loading causes a reload at next refresh
+            Long versionStamp = snapshotStore != null ? snapshotStore.getVersionStamp() : null;
 
-            rectifyTypeErrorsIfAny(typesDef);
+            ret = loadTypesFromSnapshot(ttr);
 
-            ttr.addTypes(typesDef);
+            if (!ret) {
+                AtlasTypesDef typesDef = new AtlasTypesDef(getEnumDefStore(ttr).getAll(),
+                        getStructDefStore(ttr).getAll(),
+                        getClassificationDefStore(ttr).getAll(),
+                        getEntityDefStore(ttr).getAll(),
+                        getRelationshipDefStore(ttr).getAll(),
+                        getBusinessMetadataDefStore(ttr).getAll());
+
+                rectifyTypeErrorsIfAny(typesDef);
 
-            commitUpdates = true;
+                ttr.addTypes(typesDef);
+            }
+
+            loadedVersionStamp = versionStamp;
+            commitUpdates      = true;
         } finally {
             typeRegistry.releaseTypeRegistryForUpdate(ttr, commitUpdates);
-
-            LOG.info("<== AtlasTypeDefGraphStore.init()");
         }
+
+        return ret;
     }
 
     @Override
@@ -779,9 +847,61 @@ public abstract class AtlasTypeDefGraphStore implements AtlasTypeDefStore {
 
         new TypeRegistryUpdateHook(ttr);
 
+        if (snapshotStore != null) {
+            // in the transaction that updates typedefs; the snapshot is saved again after the transaction commits.
+            // Also updates the version stamp polled by passive instances
+            snapshotStore.invalidate();
+        }
+
         return ttr;
     }
 
+    private boolean loadTypesFromSnapshot(AtlasTransientTypeRegistry ttr) {
+        TypeDefSnapshot snapshot = isSnapshotEnabled ? snapshotStore.load() : null;
+
+        if (snapshot == null) {
+            return false;
+        }
+
+        try {
+            AtlasTypesDef typesDef = snapshot.getTypesDef();
+
+            rectifyTypeErrorsIfAny(typesDef);
+
+            ttr.addTypes(typesDef);
+
+            for (Map.Entry<String, String> entry : snapshot.getIndexFieldNames().entrySet()) {
+                ttr.addIndexFieldName(entry.getKey(), entry.getValue());
+            }
+
+            snapshotIndexFieldNameCount = snapshot.getIndexFieldNames().size();
+
+            LOG.info("loaded types from typedef snapshot: enums={}, structs={}, classifications={}, entities={}, relationships={}, businessMetadataDefs={}",
+                     typesDef.getEnumDefs().size(), typesDef.getStructDefs().size(), typesDef.getClassificationDefs().size(),
+                     typesDef.getEntityDefs().size(), typesDef.getRelationshipDefs().size(), typesDef.getBusinessMetadataDefs().size());
+
+            return true;
+        } catch (AtlasBaseException | RuntimeException excp) {
+            LOG.warn("failed to load types from typedef snapshot; types will be loaded from typedef vertices", excp);
+
+            ttr.clear();
+
+            return false;
+        }
+    }
+
+    private void saveSnapshot(AtlasTypeRegistry registry) {
+        try {
+            snapshotStore.save(registry);
+
+            isSnapshotStale = false;
+        } catch (Throwable t) {
+            LOG.warn("failed to save typedef snapshot; types will be loaded from typedef vertices at next startup", t);
+
+            isSnapshotStale = true;
+        }
+    }
+
     private void rectifyTypeErrorsIfAny(AtlasTypesDef typesDef) {
         final Set<String> entityNames = new HashSet<>();
 
@@ -1066,6 +1186,16 @@ public abstract class AtlasTypeDefGraphStore implements AtlasTypeDefStore {
                 LOG.debug("==> TypeRegistryUpdateHook.onComplete({})", isSuccess);
             }
 
+            if (isSuccess && isSnapshotEnabled) {
+                // saved before releasing the registry, so that snapshots are saved in the order of updates.
+                // During initial load, the snapshot is saved once, after the load completes
+                if (isLoading) {
+                    isSnapshotStale = true;
+                } else {
+                    saveSnapshot(ttr);
+                }
+            }
+
             typeRegistry.releaseTypeRegistryForUpdate(ttr, isSuccess);
 
             if (isSuccess) {
@@ -1104,6 +1234,29 @@ public abstract class AtlasTypeDefGraphStore implements AtlasTypeDefStore {
                 LOG.error("OnLoadCompletion failed for listener {}", changeListener.getClass().getName(), t);
             }
         }
+
+        isLoading = false;
+
+        // save index field names resolved for attributes missing in the snapshot
+        if (typeRegistry.getIndexFieldNames().size() > snapshotIndexFieldNameCount) {
+            isSnapshotStale = true;
+        }
+
+        if (isSnapshotEnabled && isSnapshotStale) {
+            AtlasTransientTypeRegistry ttr = null;
+
+            try {
+                ttr = typeRegistry.lockTypeRegistryForUpdate(typeUpdateLockMaxWaitTimeSeconds);
+
+                saveSnapshot(typeRegistry);
+
+                LOG.info("saved typedef snapshot");
+            } catch (AtlasBaseException excp) {
+                LOG.warn("failed to save typedef snapshot", excp);
+            } finally {
+                typeRegistry.releaseTypeRegistryForUpdate(ttr, false);
+            }
+        }
     }
 
     private void tryUpdateByName(String name, AtlasBaseTypeDef typeDef, AtlasTransientTypeRegistry ttr) throws AtlasBaseException {
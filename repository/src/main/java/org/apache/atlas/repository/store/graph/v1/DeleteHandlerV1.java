@@ -29,6 +29,7 @@ import org.apache.atlas.model.instance.AtlasObjectId;
 import org.apache.atlas.model.typedef.AtlasRelationshipDef.PropagateTags;
 import org.apache.atlas.model.typedef.AtlasStructDef.AtlasAttributeDef;
 import org.apache.atlas.repository.graph.AtlasEdgeLabel;
+import org.apache.atlas.repository.graph.ClassificationAttributeIndexHelper;
 import org.apache.atlas.repository.graph.GraphHelper;
 import org.apache.atlas.repository.graphdb.AtlasEdge;
 import org.apache.atlas.repository.graphdb.AtlasEdgeDirection;
@@ -70,6 +71,8 @@ public abstract class DeleteHandlerV1 {
     private final boolean              shouldUpdateInverseReferences;
     private final boolean              softDelete;
 
+    private final ThreadLocal<Map<String, ArrayElementEdges>> arrayElementEdgesCache = new ThreadLocal<>();
+
     public DeleteHandlerV1(AtlasGraph graph, AtlasTypeRegistry typeRegistry, boolean shouldUpdateInverseReference, boolean softDelete) {
         this.typeRegistry                  = typeRegistry;
         this.graphHelper                   = new GraphHelper(graph);
@@ -201,89 +204,114 @@ public abstract class DeleteHandlerV1 {
 
             vertexInfoMap.put(guid, new GraphHelper.VertexInfo(entity, vertex));
 
-            for (AtlasStructType.AtlasAttribute attributeInfo : entityType.getOwnedRefAttributes()) {
-                String       edgeLabel    = attributeInfo.getRelationshipEdgeLabel();
-                AtlasType    attrType     = attributeInfo.getAttributeType();
-                TypeCategory typeCategory = attrType.getTypeCategory();
+            addOwnedChildVertices(vertex, entityType, isPurgeRequested, vertices);
+        }
 
-                if (typeCategory == OBJECT_ID_TYPE) {
-                    if (attributeInfo.getAttributeDef().isSoftReferenced()) {
-                        String        softRefVal = vertex.getProperty(attributeInfo.getVertexPropertyName(), String.class);
-                        AtlasObjectId refObjId   = AtlasEntityUtil.parseSoftRefValue(softRefVal);
-                        AtlasVertex   refVertex  = refObjId != null ? AtlasGraphUtilsV2.findByGuid(this.graphHelper.getGraph(), refObjId.getGuid()) : null;
+        return vertexInfoMap.values();
+    }
 
-                        if (refVertex != null) {
-                            vertices.push(refVertex);
-                        }
-                    } else {
-                        AtlasEdge edge = graphHelper.getEdgeForLabel(vertex, edgeLabel);
+    /**
+     * Get the vertices of entities directly owned by the given entity vertex - i.e. referred by its owned-ref attributes.
+     *
+     * @param entityVertex the entity vertex
+     * @return vertices of owned entities; deleted entities are not included (active ones, in case of purge)
+     * @throws AtlasBaseException
+     */
+    public List<AtlasVertex> getOwnedChildVertices(AtlasVertex entityVertex) throws AtlasBaseException {
+        final List<AtlasVertex> ret        = new ArrayList<>();
+        final String            typeName   = GraphHelper.getTypeName(entityVertex);
+        final AtlasEntityType   entityType = typeRegistry.getEntityTypeByName(typeName);
 
-                        if (edge == null || (getState(edge) == (isPurgeRequested ? ACTIVE : DELETED))) {
-                            continue;
-                        }
+        if (entityType == null) {
+            throw new AtlasBaseException(AtlasErrorCode.TYPE_NAME_INVALID, TypeCategory.ENTITY.name(), typeName);
+        }
 
-                        vertices.push(edge.getInVertex());
-                    }
-                } else if (typeCategory == ARRAY || typeCategory == MAP) {
-                    TypeCategory elementType = null;
+        addOwnedChildVertices(entityVertex, entityType, RequestContext.get().isPurgeRequested(), ret);
 
-                    if (typeCategory == ARRAY) {
-                        elementType = ((AtlasArrayType) attrType).getElementType().getTypeCategory();
-                    } else if (typeCategory == MAP) {
-                        elementType = ((AtlasMapType) attrType).getValueType().getTypeCategory();
+        return ret;
+    }
+
+    private void addOwnedChildVertices(AtlasVertex vertex, AtlasEntityType entityType, boolean isPurgeRequested, Collection<AtlasVertex> childVertices) {
+        for (AtlasStructType.AtlasAttribute attributeInfo : entityType.getOwnedRefAttributes()) {
+            String       edgeLabel    = attributeInfo.getRelationshipEdgeLabel();
+            AtlasType    attrType     = attributeInfo.getAttributeType();
+            TypeCategory typeCategory = attrType.getTypeCategory();
+
+            if (typeCategory == OBJECT_ID_TYPE) {
+                if (attributeInfo.getAttributeDef().isSoftReferenced()) {
+                    String        softRefVal = vertex.getProperty(attributeInfo.getVertexPropertyName(), String.class);
+                    AtlasObjectId refObjId   = AtlasEntityUtil.parseSoftRefValue(softRefVal);
+                    AtlasVertex   refVertex  = refObjId != null ? AtlasGraphUtilsV2.findByGuid(this.graphHelper.getGraph(), refObjId.getGuid()) : null;
+
+                    if (refVertex != null) {
+                        childVertices.add(refVertex);
                     }
+                } else {
+                    AtlasEdge edge = graphHelper.getEdgeForLabel(vertex, edgeLabel);
 
-                    if (elementType != OBJECT_ID_TYPE) {
+                    if (edge == null || (getState(edge) == (isPurgeRequested ? ACTIVE : DELETED))) {
                         continue;
                     }
 
-                    if (attributeInfo.getAttributeDef().isSoftReferenced()) {
-                        if (typeCategory == ARRAY) {
-                            List                softRefVal = vertex.getListProperty(attributeInfo.getVertexPropertyName(), List.class);
-                            List<AtlasObjectId> refObjIds  = AtlasEntityUtil.parseSoftRefValue(softRefVal);
+                    childVertices.add(edge.getInVertex());
+                }
+            } else if (typeCategory == ARRAY || typeCategory == MAP) {
+                TypeCategory elementType = null;
 
-                            if (CollectionUtils.isNotEmpty(refObjIds)) {
-                                for (AtlasObjectId refObjId : refObjIds) {
-                                    AtlasVertex refVertex = AtlasGraphUtilsV2.findByGuid(this.graphHelper.getGraph(), refObjId.getGuid());
+                if (typeCategory == ARRAY) {
+                    elementType = ((AtlasArrayType) attrType).getElementType().getTypeCategory();
+                } else if (typeCategory == MAP) {
+                    elementType = ((AtlasMapType) attrType).getValueType().getTypeCategory();
+                }
 
-                                    if (refVertex != null) {
-                                        vertices.push(refVertex);
-                                    }
-                                }
-                            }
-                        } else if (typeCategory == MAP) {
-                            Map                        softRefVal = vertex.getProperty(attributeInfo.getVertexPropertyName(), Map.class);
-                            Map<String, AtlasObjectId> refObjIds  = AtlasEntityUtil.parseSoftRefValue(softRefVal);
+                if (elementType != OBJECT_ID_TYPE) {
+                    continue;
+                }
 
-                            if (MapUtils.isNotEmpty(refObjIds)) {
-                                for (AtlasObjectId refObjId : refObjIds.values()) {
-                                    AtlasVertex refVertex = AtlasGraphUtilsV2.findByGuid(this.graphHelper.getGraph(), refObjId.getGuid());
+                if (attributeInfo.getAttributeDef().isSoftReferenced()) {
+                    if (typeCategory == ARRAY) {
+                        List                softRefVal = vertex.getListProperty(attributeInfo.getVertexPropertyName(), List.class);
+                        List<AtlasObjectId> refObjIds  = AtlasEntityUtil.parseSoftRefValue(softRefVal);
 
-                                    if (refVertex != null) {
-                                        vertices.push(refVertex);
-                                    }
+                        if (CollectionUtils.isNotEmpty(refObjIds)) {
+                            for (AtlasObjectId refObjId : refObjIds) {
+                                AtlasVertex refVertex = AtlasGraphUtilsV2.findByGuid(this.graphHelper.getGraph(), refObjId.getGuid());
+
+                                if (refVertex != null) {
+                                    childVertices.add(refVertex);
                                 }
                             }
                         }
+                    } else if (typeCategory == MAP) {
+                        Map                        softRefVal = vertex.getProperty(attributeInfo.getVertexPropertyName(), Map.class);
+                        Map<String, AtlasObjectId> refObjIds  = AtlasEntityUtil.parseSoftRefValue(softRefVal);
 
-                    } else {
-                        List<AtlasEdge> edges = getCollectionElementsUsingRelationship(vertex, attributeInfo);
+                        if (MapUtils.isNotEmpty(refObjIds)) {
+                            for (AtlasObjectId refObjId : refObjIds.values()) {
+                                AtlasVertex refVertex = AtlasGraphUtilsV2.findByGuid(this.graphHelper.getGraph(), refObjId.getGuid());
 
-                        if (CollectionUtils.isNotEmpty(edges)) {
-                            for (AtlasEdge edge : edges) {
-                                if (edge == null || (getState(edge) == (isPurgeRequested ? ACTIVE : DELETED))) {
-                                    continue;
+                                if (refVertex != null) {
+                                    childVertices.add(refVertex);
                                 }
+                            }
+                        }
+                    }
+
+                } else {
+                    List<AtlasEdge> edges = getCollectionElementsUsingRelationship(vertex, attributeInfo);
 
-                                vertices.push(edge.getInVertex());
+                    if (CollectionUtils.isNotEmpty(edges)) {
+                        for (AtlasEdge edge : edges) {
+                            if (edge == null || (getState(edge) == (isPurgeRequested ? ACTIVE : DELETED))) {
+                                continue;
                             }
+
+                            childVertices.add(edge.getInVertex());
                         }
                     }
                 }
             }
         }
-
-        return vertexInfoMap.values();
     }
 
     /**
@@ -450,6 +478,8 @@ public abstract class DeleteHandlerV1 {
 
                 addToPropagatedClassificationNames(propagatedEntityVertex, classificationName);
 
+                ClassificationAttributeIndexHelper.updateEntityVertex(propagatedEntityVertex, typeRegistry);
+
                 // record add propagation details to send notifications at the end
                 RequestContext      context        = RequestContext.get();
                 AtlasClassification classification = entityRetriever.toAtlasClassification(classificationVertex);
@@ -613,6 +643,8 @@ public abstract class DeleteHandlerV1 {
                         graphHelper.removeEdge(propagatedEdge);
 
                         removeFromPropagatedClassificationNames(impactedEntityVertex, classificationName);
+
+                        ClassificationAttributeIndexHelper.updateEntityVertex(impactedEntityVertex, typeRegistry);
                     } else {
                         if (LOG.isDebugEnabled()) {
                             LOG.debug(" --> Not removing propagated classification edge from [{}] --> [{}][{}] using edge label: [{}], since edge doesn't exist",
@@ -668,6 +700,8 @@ public abstract class DeleteHandlerV1 {
 
         deleteEdge(edge, true);
 
+        ClassificationAttributeIndexHelper.updateEntityVertex(entityVertex, typeRegistry);
+
         updateModificationMetadata(entityVertex);
     }
 
@@ -808,6 +842,19 @@ public abstract class DeleteHandlerV1 {
         deleteVertex(instanceVertex, force);
     }
 
+    /**
+     * Starts a batch of deletes in the current thread. Within a batch, elements of an array attribute read to remove
+     * the reference to a deleted entity are retained for the rest of the batch; deleting many elements of a large
+     * array, like columns of a table, then reads the array once instead of once for each deleted element.
+     */
+    public void startInverseReferenceBatch() {
+        arrayElementEdgesCache.set(new HashMap<>());
+    }
+
+    public void endInverseReferenceBatch() {
+        arrayElementEdgesCache.remove();
+    }
+
     protected AtlasAttribute getAttributeForEdge(String edgeLabel) throws AtlasBaseException {
         AtlasEdgeLabel  atlasEdgeLabel   = new AtlasEdgeLabel(edgeLabel);
         AtlasType       parentType       = typeRegistry.getType(atlasEdgeLabel.getTypeName());
@@ -860,6 +907,29 @@ public abstract class DeleteHandlerV1 {
             break;
 
             case ARRAY: {
+                Map<String, ArrayElementEdges> elementEdgesCache = arrayElementEdgesCache.get();
+
+                if (elementEdgesCache != null) {
+                    ArrayElementEdges elementEdges = elementEdgesCache.computeIfAbsent(outVertex.getId() + ":" + edgeLabel,
+                                                                                       k -> new ArrayElementEdges(getCollectionElementsUsingRelationship(outVertex, attribute)));
+
+                    edge = elementEdges.get(inVertex);
+
+                    if (edge != null) {
+                        if (!attrDef.getIsOptional() && elementEdges.size() <= attrDef.getValuesMinCount()) {
+                            // Deleting this edge would violate the attribute's lower bound.
+                            throw new AtlasBaseException("Cannot remove array element from required attribute " + propertyName + " on " + GraphHelper.getVertexDetails(outVertex) + " " + GraphHelper.getEdgeDetails(edge));
+                        }
+
+                        // soft-deleted edges continue to be counted, like in getCollectionElementsUsingRelationship()
+                        if (!softDelete) {
+                            elementEdges.remove(inVertex);
+                        }
+                    }
+
+                    break;
+                }
+
                 //If its array attribute, find the right edge between the two vertices and update array property
                 List<AtlasEdge> elementEdges = getCollectionElementsUsingRelationship(outVertex, attribute);
 
@@ -1067,4 +1137,35 @@ public abstract class DeleteHandlerV1 {
 
         return ret;
     }
+
+    private static class ArrayElementEdges {
+        private final Map<String, AtlasEdge> edgesByElementId = new HashMap<>();
+        private       int                    size;
+
+        ArrayElementEdges(List<AtlasEdge> edges) {
+            if (edges != null) {
+                for (AtlasEdge edge : edges) {
+                    if (edge != null) {
+                        edgesByElementId.put(edge.getInVertex().getId().toString(), edge);
+                    }
+                }
+
+                size = edges.size();
+            }
+        }
+
+        AtlasEdge get(AtlasVertex elementVertex) {
+            return edgesByElementId.get(elementVertex.getId().toString());
+        }
+
+        void remove(AtlasVertex elementVertex) {
+            if (edgesByElementId.remove(elementVertex.getId().toString()) != null) {
+                size--;
+            }
+        }
+
+        int size() {
+            return size;
+        }
+    }
 }
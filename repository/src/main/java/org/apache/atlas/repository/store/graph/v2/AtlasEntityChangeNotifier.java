@@ -41,6 +41,7 @@ import org.apache.atlas.utils.AtlasPerfMetrics.MetricRecorder;
 import org.apache.atlas.v1.model.instance.Referenceable;
 import org.apache.atlas.v1.model.instance.Struct;
 import org.apache.atlas.repository.converters.AtlasInstanceConverter;
+import org.apache.atlas.repository.graph.DeferredFullTextMapper;
 import org.apache.atlas.repository.graph.FullTextMapperV2;
 import org.apache.atlas.repository.graph.GraphHelper;
 import org.apache.atlas.repository.graphdb.AtlasVertex;
@@ -73,6 +74,7 @@ public class AtlasEntityChangeNotifier implements IAtlasEntityChangeNotifier {
     private final Set<EntityChangeListenerV2> entityChangeListenersV2;
     private final AtlasInstanceConverter      instanceConverter;
     private final FullTextMapperV2            fullTextMapperV2;
+    private final DeferredFullTextMapper      deferredFullTextMapper;
     private final AtlasTypeRegistry           atlasTypeRegistry;
     private final boolean                     isV2EntityNotificationEnabled;
 
@@ -82,11 +84,13 @@ public class AtlasEntityChangeNotifier implements IAtlasEntityChangeNotifier {
                                      Set<EntityChangeListenerV2> entityChangeListenersV2,
                                      AtlasInstanceConverter instanceConverter,
                                      FullTextMapperV2 fullTextMapperV2,
+                                     DeferredFullTextMapper deferredFullTextMapper,
                                      AtlasTypeRegistry atlasTypeRegistry) {
         this.entityChangeListeners         = entityChangeListeners;
         this.entityChangeListenersV2       = entityChangeListenersV2;
         this.instanceConverter             = instanceConverter;
         this.fullTextMapperV2              = fullTextMapperV2;
+        this.deferredFullTextMapper        = deferredFullTextMapper;
         this.atlasTypeRegistry             = atlasTypeRegistry;
         this.isV2EntityNotificationEnabled = AtlasRepositoryConfiguration.isV2EntityNotificationEnabled();
     }
@@ -611,6 +615,20 @@ public class AtlasEntityChangeNotifier implements IAtlasEntityChangeNotifier {
             return;
         }
 
+        if (deferredFullTextMapper.isEnabled()) {
+            List<String> guids = new ArrayList<>(entityHeaders.size());
+
+            for (AtlasEntityHeader entityHeader : entityHeaders) {
+                if (!GraphHelper.isInternalType(entityHeader.getTypeName())) {
+                    guids.add(entityHeader.getGuid());
+                }
+            }
+
+            deferredFullTextMapper.markDirty(guids);
+
+            return;
+        }
+
         MetricRecorder metric = RequestContext.get().startMetricRecord("fullTextMapping");
 
         for (AtlasEntityHeader entityHeader : entityHeaders) {
@@ -646,6 +664,12 @@ public class AtlasEntityChangeNotifier implements IAtlasEntityChangeNotifier {
             return;
         }
 
+        if (deferredFullTextMapper.isEnabled()) { // entity text is recomputed, including classifications
+            deferredFullTextMapper.markDirty(Collections.singletonList(entityId));
+
+            return;
+        }
+
         AtlasVertex atlasVertex = AtlasGraphUtilsV2.findByGuid(entityId);
         if(atlasVertex == null || GraphHelper.isInternalType(atlasVertex)) {
             return;
@@ -60,6 +60,7 @@ import org.apache.atlas.type.AtlasTypeRegistry;
 import org.apache.atlas.type.AtlasTypeUtil;
 import org.apache.atlas.bulkimport.BulkImportResponse;
 import org.apache.atlas.util.FileUtils;
+import org.apache.atlas.utils.AtlasBatchConsumer;
 import org.apache.atlas.utils.AtlasEntityUtil;
 import org.apache.atlas.utils.AtlasPerfMetrics.MetricRecorder;
 import org.apache.atlas.utils.AtlasPerfTracer;
@@ -273,6 +274,59 @@ public class AtlasEntityStoreV2 implements AtlasEntityStore {
         return ret;
     }
 
+    /**
+     * Entities are retrieved, authorized and handed to the consumer batchSize guids at a time; referred entities are
+     * accumulated across batches, so that each is retrieved once, and are returned after the last batch.
+     */
+    @Override
+    @GraphTransaction
+    public AtlasEntitiesWithExtInfo getByIds(List<String> guids, boolean isMinExtInfo, boolean ignoreRelationships, boolean ignoreNotFoundException,
+                                             int batchSize, AtlasBatchConsumer<AtlasEntity> consumer) throws AtlasBaseException {
+        if (LOG.isDebugEnabled()) {
+            LOG.debug("==> getByIds({}, {}, batchSize={})", guids, isMinExtInfo, batchSize);
+        }
+
+        if (batchSize <= 0 || consumer == null) {
+            throw new AtlasBaseException(AtlasErrorCode.INVALID_PARAMETERS, "batchSize: " + batchSize + ", consumer: " + consumer);
+        }
+
+        EntityGraphRetriever     entityRetriever = new EntityGraphRetriever(graph, typeRegistry, ignoreRelationships);
+        AtlasEntitiesWithExtInfo ret             = new AtlasEntitiesWithExtInfo();
+        Set<String>              streamedGuids   = new HashSet<>();
+
+        for (int i = 0; i < guids.size(); i += batchSize) {
+            entityRetriever.addAtlasEntitiesWithExtInfo(guids.subList(i, Math.min(i + batchSize, guids.size())), isMinExtInfo, ignoreNotFoundException, ret);
+
+            List<AtlasEntity> batch = new ArrayList<>();
+
+            if (ret.getEntities() != null) {
+                for (AtlasEntity entity : ret.getEntities()) {
+                    if (streamedGuids.add(entity.getGuid())) {
+                        AtlasAuthorizationUtils.verifyAccess(new AtlasEntityAccessRequest(typeRegistry, AtlasPrivilege.ENTITY_READ, new AtlasEntityHeader(entity)), "read entity: guid=", entity.getGuid());
+
+                        batch.add(entity);
+                    }
+                }
+            }
+
+            ret.setEntities(null);
+
+            if (!batch.isEmpty()) {
+                consumer.accept(batch);
+            }
+        }
+
+        for (String guid : streamedGuids) {
+            ret.removeReferredEntity(guid);
+        }
+
+        if (LOG.isDebugEnabled()) {
+            LOG.debug("<== getByIds({}, {}, batchSize={}): streamed {} entities", guids, isMinExtInfo, batchSize, streamedGuids.size());
+        }
+
+        return ret;
+    }
+
 
     @Override
     @GraphTransaction
@@ -32,6 +32,8 @@ import org.apache.atlas.model.instance.AtlasEntityHeader;
 import org.apache.atlas.model.instance.AtlasObjectId;
 import org.apache.atlas.model.instance.AtlasRelationship;
 import org.apache.atlas.model.instance.AtlasRelationship.AtlasRelationshipWithExtInfo;
+import org.apache.atlas.model.instance.AtlasRelationshipBulkResponse;
+import org.apache.atlas.model.instance.AtlasRelationshipBulkResponse.RelationshipResult;
 import org.apache.atlas.model.notification.EntityNotification.EntityNotificationV2.OperationType;
 import org.apache.atlas.model.typedef.AtlasRelationshipDef;
 import org.apache.atlas.model.typedef.AtlasRelationshipDef.PropagateTags;
@@ -60,6 +62,7 @@ import org.springframework.stereotype.Component;
 
 import javax.inject.Inject;
 import java.util.ArrayList;
+import java.util.BitSet;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
@@ -137,6 +140,56 @@ public class AtlasRelationshipStoreV2 implements AtlasRelationshipStore {
         return ret;
     }
 
+    @Override
+    @GraphTransaction
+    public List<AtlasRelationship> create(List<AtlasRelationship> relationships) throws AtlasBaseException {
+        if (LOG.isDebugEnabled()) {
+            LOG.debug("==> create({} relationships)", CollectionUtils.size(relationships));
+        }
+
+        List<AtlasRelationship> ret = new ArrayList<>();
+
+        if (CollectionUtils.isNotEmpty(relationships)) {
+            for (AtlasEdge edge : getOrCreateEdgesForRelationships(relationships, true, null)) {
+                ret.add(entityRetriever.mapEdgeToAtlasRelationship(edge));
+            }
+        }
+
+        if (LOG.isDebugEnabled()) {
+            LOG.debug("<== create({} relationships)", ret.size());
+        }
+
+        return ret;
+    }
+
+    @Override
+    @GraphTransaction
+    public AtlasRelationshipBulkResponse createRelationships(List<AtlasRelationship> relationships, boolean ignoreExisting) throws AtlasBaseException {
+        if (LOG.isDebugEnabled()) {
+            LOG.debug("==> createRelationships({} relationships, ignoreExisting={})", CollectionUtils.size(relationships), ignoreExisting);
+        }
+
+        AtlasRelationshipBulkResponse ret = new AtlasRelationshipBulkResponse();
+
+        if (CollectionUtils.isNotEmpty(relationships)) {
+            BitSet          existingIndexes = new BitSet(relationships.size());
+            List<AtlasEdge> edges           = getOrCreateEdgesForRelationships(relationships, !ignoreExisting, existingIndexes);
+
+            for (int i = 0; i < edges.size(); i++) {
+                AtlasEdge                            edge   = edges.get(i);
+                AtlasRelationshipBulkResponse.Status status = existingIndexes.get(i) ? AtlasRelationshipBulkResponse.Status.EXISTING : AtlasRelationshipBulkResponse.Status.CREATED;
+
+                ret.addResult(new RelationshipResult(i, status, GraphHelper.getRelationshipGuid(edge), getTypeName(edge)));
+            }
+        }
+
+        if (LOG.isDebugEnabled()) {
+            LOG.debug("<== createRelationships(): {}", ret);
+        }
+
+        return ret;
+    }
+
     @Override
     @GraphTransaction
     public AtlasRelationship update(AtlasRelationship relationship) throws AtlasBaseException {
@@ -308,6 +361,21 @@ public class AtlasRelationshipStoreV2 implements AtlasRelationshipStore {
         return ret;
     }
 
+    @Override
+    public List<AtlasEdge> getOrCreate(List<RelationshipEdgeRequest> requests) throws AtlasBaseException {
+        if (LOG.isDebugEnabled()) {
+            LOG.debug("==> getOrCreate({} relationships)", CollectionUtils.size(requests));
+        }
+
+        List<AtlasEdge> ret = CollectionUtils.isEmpty(requests) ? new ArrayList<>() : getOrCreateEdges(requests, false, null);
+
+        if (LOG.isDebugEnabled()) {
+            LOG.debug("<== getOrCreate({} relationships)", ret.size());
+        }
+
+        return ret;
+    }
+
     @Override
     public AtlasEdge getRelationship(AtlasVertex fromVertex, AtlasVertex toVertex, AtlasRelationship relationship) throws AtlasBaseException {
         String relationshipLabel = getRelationshipEdgeLabel(fromVertex, toVertex, relationship.getTypeName());
@@ -386,41 +454,177 @@ public class AtlasRelationshipStoreV2 implements AtlasRelationshipStore {
                 }
             }
 
-            // map additional properties to relationship edge
-            if (ret != null) {
-                // Accept a valid (assigned) guid from the supplied relationship, or generate one.
-                String        relationshipGuid = relationship.getGuid();
-                PropagateTags tagPropagation   = getRelationshipTagPropagation(end1Vertex, end2Vertex, relationship);
-                final String  guid             = AtlasTypeUtil.isAssignedGuid(relationshipGuid) ? relationshipGuid : UUID.randomUUID().toString();
+            setRelationshipEdgeProperties(ret, end1Vertex, end2Vertex, relationship, relationType);
+        } catch (RepositoryException e) {
+            throw new AtlasBaseException(AtlasErrorCode.INTERNAL_ERROR, e);
+        }
+
+        sendNotifications(entityRetriever.mapEdgeToAtlasRelationship(ret), OperationType.RELATIONSHIP_CREATE);
+        return ret;
+    }
+
+    private List<AtlasEdge> getOrCreateEdgesForRelationships(List<AtlasRelationship> relationships, boolean failIfExists, BitSet existingIndexes) throws AtlasBaseException {
+        Map<String, AtlasVertex>      guidVertices = entityRetriever.getEntityVertices(getEndGuids(relationships));
+        List<RelationshipEdgeRequest> requests     = new ArrayList<>(relationships.size());
+
+        for (AtlasRelationship relationship : relationships) {
+            if (relationship == null) {
+                throw new AtlasBaseException(AtlasErrorCode.INVALID_PARAMETERS, "AtlasRelationship is null");
+            }
+
+            AtlasVertex end1Vertex = getVertexFromEndPoint(relationship.getEnd1(), guidVertices);
+            AtlasVertex end2Vertex = getVertexFromEndPoint(relationship.getEnd2(), guidVertices);
+
+            requests.add(new RelationshipEdgeRequest(end1Vertex, end2Vertex, relationship));
+        }
+
+        return getOrCreateEdges(requests, failIfExists, existingIndexes);
+    }
+
+    /**
+     * Looks up or creates the edges for the given relationships. Type and end validation, and the edge label, are
+     * computed once for each combination of relationship type and end types. When several relationships share a
+     * vertex, the existing edges of that vertex are read in one scan instead of one lookup per relationship.
+     * Indexes of the requests whose edge already existed are set in existingIndexes, when given.
+     */
+    private List<AtlasEdge> getOrCreateEdges(List<RelationshipEdgeRequest> requests, boolean failIfExists, BitSet existingIndexes) throws AtlasBaseException {
+        AtlasPerfMetrics.MetricRecorder metric = RequestContext.get().startMetricRecord("getOrCreateRelationshipEdges");
+
+        List<AtlasEdge>                ret           = new ArrayList<>(requests.size());
+        String[]                       edgeLabels    = new String[requests.size()];
+        Map<String, String>            typeLabels    = new HashMap<>();
+        Map<Object, AtlasEntityHeader> entityHeaders = new HashMap<>();
+        ExistingEdgeLookup             existingEdges = new ExistingEdgeLookup();
+        boolean                        isCreated     = false;
+
+        for (int i = 0; i < requests.size(); i++) {
+            RelationshipEdgeRequest request          = requests.get(i);
+            AtlasVertex             end1Vertex       = request.getEnd1Vertex();
+            AtlasVertex             end2Vertex       = request.getEnd2Vertex();
+            AtlasRelationship       relationship     = request.getRelationship();
+            String                  relationshipName = relationship.getTypeName();
+
+            if (end1Vertex == null || end2Vertex == null) {
+                validateRelationshipEnds(end1Vertex, end2Vertex, relationshipName); // throws RELATIONSHIP_END_IS_NULL
+            }
+
+            String typesKey  = relationshipName + ":" + getTypeName(end1Vertex) + ":" + getTypeName(end2Vertex);
+            String edgeLabel = typeLabels.get(typesKey);
 
-                AtlasGraphUtilsV2.setEncodedProperty(ret, ENTITY_TYPE_PROPERTY_KEY, relationship.getTypeName());
-                AtlasGraphUtilsV2.setEncodedProperty(ret, RELATIONSHIP_GUID_PROPERTY_KEY, guid);
-                AtlasGraphUtilsV2.setEncodedProperty(ret, HOME_ID_KEY, relationship.getHomeId());
-                AtlasGraphUtilsV2.setEncodedProperty(ret, VERSION_PROPERTY_KEY, getRelationshipVersion(relationship));
-                AtlasGraphUtilsV2.setEncodedProperty(ret, PROVENANCE_TYPE_KEY, relationship.getProvenanceType());
-                AtlasGraphUtilsV2.setEncodedProperty(ret, RELATIONSHIPTYPE_TAG_PROPAGATION_KEY, tagPropagation.name());
+            if (edgeLabel == null) {
+                validateRelationshipEnds(end1Vertex, end2Vertex, relationshipName);
 
-                // blocked propagated classifications
-                handleBlockedClassifications(ret, relationship.getBlockedPropagatedClassifications());
+                edgeLabel = getRelationshipEdgeLabel(end1Vertex, end2Vertex, relationshipName);
 
-                // propagate tags
-                deleteDelegate.getHandler().addTagPropagation(ret, tagPropagation);
+                typeLabels.put(typesKey, edgeLabel);
             }
 
-            if (MapUtils.isNotEmpty(relationType.getAllAttributes())) {
-                for (AtlasAttribute attr : relationType.getAllAttributes().values()) {
-                    String attrName           = attr.getName();
-                    String attrVertexProperty = attr.getVertexPropertyName();
-                    Object attrValue          = relationship.getAttribute(attrName);
+            AtlasRelationshipType relationshipType = typeRegistry.getRelationshipTypeByName(relationshipName);
+
+            if (MapUtils.isNotEmpty(relationshipType.getAllAttributes())) {
+                validateRelationshipAttributes(relationshipType, relationship);
+            }
+
+            edgeLabels[i] = edgeLabel;
+
+            existingEdges.addLookup(end1Vertex, end2Vertex, edgeLabel);
+        }
+
+        for (int i = 0; i < requests.size(); i++) {
+            RelationshipEdgeRequest request      = requests.get(i);
+            AtlasVertex             end1Vertex   = request.getEnd1Vertex();
+            AtlasVertex             end2Vertex   = request.getEnd2Vertex();
+            AtlasRelationship       relationship = request.getRelationship();
+            AtlasEdge               edge         = existingEdges.find(end1Vertex, end2Vertex, edgeLabels[i]);
+
+            if (edge != null) {
+                if (failIfExists) {
+                    throw new AtlasBaseException(AtlasErrorCode.RELATIONSHIP_ALREADY_EXISTS, relationship.getTypeName(),
+                                                 AtlasGraphUtilsV2.getIdFromVertex(end1Vertex), AtlasGraphUtilsV2.getIdFromVertex(end2Vertex));
+                }
+
+                if (existingIndexes != null) {
+                    existingIndexes.set(i);
+                }
+            } else {
+                AtlasRelationshipType relationshipType = typeRegistry.getRelationshipTypeByName(relationship.getTypeName());
+
+                if (!relationshipType.hasLegacyAttributeEnd()) { // skip authorization for legacy attributes, as these would be covered as entity-update
+                    AtlasEntityHeader end1Entity = getEntityHeader(end1Vertex, entityHeaders);
+                    AtlasEntityHeader end2Entity = getEntityHeader(end2Vertex, entityHeaders);
 
-                    AtlasGraphUtilsV2.setEncodedProperty(ret, attrVertexProperty, attrValue);
+                    AtlasAuthorizationUtils.verifyAccess(new AtlasRelationshipAccessRequest(typeRegistry, AtlasPrivilege.RELATIONSHIP_ADD,
+                                                                                            relationship.getTypeName(), end1Entity, end2Entity));
                 }
+
+                edge = graphHelper.addEdge(end1Vertex, end2Vertex, edgeLabels[i]);
+
+                setRelationshipEdgeProperties(edge, end1Vertex, end2Vertex, relationship, relationshipType);
+
+                existingEdges.add(end1Vertex, end2Vertex, edgeLabels[i], edge);
+
+                if (notificationsEnabled) {
+                    entityChangeNotifier.notifyRelationshipMutation(entityRetriever.mapEdgeToAtlasRelationship(edge), OperationType.RELATIONSHIP_CREATE);
+                }
+
+                isCreated = true;
             }
-        } catch (RepositoryException e) {
-            throw new AtlasBaseException(AtlasErrorCode.INTERNAL_ERROR, e);
+
+            ret.add(edge);
+        }
+
+        if (isCreated) {
+            entityChangeNotifier.notifyPropagatedEntities();
+        }
+
+        RequestContext.get().endMetricRecord(metric);
+
+        return ret;
+    }
+
+    private void setRelationshipEdgeProperties(AtlasEdge edge, AtlasVertex end1Vertex, AtlasVertex end2Vertex, AtlasRelationship relationship,
+                                               AtlasRelationshipType relationType) throws AtlasBaseException {
+        // map additional properties to relationship edge
+        if (edge != null) {
+            // Accept a valid (assigned) guid from the supplied relationship, or generate one.
+            String        relationshipGuid = relationship.getGuid();
+            PropagateTags tagPropagation   = getRelationshipTagPropagation(end1Vertex, end2Vertex, relationship);
+            final String  guid             = AtlasTypeUtil.isAssignedGuid(relationshipGuid) ? relationshipGuid : UUID.randomUUID().toString();
+
+            AtlasGraphUtilsV2.setEncodedProperty(edge, ENTITY_TYPE_PROPERTY_KEY, relationship.getTypeName());
+            AtlasGraphUtilsV2.setEncodedProperty(edge, RELATIONSHIP_GUID_PROPERTY_KEY, guid);
+            AtlasGraphUtilsV2.setEncodedProperty(edge, HOME_ID_KEY, relationship.getHomeId());
+            AtlasGraphUtilsV2.setEncodedProperty(edge, VERSION_PROPERTY_KEY, getRelationshipVersion(relationship));
+            AtlasGraphUtilsV2.setEncodedProperty(edge, PROVENANCE_TYPE_KEY, relationship.getProvenanceType());
+            AtlasGraphUtilsV2.setEncodedProperty(edge, RELATIONSHIPTYPE_TAG_PROPAGATION_KEY, tagPropagation.name());
+
+            // blocked propagated classifications
+            handleBlockedClassifications(edge, relationship.getBlockedPropagatedClassifications());
+
+            // propagate tags
+            deleteDelegate.getHandler().addTagPropagation(edge, tagPropagation);
+        }
+
+        if (MapUtils.isNotEmpty(relationType.getAllAttributes())) {
+            for (AtlasAttribute attr : relationType.getAllAttributes().values()) {
+                String attrName           = attr.getName();
+                String attrVertexProperty = attr.getVertexPropertyName();
+                Object attrValue          = relationship.getAttribute(attrName);
+
+                AtlasGraphUtilsV2.setEncodedProperty(edge, attrVertexProperty, attrValue);
+            }
+        }
+    }
+
+    private AtlasEntityHeader getEntityHeader(AtlasVertex vertex, Map<Object, AtlasEntityHeader> entityHeaders) throws AtlasBaseException {
+        AtlasEntityHeader ret = entityHeaders.get(vertex.getId());
+
+        if (ret == null) {
+            ret = entityRetriever.toAtlasEntityHeaderWithClassifications(vertex);
+
+            entityHeaders.put(vertex.getId(), ret);
         }
 
-        sendNotifications(entityRetriever.mapEdgeToAtlasRelationship(ret), OperationType.RELATIONSHIP_CREATE);
         return ret;
     }
 
@@ -632,9 +836,44 @@ public class AtlasRelationshipStoreV2 implements AtlasRelationshipStore {
     }
 
     private void validateRelationship(AtlasVertex end1Vertex, AtlasVertex end2Vertex,  AtlasRelationship relationship) throws AtlasBaseException {
+        AtlasRelationshipType relationshipType = validateRelationshipEnds(end1Vertex, end2Vertex, relationship.getTypeName());
+
+        PropagateTags typePropagation = relationshipType.getRelationshipDef().getPropagateTags();
+        PropagateTags edgePropagation = relationship.getPropagateTags();
+
+        if (typePropagation == null) {
+            typePropagation = NONE;
+        }
+
+        if (edgePropagation == null) {
+            edgePropagation = NONE;
+        }
+
+        /*
+          +-------------+----------------------------------------+
+          |     type    |                edge                    |
+          +-------------+-------+------------+------------+------+
+          |             | NONE  | ONE_TO_TWO | TWO_TO_ONE | BOTH |
+          |-------------+-------+------------+------------+------|
+          | NONE        |   Y   |     N      |      N     |   N  |
+          | ONE_TO_TWO  |   Y   |     Y      |      N     |   N  |
+          | TWO_TO_ONE  |   Y   |     N      |      Y     |   N  |
+          | BOTH        |   Y   |     Y      |      Y     |   Y  |
+          +-------------+-------+------------+------------+------+
+         */
+
+//        Todo - Add this later on when propagation is figured out
+//        if (edgePropagation != NONE && typePropagation != BOTH && edgePropagation != typePropagation) {
+//            throw new AtlasBaseException(AtlasErrorCode.INVALID_PROPAGATION_TYPE, edgePropagation.toString(), relationshipName, typePropagation.toString());
+//        }
 
-        String relationshipName = relationship.getTypeName();
+        validateRelationshipAttributes(relationshipType, relationship);
+    }
 
+    /**
+     * Validates that the relationship type exists, and that the types of the given vertices are valid ends for it.
+     */
+    private AtlasRelationshipType validateRelationshipEnds(AtlasVertex end1Vertex, AtlasVertex end2Vertex, String relationshipName) throws AtlasBaseException {
         AtlasRelationshipType relationshipType = typeRegistry.getRelationshipTypeByName(relationshipName);
 
         if (relationshipType == null) {
@@ -664,38 +903,13 @@ public class AtlasRelationshipStoreV2 implements AtlasRelationshipStore {
             throw new AtlasBaseException(AtlasErrorCode.INVALID_RELATIONSHIP_END_TYPE, relationshipName, relationshipType.getEnd2Type().getTypeName(), end1TypeName);
         }
 
-        PropagateTags typePropagation = relationshipType.getRelationshipDef().getPropagateTags();
-        PropagateTags edgePropagation = relationship.getPropagateTags();
-
-        if (typePropagation == null) {
-            typePropagation = NONE;
-        }
-
-        if (edgePropagation == null) {
-            edgePropagation = NONE;
-        }
-
-        /*
-          +-------------+----------------------------------------+
-          |     type    |                edge                    |
-          +-------------+-------+------------+------------+------+
-          |             | NONE  | ONE_TO_TWO | TWO_TO_ONE | BOTH |
-          |-------------+-------+------------+------------+------|
-          | NONE        |   Y   |     N      |      N     |   N  |
-          | ONE_TO_TWO  |   Y   |     Y      |      N     |   N  |
-          | TWO_TO_ONE  |   Y   |     N      |      Y     |   N  |
-          | BOTH        |   Y   |     Y      |      Y     |   Y  |
-          +-------------+-------+------------+------------+------+
-         */
-
-//        Todo - Add this later on when propagation is figured out
-//        if (edgePropagation != NONE && typePropagation != BOTH && edgePropagation != typePropagation) {
-//            throw new AtlasBaseException(AtlasErrorCode.INVALID_PROPAGATION_TYPE, edgePropagation.toString(), relationshipName, typePropagation.toString());
-//        }
+        return relationshipType;
+    }
 
-        List<String>      messages     = new ArrayList<>();
+    private void validateRelationshipAttributes(AtlasRelationshipType relationshipType, AtlasRelationship relationship) throws AtlasBaseException {
+        List<String> messages = new ArrayList<>();
 
-        relationshipType.validateValue(relationship, relationshipName, messages);
+        relationshipType.validateValue(relationship, relationship.getTypeName(), messages);
 
         if (!messages.isEmpty()) {
             throw new AtlasBaseException(AtlasErrorCode.RELATIONSHIP_CRUD_INVALID_PARAMS, messages);
@@ -812,6 +1026,32 @@ public class AtlasRelationshipStoreV2 implements AtlasRelationshipStore {
         return ret;
     }
 
+    private AtlasVertex getVertexFromEndPoint(AtlasObjectId endPoint, Map<String, AtlasVertex> guidVertices) {
+        AtlasVertex ret = null;
+
+        if (endPoint != null) {
+            ret = StringUtils.isNotEmpty(endPoint.getGuid()) ? guidVertices.get(endPoint.getGuid()) : getVertexFromEndPoint(endPoint);
+        }
+
+        return ret;
+    }
+
+    private Set<String> getEndGuids(List<AtlasRelationship> relationships) {
+        Set<String> ret = new HashSet<>();
+
+        for (AtlasRelationship relationship : relationships) {
+            if (relationship != null) {
+                for (AtlasObjectId end : new AtlasObjectId[] { relationship.getEnd1(), relationship.getEnd2() }) {
+                    if (end != null && StringUtils.isNotEmpty(end.getGuid())) {
+                        ret.add(end.getGuid());
+                    }
+                }
+            }
+        }
+
+        return ret;
+    }
+
     private PropagateTags getRelationshipTagPropagation(AtlasVertex fromVertex, AtlasVertex toVertex, AtlasRelationship relationship) {
         AtlasRelationshipType   relationshipType = typeRegistry.getRelationshipTypeByName(relationship.getTypeName());
         AtlasRelationshipEndDef endDef1          = relationshipType.getRelationshipDef().getEndDef1();
@@ -935,4 +1175,75 @@ public class AtlasRelationshipStoreV2 implements AtlasRelationshipStore {
             entityChangeNotifier.notifyRelationshipMutation(ret, relationshipUpdate);
         }
     }
+
+    /**
+     * Finds active relationship edges between pairs of vertices. A vertex that is an end of several of the
+     * relationships looked up is scanned once for all its edges with the label; other pairs are looked up individually.
+     */
+    private class ExistingEdgeLookup {
+        private final Map<String, Integer>                lookupCounts = new HashMap<>();
+        private final Map<String, Map<Object, AtlasEdge>> scannedEdges = new HashMap<>();
+
+        void addLookup(AtlasVertex fromVertex, AtlasVertex toVertex, String edgeLabel) {
+            lookupCounts.merge(getKey(fromVertex, AtlasEdgeDirection.OUT, edgeLabel), 1, Integer::sum);
+            lookupCounts.merge(getKey(toVertex, AtlasEdgeDirection.IN, edgeLabel), 1, Integer::sum);
+        }
+
+        AtlasEdge find(AtlasVertex fromVertex, AtlasVertex toVertex, String edgeLabel) {
+            String outKey   = getKey(fromVertex, AtlasEdgeDirection.OUT, edgeLabel);
+            String inKey    = getKey(toVertex, AtlasEdgeDirection.IN, edgeLabel);
+            int    outCount = lookupCounts.getOrDefault(outKey, 0);
+            int    inCount  = lookupCounts.getOrDefault(inKey, 0);
+
+            if (outCount < 2 && inCount < 2) {
+                return getRelationshipEdge(fromVertex, toVertex, edgeLabel);
+            }
+
+            final Map<Object, AtlasEdge> edges;
+
+            if (outCount >= inCount) {
+                edges = scannedEdges.computeIfAbsent(outKey, k -> scan(fromVertex, AtlasEdgeDirection.OUT, edgeLabel));
+
+                return edges.get(toVertex.getId());
+            } else {
+                edges = scannedEdges.computeIfAbsent(inKey, k -> scan(toVertex, AtlasEdgeDirection.IN, edgeLabel));
+
+                return edges.get(fromVertex.getId());
+            }
+        }
+
+        void add(AtlasVertex fromVertex, AtlasVertex toVertex, String edgeLabel, AtlasEdge edge) {
+            Map<Object, AtlasEdge> outEdges = scannedEdges.get(getKey(fromVertex, AtlasEdgeDirection.OUT, edgeLabel));
+            Map<Object, AtlasEdge> inEdges  = scannedEdges.get(getKey(toVertex, AtlasEdgeDirection.IN, edgeLabel));
+
+            if (outEdges != null) {
+                outEdges.put(toVertex.getId(), edge);
+            }
+
+            if (inEdges != null) {
+                inEdges.put(fromVertex.getId(), edge);
+            }
+        }
+
+        private Map<Object, AtlasEdge> scan(AtlasVertex vertex, AtlasEdgeDirection direction, String edgeLabel) {
+            Map<Object, AtlasEdge> ret   = new HashMap<>();
+            Iterator<AtlasEdge>    edges = GraphHelper.getAdjacentEdgesByLabel(vertex, direction, edgeLabel);
+
+            while (edges != null && edges.hasNext()) {
+                AtlasEdge edge = edges.next();
+
+                if (getState(edge) == ACTIVE) {
+                    AtlasVertex otherVertex = direction == AtlasEdgeDirection.OUT ? edge.getInVertex() : edge.getOutVertex();
+
+                    ret.putIfAbsent(otherVertex.getId(), edge);
+                }
+            }
+
+            return ret;
+        }
+
+        private String getKey(AtlasVertex vertex, AtlasEdgeDirection direction, String edgeLabel) {
+            return vertex.getId() + ":" + direction + ":" + edgeLabel;
+        }
+    }
 }
@@ -69,7 +69,7 @@ public class AtlasTypeDefGraphStoreV2 extends AtlasTypeDefGraphStore {
     public AtlasTypeDefGraphStoreV2(AtlasTypeRegistry typeRegistry,
                                     Set<TypeDefChangeListener> typeDefChangeListeners,
                                     AtlasGraph atlasGraph) {
-        super(typeRegistry, typeDefChangeListeners);
+        super(typeRegistry, typeDefChangeListeners, new AtlasTypeDefSnapshotStore(atlasGraph));
         this.atlasGraph = atlasGraph;
 
         LOG.debug("<== AtlasTypeDefGraphStoreV1()");
@@ -115,6 +115,12 @@ public class AtlasTypeDefGraphStoreV2 extends AtlasTypeDefGraphStore {
         LOG.info("<== AtlasTypeDefGraphStoreV1.init()");
     }
 
+    @Override
+    @GraphTransaction
+    public boolean refresh() throws AtlasBaseException {
+        return super.refresh();
+    }
+
     AtlasGraph getAtlasGraph() { return atlasGraph; }
 
     @VisibleForTesting
@@ -0,0 +1,278 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.atlas.repository.store.graph.v2;
+
+import org.apache.atlas.AtlasConfiguration;
+import org.apache.atlas.model.typedef.AtlasTypesDef;
+import org.apache.atlas.repository.graphdb.AtlasGraph;
+import org.apache.atlas.repository.graphdb.AtlasVertex;
+import org.apache.atlas.type.AtlasType;
+import org.apache.atlas.type.AtlasTypeRegistry;
+import org.apache.atlas.utils.SHA256Utils;
+import org.apache.commons.lang3.StringUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+import static org.apache.atlas.repository.Constants.MODIFICATION_TIMESTAMP_PROPERTY_KEY;
+import static org.apache.atlas.repository.Constants.TYPEDEF_SNAPSHOT_CHECKSUM_PROPERTY_KEY;
+import static org.apache.atlas.repository.Constants.TYPEDEF_SNAPSHOT_ID_PROPERTY_KEY;
+import static org.apache.atlas.repository.Constants.TYPEDEF_SNAPSHOT_INDEX_FIELDS_PROPERTY_KEY;
+import static org.apache.atlas.repository.Constants.TYPEDEF_SNAPSHOT_MODELS_CHECKSUM_PROPERTY_KEY;
+import static org.apache.atlas.repository.Constants.TYPEDEF_SNAPSHOT_TYPES_PROPERTY_KEY;
+import static org.apache.atlas.repository.Constants.TYPEDEF_SNAPSHOT_VERSION_PROPERTY_KEY;
+import static org.apache.atlas.repository.Constants.TYPEDEF_SNAPSHOT_VERSION_STAMP_PROPERTY_KEY;
+import static org.apache.atlas.repository.store.graph.v2.AtlasGraphUtilsV2.getEncodedProperty;
+import static org.apache.atlas.repository.store.graph.v2.AtlasGraphUtilsV2.setEncodedProperty;
+
+/**
+ * Stores a snapshot of all typedefs in a single vertex, so that the type registry can be loaded at startup with one
+ * read instead of reading every typedef vertex.
+ *
+ * The snapshot is invalidated in the transaction that updates typedefs, and is saved again after the transaction
+ * commits; hence a snapshot that is present is never older than typedef vertices. A snapshot saved with a different
+ * format version, or whose content doesn't match its checksum, is ignored. Index field names resolved for attributes
+ * are saved along with the typedefs. save() commits; other methods are run in the transaction of the caller.
+ *
+ * The snapshot vertex also holds a version stamp, updated in every transaction that updates typedefs - whether or
+ * not snapshots are enabled. Passive instances serving reads poll the stamp to find when to reload typedefs.
+ */
+public class AtlasTypeDefSnapshotStore {
+    private static final Logger LOG = LoggerFactory.getLogger(AtlasTypeDefSnapshotStore.class);
+
+    public static final  int    FORMAT_VERSION = 1;
+    private static final String SNAPSHOT_ID    = "typedefs";
+
+    private final AtlasGraph graph;
+
+    public AtlasTypeDefSnapshotStore(AtlasGraph graph) {
+        this.graph = graph;
+    }
+
+    public static boolean isEnabled() {
+        return AtlasConfiguration.TYPEDEF_SNAPSHOT_ENABLED.getBoolean();
+    }
+
+    /**
+     * @return the snapshot, if present and current; null otherwise
+     */
+    public TypeDefSnapshot load() {
+        AtlasVertex vertex = findSnapshotVertex();
+
+        if (vertex == null) {
+            LOG.info("typedef snapshot not found");
+
+            return null;
+        }
+
+        Integer version  = getEncodedProperty(vertex, TYPEDEF_SNAPSHOT_VERSION_PROPERTY_KEY, Integer.class);
+        String  checksum = getEncodedProperty(vertex, TYPEDEF_SNAPSHOT_CHECKSUM_PROPERTY_KEY, String.class);
+        String  types    = getEncodedProperty(vertex, TYPEDEF_SNAPSHOT_TYPES_PROPERTY_KEY, String.class);
+        String  fields   = getEncodedProperty(vertex, TYPEDEF_SNAPSHOT_INDEX_FIELDS_PROPERTY_KEY, String.class);
+
+        if (version == null || version != FORMAT_VERSION || checksum == null || types == null) {
+            LOG.info("typedef snapshot is stale: version={}, checksum={}", version, checksum);
+
+            return null;
+        }
+
+        if (!StringUtils.equals(checksum, getChecksum(types, fields))) {
+            LOG.warn("typedef snapshot ignored, as its content doesn't match checksum {}", checksum);
+
+            return null;
+        }
+
+        try {
+            AtlasTypesDef       typesDef        = AtlasType.fromJson(uncompress(types), AtlasTypesDef.class);
+            Map<String, String> indexFieldNames = fields != null ? AtlasType.fromJson(fields, Map.class) : null;
+
+            if (typesDef == null) {
+                return null;
+            }
+
+            return new TypeDefSnapshot(typesDef, indexFieldNames != null ? indexFieldNames : Collections.<String, String>emptyMap());
+        } catch (Exception excp) {
+            LOG.warn("typedef snapshot ignored, as it could not be read", excp);
+
+            return null;
+        }
+    }
+
+    /**
+     * Saves typedefs and index field names in the given type registry as the snapshot, and commits.
+     */
+    public void save(AtlasTypeRegistry typeRegistry) throws IOException {
+        AtlasTypesDef typesDef = new AtlasTypesDef(new ArrayList<>(typeRegistry.getAllEnumDefs()),
+                                                   new ArrayList<>(typeRegistry.getAllStructDefs()),
+                                                   new ArrayList<>(typeRegistry.getAllClassificationDefs()),
+                                                   new ArrayList<>(typeRegistry.getAllEntityDefs()),
+                                                   new ArrayList<>(typeRegistry.getAllRelationshipDefs()),
+                                                   new ArrayList<>(typeRegistry.getAllBusinessMetadataDefs()));
+
+        String      types  = compress(AtlasType.toJson(typesDef));
+        String      fields = AtlasType.toJson(typeRegistry.getIndexFieldNames());
+        AtlasVertex vertex = findSnapshotVertex();
+
+        if (vertex == null) {
+            vertex = createSnapshotVertex();
+        }
+
+        setEncodedProperty(vertex, TYPEDEF_SNAPSHOT_VERSION_PROPERTY_KEY, FORMAT_VERSION);
+        setEncodedProperty(vertex, TYPEDEF_SNAPSHOT_TYPES_PROPERTY_KEY, types);
+        setEncodedProperty(vertex, TYPEDEF_SNAPSHOT_INDEX_FIELDS_PROPERTY_KEY, fields);
+        setEncodedProperty(vertex, TYPEDEF_SNAPSHOT_CHECKSUM_PROPERTY_KEY, getChecksum(types, fields));
+        setEncodedProperty(vertex, MODIFICATION_TIMESTAMP_PROPERTY_KEY, System.currentTimeMillis());
+
+        try {
+            graph.commit();
+        } catch (RuntimeException excp) {
+            graph.rollback();
+
+            throw excp;
+        }
+
+        if (LOG.isDebugEnabled()) {
+            LOG.debug("saved typedef snapshot: {} bytes, {} index field names", types.length(), typeRegistry.getIndexFieldNames().size());
+        }
+    }
+
+    /**
+     * Marks the snapshot as stale, along with the checksum of models it was loaded from, and updates the version stamp.
+     */
+    public void invalidate() {
+        AtlasVertex vertex = findSnapshotVertex();
+
+        if (vertex != null) {
+            setEncodedProperty(vertex, TYPEDEF_SNAPSHOT_CHECKSUM_PROPERTY_KEY, null);
+            setEncodedProperty(vertex, TYPEDEF_SNAPSHOT_MODELS_CHECKSUM_PROPERTY_KEY, null);
+        } else {
+            vertex = createSnapshotVertex();
+        }
+
+        Long versionStamp = getEncodedProperty(vertex, TYPEDEF_SNAPSHOT_VERSION_STAMP_PROPERTY_KEY, Long.class);
+
+        // increases even if the clock goes back
+        setEncodedProperty(vertex, TYPEDEF_SNAPSHOT_VERSION_STAMP_PROPERTY_KEY, Math.max(System.currentTimeMillis(), versionStamp != null ? versionStamp + 1 : 0));
+    }
+
+    /**
+     * @return version stamp of typedefs; null if typedefs were never updated since the stamp was introduced
+     */
+    public Long getVersionStamp() {
+        AtlasVertex vertex = findSnapshotVertex();
+
+        return vertex != null ? getEncodedProperty(vertex, TYPEDEF_SNAPSHOT_VERSION_STAMP_PROPERTY_KEY, Long.class) : null;
+    }
+
+    /**
+     * @return checksum of the model files that were loaded, if no typedef has been updated since; null otherwise
+     */
+    public String getModelsChecksum() {
+        AtlasVertex vertex = findSnapshotVertex();
+
+        return vertex != null && getEncodedProperty(vertex, TYPEDEF_SNAPSHOT_CHECKSUM_PROPERTY_KEY, String.class) != null ?
+               getEncodedProperty(vertex, TYPEDEF_SNAPSHOT_MODELS_CHECKSUM_PROPERTY_KEY, String.class) : null;
+    }
+
+    /**
+     * Records checksum of the model files loaded. Ignored if the snapshot is not current.
+     */
+    public void setModelsChecksum(String modelsChecksum) {
+        AtlasVertex vertex = findSnapshotVertex();
+
+        if (vertex != null && getEncodedProperty(vertex, TYPEDEF_SNAPSHOT_CHECKSUM_PROPERTY_KEY, String.class) != null) {
+            setEncodedProperty(vertex, TYPEDEF_SNAPSHOT_MODELS_CHECKSUM_PROPERTY_KEY, modelsChecksum);
+        }
+    }
+
+    private AtlasVertex createSnapshotVertex() {
+        AtlasVertex ret = graph.addVertex();
+
+        setEncodedProperty(ret, TYPEDEF_SNAPSHOT_ID_PROPERTY_KEY, SNAPSHOT_ID);
+
+        return ret;
+    }
+
+    private AtlasVertex findSnapshotVertex() {
+        Iterator<AtlasVertex> results = graph.query().has(TYPEDEF_SNAPSHOT_ID_PROPERTY_KEY, SNAPSHOT_ID).vertices().iterator();
+
+        return results.hasNext() ? results.next() : null;
+    }
+
+    private static String compress(String str) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+
+        try (GZIPOutputStream gzip = new GZIPOutputStream(bytes)) {
+            gzip.write(str.getBytes(StandardCharsets.UTF_8));
+        }
+
+        return Base64.getEncoder().encodeToString(bytes.toByteArray());
+    }
+
+    private static String uncompress(String str) throws IOException {
+        ByteArrayOutputStream bytes  = new ByteArrayOutputStream();
+        byte[]                buffer = new byte[8192];
+
+        try (GZIPInputStream gzip = new GZIPInputStream(new ByteArrayInputStream(Base64.getDecoder().decode(str)))) {
+            for (int len = gzip.read(buffer); len != -1; len = gzip.read(buffer)) {
+                bytes.write(buffer, 0, len);
+            }
+        }
+
+        return new String(bytes.toByteArray(), StandardCharsets.UTF_8);
+    }
+
+    private static String getChecksum(String types, String fields) {
+        MessageDigest digester = SHA256Utils.getDigester();
+
+        digester.update(types.getBytes(StandardCharsets.UTF_8));
+
+        if (fields != null) {
+            digester.update(fields.getBytes(StandardCharsets.UTF_8));
+        }
+
+        return SHA256Utils.toString(digester.digest());
+    }
+
+    public static class TypeDefSnapshot {
+        private final AtlasTypesDef       typesDef;
+        private final Map<String, String> indexFieldNames;
+
+        public TypeDefSnapshot(AtlasTypesDef typesDef, Map<String, String> indexFieldNames) {
+            this.typesDef        = typesDef;
+            this.indexFieldNames = indexFieldNames != null ? indexFieldNames : new HashMap<>();
+        }
+
+        public AtlasTypesDef getTypesDef() { return typesDef; }
+
+        public Map<String, String> getIndexFieldNames() { return indexFieldNames; }
+    }
+}
@@ -61,6 +61,11 @@ public class AttributeMutationContext {
      */
     AtlasEdge existingEdge;
 
+    /**
+     * The relationship edge for the value, when it was looked up or created together with other values of the attribute
+     */
+    private AtlasEdge relationshipEdge;
+
     public AttributeMutationContext(EntityOperation op, AtlasVertex referringVertex, AtlasAttribute attribute, Object value) {
         this(op, referringVertex, attribute, value, attribute.getVertexPropertyName(), null, null);
     }
@@ -138,6 +143,14 @@ public class AttributeMutationContext {
         return existingEdge;
     }
 
+    public AtlasEdge getRelationshipEdge() {
+        return relationshipEdge;
+    }
+
+    public void setRelationshipEdge(AtlasEdge relationshipEdge) {
+        this.relationshipEdge = relationshipEdge;
+    }
+
     public void setElementType(final AtlasType attrType) {
         this.currentElementType = attrType;
     }
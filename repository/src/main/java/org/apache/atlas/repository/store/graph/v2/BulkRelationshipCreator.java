@@ -0,0 +1,204 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.atlas.repository.store.graph.v2;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.JsonNode;
+import org.apache.atlas.AtlasConfiguration;
+import org.apache.atlas.AtlasErrorCode;
+import org.apache.atlas.RequestContext;
+import org.apache.atlas.exception.AtlasBaseException;
+import org.apache.atlas.model.instance.AtlasRelationship;
+import org.apache.atlas.model.instance.AtlasRelationshipBulkResponse;
+import org.apache.atlas.model.instance.AtlasRelationshipBulkResponse.RelationshipResult;
+import org.apache.atlas.model.instance.AtlasRelationshipBulkResponse.Status;
+import org.apache.atlas.repository.store.graph.AtlasRelationshipStore;
+import org.apache.atlas.utils.AtlasJson;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import javax.inject.Inject;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Creates relationships read from a JSON array, without reading the whole array in memory. Relationships are created
+ * in chunks of atlas.relationships.bulk.chunk.size, each in its own transaction. When a chunk fails, it is split and
+ * retried until the relationships that fail are isolated, so that the rest are still created; the outcome of each
+ * relationship is reported in the response, by its position in the array.
+ */
+@Component
+public class BulkRelationshipCreator {
+    private static final Logger LOG = LoggerFactory.getLogger(BulkRelationshipCreator.class);
+
+    private final AtlasRelationshipStore relationshipStore;
+    private final int                    chunkSize;
+
+    @Inject
+    public BulkRelationshipCreator(AtlasRelationshipStore relationshipStore) {
+        this(relationshipStore, AtlasConfiguration.RELATIONSHIP_BULK_CHUNK_SIZE.getInt());
+    }
+
+    BulkRelationshipCreator(AtlasRelationshipStore relationshipStore, int chunkSize) {
+        this.relationshipStore = relationshipStore;
+        this.chunkSize         = Math.max(1, chunkSize);
+    }
+
+    public AtlasRelationshipBulkResponse create(InputStream inputStream, boolean ignoreExisting) throws AtlasBaseException {
+        AtlasRelationshipBulkResponse ret        = new AtlasRelationshipBulkResponse();
+        List<AtlasRelationship>       chunk      = new ArrayList<>();
+        int                           chunkStart = 0;
+        int                           index      = 0;
+
+        try (JsonParser parser = AtlasJson.getMapper().getFactory().createParser(inputStream)) {
+            if (parser.nextToken() != JsonToken.START_ARRAY) {
+                throw new AtlasBaseException(AtlasErrorCode.BAD_REQUEST, "expected an array of relationships");
+            }
+
+            for (JsonToken token = parser.nextToken(); token != JsonToken.END_ARRAY; token = parser.nextToken(), index++) {
+                if (token == null) {
+                    throw new IOException("unexpected end of input after " + index + " relationships");
+                }
+
+                AtlasRelationship relationship = null;
+                String            error        = null;
+
+                if (token == JsonToken.START_OBJECT) {
+                    JsonNode node = parser.readValueAsTree();
+
+                    try {
+                        relationship = AtlasJson.getMapper().treeToValue(node, AtlasRelationship.class);
+                    } catch (JsonProcessingException excp) {
+                        error = excp.getOriginalMessage();
+                    }
+                } else {
+                    parser.skipChildren();
+
+                    error = "expected a relationship, found " + token;
+                }
+
+                if (relationship != null) {
+                    chunk.add(relationship);
+
+                    if (chunk.size() >= chunkSize) {
+                        createChunk(chunk, chunkStart, ignoreExisting, ret);
+
+                        chunk.clear();
+
+                        chunkStart = index + 1;
+                    }
+                } else {
+                    // results are reported in array order: create the relationships read before the invalid one first
+                    createChunk(chunk, chunkStart, ignoreExisting, ret);
+
+                    chunk.clear();
+
+                    chunkStart = index + 1;
+
+                    ret.addResult(toFailedResult(index, null, new AtlasBaseException(AtlasErrorCode.INVALID_PARAMETERS, error)));
+                }
+            }
+        } catch (IOException excp) {
+            LOG.warn("bulk relationship create: failed to read relationship at index {}", index, excp);
+
+            // relationships read so far are still created; the unreadable remainder is reported as one failure
+            createChunk(chunk, chunkStart, ignoreExisting, ret);
+
+            chunk.clear();
+
+            ret.addResult(toFailedResult(index, null, new AtlasBaseException(AtlasErrorCode.BAD_REQUEST, excp.getMessage())));
+        }
+
+        createChunk(chunk, chunkStart, ignoreExisting, ret);
+
+        if (LOG.isDebugEnabled()) {
+            LOG.debug("bulk relationship create: processed={}, created={}, existing={}, failed={}",
+                      ret.getProcessedCount(), ret.getCreatedCount(), ret.getExistingCount(), ret.getFailedCount());
+        }
+
+        return ret;
+    }
+
+    private void createChunk(List<AtlasRelationship> chunk, int chunkStart, boolean ignoreExisting, AtlasRelationshipBulkResponse response) {
+        if (chunk.isEmpty()) {
+            return;
+        }
+
+        List<RelationshipResult> results = createRelationships(chunk, chunkStart, ignoreExisting);
+
+        for (RelationshipResult result : results) {
+            response.addResult(result);
+        }
+    }
+
+    private List<RelationshipResult> createRelationships(List<AtlasRelationship> relationships, int startIndex, boolean ignoreExisting) {
+        List<RelationshipResult> ret;
+        Exception                failure;
+
+        try {
+            ret = relationshipStore.createRelationships(relationships, ignoreExisting).getResults();
+
+            for (RelationshipResult result : ret) {
+                result.setIndex(startIndex + result.getIndex());
+            }
+
+            return ret;
+        } catch (AtlasBaseException | RuntimeException excp) {
+            failure = excp;
+        } finally {
+            RequestContext.get().clearCache();
+        }
+
+        if (relationships.size() == 1) {
+            if (LOG.isDebugEnabled()) {
+                LOG.debug("bulk relationship create: failed to create relationship at index {}", startIndex, failure);
+            }
+
+            return Collections.singletonList(toFailedResult(startIndex, relationships.get(0), failure));
+        }
+
+        int mid = relationships.size() / 2;
+
+        ret = new ArrayList<>(relationships.size());
+
+        ret.addAll(createRelationships(relationships.subList(0, mid), startIndex, ignoreExisting));
+        ret.addAll(createRelationships(relationships.subList(mid, relationships.size()), startIndex + mid, ignoreExisting));
+
+        return ret;
+    }
+
+    private static RelationshipResult toFailedResult(int index, AtlasRelationship relationship, Exception excp) {
+        RelationshipResult ret = new RelationshipResult(index, Status.FAILED, null, relationship != null ? relationship.getTypeName() : null);
+
+        if (excp instanceof AtlasBaseException) {
+            ret.setErrorCode(((AtlasBaseException) excp).getAtlasErrorCode().getErrorCode());
+        } else {
+            ret.setErrorCode(AtlasErrorCode.INTERNAL_ERROR.getErrorCode());
+        }
+
+        ret.setErrorMessage(excp.getMessage());
+
+        return ret;
+    }
+}
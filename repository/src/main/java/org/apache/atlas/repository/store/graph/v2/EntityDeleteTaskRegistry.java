@@ -0,0 +1,151 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.atlas.repository.store.graph.v2;
+
+import org.apache.atlas.RequestContext;
+import org.apache.atlas.model.instance.AtlasEntityDeleteTask;
+import org.apache.atlas.model.instance.AtlasEntityDeleteTask.Status;
+import org.apache.atlas.repository.graphdb.AtlasGraph;
+import org.apache.atlas.repository.graphdb.AtlasGraphQuery;
+import org.apache.atlas.repository.graphdb.AtlasVertex;
+import org.apache.atlas.store.DeleteType;
+import org.apache.atlas.type.AtlasType;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.UUID;
+
+import static org.apache.atlas.repository.Constants.CREATED_BY_KEY;
+import static org.apache.atlas.repository.Constants.DELETE_TASK_DELETED_COUNT_PROPERTY_KEY;
+import static org.apache.atlas.repository.Constants.DELETE_TASK_DELETE_TYPE_PROPERTY_KEY;
+import static org.apache.atlas.repository.Constants.DELETE_TASK_ERROR_PROPERTY_KEY;
+import static org.apache.atlas.repository.Constants.DELETE_TASK_GUIDS_PROPERTY_KEY;
+import static org.apache.atlas.repository.Constants.DELETE_TASK_ID_PROPERTY_KEY;
+import static org.apache.atlas.repository.Constants.DELETE_TASK_STATUS_PROPERTY_KEY;
+import static org.apache.atlas.repository.Constants.MODIFICATION_TIMESTAMP_PROPERTY_KEY;
+import static org.apache.atlas.repository.Constants.TIMESTAMP_PROPERTY_KEY;
+import static org.apache.atlas.repository.graphdb.AtlasGraphQuery.ComparisionOperator.EQUAL;
+import static org.apache.atlas.repository.store.graph.v2.AtlasGraphUtilsV2.getEncodedProperty;
+import static org.apache.atlas.repository.store.graph.v2.AtlasGraphUtilsV2.setEncodedProperty;
+
+/**
+ * Stores entity delete tasks as vertices in the graph, so that tasks interrupted by a restart or failover can be
+ * resumed. The methods don't commit: tasks are updated in the transaction of the caller, along with the entities deleted.
+ */
+public class EntityDeleteTaskRegistry {
+    private final AtlasGraph graph;
+
+    public EntityDeleteTaskRegistry(AtlasGraph graph) {
+        this.graph = graph;
+    }
+
+    public AtlasEntityDeleteTask createTask(List<String> guids, DeleteType deleteType, String user) {
+        AtlasEntityDeleteTask ret    = new AtlasEntityDeleteTask();
+        AtlasVertex           vertex = graph.addVertex();
+        long                  now    = RequestContext.get().getRequestTime();
+
+        ret.setId(UUID.randomUUID().toString());
+        ret.setGuids(guids);
+        ret.setDeleteType((deleteType != null ? deleteType : DeleteType.DEFAULT).name());
+        ret.setStatus(Status.PENDING);
+        ret.setCreatedBy(user);
+        ret.setCreatedTime(now);
+        ret.setUpdatedTime(now);
+
+        setEncodedProperty(vertex, DELETE_TASK_ID_PROPERTY_KEY, ret.getId());
+        setEncodedProperty(vertex, DELETE_TASK_GUIDS_PROPERTY_KEY, AtlasType.toJson(guids));
+        setEncodedProperty(vertex, DELETE_TASK_DELETE_TYPE_PROPERTY_KEY, ret.getDeleteType());
+        setEncodedProperty(vertex, CREATED_BY_KEY, user);
+        setEncodedProperty(vertex, TIMESTAMP_PROPERTY_KEY, now);
+
+        setProgress(vertex, ret);
+
+        return ret;
+    }
+
+    public AtlasEntityDeleteTask getTask(String taskId) {
+        AtlasVertex vertex = findByTaskId(taskId);
+
+        return vertex != null ? toTask(vertex) : null;
+    }
+
+    /**
+     * @return tasks that are yet to be completed: pending and in-progress tasks
+     */
+    public List<AtlasEntityDeleteTask> getIncompleteTasks() {
+        List<AtlasEntityDeleteTask> ret          = new ArrayList<>();
+        List<AtlasGraphQuery>       orConditions = new ArrayList<>();
+        AtlasGraphQuery             query        = graph.query();
+
+        orConditions.add(query.createChildQuery().has(DELETE_TASK_STATUS_PROPERTY_KEY, EQUAL, Status.PENDING.name()));
+        orConditions.add(query.createChildQuery().has(DELETE_TASK_STATUS_PROPERTY_KEY, EQUAL, Status.IN_PROGRESS.name()));
+
+        query.or(orConditions);
+
+        for (Iterator<AtlasVertex> iter = query.vertices().iterator(); iter.hasNext(); ) {
+            ret.add(toTask(iter.next()));
+        }
+
+        return ret;
+    }
+
+    /**
+     * Saves status, progress and error message of the given task.
+     */
+    public void updateTask(AtlasEntityDeleteTask task) {
+        AtlasVertex vertex = findByTaskId(task.getId());
+
+        if (vertex != null) {
+            task.setUpdatedTime(System.currentTimeMillis());
+
+            setProgress(vertex, task);
+        }
+    }
+
+    private void setProgress(AtlasVertex vertex, AtlasEntityDeleteTask task) {
+        setEncodedProperty(vertex, DELETE_TASK_STATUS_PROPERTY_KEY, task.getStatus().name());
+        setEncodedProperty(vertex, DELETE_TASK_DELETED_COUNT_PROPERTY_KEY, task.getDeletedCount());
+        setEncodedProperty(vertex, DELETE_TASK_ERROR_PROPERTY_KEY, task.getErrorMessage());
+        setEncodedProperty(vertex, MODIFICATION_TIMESTAMP_PROPERTY_KEY, task.getUpdatedTime());
+    }
+
+    private AtlasVertex findByTaskId(String taskId) {
+        Iterator<AtlasVertex> results = graph.query().has(DELETE_TASK_ID_PROPERTY_KEY, taskId).vertices().iterator();
+
+        return results.hasNext() ? results.next() : null;
+    }
+
+    private static AtlasEntityDeleteTask toTask(AtlasVertex vertex) {
+        AtlasEntityDeleteTask ret          = new AtlasEntityDeleteTask();
+        String                status       = getEncodedProperty(vertex, DELETE_TASK_STATUS_PROPERTY_KEY, String.class);
+        Long                  deletedCount = getEncodedProperty(vertex, DELETE_TASK_DELETED_COUNT_PROPERTY_KEY, Long.class);
+
+        ret.setId(getEncodedProperty(vertex, DELETE_TASK_ID_PROPERTY_KEY, String.class));
+        ret.setGuids(AtlasType.fromJson(getEncodedProperty(vertex, DELETE_TASK_GUIDS_PROPERTY_KEY, String.class), List.class));
+        ret.setDeleteType(getEncodedProperty(vertex, DELETE_TASK_DELETE_TYPE_PROPERTY_KEY, String.class));
+        ret.setStatus(status != null ? Status.valueOf(status) : Status.PENDING);
+        ret.setDeletedCount(deletedCount != null ? deletedCount : 0);
+        ret.setErrorMessage(getEncodedProperty(vertex, DELETE_TASK_ERROR_PROPERTY_KEY, String.class));
+        ret.setCreatedBy(getEncodedProperty(vertex, CREATED_BY_KEY, String.class));
+        ret.setCreatedTime(getEncodedProperty(vertex, TIMESTAMP_PROPERTY_KEY, Long.class));
+        ret.setUpdatedTime(getEncodedProperty(vertex, MODIFICATION_TIMESTAMP_PROPERTY_KEY, Long.class));
+
+        return ret;
+    }
+}
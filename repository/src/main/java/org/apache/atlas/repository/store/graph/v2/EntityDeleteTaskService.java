@@ -0,0 +1,516 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.atlas.repository.store.graph.v2;
+
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import org.apache.atlas.AtlasConfiguration;
+import org.apache.atlas.AtlasErrorCode;
+import org.apache.atlas.AtlasException;
+import org.apache.atlas.GraphTransactionInterceptor;
+import org.apache.atlas.RequestContext;
+import org.apache.atlas.annotation.GraphTransaction;
+import org.apache.atlas.authorize.AtlasAuthorizationUtils;
+import org.apache.atlas.authorize.AtlasEntityAccessRequest;
+import org.apache.atlas.authorize.AtlasPrivilege;
+import org.apache.atlas.exception.AtlasBaseException;
+import org.apache.atlas.ha.HAConfiguration;
+import org.apache.atlas.listener.ActiveStateChangeHandler;
+import org.apache.atlas.model.instance.AtlasEntityDeleteTask;
+import org.apache.atlas.model.instance.AtlasEntityDeleteTask.Status;
+import org.apache.atlas.model.instance.AtlasEntityHeader;
+import org.apache.atlas.model.instance.EntityMutationResponse;
+import org.apache.atlas.repository.graph.GraphHelper;
+import org.apache.atlas.repository.graphdb.AtlasGraph;
+import org.apache.atlas.repository.graphdb.AtlasVertex;
+import org.apache.atlas.repository.store.graph.v1.DeleteHandlerDelegate;
+import org.apache.atlas.repository.store.graph.v1.DeleteHandlerV1;
+import org.apache.atlas.service.Service;
+import org.apache.atlas.store.DeleteType;
+import org.apache.atlas.type.AtlasTypeRegistry;
+import org.apache.commons.collections.CollectionUtils;
+import org.apache.commons.configuration.Configuration;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+import javax.inject.Inject;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.apache.atlas.model.instance.AtlasEntity.Status.DELETED;
+import static org.apache.atlas.model.instance.EntityMutations.EntityOperation.DELETE;
+import static org.apache.atlas.model.instance.EntityMutations.EntityOperation.UPDATE;
+
+/**
+ * Deletes entities that own a large number of entities - like a hive_db with thousands of tables and millions of
+ * columns - in the background, in chunks of atlas.entity.delete.bulk.chunk.size entities, each in its own transaction.
+ *
+ * The ownership tree of each entity is walked depth-first and entities are deleted after the entities they own; hence
+ * deleting an entity never cascades beyond its chunk. Progress of the task is saved in the transaction of each chunk,
+ * in a task vertex. Entities deleted by earlier chunks are skipped in the walk, so a task interrupted by a restart or
+ * failover is resumed by walking the tree again, when the instance becomes active. Audits and notifications are sent
+ * for each deleted entity as in a synchronous delete, as each chunk is committed.
+ *
+ * A chunk that fails with a runtime exception - like a lock or storage backend timeout - is retried up to
+ * atlas.entity.delete.bulk.chunk.max.retries times. A task stopped by shutdown or failover, including one whose chunk
+ * failed as it was interrupted, stays IN_PROGRESS to be resumed; only other failures mark the task FAILED.
+ */
+@Component
+@Order(6)
+public class EntityDeleteTaskService implements Service, ActiveStateChangeHandler {
+    private static final Logger LOG = LoggerFactory.getLogger(EntityDeleteTaskService.class);
+
+    private final AtlasGraph                 graph;
+    private final AtlasTypeRegistry          typeRegistry;
+    private final DeleteHandlerDelegate      deleteDelegate;
+    private final IAtlasEntityChangeNotifier entityChangeNotifier;
+    private final EntityGraphRetriever       entityRetriever;
+    private final EntityDeleteTaskRegistry   taskRegistry;
+    private final Configuration              configuration;
+    private final int                        chunkSize;
+    private final int                        chunkMaxRetries;
+    private final long                       chunkRetrySleepMs;
+    private final Set<String>                queuedTaskIds = ConcurrentHashMap.newKeySet();
+    private final ExecutorService            executor;
+    private volatile boolean                 isActive      = false;
+
+    @Inject
+    public EntityDeleteTaskService(AtlasGraph graph, AtlasTypeRegistry typeRegistry, DeleteHandlerDelegate deleteDelegate,
+                                   IAtlasEntityChangeNotifier entityChangeNotifier, Configuration configuration) {
+        this.graph                = graph;
+        this.typeRegistry         = typeRegistry;
+        this.deleteDelegate       = deleteDelegate;
+        this.entityChangeNotifier = entityChangeNotifier;
+        this.entityRetriever      = new EntityGraphRetriever(graph, typeRegistry);
+        this.taskRegistry         = new EntityDeleteTaskRegistry(graph);
+        this.configuration        = configuration;
+        this.chunkSize            = Math.max(1, AtlasConfiguration.ENTITY_DELETE_BULK_CHUNK_SIZE.getInt());
+        this.chunkMaxRetries      = Math.max(0, AtlasConfiguration.ENTITY_DELETE_BULK_CHUNK_MAX_RETRIES.getInt());
+        this.chunkRetrySleepMs    = Math.max(0, AtlasConfiguration.ENTITY_DELETE_BULK_CHUNK_RETRY_SLEEP_MS.getLong());
+        this.executor             = Executors.newSingleThreadExecutor(new ThreadFactoryBuilder().setNameFormat("atlas-entity-delete-%d").setDaemon(true).build());
+    }
+
+    @Override
+    public void start() throws AtlasException {
+        if (!HAConfiguration.isHAEnabled(configuration)) {
+            activate();
+        } else {
+            LOG.info("EntityDeleteTaskService.start(): deferring resume of delete tasks until instance activation");
+        }
+    }
+
+    @Override
+    public void stop() {
+        // checked by the task on failure, hence a chunk failing due to the interrupt leaves the task to be resumed
+        isActive = false;
+
+        executor.shutdownNow();
+
+        LOG.info("EntityDeleteTaskService.stop(): stopped");
+    }
+
+    @Override
+    public void instanceIsActive() {
+        activate();
+    }
+
+    @Override
+    public void instanceIsPassive() {
+        LOG.info("EntityDeleteTaskService.instanceIsPassive(): delete tasks in progress will stop after the current chunk");
+
+        // tasks stay IN_PROGRESS, to be resumed by the instance that becomes active
+        isActive = false;
+    }
+
+    @Override
+    public int getHandlerOrder() {
+        return HandlerOrder.ENTITY_DELETE_TASK_SERVICE.getOrder();
+    }
+
+    /**
+     * Creates a task to delete the given entities, along with entities owned by them. The task is run after the
+     * current transaction is committed.
+     */
+    @GraphTransaction
+    public AtlasEntityDeleteTask submit(List<String> guids) throws AtlasBaseException {
+        if (CollectionUtils.isEmpty(guids)) {
+            throw new AtlasBaseException(AtlasErrorCode.INVALID_PARAMETERS, "Guid(s) not specified");
+        }
+
+        final RequestContext requestContext = RequestContext.get();
+
+        if (requestContext.isPurgeRequested()) {
+            throw new AtlasBaseException(AtlasErrorCode.INVALID_PARAMETERS, "purge is not supported in delete tasks");
+        }
+
+        for (String guid : guids) {
+            AtlasVertex vertex = AtlasGraphUtilsV2.findByGuid(graph, guid);
+
+            if (vertex == null) {
+                throw new AtlasBaseException(AtlasErrorCode.INSTANCE_GUID_NOT_FOUND, guid);
+            }
+
+            AtlasEntityHeader entityHeader = entityRetriever.toAtlasEntityHeaderWithClassifications(vertex);
+
+            AtlasAuthorizationUtils.verifyAccess(new AtlasEntityAccessRequest(typeRegistry, AtlasPrivilege.ENTITY_DELETE, entityHeader), "delete entity: guid=", guid);
+        }
+
+        final AtlasEntityDeleteTask ret = taskRegistry.createTask(new ArrayList<>(guids), requestContext.getDeleteType(), requestContext.getUser());
+
+        new GraphTransactionInterceptor.PostTransactionHook() {
+            @Override
+            public void onComplete(boolean isSuccess) {
+                if (isSuccess) {
+                    enqueue(ret.getId());
+                }
+            }
+        };
+
+        LOG.info("created entity delete task: {}", ret);
+
+        return ret;
+    }
+
+    @GraphTransaction
+    public AtlasEntityDeleteTask getTask(String taskId) throws AtlasBaseException {
+        AtlasEntityDeleteTask ret = taskRegistry.getTask(taskId);
+
+        if (ret == null) {
+            throw new AtlasBaseException(AtlasErrorCode.ENTITY_DELETE_TASK_NOT_FOUND, taskId);
+        }
+
+        return ret;
+    }
+
+    private void activate() {
+        isActive = true;
+
+        // resume tasks interrupted by a restart or failover
+        executor.submit(() -> {
+            try {
+                List<AtlasEntityDeleteTask> tasks = taskRegistry.getIncompleteTasks();
+
+                graph.commit();
+
+                LOG.info("EntityDeleteTaskService: {} delete tasks to resume", tasks.size());
+
+                for (AtlasEntityDeleteTask task : tasks) {
+                    enqueue(task.getId());
+                }
+            } catch (Throwable t) {
+                LOG.error("EntityDeleteTaskService: failed to find delete tasks to resume", t);
+
+                graph.rollback();
+            }
+        });
+    }
+
+    private void enqueue(String taskId) {
+        if (queuedTaskIds.add(taskId)) {
+            executor.submit(() -> {
+                try {
+                    run(taskId);
+                } finally {
+                    queuedTaskIds.remove(taskId);
+                }
+            });
+        }
+    }
+
+    void run(String taskId) {
+        if (!isActive) {
+            return;
+        }
+
+        AtlasEntityDeleteTask task = null;
+
+        try {
+            task = taskRegistry.getTask(taskId);
+
+            if (task == null || task.getStatus() == Status.COMPLETE || task.getStatus() == Status.FAILED) {
+                graph.commit();
+
+                return;
+            }
+
+            LOG.info("==> entity delete task: {}", task);
+
+            task.setStatus(Status.IN_PROGRESS);
+            taskRegistry.updateTask(task);
+            graph.commit();
+
+            for (String guid : task.getGuids()) {
+                if (!deleteTree(task, guid)) {
+                    LOG.info("<== entity delete task {}: stopped as the instance is no longer active; deletedCount={}", taskId, task.getDeletedCount());
+
+                    return;
+                }
+            }
+
+            task.setStatus(Status.COMPLETE);
+        } catch (Throwable t) {
+            graph.rollback();
+
+            if (task == null) {
+                LOG.error("entity delete task {} failed", taskId, t);
+
+                return;
+            }
+
+            if (!isActive || Thread.currentThread().isInterrupted()) {
+                LOG.info("<== entity delete task {}: stopped as the instance is stopping or no longer active; deletedCount={}", taskId, task.getDeletedCount(), t);
+
+                return;
+            }
+
+            LOG.error("entity delete task {} failed", taskId, t);
+
+            task.setStatus(Status.FAILED);
+            task.setErrorMessage(t.getMessage());
+        } finally {
+            GraphTransactionInterceptor.clearCache();
+            RequestContext.clear();
+        }
+
+        try {
+            taskRegistry.updateTask(task);
+            graph.commit();
+        } catch (Throwable t) {
+            LOG.error("entity delete task {}: failed to save status {}", taskId, task.getStatus(), t);
+
+            graph.rollback();
+        }
+
+        LOG.info("<== entity delete task: {}", task);
+    }
+
+    /**
+     * Deletes the entity with the given guid, and the entities it owns, in chunks.
+     *
+     * @return false if the walk stopped as the instance became passive; true otherwise
+     */
+    boolean deleteTree(AtlasEntityDeleteTask task, String rootGuid) throws AtlasBaseException {
+        final Deque<TreeNode> path       = new ArrayDeque<>();
+        final Set<String>     pathGuids  = new HashSet<>();
+        final List<String>    chunk      = new ArrayList<>();
+        final Set<String>     chunkGuids = new HashSet<>();
+
+        path.push(new TreeNode(rootGuid));
+        pathGuids.add(rootGuid);
+
+        while (!path.isEmpty()) {
+            TreeNode node = path.peek();
+
+            if (node.childGuids == null) {
+                AtlasVertex vertex = AtlasGraphUtilsV2.findByGuid(graph, node.guid);
+
+                // deleted by an earlier chunk, or before this task was resumed
+                if (vertex == null || AtlasGraphUtilsV2.getState(vertex) == DELETED) {
+                    path.pop();
+                    pathGuids.remove(node.guid);
+
+                    continue;
+                }
+
+                node.childGuids = new ArrayList<>();
+
+                for (AtlasVertex childVertex : deleteDelegate.getHandler(getDeleteType(task)).getOwnedChildVertices(vertex)) {
+                    node.childGuids.add(GraphHelper.getGuid(childVertex));
+                }
+            }
+
+            if (node.nextChild < node.childGuids.size()) {
+                String childGuid = node.childGuids.get(node.nextChild++);
+
+                // skip cycles in ownership, and entities owned by more than one entity
+                if (childGuid != null && !pathGuids.contains(childGuid) && !chunkGuids.contains(childGuid)) {
+                    path.push(new TreeNode(childGuid));
+                    pathGuids.add(childGuid);
+                }
+
+                continue;
+            }
+
+            path.pop();
+            pathGuids.remove(node.guid);
+
+            // all entities owned by this entity are deleted, or are in the current chunk
+            chunk.add(node.guid);
+            chunkGuids.add(node.guid);
+
+            if (chunk.size() >= chunkSize) {
+                if (!isActive) {
+                    return false;
+                }
+
+                deleteChunkWithRetries(task, chunk, pathGuids);
+
+                chunk.clear();
+                chunkGuids.clear();
+            }
+        }
+
+        if (!isActive) {
+            return false;
+        }
+
+        deleteChunkWithRetries(task, chunk, pathGuids);
+
+        return true;
+    }
+
+    /**
+     * Deletes the entities with the given guids as one chunk, retrying on runtime exceptions - which the graph raises
+     * for transient failures like lock contention or storage timeouts. AtlasBaseException is not retried, as it reports
+     * a failure of the delete itself. Vertices are looked up again for each attempt, as the failed attempt is rolled back.
+     */
+    void deleteChunkWithRetries(AtlasEntityDeleteTask task, List<String> guids, Set<String> ancestorGuids) throws AtlasBaseException {
+        for (int attempt = 0; ; attempt++) {
+            List<AtlasVertex> vertices = new ArrayList<>(guids.size());
+
+            for (String guid : guids) {
+                AtlasVertex vertex = AtlasGraphUtilsV2.findByGuid(graph, guid);
+
+                if (vertex != null) {
+                    vertices.add(vertex);
+                }
+            }
+
+            try {
+                deleteChunk(task, vertices, ancestorGuids);
+
+                return;
+            } catch (RuntimeException excp) {
+                if (attempt >= chunkMaxRetries || !isActive || Thread.currentThread().isInterrupted()) {
+                    throw excp;
+                }
+
+                LOG.warn("entity delete task {}: failed to delete a chunk of {} entities; retry {} of {}", task.getId(), guids.size(), attempt + 1, chunkMaxRetries, excp);
+
+                try {
+                    Thread.sleep(chunkRetrySleepMs * (attempt + 1));
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+
+                    throw excp;
+                }
+            }
+        }
+    }
+
+    /**
+     * Deletes the given entities and saves progress of the task in one transaction, and notifies the listeners. Hooks
+     * registered by the listeners, like the one sending notifications after commit, are run once the chunk is committed
+     * or rolled back.
+     *
+     * @param ancestorGuids guids of entities owning the given entities, which are yet to be deleted. References to the
+     *                      deleted entities are removed from these entities, but these are not notified as updated -
+     *                      like in a synchronous delete of the tree.
+     */
+    void deleteChunk(AtlasEntityDeleteTask task, Collection<AtlasVertex> vertices, Set<String> ancestorGuids) throws AtlasBaseException {
+        if (vertices.isEmpty()) {
+            return;
+        }
+
+        RequestContext.clear();
+
+        final RequestContext requestContext = RequestContext.get();
+
+        requestContext.setUser(task.getCreatedBy(), null);
+        requestContext.setDeleteType(getDeleteType(task));
+
+        final DeleteHandlerV1 deleteHandler = deleteDelegate.getHandler();
+        final long            deletedCount  = task.getDeletedCount();
+
+        boolean isCommitted = false;
+
+        deleteHandler.startInverseReferenceBatch();
+
+        try {
+            deleteHandler.deleteEntities(vertices);
+
+            EntityMutationResponse response = new EntityMutationResponse();
+
+            for (AtlasEntityHeader entity : requestContext.getDeletedEntities()) {
+                response.addEntity(DELETE, entity);
+            }
+
+            for (AtlasEntityHeader entity : requestContext.getUpdatedEntities()) {
+                if (!ancestorGuids.contains(entity.getGuid())) {
+                    response.addEntity(UPDATE, entity);
+                }
+            }
+
+            entityChangeNotifier.onEntitiesMutated(response, false);
+
+            task.setDeletedCount(deletedCount + requestContext.getDeletedEntities().size());
+            taskRegistry.updateTask(task);
+
+            graph.commit();
+
+            isCommitted = true;
+
+            if (LOG.isDebugEnabled()) {
+                LOG.debug("entity delete task {}: deleted {} entities; deletedCount={}", task.getId(), requestContext.getDeletedEntities().size(), task.getDeletedCount());
+            }
+        } catch (AtlasBaseException | RuntimeException excp) {
+            graph.rollback();
+
+            task.setDeletedCount(deletedCount);
+
+            throw excp;
+        } finally {
+            deleteHandler.endInverseReferenceBatch();
+
+            GraphTransactionInterceptor.clearCache();
+
+            // chunks are committed here, not by GraphTransactionInterceptor - hence post-commit notifications, and
+            // other hooks registered while deleting the chunk, are run here
+            GraphTransactionInterceptor.processPostTransactionHooks(isCommitted);
+        }
+    }
+
+    @VisibleForTesting
+    void setActive(boolean isActive) {
+        this.isActive = isActive;
+    }
+
+    private static DeleteType getDeleteType(AtlasEntityDeleteTask task) {
+        return DeleteType.from(task.getDeleteType());
+    }
+
+    private static class TreeNode {
+        final String       guid;
+        List<String>       childGuids;
+        int                nextChild = 0;
+
+        TreeNode(String guid) {
+            this.guid = guid;
+        }
+    }
+}
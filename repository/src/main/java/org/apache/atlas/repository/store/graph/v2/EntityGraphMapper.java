@@ -39,6 +39,7 @@ import org.apache.atlas.model.typedef.AtlasStructDef.AtlasAttributeDef.Cardinali
 import org.apache.atlas.repository.Constants;
 import org.apache.atlas.repository.RepositoryException;
 import org.apache.atlas.repository.converters.AtlasInstanceConverter;
+import org.apache.atlas.repository.graph.ClassificationAttributeIndexHelper;
 import org.apache.atlas.repository.graph.IFullTextMapper;
 import org.apache.atlas.repository.graph.GraphHelper;
 import org.apache.atlas.repository.graphdb.AtlasEdge;
@@ -1153,23 +1154,10 @@ public class EntityGraphMapper {
             LOG.debug("==> mapObjectIdValueUsingRelationship({})", ctx);
         }
 
-        String      guid            = getGuid(ctx.getValue());
-        AtlasVertex attributeVertex = context.getDiscoveryContext().getResolvedEntityVertex(guid);
+        AtlasVertex attributeVertex = getAttributeVertex(ctx.getValue(), context);
         AtlasVertex entityVertex    = ctx.getReferringVertex();
         AtlasEdge   ret;
 
-        if (attributeVertex == null) {
-            if (AtlasTypeUtil.isAssignedGuid(guid)) {
-                attributeVertex = context.getVertex(guid);
-            }
-
-            if (attributeVertex == null) {
-                AtlasObjectId objectId = getObjectId(ctx.getValue());
-
-                attributeVertex = (objectId != null) ? context.getDiscoveryContext().getResolvedEntityVertex(objectId) : null;
-            }
-        }
-
         if (attributeVertex == null) {
             if(RequestContext.get().isImportInProgress()) {
                 return null;
@@ -1209,7 +1197,11 @@ public class EntityGraphMapper {
                         toVertex   = attributeVertex;
                     }
 
-                    ret = getOrCreateRelationship(fromVertex, toVertex, relationshipName, relationshipAttributes);
+                    if (ctx.getRelationshipEdge() != null) {
+                        ret = ctx.getRelationshipEdge();
+                    } else {
+                        ret = getOrCreateRelationship(fromVertex, toVertex, relationshipName, relationshipAttributes);
+                    }
 
                     boolean isCreated = graphHelper.getCreatedTime(ret) == RequestContext.get().getRequestTime();
 
@@ -1252,6 +1244,25 @@ public class EntityGraphMapper {
         return ret;
     }
 
+    private AtlasVertex getAttributeVertex(Object value, EntityMutationContext context) throws AtlasBaseException {
+        String      guid = getGuid(value);
+        AtlasVertex ret  = context.getDiscoveryContext().getResolvedEntityVertex(guid);
+
+        if (ret == null) {
+            if (AtlasTypeUtil.isAssignedGuid(guid)) {
+                ret = context.getVertex(guid);
+            }
+
+            if (ret == null) {
+                AtlasObjectId objectId = getObjectId(value);
+
+                ret = (objectId != null) ? context.getDiscoveryContext().getResolvedEntityVertex(objectId) : null;
+            }
+        }
+
+        return ret;
+    }
+
     private Map<String, Object> mapMapValue(AttributeMutationContext ctx, EntityMutationContext context) throws AtlasBaseException {
         if (LOG.isDebugEnabled()) {
             LOG.debug("==> mapMapValue({})", ctx);
@@ -1393,11 +1404,16 @@ public class EntityGraphMapper {
             newElements = (List) newElements.stream().distinct().collect(Collectors.toList());
         }
 
+        Map<Integer, AtlasEdge> relationshipEdges = (isReference && !isSoftReference) ? getOrCreateRelationshipEdges(ctx, newElements, currentElements, elementType, context)
+                                                                                       : Collections.emptyMap();
+
         for (int index = 0; index < newElements.size(); index++) {
             AtlasEdge               existingEdge = (isSoftReference) ? null : getEdgeAt(currentElements, index, elementType);
             AttributeMutationContext arrCtx      = new AttributeMutationContext(ctx.getOp(), ctx.getReferringVertex(), ctx.getAttribute(), newElements.get(index),
                                                                                  ctx.getVertexProperty(), elementType, existingEdge);
 
+            arrCtx.setRelationshipEdge(relationshipEdges.get(index));
+
             Object newEntry = mapCollectionElementsToVertex(arrCtx, context);
 
             if (isReference && newEntry != null && newEntry instanceof AtlasEdge && inverseRefAttribute != null) {
@@ -1439,6 +1455,66 @@ public class EntityGraphMapper {
         return newElementsCreated;
     }
 
+    /**
+     * Looks up or creates the relationship edges of array elements that don't replace an existing edge, with one call to
+     * the relationship store, instead of one call per element. Elements that can't be resolved here are mapped as usual.
+     *
+     * @return relationship edge of each element, by index
+     */
+    private Map<Integer, AtlasEdge> getOrCreateRelationshipEdges(AttributeMutationContext ctx, List newElements, List currentElements, AtlasType elementType,
+                                                                 EntityMutationContext context) throws AtlasBaseException {
+        Map<Integer, AtlasEdge> ret          = new HashMap<>();
+        AtlasAttribute          attribute    = ctx.getAttribute();
+        AtlasVertex             entityVertex = ctx.getReferringVertex();
+        AtlasType               type         = typeRegistry.getType(AtlasGraphUtilsV2.getTypeName(entityVertex));
+
+        if (newElements.size() < 2 || elementType.getTypeCategory() != TypeCategory.OBJECT_ID_TYPE || !(type instanceof AtlasEntityType) ||
+            !((AtlasEntityType) type).hasRelationshipAttribute(attribute.getName())) {
+            return ret;
+        }
+
+        String                        relationshipName = attribute.getRelationshipName();
+        List<Integer>                 indexes          = new ArrayList<>();
+        List<RelationshipEdgeRequest> requests         = new ArrayList<>();
+
+        if (StringUtils.isEmpty(relationshipName)) {
+            relationshipName = graphHelper.getRelationshipTypeName(entityVertex, (AtlasEntityType) type, attribute.getName());
+        }
+
+        for (int index = 0; index < newElements.size(); index++) {
+            if (getEdgeAt(currentElements, index, elementType) != null) {
+                continue;
+            }
+
+            Object      value           = newElements.get(index);
+            AtlasVertex attributeVertex = getAttributeVertex(value, context);
+
+            if (attributeVertex == null) {
+                continue;
+            }
+
+            AtlasRelationship relationship = new AtlasRelationship(relationshipName, getRelationshipAttributes(value));
+
+            if (attribute.getRelationshipEdgeDirection() == IN) {
+                requests.add(new RelationshipEdgeRequest(attributeVertex, entityVertex, relationship));
+            } else {
+                requests.add(new RelationshipEdgeRequest(entityVertex, attributeVertex, relationship));
+            }
+
+            indexes.add(index);
+        }
+
+        if (requests.size() > 1) {
+            List<AtlasEdge> edges = relationshipStore.getOrCreate(requests);
+
+            for (int i = 0; i < edges.size(); i++) {
+                ret.put(indexes.get(i), edges.get(i));
+            }
+        }
+
+        return ret;
+    }
+
     private AtlasEdge createVertex(AtlasStruct struct, AtlasVertex referringVertex, String edgeLabel, EntityMutationContext context) throws AtlasBaseException {
         AtlasVertex vertex = createStructVertex(struct);
 
@@ -1942,6 +2018,7 @@ public class EntityGraphMapper {
 
                 // add the attributes for the trait instance
                 mapClassification(EntityOperation.CREATE, context, classification, entityType, entityVertex, classificationVertex);
+                ClassificationAttributeIndexHelper.updateEntityVertex(entityVertex, typeRegistry);
                 updateModificationMetadata(entityVertex);
                 if(addedClassifications.get(classification) == null) {
                     addedClassifications.put(classification, new HashSet<>());
@@ -2079,6 +2156,8 @@ public class EntityGraphMapper {
 
         deleteDelegate.getHandler().deleteEdgeReference(edge, CLASSIFICATION, false, true, entityVertex);
 
+        ClassificationAttributeIndexHelper.updateEntityVertex(entityVertex, typeRegistry);
+
         traitNames.remove(classificationName);
 
         // update 'TRAIT_NAMES_PROPERTY_KEY' property
@@ -2318,6 +2397,8 @@ public class EntityGraphMapper {
             String      entityGuid = graphHelper.getGuid(vertex);
             AtlasEntity entity     = instanceConverter.getAndCacheEntity(entityGuid, ENTITY_CHANGE_NOTIFY_IGNORE_RELATIONSHIP_ATTRIBUTES);
 
+            ClassificationAttributeIndexHelper.updateEntityVertex(vertex, typeRegistry);
+
             if (isActive(entity)) {
                 vertex.setProperty(CLASSIFICATION_TEXT_KEY, fullTextMapperV2.getClassificationTextForEntity(entity));
                 entityChangeNotifier.onClassificationUpdatedToEntity(entity, updatedClassifications);
@@ -108,6 +108,7 @@ import static org.apache.atlas.model.typedef.AtlasRelationshipDef.PropagateTags.
 import static org.apache.atlas.repository.Constants.CLASSIFICATION_ENTITY_GUID;
 import static org.apache.atlas.repository.Constants.CLASSIFICATION_LABEL;
 import static org.apache.atlas.repository.Constants.CLASSIFICATION_VALIDITY_PERIODS_KEY;
+import static org.apache.atlas.repository.Constants.GUID_PROPERTY_KEY;
 import static org.apache.atlas.repository.Constants.TERM_ASSIGNMENT_LABEL;
 import static org.apache.atlas.repository.graph.GraphHelper.*;
 import static org.apache.atlas.repository.store.graph.v2.AtlasGraphUtilsV2.getIdFromVertex;
@@ -379,16 +380,92 @@ public class EntityGraphRetriever {
     }
 
 
+    /**
+     * Finds vertices of the given entities with a single graph query.
+     * @return vertices keyed by guid; guids that were not found are not included
+     */
+    public Map<String, AtlasVertex> getEntityVertices(Collection<String> guids) {
+        Map<String, AtlasVertex> ret = new HashMap<>();
+
+        if (CollectionUtils.isNotEmpty(guids)) {
+            Iterable<AtlasVertex> vertices = graph.query().in(GUID_PROPERTY_KEY, guids).vertices();
+
+            for (AtlasVertex vertex : vertices) {
+                String guid = getGuid(vertex);
+
+                if (guid != null) {
+                    ret.put(guid, vertex);
+                }
+            }
+        }
+
+        return ret;
+    }
+
+    /**
+     * Maps only the given attributes and relationship attributes of the entity; a null set maps all of them.
+     * Referred entities are not loaded.
+     */
+    public AtlasEntity toAtlasEntity(AtlasVertex entityVertex, Set<String> attributes, Set<String> relationshipAttributes) throws AtlasBaseException {
+        AtlasEntity entity = new AtlasEntity();
+
+        mapSystemAttributes(entityVertex, entity);
+
+        AtlasEntityType entityType = typeRegistry.getEntityTypeByName(entity.getTypeName());
+
+        if (entityType == null) {
+            throw new AtlasBaseException(AtlasErrorCode.TYPE_NAME_INVALID, entity.getTypeName());
+        }
+
+        if (attributes == null) {
+            mapAttributes(entityVertex, entity, null);
+        } else {
+            for (String attributeName : attributes) {
+                AtlasAttribute attribute = entityType.getAttribute(attributeName);
+
+                if (attribute != null) {
+                    entity.setAttribute(attributeName, mapVertexToAttribute(entityVertex, attribute, null, false));
+                }
+            }
+        }
+
+        if (relationshipAttributes == null) {
+            mapRelationshipAttributes(entityVertex, entity, null, false);
+        } else {
+            for (String attributeName : relationshipAttributes) {
+                if (entityType.getRelationshipAttributes().containsKey(attributeName)) {
+                    mapVertexToRelationshipAttribute(entityVertex, entityType, attributeName, entity, null, false);
+                }
+            }
+        }
+
+        mapClassifications(entityVertex, entity);
+
+        return entity;
+    }
+
     private AtlasEntitiesWithExtInfo getAtlasEntitiesWithExtInfo(List<String> guids, boolean isMinExtInfo, boolean ignoreNotFoundException) throws AtlasBaseException {
         AtlasEntitiesWithExtInfo ret = new AtlasEntitiesWithExtInfo();
 
+        addAtlasEntitiesWithExtInfo(guids, isMinExtInfo, ignoreNotFoundException, ret);
+
+        ret.compact();
+
+        return ret;
+    }
+
+    /**
+     * Adds the entities to the given entitiesWithExtInfo, along with their referred entities, without compacting it;
+     * referred entities already present are not retrieved again.
+     */
+    public void addAtlasEntitiesWithExtInfo(List<String> guids, boolean isMinExtInfo, boolean ignoreNotFoundException, AtlasEntitiesWithExtInfo entitiesWithExtInfo) throws AtlasBaseException {
         for (String guid : guids) {
             try {
                 AtlasVertex vertex = getEntityVertex(guid);
 
-                AtlasEntity entity = mapVertexToAtlasEntity(vertex, ret, isMinExtInfo);
+                AtlasEntity entity = mapVertexToAtlasEntity(vertex, entitiesWithExtInfo, isMinExtInfo);
 
-                ret.addEntity(entity);
+                entitiesWithExtInfo.addEntity(entity);
             } catch (AtlasBaseException e) {
                 if (e.getAtlasErrorCode().name().equals(new String("INSTANCE_GUID_NOT_FOUND")) && ignoreNotFoundException) {
                     continue;
@@ -397,10 +474,6 @@ public class EntityGraphRetriever {
                 }
             }
         }
-
-        ret.compact();
-
-        return ret;
     }
 
 
@@ -1504,6 +1577,17 @@ public class EntityGraphRetriever {
         return ret;
     }
 
+    /**
+     * Maps the entity at the other end of the given relationship edge, without loading the entity's attributes.
+     */
+    public AtlasRelatedObjectId mapEdgeToRelatedObjectId(AtlasVertex entityVertex, AtlasEdge edge) throws AtlasBaseException {
+        return mapVertexToRelatedObjectId(entityVertex, edge, false, null, false);
+    }
+
+    public Object getDisplayText(AtlasVertex entityVertex) throws AtlasBaseException {
+        return getDisplayText(entityVertex, getTypeName(entityVertex));
+    }
+
     private Object getDisplayText(AtlasVertex entityVertex, String entityTypeName) throws AtlasBaseException {
         return getDisplayText(entityVertex, typeRegistry.getEntityTypeByName(entityTypeName));
     }
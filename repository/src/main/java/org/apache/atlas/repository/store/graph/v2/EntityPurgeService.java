@@ -0,0 +1,447 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.atlas.repository.store.graph.v2;
+
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import org.apache.atlas.AtlasConfiguration;
+import org.apache.atlas.AtlasErrorCode;
+import org.apache.atlas.AtlasException;
+import org.apache.atlas.GraphTransactionInterceptor;
+import org.apache.atlas.RequestContext;
+import org.apache.atlas.exception.AtlasBaseException;
+import org.apache.atlas.ha.HAConfiguration;
+import org.apache.atlas.listener.ActiveStateChangeHandler;
+import org.apache.atlas.model.instance.AtlasEntityHeader;
+import org.apache.atlas.model.instance.EntityMutationResponse;
+import org.apache.atlas.repository.graphdb.AtlasGraph;
+import org.apache.atlas.repository.graphdb.AtlasGraphQuery;
+import org.apache.atlas.repository.graphdb.AtlasGraphQuery.SortOrder;
+import org.apache.atlas.repository.graphdb.AtlasVertex;
+import org.apache.atlas.repository.store.graph.AtlasEntityStore;
+import org.apache.atlas.service.Service;
+import org.apache.commons.configuration.Configuration;
+import org.apache.commons.lang.StringUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+import javax.inject.Inject;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.apache.atlas.model.instance.AtlasEntity.Status.DELETED;
+import static org.apache.atlas.repository.Constants.ENTITY_TYPE_PROPERTY_KEY;
+import static org.apache.atlas.repository.Constants.GUID_PROPERTY_KEY;
+import static org.apache.atlas.repository.Constants.MODIFICATION_TIMESTAMP_PROPERTY_KEY;
+import static org.apache.atlas.repository.Constants.STATE_PROPERTY_KEY;
+import static org.apache.atlas.repository.graphdb.AtlasGraphQuery.ComparisionOperator.EQUAL;
+import static org.apache.atlas.repository.graphdb.AtlasGraphQuery.ComparisionOperator.LESS_THAN_EQUAL;
+import static org.apache.atlas.repository.graphdb.AtlasGraphQuery.ComparisionOperator.NOT_EQUAL;
+
+/**
+ * Purges soft-deleted entities once they have been deleted for longer than the retention period.
+ *
+ * The retention period is set by atlas.entity.purge.retention.days, and can be overridden for an entity type with
+ * atlas.entity.purge.retention.days.&lt;typeName&gt;; a negative value disables purge of the entity type. Entities to
+ * purge are found with a range query on __modificationTimestamp in the index, and are purged in batches through
+ * AtlasEntityStore.purgeByIds(), with a delay between batches. Purge runs only on the active instance.
+ *
+ * purgeByIds() verifies the ADMIN_PURGE privilege of the user in the request context. Purge runs as the user set in
+ * atlas.entity.purge.user - by default the user running the server process - hence with an authorizer like Ranger, a
+ * policy must grant this user the purge privilege. A run stops at the first batch that fails authorization.
+ *
+ * When a batch fails otherwise, its entities are purged one at a time; entities that still fail are skipped for the
+ * rest of the run, so that one bad entity doesn't hold back the others. These are attempted again in the next run.
+ */
+@Component
+@Order(7)
+public class EntityPurgeService implements Service, ActiveStateChangeHandler {
+    private static final Logger LOG = LoggerFactory.getLogger(EntityPurgeService.class);
+
+    private static final String RETENTION_DAYS_PROPERTY = "atlas.entity.purge.retention.days";
+
+    private final AtlasGraph                graph;
+    private final AtlasEntityStore          entityStore;
+    private final Configuration             configuration;
+    private final boolean                   isEnabled;
+    private final long                      intervalMs;
+    private final int                       batchSize;
+    private final long                      batchDelayMs;
+    private final long                      maxPerRun;
+    private final long                      defaultRetentionMs;
+    private final Map<String, Long>         typeRetentionMs;
+    private final String                    purgeUser;
+    private final Set<String>               skippedGuids       = new HashSet<>(); // entities that failed to purge in the current run
+    private final AtomicLong                purgedCount        = new AtomicLong();
+    private final AtomicLong                failedBatchCount   = new AtomicLong();
+    private final AtomicLong                skippedCount       = new AtomicLong();
+    private final AtomicLong                runCount           = new AtomicLong();
+    private volatile long                   lastRunStartTime   = 0;
+    private volatile long                   lastRunDurationMs  = 0;
+    private volatile long                   lastRunPurgedCount = 0;
+    private volatile long                   lagMs              = 0;
+    private volatile boolean                isActive           = false;
+    private ScheduledExecutorService        executor;
+    private ScheduledFuture<?>              scheduledRun;
+
+    @Inject
+    public EntityPurgeService(AtlasGraph graph, AtlasEntityStore entityStore, Configuration configuration) {
+        this.graph              = graph;
+        this.entityStore        = entityStore;
+        this.configuration      = configuration;
+        this.isEnabled          = AtlasConfiguration.ENTITY_PURGE_SCHEDULED_ENABLED.getBoolean();
+        this.intervalMs         = Math.max(1000, AtlasConfiguration.ENTITY_PURGE_INTERVAL_MS.getLong());
+        this.batchSize          = Math.max(1, AtlasConfiguration.ENTITY_PURGE_BATCH_SIZE.getInt());
+        this.batchDelayMs       = Math.max(0, AtlasConfiguration.ENTITY_PURGE_BATCH_DELAY_MS.getLong());
+        this.maxPerRun          = AtlasConfiguration.ENTITY_PURGE_MAX_PER_RUN.getLong();
+        this.defaultRetentionMs = TimeUnit.DAYS.toMillis(AtlasConfiguration.ENTITY_PURGE_RETENTION_DAYS.getLong());
+        this.typeRetentionMs    = getTypeRetentionMs(configuration);
+        this.purgeUser          = StringUtils.defaultIfEmpty(AtlasConfiguration.ENTITY_PURGE_USER.getString(), System.getProperty("user.name"));
+
+        if (isEnabled) {
+            LOG.info("Scheduled purge of deleted entities enabled: retentionMs={}, typeRetentionMs={}, intervalMs={}, batchSize={}, batchDelayMs={}, maxPerRun={}, user={}",
+                     defaultRetentionMs, typeRetentionMs, intervalMs, batchSize, batchDelayMs, maxPerRun, purgeUser);
+        }
+    }
+
+    @Override
+    public void start() throws AtlasException {
+        if (!isEnabled) {
+            LOG.info("EntityPurgeService.start(): scheduled purge is disabled");
+
+            return;
+        }
+
+        executor = Executors.newSingleThreadScheduledExecutor(new ThreadFactoryBuilder().setNameFormat("atlas-entity-purge-%d").setDaemon(true).build());
+
+        if (!HAConfiguration.isHAEnabled(configuration)) {
+            instanceIsActive();
+        } else {
+            LOG.info("EntityPurgeService.start(): deferring scheduled purge until instance activation");
+        }
+    }
+
+    @Override
+    public void stop() {
+        isActive = false;
+
+        if (executor != null) {
+            executor.shutdownNow();
+        }
+
+        LOG.info("EntityPurgeService.stop(): stopped");
+    }
+
+    @Override
+    public synchronized void instanceIsActive() {
+        if (!isEnabled || executor == null) {
+            return;
+        }
+
+        isActive = true;
+
+        if (scheduledRun == null) {
+            scheduledRun = executor.scheduleWithFixedDelay(this::run, intervalMs, intervalMs, TimeUnit.MILLISECONDS);
+
+            LOG.info("EntityPurgeService: scheduled purge of deleted entities every {} ms", intervalMs);
+        }
+    }
+
+    @Override
+    public synchronized void instanceIsPassive() {
+        // a run in progress stops after the current batch
+        isActive = false;
+
+        if (scheduledRun != null) {
+            scheduledRun.cancel(false);
+
+            scheduledRun = null;
+        }
+    }
+
+    @Override
+    public int getHandlerOrder() {
+        return HandlerOrder.ENTITY_PURGE_SERVICE.getOrder();
+    }
+
+    public Map<String, Object> getMetrics() {
+        Map<String, Object> ret = new HashMap<>();
+
+        ret.put("enabled", isEnabled);
+
+        if (isEnabled) {
+            ret.put("active", isActive);
+            ret.put("purgedCount", purgedCount.get());
+            ret.put("failedBatchCount", failedBatchCount.get());
+            ret.put("skippedCount", skippedCount.get());
+            ret.put("runCount", runCount.get());
+            ret.put("lastRunStartTime", lastRunStartTime);
+            ret.put("lastRunDurationMs", lastRunDurationMs);
+            ret.put("lastRunPurgedCount", lastRunPurgedCount);
+            ret.put("lagMs", lagMs);
+        }
+
+        return ret;
+    }
+
+    @VisibleForTesting
+    void run() {
+        if (!isActive) {
+            return;
+        }
+
+        long startTime = System.currentTimeMillis();
+        long count     = 0;
+
+        runCount.incrementAndGet();
+
+        lastRunStartTime = startTime;
+
+        skippedGuids.clear();
+
+        try {
+            for (Map.Entry<String, Long> entry : typeRetentionMs.entrySet()) {
+                if (entry.getValue() >= 0) {
+                    count += purge(entry.getKey(), startTime - entry.getValue(), maxPerRun - count);
+                }
+            }
+
+            count += purge(null, startTime - defaultRetentionMs, maxPerRun - count);
+
+            lagMs = getLagMs(System.currentTimeMillis());
+        } catch (InterruptedException excp) {
+            LOG.info("EntityPurgeService: purge of deleted entities interrupted");
+
+            Thread.currentThread().interrupt();
+        } catch (AtlasBaseException excp) {
+            LOG.error("EntityPurgeService: user {} is not authorized to purge entities; grant the purge privilege to this user, or set atlas.entity.purge.user to a user having it", purgeUser, excp);
+        } catch (Throwable t) {
+            LOG.error("EntityPurgeService: purge of deleted entities failed", t);
+        } finally {
+            lastRunPurgedCount = count;
+            lastRunDurationMs  = System.currentTimeMillis() - startTime;
+        }
+
+        LOG.info("EntityPurgeService: purged {} deleted entities in {} ms; lagMs={}", count, lastRunDurationMs, lagMs);
+    }
+
+    /**
+     * Purges entities of the given type, or of types without retention override when typeName is null, deleted at
+     * or before the given time.
+     *
+     * @return number of entities purged
+     */
+    private long purge(String typeName, long deletedBefore, long maxCount) throws InterruptedException, AtlasBaseException {
+        long ret = 0;
+
+        while (isActive && ret < maxCount) {
+            Set<String> guids = findPurgeCandidates(typeName, deletedBefore, (int) Math.min(batchSize, maxCount - ret));
+
+            if (guids.isEmpty()) {
+                break;
+            }
+
+            ret += purgeBatch(guids);
+
+            if (batchDelayMs > 0) {
+                Thread.sleep(batchDelayMs);
+            }
+        }
+
+        return ret;
+    }
+
+    /**
+     * Purges the given entities; on failure, purges them one at a time and skips the ones that fail.
+     *
+     * @return number of entities purged
+     * @throws AtlasBaseException when the purge user is not authorized
+     */
+    private int purgeBatch(Set<String> guids) throws AtlasBaseException {
+        Set<String> purgedGuids = new HashSet<>();
+
+        try {
+            purgedGuids.addAll(purgeByIds(guids));
+        } catch (AtlasBaseException | RuntimeException excp) {
+            if (isUnauthorized(excp)) {
+                throw (AtlasBaseException) excp;
+            }
+
+            failedBatchCount.incrementAndGet();
+
+            LOG.warn("EntityPurgeService: failed to purge a batch of {} deleted entities; purging them individually", guids.size(), excp);
+
+            for (String guid : guids) {
+                if (!isActive) {
+                    break;
+                }
+
+                try {
+                    purgedGuids.addAll(purgeByIds(Collections.singleton(guid)));
+                } catch (AtlasBaseException | RuntimeException e) {
+                    if (isUnauthorized(e)) {
+                        throw (AtlasBaseException) e;
+                    }
+
+                    LOG.error("EntityPurgeService: failed to purge deleted entity {}; skipping it in this run", guid, e);
+                }
+            }
+        }
+
+        // candidates not purged, due to failure or otherwise, would be found again by the next query of this run
+        for (String guid : guids) {
+            if (!purgedGuids.contains(guid) && skippedGuids.add(guid)) {
+                skippedCount.incrementAndGet();
+            }
+        }
+
+        purgedCount.addAndGet(purgedGuids.size());
+
+        if (LOG.isDebugEnabled()) {
+            LOG.debug("EntityPurgeService: purged {} of {} deleted entities", purgedGuids.size(), guids.size());
+        }
+
+        return purgedGuids.size();
+    }
+
+    private Set<String> purgeByIds(Set<String> guids) throws AtlasBaseException {
+        Set<String> ret = new HashSet<>();
+
+        try {
+            RequestContext.clear();
+            RequestContext.get().setUser(purgeUser, null);
+
+            EntityMutationResponse response = entityStore.purgeByIds(guids);
+
+            if (response.getPurgedEntities() != null) {
+                for (AtlasEntityHeader entity : response.getPurgedEntities()) {
+                    ret.add(entity.getGuid());
+                }
+            }
+        } finally {
+            RequestContext.clear();
+            GraphTransactionInterceptor.clearCache();
+        }
+
+        return ret;
+    }
+
+    private Set<String> findPurgeCandidates(String typeName, long deletedBefore, int limit) {
+        Set<String> ret = new LinkedHashSet<>();
+
+        try {
+            // skipped entities are still found by the query; read past them
+            Iterator<AtlasVertex> iter = createQuery(typeName, deletedBefore).vertices(limit + skippedGuids.size()).iterator();
+
+            while (iter.hasNext() && ret.size() < limit) {
+                String guid = AtlasGraphUtilsV2.getEncodedProperty(iter.next(), GUID_PROPERTY_KEY, String.class);
+
+                if (guid != null && !skippedGuids.contains(guid)) {
+                    ret.add(guid);
+                }
+            }
+        } finally {
+            graph.commit();
+        }
+
+        return ret;
+    }
+
+    /**
+     * @return time, in milliseconds, by which the oldest entity yet to be purged is past its retention period
+     */
+    private long getLagMs(long now) {
+        long ret = 0;
+
+        try {
+            for (Map.Entry<String, Long> entry : typeRetentionMs.entrySet()) {
+                if (entry.getValue() >= 0) {
+                    ret = Math.max(ret, getOldestCandidateAge(entry.getKey(), now - entry.getValue()));
+                }
+            }
+
+            ret = Math.max(ret, getOldestCandidateAge(null, now - defaultRetentionMs));
+        } finally {
+            graph.commit();
+        }
+
+        return ret;
+    }
+
+    private long getOldestCandidateAge(String typeName, long deletedBefore) {
+        Iterator<AtlasVertex> iter = createQuery(typeName, deletedBefore).orderBy(MODIFICATION_TIMESTAMP_PROPERTY_KEY, SortOrder.ASC).vertices(1).iterator();
+        Long                  time = iter.hasNext() ? AtlasGraphUtilsV2.getEncodedProperty(iter.next(), MODIFICATION_TIMESTAMP_PROPERTY_KEY, Long.class) : null;
+
+        return time != null ? Math.max(0, deletedBefore - time) : 0;
+    }
+
+    private AtlasGraphQuery createQuery(String typeName, long deletedBefore) {
+        AtlasGraphQuery ret = graph.query().has(STATE_PROPERTY_KEY, EQUAL, DELETED.name())
+                                           .has(MODIFICATION_TIMESTAMP_PROPERTY_KEY, LESS_THAN_EQUAL, deletedBefore);
+
+        if (typeName != null) {
+            ret.has(ENTITY_TYPE_PROPERTY_KEY, EQUAL, typeName);
+        } else {
+            for (String overriddenTypeName : typeRetentionMs.keySet()) {
+                ret.has(ENTITY_TYPE_PROPERTY_KEY, NOT_EQUAL, overriddenTypeName);
+            }
+        }
+
+        return ret;
+    }
+
+    private static boolean isUnauthorized(Exception excp) {
+        return excp instanceof AtlasBaseException && ((AtlasBaseException) excp).getAtlasErrorCode() == AtlasErrorCode.UNAUTHORIZED_ACCESS;
+    }
+
+    private static Map<String, Long> getTypeRetentionMs(Configuration configuration) {
+        Map<String, Long> ret    = new HashMap<>();
+        String            prefix = RETENTION_DAYS_PROPERTY + ".";
+
+        if (configuration != null) {
+            for (Iterator<String> iter = configuration.getKeys(RETENTION_DAYS_PROPERTY); iter.hasNext(); ) {
+                String key = iter.next();
+
+                if (key.startsWith(prefix) && key.length() > prefix.length()) {
+                    long days = configuration.getLong(key);
+
+                    ret.put(key.substring(prefix.length()), days < 0 ? -1 : TimeUnit.DAYS.toMillis(days));
+                }
+            }
+        }
+
+        return ret;
+    }
+
+    @VisibleForTesting
+    Map<String, Long> getTypeRetentionMs() {
+        return typeRetentionMs;
+    }
+}
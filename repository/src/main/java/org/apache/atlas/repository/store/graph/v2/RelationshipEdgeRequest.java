@@ -0,0 +1,49 @@
+
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.atlas.repository.store.graph.v2;
+
+import org.apache.atlas.model.instance.AtlasRelationship;
+import org.apache.atlas.repository.graphdb.AtlasVertex;
+
+/**
+ * A relationship to be looked up or created between two vertices, used for bulk relationship operations.
+ */
+public class RelationshipEdgeRequest {
+    private final AtlasVertex       end1Vertex;
+    private final AtlasVertex       end2Vertex;
+    private final AtlasRelationship relationship;
+
+    public RelationshipEdgeRequest(AtlasVertex end1Vertex, AtlasVertex end2Vertex, AtlasRelationship relationship) {
+        this.end1Vertex   = end1Vertex;
+        this.end2Vertex   = end2Vertex;
+        this.relationship = relationship;
+    }
+
+    public AtlasVertex getEnd1Vertex() {
+        return end1Vertex;
+    }
+
+    public AtlasVertex getEnd2Vertex() {
+        return end2Vertex;
+    }
+
+    public AtlasRelationship getRelationship() {
+        return relationship;
+    }
+}
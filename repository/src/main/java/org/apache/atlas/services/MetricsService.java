@@ -19,10 +19,16 @@ package org.apache.atlas.services;
 
 import org.apache.atlas.annotation.AtlasService;
 import org.apache.atlas.annotation.GraphTransaction;
+import org.apache.atlas.discovery.SearchAggregationCache;
 import org.apache.atlas.model.instance.AtlasEntity.Status;
 import org.apache.atlas.model.metrics.AtlasMetrics;
+import org.apache.atlas.query.DSLQueryPlanCache;
+import org.apache.atlas.repository.audit.AbstractStorageBasedAuditRepository;
+import org.apache.atlas.repository.audit.EntityAuditRepository;
+import org.apache.atlas.repository.graph.DeferredFullTextMapper;
 import org.apache.atlas.repository.graphdb.AtlasGraph;
 import org.apache.atlas.repository.store.graph.v2.AtlasGraphUtilsV2;
+import org.apache.atlas.repository.store.graph.v2.EntityPurgeService;
 import org.apache.atlas.type.AtlasEntityType;
 import org.apache.atlas.type.AtlasTypeRegistry;
 import org.apache.atlas.util.AtlasMetricJVMUtil;
@@ -67,20 +73,37 @@ public class MetricsService {
     protected static final String METRIC_RUNTIME                    = "runtime";
     protected static final String METRIC_MEMORY                     = "memory";
     protected static final String METRIC_OS                         = "os";
+    protected static final String METRIC_DSL_QUERY_PLAN_CACHE       = "dslQueryPlanCache";
+    protected static final String METRIC_SEARCH_AGGREGATION_CACHE   = "searchAggregationCache";
+    protected static final String METRIC_AUDIT_WRITER               = "auditWriter";
+    protected static final String METRIC_FULLTEXT_MAPPING           = "fullTextMapping";
+    protected static final String METRIC_ENTITY_PURGE               = "entityPurge";
     protected static final String METRIC_ENTITY_ACTIVE_INCL_SUBTYPES = ENTITY + "Active"+"-"+TYPE_SUBTYPES;
     protected static final String METRIC_ENTITY_DELETED_INCL_SUBTYPES = ENTITY + "Deleted"+"-"+TYPE_SUBTYPES;
     protected static final String METRIC_ENTITY_SHELL_INCL_SUBTYPES = ENTITY + "Shell"+"-"+TYPE_SUBTYPES;
 
-    private final AtlasGraph        atlasGraph;
-    private final AtlasTypeRegistry typeRegistry;
-    private final AtlasMetricsUtil  metricsUtil;
-    private final String            indexSearchPrefix = AtlasGraphUtilsV2.getIndexSearchPrefix();
+    private final AtlasGraph             atlasGraph;
+    private final AtlasTypeRegistry      typeRegistry;
+    private final AtlasMetricsUtil       metricsUtil;
+    private final DSLQueryPlanCache      queryPlanCache;
+    private final SearchAggregationCache aggregationCache;
+    private final EntityAuditRepository  auditRepository;
+    private final DeferredFullTextMapper fullTextMapper;
+    private final EntityPurgeService     purgeService;
+    private final String                 indexSearchPrefix = AtlasGraphUtilsV2.getIndexSearchPrefix();
 
     @Inject
-    public MetricsService(final AtlasGraph graph, final AtlasTypeRegistry typeRegistry, AtlasMetricsUtil metricsUtil) {
-        this.atlasGraph   = graph;
-        this.typeRegistry = typeRegistry;
-        this.metricsUtil  = metricsUtil;
+    public MetricsService(final AtlasGraph graph, final AtlasTypeRegistry typeRegistry, AtlasMetricsUtil metricsUtil, DSLQueryPlanCache queryPlanCache,
+                          SearchAggregationCache aggregationCache, EntityAuditRepository auditRepository, DeferredFullTextMapper fullTextMapper,
+                          EntityPurgeService purgeService) {
+        this.atlasGraph       = graph;
+        this.typeRegistry     = typeRegistry;
+        this.metricsUtil      = metricsUtil;
+        this.queryPlanCache   = queryPlanCache;
+        this.aggregationCache = aggregationCache;
+        this.auditRepository  = auditRepository;
+        this.fullTextMapper   = fullTextMapper;
+        this.purgeService     = purgeService;
     }
 
     @SuppressWarnings("unchecked")
@@ -167,6 +190,22 @@ public class MetricsService {
         metrics.addMetric(GENERAL, METRIC_TAG_COUNT, getAllTagsCount());
         metrics.addMetric(GENERAL, METRIC_TYPE_UNUSED_COUNT, unusedTypeCount);
         metrics.addMetric(GENERAL, METRIC_ENTITY_COUNT, totalEntities);
+        metrics.addMetric(GENERAL, METRIC_DSL_QUERY_PLAN_CACHE, queryPlanCache.getMetrics());
+        metrics.addMetric(GENERAL, METRIC_SEARCH_AGGREGATION_CACHE, aggregationCache.getMetrics());
+
+        if (auditRepository instanceof AbstractStorageBasedAuditRepository) {
+            Map<String, Object> auditWriterMetrics = ((AbstractStorageBasedAuditRepository) auditRepository).getAsyncWriterMetrics();
+
+            if (!auditWriterMetrics.isEmpty()) {
+                metrics.addMetric(GENERAL, METRIC_AUDIT_WRITER, auditWriterMetrics);
+            }
+        }
+
+        if (fullTextMapper.isEnabled()) {
+            metrics.addMetric(GENERAL, METRIC_FULLTEXT_MAPPING, fullTextMapper.getMetrics());
+        }
+
+        metrics.addMetric(GENERAL, METRIC_ENTITY_PURGE, purgeService.getMetrics());
 
         metrics.addMetric(ENTITY, METRIC_ENTITY_ACTIVE, activeEntityCount);
         metrics.addMetric(ENTITY, METRIC_ENTITY_DELETED, deletedEntityCount);
@@ -18,6 +18,7 @@
 package org.apache.atlas.discovery;
 
 import com.google.common.collect.Sets;
+import org.apache.atlas.AtlasErrorCode;
 import org.apache.atlas.BasicTestSetup;
 import org.apache.atlas.SortOrder;
 import org.apache.atlas.TestModules;
@@ -33,13 +34,18 @@ import org.testng.annotations.Guice;
 import org.testng.annotations.Test;
 
 import javax.inject.Inject;
+import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
+import java.util.Base64;
 import java.util.Collections;
 import java.util.Date;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
 
 import static org.testng.Assert.assertEquals;
 import static org.testng.Assert.assertTrue;
+import static org.testng.Assert.fail;
 
 @Guice(modules = TestModules.TestOnlyModule.class)
 public class EntitySearchProcessorTest extends BasicTestSetup {
@@ -235,6 +241,96 @@ public class EntitySearchProcessorTest extends BasicTestSetup {
         assertEquals(processor.execute().size(), 3);
     }
 
+    @Test
+    public void entityTypeWithContinuationToken() throws AtlasBaseException {
+        assertPagedWithContinuationToken(null);
+    }
+
+    @Test
+    public void entityTypeSortByWithContinuationToken() throws AtlasBaseException {
+        // sorted results are not read with an index cursor; the continuation token holds the offset of the next page
+        assertPagedWithContinuationToken("name");
+    }
+
+    @Test(expectedExceptions = AtlasBaseException.class)
+    public void invalidContinuationToken() throws AtlasBaseException {
+        SearchParameters params = new SearchParameters();
+        params.setTypeName(DATABASE_TYPE);
+        params.setLimit(2);
+        params.setContinuationToken("not a token");
+
+        new SearchContext(params, typeRegistry, graph, Collections.<String>emptySet());
+    }
+
+    @Test
+    public void invalidContinuationTokenCursor() {
+        for (String token : new String[] { "c:", "c:not a key", "c:[not json", "x:123", "o:-1", "o:abc" }) {
+            SearchParameters params = new SearchParameters();
+            params.setTypeName(DATABASE_TYPE);
+            params.setLimit(2);
+            params.setContinuationToken(Base64.getUrlEncoder().withoutPadding().encodeToString(token.getBytes(StandardCharsets.UTF_8)));
+
+            try {
+                new SearchContext(params, typeRegistry, graph, Collections.<String>emptySet());
+
+                fail("token " + token + " should have been rejected");
+            } catch (AtlasBaseException excp) {
+                assertEquals(excp.getAtlasErrorCode(), AtlasErrorCode.INVALID_PARAMETERS);
+            }
+        }
+    }
+
+    @Test(expectedExceptions = AtlasBaseException.class)
+    public void cursorContinuationTokenWithSortBy() throws AtlasBaseException {
+        SearchParameters params = new SearchParameters();
+        params.setTypeName(DATABASE_TYPE);
+        params.setLimit(2);
+        params.setSortBy("name");
+        params.setContinuationToken(Base64.getUrlEncoder().withoutPadding().encodeToString("c:abc123".getBytes(StandardCharsets.UTF_8)));
+
+        new SearchContext(params, typeRegistry, graph, Collections.<String>emptySet());
+    }
+
+    private void assertPagedWithContinuationToken(String sortBy) throws AtlasBaseException {
+        final String typeNames = DATABASE_TYPE + "," + HIVE_TABLE_TYPE;
+        final int    pageSize  = 4;
+
+        SearchParameters allParams = new SearchParameters();
+        allParams.setTypeName(typeNames);
+        allParams.setLimit(100);
+        allParams.setSortBy(sortBy);
+
+        Set<AtlasVertex> expected = new HashSet<>(new EntitySearchProcessor(new SearchContext(allParams, typeRegistry, graph, Collections.<String>emptySet())).execute());
+        List<AtlasVertex> paged   = new ArrayList<>();
+        String continuationToken  = SearchParameters.CONTINUATION_TOKEN_START;
+
+        assertEquals(expected.size(), 14);
+
+        while (continuationToken != null) {
+            SearchParameters params = new SearchParameters();
+            params.setTypeName(typeNames);
+            params.setLimit(pageSize);
+            params.setSortBy(sortBy);
+            params.setContinuationToken(continuationToken);
+
+            SearchContext     context = new SearchContext(params, typeRegistry, graph, Collections.<String>emptySet());
+            List<AtlasVertex> page    = new EntitySearchProcessor(context).execute();
+
+            // every page but the last is full
+            assertEquals(page.size(), Math.min(pageSize, expected.size() - paged.size()));
+
+            paged.addAll(page);
+
+            continuationToken = context.getNextContinuationToken(page.size());
+
+            assertTrue(paged.size() <= expected.size(), "more results paged than matched");
+        }
+
+        // each match is returned exactly once
+        assertEquals(paged.size(), expected.size());
+        assertEquals(new HashSet<>(paged), expected);
+    }
+
     @Test
     public void entityTypes() throws AtlasBaseException {
         SearchParameters params = new SearchParameters();
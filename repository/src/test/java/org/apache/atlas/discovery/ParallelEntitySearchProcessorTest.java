@@ -0,0 +1,93 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.atlas.discovery;
+
+import com.google.common.collect.Sets;
+import org.apache.atlas.discovery.ParallelEntitySearchProcessor.PartitionEntry;
+import org.testng.annotations.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Set;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertTrue;
+
+public class ParallelEntitySearchProcessorTest {
+    private static final Comparator<PartitionEntry> BY_NAME = Comparator.comparing((PartitionEntry e) -> (String) e.sortValue).thenComparingInt(e -> e.rank);
+    private static final Comparator<PartitionEntry> BY_RANK = Comparator.comparingInt(e -> e.rank);
+
+    @Test
+    public void testPartition() {
+        Set<String>       typeNames  = Sets.newHashSet("a", "b", "c", "d", "e", "f", "g");
+        List<Set<String>> partitions = ParallelEntitySearchProcessor.partition(typeNames, 3);
+
+        assertEquals(partitions.size(), 3);
+        assertEquals(partitions.get(0), Sets.newHashSet("a", "d", "g"));
+        assertEquals(partitions.get(1), Sets.newHashSet("b", "e"));
+        assertEquals(partitions.get(2), Sets.newHashSet("c", "f"));
+
+        assertEquals(ParallelEntitySearchProcessor.partition(Sets.newHashSet("a", "b"), 8).size(), 2);
+    }
+
+    @Test
+    public void testMergeInSortOrder() {
+        List<List<PartitionEntry>> results = Arrays.asList(entries("a", "d", "g"), entries("b", "c", "h"), entries(), entries("e", "f"));
+
+        assertEquals(ids(ParallelEntitySearchProcessor.merge(results, BY_NAME, 0, 10)), Arrays.asList("a", "b", "c", "d", "e", "f", "g", "h"));
+        assertEquals(ids(ParallelEntitySearchProcessor.merge(results, BY_NAME, 2, 3)), Arrays.asList("c", "d", "e"));
+        assertTrue(ParallelEntitySearchProcessor.merge(results, BY_NAME, 8, 10).isEmpty());
+    }
+
+    @Test
+    public void testMergeInDescendingOrder() {
+        List<List<PartitionEntry>> results = Arrays.asList(entries("g", "d", "a"), entries("h", "c", "b"));
+
+        assertEquals(ids(ParallelEntitySearchProcessor.merge(results, BY_NAME.reversed(), 0, 4)), Arrays.asList("h", "g", "d", "c"));
+    }
+
+    @Test
+    public void testMergeWithoutSortInterleavesPartitions() {
+        List<List<PartitionEntry>> results = Arrays.asList(entries("a1", "a2", "a3"), entries("b1"), entries("c1", "c2"));
+
+        assertEquals(ids(ParallelEntitySearchProcessor.merge(results, BY_RANK, 0, 10)), Arrays.asList("a1", "b1", "c1", "a2", "c2", "a3"));
+        assertEquals(ids(ParallelEntitySearchProcessor.merge(results, BY_RANK, 3, 2)), Arrays.asList("a2", "c2"));
+    }
+
+    private static List<PartitionEntry> entries(String... ids) {
+        List<PartitionEntry> ret = new ArrayList<>();
+
+        for (int i = 0; i < ids.length; i++) {
+            ret.add(new PartitionEntry(ids[i], ids[i], i));
+        }
+
+        return ret;
+    }
+
+    private static List<String> ids(List<PartitionEntry> entries) {
+        List<String> ret = new ArrayList<>();
+
+        for (PartitionEntry entry : entries) {
+            ret.add(entry.vertexId);
+        }
+
+        return ret;
+    }
+}
@@ -0,0 +1,289 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.atlas.discovery;
+
+import org.apache.atlas.AtlasException;
+import org.apache.atlas.exception.AtlasBaseException;
+import org.apache.atlas.model.discovery.AtlasAggregationEntry;
+import org.apache.atlas.model.instance.AtlasEntity;
+import org.apache.atlas.repository.graphdb.AggregationContext;
+import org.apache.atlas.type.AtlasEntityType;
+import org.apache.atlas.type.AtlasTypeRegistry;
+import org.apache.atlas.type.AtlasTypeRegistry.AtlasTransientTypeRegistry;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.apache.atlas.type.AtlasTypeUtil.createClassTypeDef;
+import static org.apache.atlas.type.AtlasTypeUtil.createOptionalAttrDef;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNotEquals;
+import static org.testng.Assert.assertTrue;
+import static org.testng.Assert.fail;
+
+public class SearchAggregationCacheTest {
+    private AtlasTypeRegistry      typeRegistry;
+    private SearchAggregationCache cache;
+    private AtomicInteger          loadCount;
+
+    @BeforeMethod
+    public void setUp() throws AtlasBaseException {
+        typeRegistry = new AtlasTypeRegistry();
+
+        AtlasTransientTypeRegistry ttr     = typeRegistry.lockTypeRegistryForUpdate();
+        boolean                    success = false;
+
+        try {
+            ttr.addTypes(Arrays.asList(createClassTypeDef("DataSet", Collections.emptySet(), createOptionalAttrDef("name", "string")),
+                                       createClassTypeDef("hive_table", Collections.singleton("DataSet")),
+                                       createClassTypeDef("hive_db", Collections.emptySet(), createOptionalAttrDef("name", "string"))));
+
+            success = true;
+        } finally {
+            typeRegistry.releaseTypeRegistryForUpdate(ttr, success);
+        }
+
+        cache     = new SearchAggregationCache(typeRegistry, TimeUnit.MINUTES.toMillis(5), 1000, 10);
+        loadCount = new AtomicInteger();
+    }
+
+    @Test
+    public void testAggregationsAreCached() throws AtlasException {
+        Map<String, List<AtlasAggregationEntry>> first  = cache.getAggregatedMetrics(createContext("sales*", true), this::loadMetrics);
+        Map<String, List<AtlasAggregationEntry>> second = cache.getAggregatedMetrics(createContext(" sales* ", true), this::loadMetrics);
+
+        assertEquals(loadCount.get(), 1);
+        assertEquals(second, first);
+
+        // callers get their own copy
+        first.get("__typeName").get(0).setCount(100);
+        first.remove("__typeName");
+
+        Map<String, List<AtlasAggregationEntry>> third = cache.getAggregatedMetrics(createContext("sales*", true), this::loadMetrics);
+
+        assertEquals(third.get("__typeName").get(0).getCount(), 5);
+
+        cache.getAggregatedMetrics(createContext("sales*", false), this::loadMetrics);
+
+        assertEquals(loadCount.get(), 2);
+    }
+
+    @Test
+    public void testSuggestionsAreCached() throws AtlasException {
+        assertEquals(cache.getSuggestions("sal", "hive_db.name", "3pl", this::loadSuggestions), Arrays.asList("sales", "salary"));
+        assertEquals(cache.getSuggestions("sal", "hive_db.name", "3pl", this::loadSuggestions), Arrays.asList("sales", "salary"));
+        assertEquals(loadCount.get(), 1);
+
+        cache.getSuggestions("sal", "__typeName", "5nx", this::loadSuggestions);
+        cache.getSuggestions("sale", "hive_db.name", "3pl", this::loadSuggestions);
+
+        assertEquals(loadCount.get(), 3);
+    }
+
+    @Test
+    public void testInvalidationAfterEntityChanges() throws AtlasException {
+        cache.getSuggestions("sal", "__typeName", "5nx", this::loadSuggestions);
+
+        cache.recordChanges("hive_db", 9);
+        cache.getSuggestions("sal", "__typeName", "5nx", this::loadSuggestions);
+
+        assertEquals(loadCount.get(), 1);
+
+        cache.onEntitiesUpdated(Collections.emptyList(), false);
+        cache.onLabelsAdded(null, Collections.singleton("label"));
+        cache.getSuggestions("sal", "__typeName", "5nx", this::loadSuggestions);
+
+        assertEquals(loadCount.get(), 2);
+        assertEquals(cache.getMetrics().get("invalidationCount"), 1L);
+        assertEquals(cache.getMetrics().get("pendingChangeCount"), 0L);
+    }
+
+    @Test
+    public void testInvalidationScopedToTypes() throws AtlasException {
+        cache.getAggregatedMetrics(createContext("sales*", true, "hive_table"), this::loadMetrics);
+        cache.getAggregatedMetrics(createContext("sales*", true, "DataSet"), this::loadMetrics);
+        cache.getAggregatedMetrics(createContext("sales*", true, "hive_db"), this::loadMetrics);
+        cache.getSuggestions("sal", "DataSet.name", "3pl", this::loadSuggestions);
+
+        assertEquals(loadCount.get(), 4);
+
+        // changes to hive_db entities don't invalidate entries of other types
+        cache.onEntitiesUpdated(createEntities("hive_db", 10), false);
+
+        cache.getAggregatedMetrics(createContext("sales*", true, "hive_table"), this::loadMetrics);
+        cache.getAggregatedMetrics(createContext("sales*", true, "DataSet"), this::loadMetrics);
+        cache.getSuggestions("sal", "DataSet.name", "3pl", this::loadSuggestions);
+
+        assertEquals(loadCount.get(), 4);
+
+        cache.getAggregatedMetrics(createContext("sales*", true, "hive_db"), this::loadMetrics);
+
+        assertEquals(loadCount.get(), 5);
+
+        // changes to hive_table entities invalidate entries of hive_table and its supertype
+        cache.onEntitiesUpdated(createEntities("hive_table", 10), false);
+
+        cache.getAggregatedMetrics(createContext("sales*", true, "hive_db"), this::loadMetrics);
+
+        assertEquals(loadCount.get(), 5);
+
+        cache.getAggregatedMetrics(createContext("sales*", true, "hive_table"), this::loadMetrics);
+        cache.getAggregatedMetrics(createContext("sales*", true, "DataSet"), this::loadMetrics);
+        cache.getSuggestions("sal", "DataSet.name", "3pl", this::loadSuggestions);
+
+        assertEquals(loadCount.get(), 8);
+
+        // entries across all types are invalidated by changes of any type
+        cache.getAggregatedMetrics(createContext("sales*", true), this::loadMetrics);
+        cache.recordChanges("hive_db", 9);
+        cache.recordChanges(null, 1);
+        cache.getAggregatedMetrics(createContext("sales*", true), this::loadMetrics);
+
+        assertEquals(loadCount.get(), 10);
+    }
+
+    @Test
+    public void testFailedLoadIsNotCached() throws AtlasException {
+        try {
+            cache.getSuggestions("sal", "hive_db.name", "3pl", () -> { throw new AtlasException("index not available"); });
+
+            fail("expected AtlasException");
+        } catch (AtlasException excp) {
+            assertEquals(excp.getMessage(), "index not available");
+        }
+
+        assertEquals(cache.getSuggestions("sal", "hive_db.name", "3pl", this::loadSuggestions).size(), 2);
+    }
+
+    @Test
+    public void testConcurrentRequestsShareLoad() throws Exception {
+        int             threadCount = 8;
+        CountDownLatch  loadStarted = new CountDownLatch(1);
+        CountDownLatch  release     = new CountDownLatch(1);
+        ExecutorService executor    = Executors.newFixedThreadPool(threadCount);
+
+        try {
+            List<Future<List<String>>> results = new ArrayList<>();
+
+            for (int i = 0; i < threadCount; i++) {
+                results.add(executor.submit(() -> cache.getSuggestions("sal", "hive_db.name", "3pl", () -> {
+                    loadStarted.countDown();
+
+                    try {
+                        release.await(10, TimeUnit.SECONDS);
+                    } catch (InterruptedException excp) {
+                        throw new AtlasException(excp);
+                    }
+
+                    return loadSuggestions();
+                })));
+            }
+
+            assertTrue(loadStarted.await(10, TimeUnit.SECONDS));
+
+            release.countDown();
+
+            for (Future<List<String>> result : results) {
+                assertEquals(result.get(10, TimeUnit.SECONDS), Arrays.asList("sales", "salary"));
+            }
+
+            assertEquals(loadCount.get(), 1);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void testDisabledCache() throws AtlasException {
+        SearchAggregationCache disabled = new SearchAggregationCache(new AtlasTypeRegistry(), 0, 1000, 10);
+
+        disabled.getSuggestions("sal", "hive_db.name", "3pl", this::loadSuggestions);
+        disabled.getSuggestions("sal", "hive_db.name", "3pl", this::loadSuggestions);
+
+        assertEquals(loadCount.get(), 2);
+        assertTrue(disabled.getMetrics().isEmpty());
+    }
+
+    @Test
+    public void testAggregationKey() {
+        String key = cache.getAggregationKey(createContext("sales*", true));
+
+        assertEquals(cache.getAggregationKey(createContext("sales* ", true)), key);
+        assertNotEquals(cache.getAggregationKey(createContext("sales", true)), key);
+
+        cache.invalidateAll();
+
+        assertNotEquals(cache.getAggregationKey(createContext("sales*", true)), key);
+    }
+
+    private AggregationContext createContext(String query, boolean excludeDeleted, String... typeNames) {
+        Map<String, String>  indexFieldNames = new HashMap<>();
+        Set<AtlasEntityType> entityTypes     = new HashSet<>();
+
+        indexFieldNames.put("__typeName", "5nx");
+        indexFieldNames.put("__classificationNames", "7ax");
+
+        for (String typeName : typeNames) {
+            entityTypes.add(typeRegistry.getEntityTypeByName(typeName));
+        }
+
+        return new AggregationContext(query, null, entityTypes, indexFieldNames.keySet(), Collections.emptySet(),
+                                      indexFieldNames, excludeDeleted, true);
+    }
+
+    private List<AtlasEntity> createEntities(String typeName, int count) {
+        List<AtlasEntity> ret = new ArrayList<>(count);
+
+        for (int i = 0; i < count; i++) {
+            ret.add(new AtlasEntity(typeName));
+        }
+
+        return ret;
+    }
+
+    private Map<String, List<AtlasAggregationEntry>> loadMetrics() {
+        Map<String, List<AtlasAggregationEntry>> ret = new LinkedHashMap<>();
+
+        loadCount.incrementAndGet();
+
+        ret.put("__typeName", new ArrayList<>(Arrays.asList(new AtlasAggregationEntry("hive_table", 5), new AtlasAggregationEntry("hive_db", 1))));
+
+        return ret;
+    }
+
+    private List<String> loadSuggestions() {
+        loadCount.incrementAndGet();
+
+        return Arrays.asList("sales", "salary");
+    }
+}
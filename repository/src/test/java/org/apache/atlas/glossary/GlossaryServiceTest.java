@@ -17,7 +17,9 @@
  */
 package org.apache.atlas.glossary;
 
+import org.apache.atlas.ApplicationProperties;
 import org.apache.atlas.AtlasErrorCode;
+import org.apache.atlas.AtlasException;
 import org.apache.atlas.SortOrder;
 import org.apache.atlas.TestModules;
 import org.apache.atlas.exception.AtlasBaseException;
@@ -36,6 +38,11 @@ import org.apache.atlas.model.instance.AtlasRelatedObjectId;
 import org.apache.atlas.model.instance.EntityMutationResponse;
 import org.apache.atlas.model.typedef.AtlasClassificationDef;
 import org.apache.atlas.model.typedef.AtlasTypesDef;
+import org.apache.atlas.repository.ogm.DataAccess;
+import org.apache.atlas.repository.ogm.LoadProjection;
+import org.apache.atlas.repository.ogm.glossary.AtlasGlossaryCategoryDTO;
+import org.apache.atlas.repository.ogm.glossary.AtlasGlossaryDTO;
+import org.apache.atlas.repository.ogm.glossary.AtlasGlossaryTermDTO;
 import org.apache.atlas.repository.store.graph.AtlasEntityStore;
 import org.apache.atlas.repository.store.graph.v2.AtlasEntityStream;
 import org.apache.atlas.store.AtlasTypeDefStore;
@@ -78,6 +85,8 @@ public class GlossaryServiceTest {
     private AtlasTypeRegistry typeRegistry;
     @Inject
     private AtlasEntityStore entityStore;
+    @Inject
+    private DataAccess        dataAccess;
 
     private AtlasGlossary     bankGlossary, creditUnionGlossary;
     private AtlasGlossaryTerm checkingAccount, savingsAccount, fixedRateMortgage, adjustableRateMortgage;
@@ -454,6 +463,81 @@ public class GlossaryServiceTest {
         }
     }
 
+    @Test(dependsOnMethods = "testDeleteGlossary")
+    public void testDeleteGlossaryWithTermsAndCategories() throws AtlasBaseException {
+        AtlasGlossary glossary = new AtlasGlossary();
+        glossary.setQualifiedName("testDeleteGlossary");
+        glossary.setName("Glossary to delete");
+        glossary = glossaryService.createGlossary(glossary);
+
+        AtlasGlossaryHeader anchor = new AtlasGlossaryHeader();
+        anchor.setGlossaryGuid(glossary.getGuid());
+
+        AtlasGlossaryCategory category = new AtlasGlossaryCategory();
+        category.setName("Category to delete");
+        category.setAnchor(anchor);
+        category = glossaryService.createCategory(category);
+
+        AtlasGlossaryTerm term = new AtlasGlossaryTerm();
+        term.setName("Term to delete");
+        term.setAnchor(anchor);
+        term = glossaryService.createTerm(term);
+
+        glossaryService.deleteGlossary(glossary.getGuid());
+
+        // terms and categories of the glossary are deleted with it
+        try {
+            glossaryService.getTerm(term.getGuid());
+            fail("term of the deleted glossary should've been deleted");
+        } catch (AtlasBaseException e) {
+            assertEquals(e.getAtlasErrorCode(), AtlasErrorCode.INSTANCE_GUID_NOT_FOUND);
+        }
+
+        try {
+            glossaryService.getCategory(category.getGuid());
+            fail("category of the deleted glossary should've been deleted");
+        } catch (AtlasBaseException e) {
+            assertEquals(e.getAtlasErrorCode(), AtlasErrorCode.INSTANCE_GUID_NOT_FOUND);
+        }
+    }
+
+    @Test(groups = "Glossary.GET", dependsOnGroups = "Glossary.CREATE")
+    public void testLoadProjections() throws AtlasBaseException {
+        AtlasGlossary header = dataAccess.load(GlossaryUtils.getGlossarySkeleton(bankGlossary.getGuid()), AtlasGlossaryDTO.HEADER_PROJECTION);
+        assertEquals(header.getQualifiedName(), bankGlossary.getQualifiedName());
+        assertEquals(header.getLanguage(), bankGlossary.getLanguage());
+        assertNull(header.getTerms());
+        assertNull(header.getCategories());
+
+        AtlasGlossary relations = dataAccess.load(GlossaryUtils.getGlossarySkeleton(bankGlossary.getGuid()), AtlasGlossaryDTO.RELATIONS_PROJECTION);
+        assertEquals(relations.getQualifiedName(), bankGlossary.getQualifiedName());
+        assertNull(relations.getLanguage());
+        assertTrue(CollectionUtils.isNotEmpty(relations.getTerms()));
+        assertTrue(CollectionUtils.isNotEmpty(relations.getCategories()));
+
+        List<AtlasGlossaryTerm> terms = dataAccess.load(Arrays.asList(fixedRateMortgage.getGuid(), checkingAccount.getGuid()), AtlasGlossaryTerm.class, AtlasGlossaryTermDTO.ANCHOR_PROJECTION);
+        assertEquals(terms.size(), 2);
+        assertEquals(terms.get(0).getGuid(), fixedRateMortgage.getGuid());
+        assertEquals(terms.get(0).getAnchor().getGlossaryGuid(), bankGlossary.getGuid());
+        assertNull(terms.get(0).getCategories());
+
+        List<AtlasGlossaryCategory> categories = dataAccess.load(Collections.singletonList(accountCategory.getGuid()), AtlasGlossaryCategory.class, AtlasGlossaryCategoryDTO.ANCHOR_PROJECTION);
+        assertEquals(categories.size(), 1);
+        assertEquals(categories.get(0).getParentCategory().getCategoryGuid(), customerCategory.getGuid());
+        assertNull(categories.get(0).getTerms());
+
+        // bulk load skips missing objects, unless asked to fail like a single load
+        List<String> guids = Arrays.asList(fixedRateMortgage.getGuid(), "missing-guid");
+        assertEquals(dataAccess.load(guids, AtlasGlossaryTerm.class, LoadProjection.ALL).size(), 1);
+
+        try {
+            dataAccess.load(guids, AtlasGlossaryTerm.class, LoadProjection.ALL, false);
+            fail("load of a missing term should've failed");
+        } catch (AtlasBaseException e) {
+            assertEquals(e.getAtlasErrorCode(), AtlasErrorCode.INSTANCE_GUID_NOT_FOUND);
+        }
+    }
+
     @Test(groups = "Glossary.UPDATE", dependsOnGroups = "Glossary.CREATE")
     public void testUpdateGlossaryTerm() {
         List<AtlasGlossaryTerm> glossaryTerms = new ArrayList<>();
@@ -784,10 +868,28 @@ public class GlossaryServiceTest {
             List<AtlasRelatedObjectId> assignedEntities = glossaryService.getAssignedEntities(fixedRateMortgage.getGuid(), 0, 1, SortOrder.ASCENDING);
             assertNotNull(assignedEntities);
             assertEquals(assignedEntities.size(), 1);
+            assertEquals(glossaryService.getAssignedEntitiesCount(fixedRateMortgage.getGuid()), 1);
+            assertTrue(glossaryService.getAssignedEntities(fixedRateMortgage.getGuid(), 1, 1, SortOrder.ASCENDING).isEmpty());
+            assertEquals(glossaryService.getAssignedEntities(fixedRateMortgage.getGuid(), 0, 1, null), assignedEntities);
+
+            // sorting is rejected for terms assigned to more entities than can be sorted in memory
+            ApplicationProperties.get().setProperty("atlas.glossary.term.assigned.entities.max.sorted", 0);
+
+            try {
+                glossaryService.getAssignedEntities(fixedRateMortgage.getGuid(), 0, 1, SortOrder.ASCENDING);
+
+                fail("sorted listing should've been rejected");
+            } catch (AtlasBaseException e) {
+                assertEquals(e.getAtlasErrorCode(), AtlasErrorCode.BAD_REQUEST);
+            } finally {
+                ApplicationProperties.get().clearProperty("atlas.glossary.term.assigned.entities.max.sorted");
+            }
+
+            assertEquals(glossaryService.getAssignedEntities(fixedRateMortgage.getGuid(), 0, 1, null).size(), 1);
             String relationshipGuid = assignedEntities.get(0).getRelationshipGuid();
             assertNotNull(relationshipGuid);
             relatedObjectId.setRelationshipGuid(relationshipGuid);
-        } catch (AtlasBaseException e) {
+        } catch (AtlasBaseException | AtlasException e) {
             fail("Term fetch should've succeeded",e);
         }
 
@@ -797,6 +899,7 @@ public class GlossaryServiceTest {
             AtlasGlossaryTerm term = glossaryService.getTerm(fixedRateMortgage.getGuid());
             assertNotNull(term);
             assertNull(term.getAssignedEntities());
+            assertEquals(glossaryService.getAssignedEntitiesCount(fixedRateMortgage.getGuid()), 0);
         } catch (AtlasBaseException e) {
             fail("Term update should've succeeded", e);
         }
@@ -23,6 +23,9 @@ import org.apache.atlas.discovery.EntityDiscoveryService;
 import org.apache.atlas.exception.AtlasBaseException;
 import org.apache.atlas.model.discovery.AtlasSearchResult;
 import org.apache.atlas.repository.graph.AtlasGraphProvider;
+import org.apache.atlas.repository.graphdb.AtlasGraph;
+import org.apache.atlas.repository.graphdb.AtlasGraphTraversal;
+import org.apache.atlas.repository.graphdb.AtlasVertex;
 import org.apache.atlas.runner.LocalSolrRunner;
 import org.apache.commons.collections.CollectionUtils;
 import org.slf4j.Logger;
@@ -37,8 +40,10 @@ import org.testng.annotations.Test;
 import javax.inject.Inject;
 import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
 import static org.apache.atlas.graph.GraphSandboxUtil.useLocalSolr;
 import static org.testng.Assert.assertEquals;
@@ -247,6 +252,38 @@ public class DSLQueriesTest extends BasicTestSetup {
         queryAssert(query.replace("where", " "), expected, DEFAULT_LIMIT, 0);
     }
 
+    @Test(dataProvider = "basicProvider")
+    public void traversalMatchesScript(String query, int expected) throws AtlasBaseException {
+        AtlasGraph          graph        = AtlasGraphProvider.getGraphInstance();
+        GremlinQuery        gremlinQuery = new AtlasDSL.Translator(query, typeRegistry, 0, DEFAULT_LIMIT).translate();
+        AtlasGraphTraversal traversal    = GremlinClauseToTraversalTranslator.run(graph, gremlinQuery);
+
+        if (gremlinQuery.hasSelectList()) {
+            assertNull(traversal, query);
+            return;
+        }
+
+        assertNotNull(traversal, query);
+
+        Set<Object> traversalIds = new HashSet<>();
+        Set<Object> scriptIds    = new HashSet<>();
+
+        for (Object vertex : traversal.getAtlasVertexList()) {
+            traversalIds.add(((AtlasVertex) vertex).getId());
+        }
+
+        Object scriptResult = graph.executeGremlinScript(gremlinQuery.queryStr(), false);
+
+        if (scriptResult instanceof List) {
+            for (Object vertex : (List) scriptResult) {
+                scriptIds.add(((AtlasVertex) vertex).getId());
+            }
+        }
+
+        assertEquals(traversalIds, scriptIds, query);
+        assertEquals(traversalIds.size(), expected, query);
+    }
+
     @DataProvider(name = "systemAttributesProvider")
     private Object[][] systemAttributesQueries() {
         return new Object[][]{
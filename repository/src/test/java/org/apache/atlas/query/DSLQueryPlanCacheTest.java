@@ -0,0 +1,164 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.atlas.query;
+
+import org.apache.atlas.exception.AtlasBaseException;
+import org.apache.atlas.model.typedef.AtlasStructDef.AtlasAttributeDef;
+import org.apache.atlas.type.AtlasTypeRegistry;
+import org.apache.atlas.type.AtlasTypeRegistry.AtlasTransientTypeRegistry;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Map;
+
+import static org.apache.atlas.type.AtlasTypeUtil.createClassTypeDef;
+import static org.apache.atlas.type.AtlasTypeUtil.createOptionalAttrDef;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertNull;
+import static org.testng.Assert.assertTrue;
+import static org.testng.Assert.fail;
+
+public class DSLQueryPlanCacheTest {
+    private AtlasTypeRegistry typeRegistry;
+    private DSLQueryPlanCache cache;
+
+    @BeforeMethod
+    public void setUp() throws AtlasBaseException {
+        typeRegistry = new AtlasTypeRegistry();
+        cache        = new DSLQueryPlanCache(typeRegistry, 10);
+
+        addType("Table", createOptionalAttrDef("name", "string"), createOptionalAttrDef("retention", "int"),
+                         createOptionalAttrDef("createTime", "date"), createOptionalAttrDef("isTemporary", "boolean"));
+    }
+
+    @Test
+    public void testQueryShape() {
+        DSLQueryPlanCache.QueryShape shape = DSLQueryPlanCache.QueryShape.parse("Table where name = \"t1\" and retention > 10 or isTemporary = true limit 5 offset 2");
+
+        assertEquals(shape.getKey(), "Table where name = ?s and retention > ?n or isTemporary = ?b limit 5 offset 2 ");
+        assertEquals(shape.getLiterals(), Arrays.asList("\"t1\"", "10", "true"));
+
+        assertEquals(DSLQueryPlanCache.QueryShape.parse("Table   where name='t2'").getKey(), DSLQueryPlanCache.QueryShape.parse("Table where name = 't2'").getKey());
+    }
+
+    @Test
+    public void testIsLiteral() {
+        assertTrue(DSLQueryPlanCache.isLiteral("'t1'"));
+        assertTrue(DSLQueryPlanCache.isLiteral("\"t1\""));
+        assertTrue(DSLQueryPlanCache.isLiteral("-10"));
+        assertTrue(DSLQueryPlanCache.isLiteral("1.5e3"));
+        assertTrue(DSLQueryPlanCache.isLiteral("TRUE"));
+        assertFalse(DSLQueryPlanCache.isLiteral("name"));
+        assertFalse(DSLQueryPlanCache.isLiteral("'t1"));
+    }
+
+    @Test
+    public void testBoundQueryMatchesTranslation() throws AtlasBaseException {
+        String[] queries = {
+                "Table where name = \"t1\"",
+                "Table where name = \"t2\"",
+                "Table where retention > 10 and name like 'sales*'",
+                "Table where retention > 20 and name like 'finance*'",
+                "Table where name = 't1' or retention >= 5",
+                "Table where name = 't3' or retention >= 7",
+                "Table where name = ['t1', 't2']",
+                "Table where name = ['t3', 't4']",
+                "Table where createTime < \"2017-12-12T02:35:58.440Z\"",
+                "Table where createTime < \"2018-01-01T00:00:00.000Z\"",
+                "Table where isTemporary = true select name",
+                "Table where isTemporary = false select name",
+        };
+
+        for (String query : queries) {
+            assertEquals(cache.getGremlinQuery(query, 0, 25).queryStr(), translate(query), query);
+        }
+
+        Map<String, Object> metrics = cache.getMetrics();
+
+        assertEquals(metrics.get("size"), 6L);
+        assertEquals(metrics.get("hitCount"), 6L);
+    }
+
+    @Test
+    public void testLimitAndOffsetArePartOfShape() throws AtlasBaseException {
+        assertEquals(cache.getGremlinQuery("Table where name = 't1' limit 10", 0, 25).queryStr(), translate("Table where name = 't1' limit 10"));
+        assertEquals(cache.getGremlinQuery("Table where name = 't1' limit 20", 0, 25).queryStr(), translate("Table where name = 't1' limit 20"));
+        assertEquals(cache.getGremlinQuery("Table where name = 't1' limit 20", 10, 25).queryStr(), translate("Table where name = 't1' limit 20", 10, 25));
+
+        assertEquals(cache.getMetrics().get("hitCount"), 0L);
+    }
+
+    @Test
+    public void testInvalidLiteralInCachedPlan() throws AtlasBaseException {
+        cache.getGremlinQuery("Table where createTime < \"2017-12-12T02:35:58.440Z\"", 0, 25);
+
+        try {
+            cache.getGremlinQuery("Table where createTime < \"not-a-date\"", 0, 25);
+
+            fail("expected invalid date to be reported");
+        } catch (AtlasBaseException excp) {
+            // expected
+        }
+    }
+
+    @Test
+    public void testInvalidatedOnTypeChange() throws AtlasBaseException {
+        cache.getGremlinQuery("Table where name = 't1'", 0, 25);
+
+        addType("Column", createOptionalAttrDef("name", "string"));
+
+        assertEquals(cache.getGremlinQuery("Table where name = 't2'", 0, 25).queryStr(), translate("Table where name = 't2'"));
+        assertEquals(cache.getMetrics().get("hitCount"), 0L);
+
+        cache.onChange(null);
+
+        assertEquals(cache.getMetrics().get("size"), 0L);
+    }
+
+    @Test
+    public void testDisabledCache() throws AtlasBaseException {
+        DSLQueryPlanCache disabled = new DSLQueryPlanCache(typeRegistry, 0);
+
+        assertEquals(disabled.getGremlinQuery("Table where name = 't1'", 0, 25).queryStr(), translate("Table where name = 't1'"));
+        assertNull(disabled.getMetrics().get("size"));
+    }
+
+    private String translate(String query) throws AtlasBaseException {
+        return translate(query, 0, 25);
+    }
+
+    private String translate(String query, int offset, int limit) throws AtlasBaseException {
+        return new AtlasDSL.Translator(query, typeRegistry, offset, limit).translate().queryStr();
+    }
+
+    private void addType(String name, AtlasAttributeDef... attrDefs) throws AtlasBaseException {
+        AtlasTransientTypeRegistry ttr     = typeRegistry.lockTypeRegistryForUpdate();
+        boolean                    success = false;
+
+        try {
+            ttr.addTypes(Collections.singletonList(createClassTypeDef(name, Collections.emptySet(), attrDefs)));
+
+            success = true;
+        } finally {
+            typeRegistry.releaseTypeRegistryForUpdate(ttr, success);
+        }
+    }
+}
@@ -0,0 +1,73 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.atlas.query;
+
+import org.apache.atlas.query.GremlinClauseToTraversalTranslator.UnsupportedClauseException;
+import org.testng.annotations.DataProvider;
+import org.testng.annotations.Test;
+
+import java.math.BigDecimal;
+import java.util.Arrays;
+
+import static org.testng.Assert.assertEquals;
+
+public class GremlinClauseToTraversalTranslatorTest {
+    @DataProvider(name = "literalsProvider")
+    private Object[][] literals() {
+        return new Object[][] {
+                {"'Reporting'", "Reporting"},
+                {"\"sales_fact\"", "sales_fact"},
+                {"'.*Jul.*'", ".*Jul.*"},
+                {"true", Boolean.TRUE},
+                {"10", 10},
+                {"-10", -10},
+                {"10000000000", 10000000000L},
+                {"10L", 10L},
+                {"1.5f", 1.5f},
+                {"1.5d", 1.5d},
+                {"1.5", new BigDecimal("1.5")},
+                {"'1418265300000'", "1418265300000"},
+        };
+    }
+
+    @Test(dataProvider = "literalsProvider")
+    public void literalToValue(String literal, Object expected) throws UnsupportedClauseException {
+        assertEquals(GremlinClauseToTraversalTranslator.toValue(GremlinClause.HAS_OPERATOR, literal), expected);
+    }
+
+    @Test
+    public void literalsToValues() throws UnsupportedClauseException {
+        assertEquals(GremlinClauseToTraversalTranslator.toValues(GremlinClause.HAS_OPERATOR, "'a,b', 'c',10"), Arrays.asList("a,b", "c", 10));
+    }
+
+    @DataProvider(name = "unsupportedLiteralsProvider")
+    private Object[][] unsupportedLiterals() {
+        return new Object[][] {
+                {"'it\\'s'"},
+                {"\"${name}\""},
+                {"'unterminated"},
+                {"name"},
+                {""},
+        };
+    }
+
+    @Test(dataProvider = "unsupportedLiteralsProvider", expectedExceptions = UnsupportedClauseException.class)
+    public void unsupportedLiteral(String literal) throws UnsupportedClauseException {
+        GremlinClauseToTraversalTranslator.toValue(GremlinClause.HAS_OPERATOR, literal);
+    }
+}
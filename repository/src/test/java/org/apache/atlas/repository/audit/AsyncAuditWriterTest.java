@@ -0,0 +1,203 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.atlas.repository.audit;
+
+import org.apache.atlas.ApplicationProperties;
+import org.apache.atlas.model.audit.EntityAuditEventV2;
+import org.apache.atlas.model.audit.EntityAuditEventV2.EntityAuditActionV2;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertTrue;
+
+public class AsyncAuditWriterTest {
+    private InMemoryEntityAuditRepository repository;
+    private File                          spillFile;
+    private volatile boolean              isRepositoryAvailable;
+    private AsyncAuditWriter              writer;
+
+    @BeforeMethod
+    public void setUp() throws IOException {
+        repository            = new InMemoryEntityAuditRepository();
+        spillFile             = new File(Files.createTempDirectory("atlas-audit").toFile(), "audit.spill");
+        isRepositoryAvailable = true;
+    }
+
+    @AfterMethod
+    public void tearDown() {
+        if (writer != null) {
+            writer.stop();
+        }
+    }
+
+    @Test
+    public void testEventsAreWrittenInBatches() throws Exception {
+        writer = createWriter(100);
+
+        writer.start();
+        writer.submit(createEvents("e1", 25));
+
+        waitFor(() -> repository.listEventsV2("e1", null, null, (short) 100).size() == 25);
+
+        assertEquals(writer.getMetrics().get("eventsWritten"), 25L);
+        assertTrue((Long) writer.getMetrics().get("flushCount") <= 3);
+    }
+
+    @Test
+    public void testEventsAreSpilledWhenQueueIsFull() throws Exception {
+        writer = createWriter(5);
+
+        writer.submit(createEvents("e2", 8)); // writer not started yet; 3 events overflow the queue
+
+        assertEquals(writer.getMetrics().get("eventsSpilled"), 3L);
+        assertTrue(spillFile.length() > 0);
+
+        writer.start();
+
+        waitFor(() -> repository.listEventsV2("e2", null, null, (short) 100).size() == 8);
+        waitFor(() -> spillFile.length() == 0);
+
+        assertEquals(writer.getMetrics().get("eventsReplayed"), 3L);
+    }
+
+    @Test
+    public void testEventsAreSpilledAndReplayedWhenRepositoryFails() throws Exception {
+        isRepositoryAvailable = false;
+        writer                = createWriter(100);
+
+        writer.start();
+        writer.submit(createEvents("e3", 4));
+
+        waitFor(() -> (Long) writer.getMetrics().get("eventsSpilled") == 4L);
+
+        assertEquals(repository.listEventsV2("e3", null, null, (short) 100).size(), 0);
+        assertEquals(writer.getMetrics().get("sinkAvailable"), false);
+
+        isRepositoryAvailable = true;
+
+        writer.submit(createEvents("e4", 1));
+
+        waitFor(() -> repository.listEventsV2("e3", null, null, (short) 100).size() == 4);
+
+        assertEquals(repository.listEventsV2("e4", null, null, (short) 100).size(), 1);
+        assertEquals(writer.getMetrics().get("sinkAvailable"), true);
+    }
+
+    @Test
+    public void testSpillFileIsReplayedOnStart() throws Exception {
+        writer = createWriter(100);
+
+        writer.stop();
+        writer.submit(createEvents("e5", 2)); // stopped writer spills
+
+        assertEquals(repository.listEventsV2("e5", null, null, (short) 100).size(), 0);
+
+        writer = createWriter(100);
+
+        writer.start();
+
+        waitFor(() -> repository.listEventsV2("e5", null, null, (short) 100).size() == 2);
+    }
+
+    @Test
+    public void testStopWritesQueuedEvents() {
+        writer = createWriter(100);
+
+        writer.start();
+        writer.submit(createEvents("e6", 10));
+        writer.stop();
+
+        assertEquals(repository.listEventsV2("e6", null, null, (short) 100).size(), 10);
+
+        writer = null;
+    }
+
+    @Test
+    public void testSpillFileLocation() throws Exception {
+        File   dataDir       = Files.createTempDirectory("atlas-data").toFile();
+        String prevAtlasData = System.getProperty("atlas.data");
+
+        System.setProperty("atlas.data", dataDir.getPath());
+        ApplicationProperties.get().setProperty("atlas.enableTLS", false);
+        ApplicationProperties.get().setProperty("atlas.server.http.port", 21001);
+
+        try {
+            File spillFile = AsyncAuditWriter.getSpillFile("hbase");
+
+            // under atlas.data, named after the instance's port
+            assertEquals(spillFile, new File(new File(dataDir, "audit-spill"), "atlas-audit-21001-hbase.spill"));
+            assertTrue(spillFile.getParentFile().isDirectory());
+
+            ApplicationProperties.get().setProperty("atlas.audit.async.spill.dir", dataDir.getPath());
+
+            assertEquals(AsyncAuditWriter.getSpillFile("hbase").getParentFile(), dataDir);
+        } finally {
+            if (prevAtlasData != null) {
+                System.setProperty("atlas.data", prevAtlasData);
+            } else {
+                System.clearProperty("atlas.data");
+            }
+
+            ApplicationProperties.get().clearProperty("atlas.enableTLS");
+            ApplicationProperties.get().clearProperty("atlas.server.http.port");
+            ApplicationProperties.get().clearProperty("atlas.audit.async.spill.dir");
+        }
+    }
+
+    private AsyncAuditWriter createWriter(int queueSize) {
+        return new AsyncAuditWriter("test", events -> {
+            if (!isRepositoryAvailable) {
+                throw new IOException("repository unavailable");
+            }
+
+            repository.putEventsV2(events);
+        }, queueSize, 10, 50, spillFile);
+    }
+
+    private static List<EntityAuditEventV2> createEvents(String entityId, int count) {
+        List<EntityAuditEventV2> ret = new ArrayList<>();
+        long                     ts  = System.currentTimeMillis();
+
+        for (int i = 0; i < count; i++) {
+            ret.add(new EntityAuditEventV2(entityId, ts - i, "user", EntityAuditActionV2.ENTITY_UPDATE, "details" + i, null));
+        }
+
+        return ret;
+    }
+
+    private static void waitFor(BooleanSupplier condition) throws InterruptedException {
+        long timeout = System.currentTimeMillis() + TimeUnit.SECONDS.toMillis(10);
+
+        while (!condition.getAsBoolean()) {
+            assertTrue(System.currentTimeMillis() < timeout, "timed out waiting for condition");
+
+            Thread.sleep(20);
+        }
+    }
+}
@@ -0,0 +1,63 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * <p/>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p/>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.atlas.repository.audit;
+
+import org.apache.commons.lang.StringUtils;
+import org.testng.annotations.Test;
+
+import java.nio.charset.StandardCharsets;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertNull;
+import static org.testng.Assert.assertTrue;
+
+public class AuditColumnCodecTest {
+    private static final String DETAIL = "Updated: {\"typeName\":\"hive_table\",\"attributes\":{\"description\":\"" + StringUtils.repeat("données ", 500) + "\"}}";
+
+    @Test
+    public void testCompressedRoundTrip() {
+        byte[] encoded = new AuditColumnCodec(true, 1024).encode(DETAIL);
+
+        assertTrue(AuditColumnCodec.isCompressed(encoded));
+        assertTrue(encoded.length < DETAIL.length());
+        assertEquals(AuditColumnCodec.decode(encoded), DETAIL);
+    }
+
+    @Test
+    public void testSmallValuesNotCompressed() {
+        byte[] encoded = new AuditColumnCodec(true, 1024).encode("Deleted: {}");
+
+        assertFalse(AuditColumnCodec.isCompressed(encoded));
+        assertEquals(AuditColumnCodec.decode(encoded), "Deleted: {}");
+    }
+
+    @Test
+    public void testCompressionDisabled() {
+        byte[] encoded = new AuditColumnCodec(false, 0).encode(DETAIL);
+
+        assertEquals(encoded, DETAIL.getBytes(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    public void testLegacyValues() {
+        assertEquals(AuditColumnCodec.decode(DETAIL.getBytes(StandardCharsets.UTF_8)), DETAIL);
+        assertEquals(AuditColumnCodec.decode(new byte[0]), "");
+        assertNull(AuditColumnCodec.decode(null));
+    }
+}
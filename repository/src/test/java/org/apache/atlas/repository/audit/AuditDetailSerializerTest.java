@@ -0,0 +1,127 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * <p/>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p/>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.atlas.repository.audit;
+
+import org.apache.atlas.model.instance.AtlasClassification;
+import org.apache.atlas.model.instance.AtlasEntity;
+import org.apache.atlas.model.instance.AtlasObjectId;
+import org.apache.atlas.type.AtlasType;
+import org.apache.commons.lang.StringUtils;
+import org.testng.annotations.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNotNull;
+import static org.testng.Assert.assertNull;
+import static org.testng.Assert.assertTrue;
+
+public class AuditDetailSerializerTest {
+    private static final String PREFIX = "Created: ";
+
+    @Test
+    public void testFullEntityWithinLimit() {
+        AtlasEntity entity = createEntity(100, 100);
+        String      detail = AuditDetailSerializer.serialize(PREFIX, entity, 1024 * 1024);
+
+        assertEquals(detail, PREFIX + AtlasType.toJson(entity));
+    }
+
+    @Test
+    public void testNoLimit() {
+        AtlasEntity entity = createEntity(100 * 1024, 100);
+
+        assertEquals(AuditDetailSerializer.serialize(PREFIX, entity, -1), PREFIX + AtlasType.toJson(entity));
+    }
+
+    @Test
+    public void testAttributesDropped() {
+        AtlasEntity entity = createEntity(10 * 1024, 100);
+        String      detail = AuditDetailSerializer.serialize(PREFIX, entity, 4 * 1024);
+        AtlasEntity stored = toEntity(detail);
+
+        assertTrue(detail.getBytes(StandardCharsets.UTF_8).length <= 4 * 1024);
+        assertNull(stored.getAttributes());
+        assertNotNull(stored.getRelationshipAttributes());
+        assertEquals(stored.getClassifications().size(), 1);
+
+        // entity passed in is left unchanged
+        assertNotNull(entity.getAttribute("description"));
+        assertNotNull(entity.getRelationshipAttribute("db"));
+    }
+
+    @Test
+    public void testRelationshipAttributesDropped() {
+        AtlasEntity entity = createEntity(10 * 1024, 10 * 1024);
+        String      detail = AuditDetailSerializer.serialize(PREFIX, entity, 4 * 1024);
+        AtlasEntity stored = toEntity(detail);
+
+        assertNull(stored.getAttributes());
+        assertNull(stored.getRelationshipAttributes());
+        assertEquals(stored.getClassifications().size(), 1);
+        assertNotNull(entity.getRelationshipAttribute("db"));
+    }
+
+    @Test
+    public void testShallowEntity() {
+        AtlasEntity entity = createEntity(100, 100);
+
+        entity.addClassifications(Collections.singletonList(new AtlasClassification(StringUtils.repeat("c", 10 * 1024))));
+
+        AtlasEntity stored = toEntity(AuditDetailSerializer.serialize(PREFIX, entity, 1024));
+
+        assertEquals(stored.getGuid(), entity.getGuid());
+        assertEquals(stored.getTypeName(), entity.getTypeName());
+        assertNull(stored.getAttributes());
+        assertNull(stored.getClassifications());
+        assertEquals(entity.getClassifications().size(), 2);
+    }
+
+    @Test
+    public void testMultiByteCharacters() {
+        AtlasEntity entity = createEntity(10, 10);
+
+        entity.setAttribute("description", StringUtils.repeat("é", 1000)); // 2 bytes each in UTF-8
+
+        String json = PREFIX + AtlasType.toJson(entity);
+        int    size = json.getBytes(StandardCharsets.UTF_8).length;
+
+        assertEquals(AuditDetailSerializer.serialize(PREFIX, entity, size), json);
+        assertNull(toEntity(AuditDetailSerializer.serialize(PREFIX, entity, size - 1)).getAttributes());
+    }
+
+    private static AtlasEntity createEntity(int attrSize, int relAttrSize) {
+        AtlasEntity entity = new AtlasEntity("hive_table");
+
+        entity.setGuid("guid-1");
+        entity.setAttribute("name", "t1");
+        entity.setAttribute("description", StringUtils.repeat("a", attrSize));
+        entity.setRelationshipAttribute("db", new AtlasObjectId("guid-2", "hive_db"));
+        entity.setRelationshipAttribute("comment", StringUtils.repeat("r", relAttrSize));
+        entity.addClassifications(Collections.singletonList(new AtlasClassification("PII")));
+
+        return entity;
+    }
+
+    private static AtlasEntity toEntity(String detail) {
+        assertTrue(detail.startsWith(PREFIX));
+
+        return AtlasType.fromJson(detail.substring(PREFIX.length()), AtlasEntity.class);
+    }
+}
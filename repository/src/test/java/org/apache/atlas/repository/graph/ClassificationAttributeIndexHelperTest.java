@@ -0,0 +1,121 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.atlas.repository.graph;
+
+import org.apache.atlas.exception.AtlasBaseException;
+import org.apache.atlas.model.discovery.SearchParameters.FilterCriteria;
+import org.apache.atlas.model.discovery.SearchParameters.FilterCriteria.Condition;
+import org.apache.atlas.model.discovery.SearchParameters.Operator;
+import org.apache.atlas.type.AtlasClassificationType;
+import org.apache.atlas.type.AtlasTypeRegistry;
+import org.apache.atlas.type.AtlasTypeRegistry.AtlasTransientTypeRegistry;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Set;
+
+import static org.apache.atlas.type.AtlasTypeUtil.createOptionalAttrDef;
+import static org.apache.atlas.type.AtlasTypeUtil.createTraitTypeDef;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertTrue;
+
+public class ClassificationAttributeIndexHelperTest {
+    private AtlasTypeRegistry            typeRegistry;
+    private Set<AtlasClassificationType> piiTypes;
+
+    @BeforeMethod
+    public void setUp() throws AtlasBaseException {
+        typeRegistry = new AtlasTypeRegistry();
+
+        AtlasTransientTypeRegistry ttr     = typeRegistry.lockTypeRegistryForUpdate();
+        boolean                    success = false;
+
+        try {
+            ttr.addTypes(Collections.singletonList(createTraitTypeDef("PII", Collections.emptySet(), createOptionalAttrDef("level", "string"),
+                                                                      createOptionalAttrDef("expiry", "date"), createOptionalAttrDef("owners", "array<string>"))));
+
+            success = true;
+        } finally {
+            typeRegistry.releaseTypeRegistryForUpdate(ttr, success);
+        }
+
+        piiTypes = Collections.singleton(typeRegistry.getClassificationTypeByName("PII"));
+
+        typeRegistry.addIndexFieldName(ClassificationAttributeIndexHelper.getEntityPropertyName("PII.level"), "abc_t");
+    }
+
+    @Test
+    public void testEntityPropertyName() {
+        assertEquals(ClassificationAttributeIndexHelper.getEntityPropertyName("PII.level"), "__classificationAttr.PII.level");
+    }
+
+    @Test
+    public void testIsIndexableAttribute() {
+        AtlasClassificationType piiType = piiTypes.iterator().next();
+
+        assertTrue(ClassificationAttributeIndexHelper.isIndexableAttribute(piiType.getAttribute("level")));
+        assertTrue(ClassificationAttributeIndexHelper.isIndexableAttribute(piiType.getAttribute("expiry")));
+        assertFalse(ClassificationAttributeIndexHelper.isIndexableAttribute(piiType.getAttribute("owners")));
+    }
+
+    @Test
+    public void testIsSupportedFilter() {
+        assertTrue(ClassificationAttributeIndexHelper.isSupportedFilter(null));
+        assertTrue(ClassificationAttributeIndexHelper.isSupportedFilter(criteria("level", Operator.EQ, "high")));
+        assertTrue(ClassificationAttributeIndexHelper.isSupportedFilter(and(criteria("level", Operator.STARTS_WITH, "h"), criteria("expiry", Operator.GT, "0"))));
+
+        assertFalse(ClassificationAttributeIndexHelper.isSupportedFilter(criteria("level", Operator.NEQ, "high")));
+        assertFalse(ClassificationAttributeIndexHelper.isSupportedFilter(and(criteria("level", Operator.EQ, "high"), criteria("expiry", Operator.IS_NULL, null))));
+    }
+
+    @Test
+    public void testIsIndexedOnEntity() {
+        assertTrue(ClassificationAttributeIndexHelper.isIndexedOnEntity(piiTypes, criteria("level", Operator.EQ, "high"), typeRegistry));
+
+        // no index on entities for 'expiry'
+        assertFalse(ClassificationAttributeIndexHelper.isIndexedOnEntity(piiTypes, and(criteria("level", Operator.EQ, "high"), criteria("expiry", Operator.GT, "0")), typeRegistry));
+
+        // multi-valued attribute
+        assertFalse(ClassificationAttributeIndexHelper.isIndexedOnEntity(piiTypes, criteria("owners", Operator.EQ, "user1"), typeRegistry));
+
+        // unknown attribute
+        assertFalse(ClassificationAttributeIndexHelper.isIndexedOnEntity(piiTypes, criteria("unknown", Operator.EQ, "x"), typeRegistry));
+    }
+
+    private static FilterCriteria criteria(String attributeName, Operator operator, String attributeValue) {
+        FilterCriteria ret = new FilterCriteria();
+
+        ret.setAttributeName(attributeName);
+        ret.setOperator(operator);
+        ret.setAttributeValue(attributeValue);
+
+        return ret;
+    }
+
+    private static FilterCriteria and(FilterCriteria... criterion) {
+        FilterCriteria ret = new FilterCriteria();
+
+        ret.setCondition(Condition.AND);
+        ret.setCriterion(Arrays.asList(criterion));
+
+        return ret;
+    }
+}
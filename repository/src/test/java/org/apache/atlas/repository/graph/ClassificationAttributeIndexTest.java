@@ -0,0 +1,304 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.atlas.repository.graph;
+
+import org.apache.atlas.ApplicationProperties;
+import org.apache.atlas.AtlasException;
+import org.apache.atlas.BasicTestSetup;
+import org.apache.atlas.TestModules;
+import org.apache.atlas.discovery.AtlasDiscoveryService;
+import org.apache.atlas.exception.AtlasBaseException;
+import org.apache.atlas.model.discovery.SearchParameters;
+import org.apache.atlas.model.discovery.SearchParameters.Operator;
+import org.apache.atlas.model.instance.AtlasClassification;
+import org.apache.atlas.model.instance.AtlasEntityHeader;
+import org.apache.atlas.model.typedef.AtlasClassificationDef;
+import org.apache.atlas.model.typedef.AtlasStructDef.AtlasAttributeDef;
+import org.apache.atlas.model.typedef.AtlasTypesDef;
+import org.apache.atlas.repository.graphdb.AtlasGraph;
+import org.apache.atlas.repository.graphdb.AtlasVertex;
+import org.apache.atlas.repository.patches.ClassificationAttributeIndexPatch;
+import org.apache.atlas.repository.patches.PatchContext;
+import org.apache.atlas.repository.store.graph.v2.AtlasGraphUtilsV2;
+import org.apache.atlas.repository.store.graph.v2.EntityGraphMapper;
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Guice;
+import org.testng.annotations.Test;
+
+import javax.inject.Inject;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.apache.atlas.model.patches.AtlasPatch.PatchStatus.APPLIED;
+import static org.apache.atlas.model.patches.AtlasPatch.PatchStatus.UNKNOWN;
+import static org.apache.atlas.repository.Constants.CLASSIFICATION_ATTRIBUTES_KEY_PREFIX;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertTrue;
+
+/**
+ * Verifies that classification attribute values are maintained on entity vertices as classifications are added,
+ * updated, propagated and deleted; that ClassificationAttributeIndexPatch backfills existing classifications; and that
+ * ClassificationSearchProcessor returns the same results with and without the entity index.
+ *
+ * Lineage used: [sales_fact], [time_dim] ----> [loadSalesDaily] ----> [sales_fact_daily_mv]
+ */
+@Guice(modules = TestModules.TestOnlyModule.class)
+public class ClassificationAttributeIndexTest extends BasicTestSetup {
+    private static final String ENABLED_PROPERTY = "atlas.search.classification.attributes.entity.index.enabled";
+    private static final String INDEXED_TAG      = "ClsAttrIndexTag";
+    private static final String LEGACY_TAG       = "ClsAttrLegacyTag";
+    private static final String SALES_FACT       = "Sales.sales_fact";
+    private static final String TIME_DIM         = "Sales.time_dim";
+    private static final String SALES_FACT_DAILY = "Reporting.sales_fact_daily_mv";
+
+    @Inject
+    private AtlasGraph graph;
+
+    @Inject
+    private GraphBackedSearchIndexer indexer;
+
+    @Inject
+    private EntityGraphMapper entityGraphMapper;
+
+    @Inject
+    private AtlasDiscoveryService discoveryService;
+
+    @BeforeClass
+    public void setup() throws Exception {
+        setupTestData();
+
+        // classification associated before the feature is enabled: its values are copied only by the patch
+        createClassificationType(LEGACY_TAG);
+
+        entityStore.addClassifications(getGuid(TIME_DIM), Collections.singletonList(classification(LEGACY_TAG, "old", false)));
+
+        ApplicationProperties.get().setProperty(ENABLED_PROPERTY, true);
+
+        createClassificationType(INDEXED_TAG);
+    }
+
+    @AfterClass
+    public void tearDown() throws AtlasException {
+        ApplicationProperties.get().clearProperty(ENABLED_PROPERTY);
+
+        ClassificationAttributeIndexHelper.setBackfillComplete(false);
+    }
+
+    @Test
+    public void testAddClassification() throws AtlasBaseException {
+        entityStore.addClassifications(getGuid(SALES_FACT), Collections.singletonList(classification(INDEXED_TAG, "high", true)));
+        entityStore.addClassifications(getGuid(TIME_DIM), Collections.singletonList(classification(INDEXED_TAG, "low", true)));
+
+        assertLevels(SALES_FACT, "high");
+        assertLevels(TIME_DIM, "low");
+
+        // values of both instances propagated through loadSalesDaily are stored
+        assertLevels(SALES_FACT_DAILY, "high", "low");
+    }
+
+    @Test(dependsOnMethods = "testAddClassification")
+    public void testUpdateClassification() throws AtlasBaseException {
+        entityStore.updateClassifications(getGuid(SALES_FACT), Collections.singletonList(classification(INDEXED_TAG, "medium", true)));
+
+        assertLevels(SALES_FACT, "medium");
+        assertLevels(SALES_FACT_DAILY, "medium", "low");
+    }
+
+    @Test(dependsOnMethods = "testUpdateClassification")
+    public void testSearchResultsWithEntityIndex() throws AtlasBaseException {
+        assertSameResults(Operator.EQ, "medium");
+        assertSameResults(Operator.STARTS_WITH, "me");
+        assertSameResults(Operator.EQ, "low");
+        assertSameResults(Operator.EQ, "none");
+    }
+
+    @Test(dependsOnMethods = "testSearchResultsWithEntityIndex")
+    public void testDeleteClassification() throws AtlasBaseException {
+        entityStore.deleteClassification(getGuid(TIME_DIM), INDEXED_TAG);
+
+        assertLevels(TIME_DIM);
+        assertLevels(SALES_FACT_DAILY, "medium");
+
+        // classification added before the feature was enabled is not copied until the patch is applied
+        assertFalse(hasClassificationAttributeProperty(TIME_DIM));
+    }
+
+    @Test(dependsOnMethods = "testDeleteClassification")
+    public void testPatchBackfill() throws AtlasBaseException {
+        PatchContext                      context = newPatchContext();
+        ClassificationAttributeIndexPatch patch   = new ClassificationAttributeIndexPatch(context);
+
+        patch.apply();
+
+        assertEquals(patch.getStatus(), APPLIED);
+        assertEquals(context.getPatchRegistry().getStatus(ClassificationAttributeIndexPatch.PATCH_ID), APPLIED);
+        assertTrue(ClassificationAttributeIndexHelper.canUseForSearch());
+
+        assertEquals(getValues(TIME_DIM, LEGACY_TAG), new HashSet<>(Collections.singletonList("old")));
+        assertLevels(SALES_FACT, "medium");
+        assertLevels(SALES_FACT_DAILY, "medium");
+
+        assertSameResults(LEGACY_TAG, Operator.EQ, "old");
+    }
+
+    @Test(dependsOnMethods = "testPatchBackfill")
+    public void testDeletePropagatingClassification() throws AtlasBaseException {
+        entityStore.deleteClassification(getGuid(SALES_FACT), INDEXED_TAG);
+
+        assertLevels(SALES_FACT);
+        assertLevels(SALES_FACT_DAILY);
+    }
+
+    @Test(dependsOnMethods = "testDeletePropagatingClassification")
+    public void testBackfillAfterUpdatesWhileDisabled() throws AtlasBaseException, AtlasException {
+        ApplicationProperties.get().setProperty(ENABLED_PROPERTY, false);
+
+        try {
+            // values are not copied while disabled, hence the entity index can't be used once enabled again
+            entityStore.addClassifications(getGuid(SALES_FACT), Collections.singletonList(classification(INDEXED_TAG, "high", false)));
+
+            assertFalse(ClassificationAttributeIndexHelper.canUseForSearch());
+
+            // on startup with the entity index disabled, the applied patch is set to be applied again
+            new ClassificationAttributeIndexPatch(newPatchContext()).resetIfDisabled();
+
+            assertEquals(newPatchContext().getPatchRegistry().getStatus(ClassificationAttributeIndexPatch.PATCH_ID), UNKNOWN);
+        } finally {
+            ApplicationProperties.get().setProperty(ENABLED_PROPERTY, true);
+        }
+
+        assertLevels(SALES_FACT);
+        assertFalse(ClassificationAttributeIndexHelper.canUseForSearch());
+
+        ClassificationAttributeIndexPatch patch = new ClassificationAttributeIndexPatch(newPatchContext());
+
+        patch.apply();
+
+        assertEquals(patch.getStatus(), APPLIED);
+        assertTrue(ClassificationAttributeIndexHelper.canUseForSearch());
+        assertLevels(SALES_FACT, "high");
+
+        assertSameResults(Operator.EQ, "high");
+    }
+
+    private PatchContext newPatchContext() {
+        return new PatchContext(graph, typeRegistry, indexer, entityGraphMapper);
+    }
+
+    private void assertSameResults(Operator operator, String value) throws AtlasBaseException {
+        assertSameResults(INDEXED_TAG, operator, value);
+    }
+
+    private void assertSameResults(String classification, Operator operator, String value) throws AtlasBaseException {
+        boolean isBackfillComplete = ClassificationAttributeIndexHelper.canUseForSearch();
+
+        try {
+            ClassificationAttributeIndexHelper.setBackfillComplete(false);
+
+            Set<String> classificationVertexResults = search(classification, operator, value);
+
+            ClassificationAttributeIndexHelper.setBackfillComplete(true);
+
+            Set<String> entityIndexResults = search(classification, operator, value);
+
+            assertEquals(entityIndexResults, classificationVertexResults, classification + ".level " + operator + " " + value);
+        } finally {
+            ClassificationAttributeIndexHelper.setBackfillComplete(isBackfillComplete);
+        }
+    }
+
+    private Set<String> search(String classification, Operator operator, String value) throws AtlasBaseException {
+        SearchParameters params = new SearchParameters();
+
+        params.setClassification(classification);
+        params.setTagFilters(getSingleFilterCondition("level", operator, value));
+        params.setLimit(100);
+
+        List<AtlasEntityHeader> entities = discoveryService.searchWithParameters(params).getEntities();
+        Set<String>             ret      = new HashSet<>();
+
+        if (entities != null) {
+            for (AtlasEntityHeader entity : entities) {
+                ret.add(entity.getGuid());
+            }
+        }
+
+        return ret;
+    }
+
+    private void assertLevels(String qualifiedName, String... expectedLevels) {
+        assertEquals(getValues(qualifiedName, INDEXED_TAG), new HashSet<>(Arrays.asList(expectedLevels)), qualifiedName);
+    }
+
+    private Set<Object> getValues(String qualifiedName, String classification) {
+        String             vertexPropertyName = typeRegistry.getClassificationTypeByName(classification).getAttribute("level").getVertexPropertyName();
+        Collection<Object> values             = getVertex(qualifiedName).getPropertyValues(ClassificationAttributeIndexHelper.getEntityPropertyName(vertexPropertyName), Object.class);
+
+        return values == null ? Collections.emptySet() : new HashSet<>(values);
+    }
+
+    private boolean hasClassificationAttributeProperty(String qualifiedName) {
+        for (String propertyName : getVertex(qualifiedName).getPropertyKeys()) {
+            if (propertyName.startsWith(CLASSIFICATION_ATTRIBUTES_KEY_PREFIX)) {
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    private String getGuid(String qualifiedName) {
+        return GraphHelper.getGuid(getVertex(qualifiedName));
+    }
+
+    private AtlasVertex getVertex(String qualifiedName) {
+        Map<String, Object> uniqAttributes = new HashMap<>();
+
+        uniqAttributes.put("qualifiedName", qualifiedName);
+
+        return AtlasGraphUtilsV2.findByUniqueAttributes(typeRegistry.getEntityTypeByName(HIVE_TABLE_TYPE), uniqAttributes);
+    }
+
+    private void createClassificationType(String name) throws AtlasBaseException {
+        AtlasClassificationDef classificationDef = new AtlasClassificationDef(name, name + " classification", "1.0",
+                                                                              Collections.singletonList(new AtlasAttributeDef("level", "string")));
+
+        typeDefStore.createTypesDef(new AtlasTypesDef(Collections.emptyList(), Collections.emptyList(),
+                                                      Collections.singletonList(classificationDef), Collections.emptyList()));
+    }
+
+    private static AtlasClassification classification(String name, String level, boolean propagate) {
+        Map<String, Object> attributes = new HashMap<>();
+
+        attributes.put("level", level);
+
+        AtlasClassification ret = new AtlasClassification(name, attributes);
+
+        ret.setPropagate(propagate);
+
+        return ret;
+    }
+}
@@ -0,0 +1,169 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * <p/>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p/>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.atlas.repository.graph;
+
+import org.apache.atlas.exception.AtlasBaseException;
+import org.apache.atlas.repository.graphdb.AtlasGraph;
+import org.apache.atlas.repository.graphdb.AtlasGraphQuery;
+import org.apache.atlas.repository.graphdb.AtlasVertex;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.apache.atlas.repository.Constants.ENTITY_TEXT_PROPERTY_KEY;
+import static org.apache.atlas.repository.Constants.FULLTEXT_PENDING_PROPERTY_KEY;
+import static org.apache.atlas.repository.Constants.FULLTEXT_PENDING_VALUE;
+import static org.apache.atlas.repository.Constants.GUID_PROPERTY_KEY;
+import static org.mockito.Matchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertTrue;
+
+public class DeferredFullTextMapperTest {
+    private AtlasGraph               graph;
+    private FullTextMapperV2         fullTextMapper;
+    private Map<String, AtlasVertex> vertices;
+    private DeferredFullTextMapper   deferredMapper;
+
+    @BeforeMethod
+    public void setUp() throws AtlasBaseException {
+        graph          = mock(AtlasGraph.class);
+        fullTextMapper = mock(FullTextMapperV2.class);
+        vertices       = new HashMap<>();
+
+        when(fullTextMapper.getIndexTextForEntity(anyString())).thenAnswer(invocation -> "text-" + invocation.getArguments()[0]);
+
+        // worker thread is not started when disabled; batches are processed by the test
+        deferredMapper = new DeferredFullTextMapper(graph, fullTextMapper, null, false, 2) {
+            @Override
+            AtlasVertex findVertex(String guid) {
+                return vertices.computeIfAbsent(guid, DeferredFullTextMapperTest::mockVertex);
+            }
+        };
+    }
+
+    @Test
+    public void testMappedInBatches() {
+        deferredMapper.addPending(Arrays.asList("g1", "g2", "g3", "g4", "g5"));
+
+        assertEquals(deferredMapper.getPendingCount(), 5);
+
+        assertEquals(deferredMapper.processBatch(), 2);
+        assertEquals(deferredMapper.processBatch(), 2);
+        assertEquals(deferredMapper.processBatch(), 1);
+        assertEquals(deferredMapper.processBatch(), 0);
+
+        verify(graph, times(3)).commit();
+        verify(vertices.get("g1")).setProperty(ENTITY_TEXT_PROPERTY_KEY, "text-g1");
+        verify(vertices.get("g5")).setProperty(ENTITY_TEXT_PROPERTY_KEY, "text-g5");
+
+        assertEquals(deferredMapper.getMetrics().get("mappedCount"), 5L);
+        assertEquals(deferredMapper.getPendingCount(), 0);
+    }
+
+    @Test
+    public void testPendingFlagRemovedOnMapping() {
+        deferredMapper.addPending(Arrays.asList("g1", "g2"));
+        deferredMapper.processBatch();
+
+        verify(vertices.get("g1")).removeProperty(FULLTEXT_PENDING_PROPERTY_KEY);
+        verify(vertices.get("g2")).removeProperty(FULLTEXT_PENDING_PROPERTY_KEY);
+    }
+
+    @Test
+    public void testRecoverPending() {
+        AtlasGraphQuery query = mock(AtlasGraphQuery.class);
+        AtlasVertex     v1    = mockVertex("g1");
+        AtlasVertex     v2    = mockVertex("g2");
+
+        when(graph.query()).thenReturn(query);
+        when(query.has(FULLTEXT_PENDING_PROPERTY_KEY, FULLTEXT_PENDING_VALUE)).thenReturn(query);
+        when(query.vertices()).thenReturn(Arrays.asList(v1, v2));
+
+        // entities flagged in the graph, but not mapped before a restart, are mapped again
+        deferredMapper.recoverPending();
+
+        assertEquals(deferredMapper.getPendingCount(), 2);
+        assertEquals(deferredMapper.processBatch(), 2);
+
+        verify(vertices.get("g1")).setProperty(ENTITY_TEXT_PROPERTY_KEY, "text-g1");
+        verify(vertices.get("g2")).setProperty(ENTITY_TEXT_PROPERTY_KEY, "text-g2");
+    }
+
+    @Test
+    public void testDuplicatesCoalesced() throws AtlasBaseException {
+        deferredMapper.addPending(Collections.singletonList("g1"));
+        deferredMapper.addPending(Arrays.asList("g1", "g2"));
+
+        assertEquals(deferredMapper.getPendingCount(), 2);
+        assertEquals(deferredMapper.processBatch(), 2);
+
+        verify(fullTextMapper, times(1)).getIndexTextForEntity("g1");
+    }
+
+    @Test
+    public void testFailedEntityIsolated() throws AtlasBaseException {
+        when(fullTextMapper.getIndexTextForEntity("bad")).thenThrow(new RuntimeException("mapping failed"));
+
+        deferredMapper.addPending(Arrays.asList("bad", "g1"));
+        deferredMapper.processBatch();
+
+        verify(graph, times(2)).rollback();
+        verify(graph, times(1)).commit();
+        verify(vertices.get("g1")).setProperty(ENTITY_TEXT_PROPERTY_KEY, "text-g1");
+        verify(vertices.get("bad"), never()).setProperty(anyString(), anyString());
+
+        assertEquals(deferredMapper.getMetrics().get("failedCount"), 1L);
+        assertEquals(deferredMapper.getMetrics().get("mappedCount"), 1L);
+    }
+
+    @Test
+    public void testLag() throws InterruptedException {
+        assertEquals(deferredMapper.getLagMs(), 0);
+
+        deferredMapper.addPending(Collections.singletonList("g1"));
+
+        Thread.sleep(20);
+
+        deferredMapper.addPending(Collections.singletonList("g2"));
+
+        assertTrue(deferredMapper.getLagMs() >= 20);
+
+        deferredMapper.processBatch();
+
+        assertEquals(deferredMapper.getLagMs(), 0);
+    }
+
+    // vertex id is used by AtlasGraphUtilsV2 when logging property updates at debug level
+    private static AtlasVertex mockVertex(String guid) {
+        AtlasVertex ret = mock(AtlasVertex.class);
+
+        when(ret.getId()).thenReturn("id-" + guid);
+        when(ret.getProperty(GUID_PROPERTY_KEY, String.class)).thenReturn(guid);
+
+        return ret;
+    }
+}
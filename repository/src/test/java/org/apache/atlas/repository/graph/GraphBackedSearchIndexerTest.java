@@ -0,0 +1,158 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.atlas.repository.graph;
+
+import org.apache.atlas.RequestContext;
+import org.apache.atlas.listener.ChangedTypeDefs;
+import org.apache.atlas.model.typedef.AtlasBaseTypeDef;
+import org.apache.atlas.model.typedef.AtlasEntityDef;
+import org.apache.atlas.model.typedef.AtlasStructDef;
+import org.apache.atlas.repository.graphdb.AtlasCardinality;
+import org.apache.atlas.repository.graphdb.AtlasGraph;
+import org.apache.atlas.repository.graphdb.AtlasGraphManagement;
+import org.apache.atlas.repository.graphdb.AtlasPropertyKey;
+import org.apache.atlas.type.AtlasTypeRegistry;
+import org.apache.atlas.type.AtlasTypeRegistry.AtlasTransientTypeRegistry;
+import org.apache.commons.configuration.PropertiesConfiguration;
+import org.mockito.invocation.InvocationOnMock;
+import org.mockito.stubbing.Answer;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+
+import static org.apache.atlas.type.AtlasTypeUtil.createClassTypeDef;
+import static org.apache.atlas.type.AtlasTypeUtil.createOptionalAttrDef;
+import static org.apache.atlas.type.AtlasTypeUtil.createStructTypeDef;
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyBoolean;
+import static org.mockito.Matchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertTrue;
+
+public class GraphBackedSearchIndexerTest {
+    private AtlasTypeRegistry             typeRegistry;
+    private AtlasGraphManagement          management;
+    private Map<String, AtlasPropertyKey> propertyKeys;
+    private List<String>                  createdPropertyKeys;
+
+    @BeforeMethod
+    public void setUp() throws Exception {
+        typeRegistry        = new AtlasTypeRegistry();
+        management          = mock(AtlasGraphManagement.class);
+        propertyKeys        = new HashMap<>();
+        createdPropertyKeys = new ArrayList<>();
+
+        when(management.getPropertyKey(anyString())).thenAnswer(new Answer<AtlasPropertyKey>() {
+            @Override
+            public AtlasPropertyKey answer(InvocationOnMock invocation) {
+                return propertyKeys.get((String) invocation.getArguments()[0]);
+            }
+        });
+        when(management.makePropertyKey(anyString(), any(Class.class), any(AtlasCardinality.class))).thenAnswer(new Answer<AtlasPropertyKey>() {
+            @Override
+            public AtlasPropertyKey answer(InvocationOnMock invocation) {
+                String           propertyName = (String) invocation.getArguments()[0];
+                AtlasPropertyKey ret          = mock(AtlasPropertyKey.class);
+
+                when(ret.getName()).thenReturn(propertyName);
+
+                propertyKeys.put(propertyName, ret);
+                createdPropertyKeys.add(propertyName);
+
+                return ret;
+            }
+        });
+        when(management.addMixedIndex(anyString(), any(AtlasPropertyKey.class), anyBoolean(), anyString(), anyBoolean())).thenReturn("field_s");
+
+        RequestContext.clear();
+    }
+
+    @AfterMethod
+    public void tearDown() {
+        RequestContext.clear();
+    }
+
+    @Test
+    public void testSharedStructIndexedOnce() throws Exception {
+        AtlasStructDef structDef = createStructTypeDef("test_address", createOptionalAttrDef("city", "string"));
+        AtlasEntityDef entity1   = createClassTypeDef("test_person", Collections.<String>emptySet(),
+                                                      createOptionalAttrDef("name", "string"), createOptionalAttrDef("home", "test_address"));
+        AtlasEntityDef entity2   = createClassTypeDef("test_company", Collections.<String>emptySet(),
+                                                      createOptionalAttrDef("name", "string"), createOptionalAttrDef("office", "test_address"));
+
+        registerTypes(structDef, entity1, entity2);
+
+        GraphBackedSearchIndexer indexer = getIndexer();
+
+        indexer.onChange(new ChangedTypeDefs(Arrays.<AtlasBaseTypeDef>asList(structDef, entity1, entity2), null, null));
+
+        // each property key is created once, though test_address is referenced by both entity types
+        assertEquals(new HashSet<>(createdPropertyKeys).size(), createdPropertyKeys.size());
+        assertTrue(createdPropertyKeys.contains("test_address.city"));
+        verify(management, times(1)).makeEdgeLabel("__test_person.home");
+        verify(management, times(1)).makeEdgeLabel("__test_company.office");
+        verify(management, times(1)).commit();
+
+        Map<String, Long> phaseTimes = RequestContext.get().getPhaseTimes();
+
+        assertTrue(phaseTimes.containsKey("index.plan"));
+        assertTrue(phaseTimes.containsKey("index.propertyKeys"));
+        assertTrue(phaseTimes.containsKey("index.compositeIndexes"));
+        assertTrue(phaseTimes.containsKey("index.edgeLabels"));
+        assertTrue(phaseTimes.containsKey("index.commit"));
+    }
+
+    private void registerTypes(AtlasBaseTypeDef... typeDefs) throws Exception {
+        AtlasTransientTypeRegistry ttr     = typeRegistry.lockTypeRegistryForUpdate();
+        boolean                    success = false;
+
+        try {
+            ttr.addTypes(Arrays.asList(typeDefs));
+
+            success = true;
+        } finally {
+            typeRegistry.releaseTypeRegistryForUpdate(ttr, success);
+        }
+    }
+
+    private GraphBackedSearchIndexer getIndexer() throws Exception {
+        final AtlasGraph          graph         = mock(AtlasGraph.class);
+        IAtlasGraphProvider       provider      = mock(IAtlasGraphProvider.class);
+        PropertiesConfiguration   configuration = new PropertiesConfiguration();
+
+        // HA enabled, to skip creation of common indexes at construction
+        configuration.setProperty("atlas.server.ha.enabled", true);
+
+        when(provider.get()).thenReturn(graph);
+        when(graph.getManagementSystem()).thenReturn(management);
+
+        return new GraphBackedSearchIndexer(provider, configuration, typeRegistry);
+    }
+}
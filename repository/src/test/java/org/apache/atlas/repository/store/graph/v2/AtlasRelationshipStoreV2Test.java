@@ -18,6 +18,7 @@
 package org.apache.atlas.repository.store.graph.v2;
 
 import com.google.common.collect.ImmutableList;
+import org.apache.atlas.AtlasErrorCode;
 import org.apache.atlas.RequestContext;
 import org.apache.atlas.TestModules;
 import org.apache.atlas.TestUtilsV2;
@@ -28,6 +29,7 @@ import org.apache.atlas.model.instance.AtlasEntity.AtlasEntityWithExtInfo;
 import org.apache.atlas.model.instance.AtlasEntityHeader;
 import org.apache.atlas.model.instance.AtlasObjectId;
 import org.apache.atlas.model.instance.AtlasRelatedObjectId;
+import org.apache.atlas.model.instance.AtlasRelationship;
 import org.apache.atlas.model.instance.EntityMutationResponse;
 import org.apache.atlas.model.typedef.AtlasTypesDef;
 import org.apache.atlas.repository.graph.AtlasGraphProvider;
@@ -56,6 +58,7 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 
+import static org.apache.atlas.TestRelationshipUtilsV2.EMPLOYEE_FRIENDS_TYPE;
 import static org.apache.atlas.TestRelationshipUtilsV2.EMPLOYEE_TYPE;
 import static org.apache.atlas.TestRelationshipUtilsV2.getDepartmentEmployeeInstances;
 import static org.apache.atlas.TestRelationshipUtilsV2.getDepartmentEmployeeTypes;
@@ -68,6 +71,7 @@ import static org.testng.Assert.assertEquals;
 import static org.testng.Assert.assertNotNull;
 import static org.testng.Assert.assertNull;
 import static org.testng.Assert.assertTrue;
+import static org.testng.Assert.fail;
 
 @Guice(modules = TestModules.TestOnlyModule.class)
 public abstract class AtlasRelationshipStoreV2Test {
@@ -298,6 +302,39 @@ public abstract class AtlasRelationshipStoreV2Test {
         assertObjectIdEquals(juliusSiblingId, janeId);
     }
 
+    @Test(dependsOnMethods = "testDepartmentEmployeeEntitiesUsingRelationship")
+    public void testBulkRelationshipCreate() throws Exception {
+        AtlasObjectId janeId = employeeNameIdMap.get("Jane");
+        AtlasObjectId johnId = employeeNameIdMap.get("John");
+        AtlasObjectId mikeId = employeeNameIdMap.get("Mike");
+
+        List<AtlasRelationship> relationships = new ArrayList<>();
+
+        relationships.add(new AtlasRelationship(EMPLOYEE_FRIENDS_TYPE, janeId, johnId));
+        relationships.add(new AtlasRelationship(EMPLOYEE_FRIENDS_TYPE, janeId, mikeId));
+
+        List<AtlasRelationship> created = relationshipStore.create(relationships);
+
+        assertEquals(created.size(), 2);
+        assertEquals(created.get(0).getEnd2().getGuid(), johnId.getGuid());
+        assertEquals(created.get(1).getEnd2().getGuid(), mikeId.getGuid());
+
+        AtlasEntity         jane           = getEntityFromStore(janeId.getGuid());
+        List<AtlasObjectId> janeFriendsIds = toAtlasObjectIds(jane.getRelationshipAttribute("friends"));
+
+        assertEquals(janeFriendsIds.size(), 2);
+        assertObjectIdsContains(janeFriendsIds, johnId);
+        assertObjectIdsContains(janeFriendsIds, mikeId);
+
+        try {
+            relationshipStore.create(Collections.singletonList(new AtlasRelationship(EMPLOYEE_FRIENDS_TYPE, janeId, johnId)));
+
+            fail("creating an existing relationship should have failed");
+        } catch (AtlasBaseException excp) {
+            assertEquals(excp.getAtlasErrorCode(), AtlasErrorCode.RELATIONSHIP_ALREADY_EXISTS);
+        }
+    }
+
     // Seeing intermittent failures with janus profile, disabling it until its fixed.
     @Test(enabled = false)
     public void testRelationshipAttributeUpdate_NonComposite_OneToMany() throws Exception {
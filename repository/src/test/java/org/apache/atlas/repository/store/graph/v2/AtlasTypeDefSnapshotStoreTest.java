@@ -0,0 +1,185 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.atlas.repository.store.graph.v2;
+
+import org.apache.atlas.model.typedef.AtlasEnumDef;
+import org.apache.atlas.model.typedef.AtlasEnumDef.AtlasEnumElementDef;
+import org.apache.atlas.repository.graphdb.AtlasGraph;
+import org.apache.atlas.repository.graphdb.AtlasGraphQuery;
+import org.apache.atlas.repository.graphdb.AtlasVertex;
+import org.apache.atlas.repository.store.graph.v2.AtlasTypeDefSnapshotStore.TypeDefSnapshot;
+import org.apache.atlas.type.AtlasTypeRegistry;
+import org.apache.atlas.type.AtlasTypeRegistry.AtlasTransientTypeRegistry;
+import org.mockito.invocation.InvocationOnMock;
+import org.mockito.stubbing.Answer;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.apache.atlas.repository.Constants.TYPEDEF_SNAPSHOT_ID_PROPERTY_KEY;
+import static org.apache.atlas.repository.Constants.TYPEDEF_SNAPSHOT_TYPES_PROPERTY_KEY;
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyString;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNotNull;
+import static org.testng.Assert.assertNull;
+import static org.testng.Assert.assertTrue;
+
+public class AtlasTypeDefSnapshotStoreTest {
+    private AtlasGraph          graph;
+    private List<AtlasVertex>   vertices;
+    private Map<String, Object> properties;
+
+    @BeforeMethod
+    public void setUp() {
+        graph      = mock(AtlasGraph.class);
+        vertices   = new ArrayList<>();
+        properties = new HashMap<>();
+
+        final AtlasGraphQuery query  = mock(AtlasGraphQuery.class);
+        final AtlasVertex     vertex = mock(AtlasVertex.class);
+
+        // vertex id is used by AtlasGraphUtilsV2 when logging property updates at debug level
+        when(vertex.getId()).thenReturn("typedef-snapshot");
+        when(graph.query()).thenReturn(query);
+        when(query.has(TYPEDEF_SNAPSHOT_ID_PROPERTY_KEY, "typedefs")).thenReturn(query);
+        when(query.vertices()).thenReturn(vertices);
+        when(graph.addVertex()).thenAnswer(new Answer<AtlasVertex>() {
+            @Override
+            public AtlasVertex answer(InvocationOnMock invocation) {
+                vertices.add(vertex);
+
+                return vertex;
+            }
+        });
+        when(vertex.getProperty(anyString(), any(Class.class))).thenAnswer(new Answer<Object>() {
+            @Override
+            public Object answer(InvocationOnMock invocation) {
+                return properties.get((String) invocation.getArguments()[0]);
+            }
+        });
+        doAnswer(new Answer<Void>() {
+            @Override
+            public Void answer(InvocationOnMock invocation) {
+                properties.put((String) invocation.getArguments()[0], invocation.getArguments()[1]);
+
+                return null;
+            }
+        }).when(vertex).setProperty(anyString(), any());
+        doAnswer(new Answer<Void>() {
+            @Override
+            public Void answer(InvocationOnMock invocation) {
+                properties.remove((String) invocation.getArguments()[0]);
+
+                return null;
+            }
+        }).when(vertex).removeProperty(anyString());
+    }
+
+    @Test
+    public void testSaveAndLoad() throws Exception {
+        AtlasTypeDefSnapshotStore snapshotStore = new AtlasTypeDefSnapshotStore(graph);
+
+        assertNull(snapshotStore.load());
+
+        snapshotStore.save(getTypeRegistry());
+
+        TypeDefSnapshot snapshot = snapshotStore.load();
+
+        assertNotNull(snapshot);
+        assertEquals(snapshot.getTypesDef().getEnumDefs().size(), 1);
+        assertEquals(snapshot.getTypesDef().getEnumDefs().get(0).getName(), "test_enum");
+        assertEquals(snapshot.getIndexFieldNames().get("test_type.name"), "1b5_t");
+    }
+
+    @Test
+    public void testInvalidate() throws Exception {
+        AtlasTypeDefSnapshotStore snapshotStore = new AtlasTypeDefSnapshotStore(graph);
+
+        snapshotStore.save(getTypeRegistry());
+        snapshotStore.setModelsChecksum("models-checksum");
+
+        assertEquals(snapshotStore.getModelsChecksum(), "models-checksum");
+
+        snapshotStore.invalidate();
+
+        assertNull(snapshotStore.load());
+        assertNull(snapshotStore.getModelsChecksum());
+
+        // models checksum is not recorded for a stale snapshot
+        snapshotStore.setModelsChecksum("models-checksum");
+
+        assertNull(snapshotStore.getModelsChecksum());
+    }
+
+    @Test
+    public void testVersionStamp() throws Exception {
+        AtlasTypeDefSnapshotStore snapshotStore = new AtlasTypeDefSnapshotStore(graph);
+
+        assertNull(snapshotStore.getVersionStamp());
+
+        snapshotStore.invalidate();
+
+        Long versionStamp = snapshotStore.getVersionStamp();
+
+        assertNotNull(versionStamp);
+
+        // saving the snapshot retains the version stamp; next update changes it
+        snapshotStore.save(getTypeRegistry());
+
+        assertEquals(snapshotStore.getVersionStamp(), versionStamp);
+
+        snapshotStore.invalidate();
+
+        assertTrue(snapshotStore.getVersionStamp() > versionStamp);
+    }
+
+    @Test
+    public void testChecksumMismatch() throws Exception {
+        AtlasTypeDefSnapshotStore snapshotStore = new AtlasTypeDefSnapshotStore(graph);
+
+        snapshotStore.save(getTypeRegistry());
+
+        properties.put(TYPEDEF_SNAPSHOT_TYPES_PROPERTY_KEY, properties.get(TYPEDEF_SNAPSHOT_TYPES_PROPERTY_KEY) + "x");
+
+        assertNull(snapshotStore.load());
+    }
+
+    private AtlasTypeRegistry getTypeRegistry() throws Exception {
+        AtlasTypeRegistry           typeRegistry = new AtlasTypeRegistry();
+        AtlasTransientTypeRegistry  ttr          = typeRegistry.lockTypeRegistryForUpdate();
+        AtlasEnumDef                enumDef      = new AtlasEnumDef("test_enum", "test enum", "1.0",
+                                                                    Collections.singletonList(new AtlasEnumElementDef("ONE", "one", 1)));
+
+        ttr.addType(enumDef);
+
+        typeRegistry.releaseTypeRegistryForUpdate(ttr, true);
+
+        typeRegistry.addIndexFieldName("test_type.name", "1b5_t");
+
+        return typeRegistry;
+    }
+}
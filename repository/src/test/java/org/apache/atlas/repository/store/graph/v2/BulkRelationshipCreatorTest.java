@@ -0,0 +1,180 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.atlas.repository.store.graph.v2;
+
+import org.apache.atlas.AtlasErrorCode;
+import org.apache.atlas.exception.AtlasBaseException;
+import org.apache.atlas.model.instance.AtlasRelationship;
+import org.apache.atlas.model.instance.AtlasRelationshipBulkResponse;
+import org.apache.atlas.model.instance.AtlasRelationshipBulkResponse.RelationshipResult;
+import org.apache.atlas.model.instance.AtlasRelationshipBulkResponse.Status;
+import org.apache.atlas.repository.store.graph.AtlasRelationshipStore;
+import org.mockito.invocation.InvocationOnMock;
+import org.mockito.stubbing.Answer;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.mockito.Matchers.anyBoolean;
+import static org.mockito.Matchers.anyList;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNull;
+
+public class BulkRelationshipCreatorTest {
+    private static final String FAILING_TYPE  = "failingType";
+    private static final String EXISTING_TYPE = "existingType";
+
+    private AtlasRelationshipStore relationshipStore;
+    private List<Integer>          storeCallSizes;
+
+    @BeforeMethod
+    public void setup() throws AtlasBaseException {
+        relationshipStore = mock(AtlasRelationshipStore.class);
+        storeCallSizes    = new ArrayList<>();
+
+        when(relationshipStore.createRelationships(anyList(), anyBoolean())).thenAnswer(new Answer<AtlasRelationshipBulkResponse>() {
+            @Override
+            public AtlasRelationshipBulkResponse answer(InvocationOnMock invocation) throws Throwable {
+                List<AtlasRelationship>       relationships  = (List<AtlasRelationship>) invocation.getArguments()[0];
+                boolean                       ignoreExisting = (Boolean) invocation.getArguments()[1];
+                AtlasRelationshipBulkResponse ret            = new AtlasRelationshipBulkResponse();
+
+                storeCallSizes.add(relationships.size());
+
+                for (int i = 0; i < relationships.size(); i++) {
+                    String typeName = relationships.get(i).getTypeName();
+
+                    if (FAILING_TYPE.equals(typeName)) {
+                        throw new AtlasBaseException(AtlasErrorCode.RELATIONSHIP_END_IS_NULL, "end1");
+                    } else if (EXISTING_TYPE.equals(typeName)) {
+                        if (!ignoreExisting) {
+                            throw new AtlasBaseException(AtlasErrorCode.RELATIONSHIP_ALREADY_EXISTS, typeName, "end1", "end2");
+                        }
+
+                        ret.addResult(new RelationshipResult(i, Status.EXISTING, "guid-" + i, typeName));
+                    } else {
+                        ret.addResult(new RelationshipResult(i, Status.CREATED, "guid-" + i, typeName));
+                    }
+                }
+
+                return ret;
+            }
+        });
+    }
+
+    @Test
+    public void createsInChunks() throws AtlasBaseException {
+        BulkRelationshipCreator       creator  = new BulkRelationshipCreator(relationshipStore, 2);
+        AtlasRelationshipBulkResponse response = creator.create(toStream("t0", "t1", "t2", "t3", "t4"), false);
+
+        assertEquals(storeCallSizes.toString(), "[2, 2, 1]");
+        assertEquals(response.getProcessedCount(), 5);
+        assertEquals(response.getCreatedCount(), 5);
+        assertEquals(response.getFailedCount(), 0);
+
+        for (int i = 0; i < 5; i++) {
+            RelationshipResult result = response.getResults().get(i);
+
+            assertEquals(result.getIndex(), i);
+            assertEquals(result.getTypeName(), "t" + i);
+            assertEquals(result.getStatus(), Status.CREATED);
+        }
+    }
+
+    @Test
+    public void isolatesFailedRelationships() throws AtlasBaseException {
+        BulkRelationshipCreator       creator  = new BulkRelationshipCreator(relationshipStore, 4);
+        AtlasRelationshipBulkResponse response = creator.create(toStream("t0", FAILING_TYPE, "t2", "t3", "t4"), false);
+
+        assertEquals(response.getProcessedCount(), 5);
+        assertEquals(response.getCreatedCount(), 4);
+        assertEquals(response.getFailedCount(), 1);
+
+        RelationshipResult failed = response.getResults().get(1);
+
+        assertEquals(failed.getIndex(), 1);
+        assertEquals(failed.getStatus(), Status.FAILED);
+        assertEquals(failed.getErrorCode(), AtlasErrorCode.RELATIONSHIP_END_IS_NULL.getErrorCode());
+        assertNull(failed.getGuid());
+
+        assertEquals(response.getResults().get(2).getStatus(), Status.CREATED);
+        assertEquals(response.getResults().get(4).getIndex(), 4);
+    }
+
+    @Test
+    public void reportsExistingRelationships() throws AtlasBaseException {
+        BulkRelationshipCreator creator = new BulkRelationshipCreator(relationshipStore, 10);
+
+        AtlasRelationshipBulkResponse response = creator.create(toStream("t0", EXISTING_TYPE), true);
+
+        assertEquals(response.getCreatedCount(), 1);
+        assertEquals(response.getExistingCount(), 1);
+        assertEquals(response.getResults().get(1).getStatus(), Status.EXISTING);
+
+        response = creator.create(toStream("t0", EXISTING_TYPE), false);
+
+        assertEquals(response.getCreatedCount(), 1);
+        assertEquals(response.getFailedCount(), 1);
+        assertEquals(response.getResults().get(1).getErrorCode(), AtlasErrorCode.RELATIONSHIP_ALREADY_EXISTS.getErrorCode());
+    }
+
+    @Test
+    public void reportsInvalidItems() throws AtlasBaseException {
+        BulkRelationshipCreator       creator  = new BulkRelationshipCreator(relationshipStore, 10);
+        String                        json     = "[{\"typeName\":\"t0\"},\"notARelationship\",{\"typeName\":\"t2\"},{\"typeName\":";
+        AtlasRelationshipBulkResponse response = creator.create(new ByteArrayInputStream(json.getBytes(StandardCharsets.UTF_8)), false);
+
+        assertEquals(response.getProcessedCount(), 4);
+        assertEquals(response.getCreatedCount(), 2);
+        assertEquals(response.getFailedCount(), 2);
+        assertEquals(response.getResults().get(1).getIndex(), 1);
+        assertEquals(response.getResults().get(1).getErrorCode(), AtlasErrorCode.INVALID_PARAMETERS.getErrorCode());
+        assertEquals(response.getResults().get(2).getIndex(), 2);
+        assertEquals(response.getResults().get(3).getIndex(), 3);
+        assertEquals(response.getResults().get(3).getErrorCode(), AtlasErrorCode.BAD_REQUEST.getErrorCode());
+    }
+
+    @Test(expectedExceptions = AtlasBaseException.class)
+    public void rejectsNonArrayInput() throws AtlasBaseException {
+        new BulkRelationshipCreator(relationshipStore, 10).create(new ByteArrayInputStream("{}".getBytes(StandardCharsets.UTF_8)), false);
+    }
+
+    private static InputStream toStream(String... typeNames) {
+        StringBuilder sb = new StringBuilder("[");
+
+        for (int i = 0; i < typeNames.length; i++) {
+            if (i > 0) {
+                sb.append(",");
+            }
+
+            sb.append("{\"typeName\":\"").append(typeNames[i]).append("\",\"end1\":{\"guid\":\"e").append(i).append("\"}}");
+        }
+
+        sb.append("]");
+
+        return new ByteArrayInputStream(sb.toString().getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,339 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.atlas.repository.store.graph.v2;
+
+import org.apache.atlas.ApplicationProperties;
+import org.apache.atlas.GraphTransactionInterceptor;
+import org.apache.atlas.RequestContext;
+import org.apache.atlas.TestUtilsV2;
+import org.apache.atlas.model.instance.AtlasEntity;
+import org.apache.atlas.model.instance.AtlasEntity.AtlasEntityWithExtInfo;
+import org.apache.atlas.model.instance.AtlasEntityDeleteTask;
+import org.apache.atlas.model.instance.AtlasEntityDeleteTask.Status;
+import org.apache.atlas.model.instance.AtlasEntityHeader;
+import org.apache.atlas.model.instance.AtlasObjectId;
+import org.apache.atlas.model.instance.EntityMutationResponse;
+import org.apache.atlas.model.typedef.AtlasTypesDef;
+import org.apache.atlas.repository.graphdb.AtlasVertex;
+import org.apache.atlas.type.AtlasTypeUtil;
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.apache.atlas.model.instance.AtlasEntity.Status.DELETED;
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyBoolean;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNotNull;
+import static org.testng.Assert.assertTrue;
+
+public class EntityDeleteTaskServiceTest extends AtlasEntityTestBase {
+    private static final String CHUNK_SIZE_PROPERTY        = "atlas.entity.delete.bulk.chunk.size";
+    private static final String CHUNK_RETRY_SLEEP_PROPERTY = "atlas.entity.delete.bulk.chunk.retry.sleep.ms";
+
+    private EntityDeleteTaskService deleteTaskService;
+
+    @BeforeClass
+    public void setUp() throws Exception {
+        super.setUp();
+
+        createTypesDef(new AtlasTypesDef[] { TestUtilsV2.defineHiveTypes() });
+
+        ApplicationProperties.get().setProperty(CHUNK_SIZE_PROPERTY, 2);
+        ApplicationProperties.get().setProperty(CHUNK_RETRY_SLEEP_PROPERTY, 0);
+
+        deleteTaskService = new EntityDeleteTaskService(graph, typeRegistry, deleteDelegate, mockChangeNotifier, ApplicationProperties.get());
+
+        deleteTaskService.start();
+    }
+
+    @AfterClass
+    public void clear() throws Exception {
+        deleteTaskService.stop();
+
+        ApplicationProperties.get().clearProperty(CHUNK_SIZE_PROPERTY);
+        ApplicationProperties.get().clearProperty(CHUNK_RETRY_SLEEP_PROPERTY);
+
+        super.clear();
+    }
+
+    @Test
+    public void testDeleteTreeInChunks() throws Exception {
+        AtlasEntityWithExtInfo tblEntity = createTableWithColumns();
+        EntityMutationResponse response  = entityStore.createOrUpdate(new AtlasEntityStream(tblEntity), false);
+        String                 tableGuid = response.getFirstCreatedEntityByTypeName(TestUtilsV2.TABLE_TYPE).getGuid();
+        String                 dbGuid    = response.getFirstCreatedEntityByTypeName(TestUtilsV2.DATABASE_TYPE).getGuid();
+        Set<String>            ownedGuids = new HashSet<>();
+
+        for (AtlasEntityHeader header : response.getCreatedEntities()) {
+            if (!header.getGuid().equals(dbGuid)) {
+                ownedGuids.add(header.getGuid());
+            }
+        }
+
+        AtlasEntityDeleteTask task = submit(deleteTaskService, tableGuid);
+
+        assertNotNull(deleteTaskService.getTask(task.getId()));
+
+        // table and its 3 columns, deleted in 2 chunks
+        assertTrue(deleteTaskService.deleteTree(task, tableGuid));
+        assertEquals(task.getDeletedCount(), 4);
+
+        for (String guid : ownedGuids) {
+            assertDeleted(guid);
+        }
+
+        assertEquals(AtlasGraphUtilsV2.getState(AtlasGraphUtilsV2.findByGuid(graph, dbGuid)), AtlasEntity.Status.ACTIVE);
+        assertEquals(deleteTaskService.getTask(task.getId()).getDeletedCount(), 4);
+
+        // resume after the tree is deleted is a no-op
+        assertTrue(deleteTaskService.deleteTree(task, tableGuid));
+        assertEquals(task.getDeletedCount(), 4);
+
+        RequestContext.clear();
+        RequestContext.get().setUser(TestUtilsV2.TEST_USER, null);
+    }
+
+    @Test
+    public void testResumeAfterPartialDelete() throws Exception {
+        AtlasEntityWithExtInfo tblEntity  = createTableWithColumns();
+        EntityMutationResponse response   = entityStore.createOrUpdate(new AtlasEntityStream(tblEntity), false);
+        String                 tableGuid  = response.getFirstCreatedEntityByTypeName(TestUtilsV2.TABLE_TYPE).getGuid();
+        List<String>           columnGuids = new ArrayList<>();
+
+        for (AtlasEntityHeader header : response.getCreatedEntities()) {
+            if (header.getTypeName().equals(TestUtilsV2.COLUMN_TYPE)) {
+                columnGuids.add(header.getGuid());
+            }
+        }
+
+        AtlasEntityDeleteTask task = submit(deleteTaskService, tableGuid);
+
+        // a chunk committed before the task was interrupted
+        deleteTaskService.deleteChunk(task, Collections.singletonList(AtlasGraphUtilsV2.findByGuid(graph, columnGuids.get(0))), Collections.singleton(tableGuid));
+
+        assertEquals(task.getDeletedCount(), 1);
+
+        assertTrue(deleteTaskService.deleteTree(task, tableGuid));
+        assertEquals(task.getDeletedCount(), 4);
+
+        assertDeleted(tableGuid);
+
+        for (String guid : columnGuids) {
+            assertDeleted(guid);
+        }
+
+        RequestContext.clear();
+        RequestContext.get().setUser(TestUtilsV2.TEST_USER, null);
+    }
+
+    @Test
+    public void testRetryChunkOnTransientFailure() throws Exception {
+        AtlasEntityChangeNotifier notifier = mock(AtlasEntityChangeNotifier.class);
+        EntityDeleteTaskService   service  = new EntityDeleteTaskService(graph, typeRegistry, deleteDelegate, notifier, ApplicationProperties.get());
+
+        // first attempt of the first chunk fails, as on a lock timeout
+        doThrow(new RuntimeException("lock wait timeout")).doNothing().when(notifier).onEntitiesMutated(any(EntityMutationResponse.class), anyBoolean());
+
+        try {
+            String                tableGuid = createTable();
+            AtlasEntityDeleteTask task      = submit(service, tableGuid);
+
+            service.setActive(true);
+            service.run(task.getId());
+
+            AtlasEntityDeleteTask savedTask = service.getTask(task.getId());
+
+            assertEquals(savedTask.getStatus(), Status.COMPLETE);
+            assertEquals(savedTask.getDeletedCount(), 4);
+            assertDeleted(tableGuid);
+
+            // 2 chunks, the first one attempted twice
+            verify(notifier, times(3)).onEntitiesMutated(any(EntityMutationResponse.class), anyBoolean());
+        } finally {
+            service.stop();
+
+            RequestContext.clear();
+            RequestContext.get().setUser(TestUtilsV2.TEST_USER, null);
+        }
+    }
+
+    @Test
+    public void testNotificationsSentAfterChunkCommit() throws Exception {
+        AtlasEntityChangeNotifier notifier     = mock(AtlasEntityChangeNotifier.class);
+        EntityDeleteTaskService   service      = new EntityDeleteTaskService(graph, typeRegistry, deleteDelegate, notifier, ApplicationProperties.get());
+        List<String>              sentGuids    = new ArrayList<>();
+        List<String>              droppedGuids = new ArrayList<>();
+        AtomicInteger             callCount    = new AtomicInteger();
+
+        // notifications are sent after commit by a post-transaction hook, like PostCommitNotificationSender does;
+        // first attempt of the first chunk fails after the hook is registered
+        doAnswer(invocation -> {
+            EntityMutationResponse response = (EntityMutationResponse) invocation.getArguments()[0];
+
+            new GraphTransactionInterceptor.PostTransactionHook() {
+                @Override
+                public void onComplete(boolean isSuccess) {
+                    for (AtlasEntityHeader entity : response.getDeletedEntities()) {
+                        (isSuccess ? sentGuids : droppedGuids).add(entity.getGuid());
+                    }
+                }
+            };
+
+            if (callCount.incrementAndGet() == 1) {
+                throw new RuntimeException("lock wait timeout");
+            }
+
+            return null;
+        }).when(notifier).onEntitiesMutated(any(EntityMutationResponse.class), anyBoolean());
+
+        try {
+            String                tableGuid = createTable();
+            AtlasEntityDeleteTask task      = submit(service, tableGuid);
+
+            service.setActive(true);
+            service.run(task.getId());
+
+            assertEquals(service.getTask(task.getId()).getStatus(), Status.COMPLETE);
+
+            // table and its 3 columns, each notified once, after its chunk is committed
+            assertEquals(sentGuids.size(), 4);
+            assertEquals(new HashSet<>(sentGuids).size(), 4);
+            assertTrue(sentGuids.contains(tableGuid));
+            assertEquals(droppedGuids.size(), 2);
+            assertTrue(sentGuids.containsAll(droppedGuids));
+        } finally {
+            service.stop();
+
+            RequestContext.clear();
+            RequestContext.get().setUser(TestUtilsV2.TEST_USER, null);
+        }
+    }
+
+    @Test
+    public void testStopDuringTask() throws Exception {
+        AtlasEntityChangeNotifier notifier = mock(AtlasEntityChangeNotifier.class);
+        EntityDeleteTaskService   service  = new EntityDeleteTaskService(graph, typeRegistry, deleteDelegate, notifier, ApplicationProperties.get());
+
+        // the service is stopped while the first chunk is being deleted, which then fails as it is interrupted
+        doAnswer(invocation -> {
+            service.stop();
+
+            throw new RuntimeException("interrupted");
+        }).when(notifier).onEntitiesMutated(any(EntityMutationResponse.class), anyBoolean());
+
+        String                tableGuid = createTable();
+        AtlasEntityDeleteTask task      = submit(service, tableGuid);
+
+        service.setActive(true);
+        service.run(task.getId());
+
+        // chunk is rolled back, and the task is left to be resumed - not failed
+        AtlasEntityDeleteTask savedTask = service.getTask(task.getId());
+
+        assertEquals(savedTask.getStatus(), Status.IN_PROGRESS);
+        assertEquals(savedTask.getDeletedCount(), 0);
+        assertEquals(AtlasGraphUtilsV2.getState(AtlasGraphUtilsV2.findByGuid(graph, tableGuid)), AtlasEntity.Status.ACTIVE);
+        assertTrue(getTaskIds(new EntityDeleteTaskRegistry(graph).getIncompleteTasks()).contains(task.getId()));
+
+        graph.commit();
+
+        // resumed by the next active instance
+        EntityDeleteTaskService resumingService = new EntityDeleteTaskService(graph, typeRegistry, deleteDelegate, mockChangeNotifier, ApplicationProperties.get());
+
+        try {
+            resumingService.setActive(true);
+            resumingService.run(task.getId());
+
+            savedTask = resumingService.getTask(task.getId());
+
+            assertEquals(savedTask.getStatus(), Status.COMPLETE);
+            assertEquals(savedTask.getDeletedCount(), 4);
+            assertDeleted(tableGuid);
+        } finally {
+            resumingService.stop();
+
+            RequestContext.clear();
+            RequestContext.get().setUser(TestUtilsV2.TEST_USER, null);
+        }
+    }
+
+    private String createTable() throws Exception {
+        AtlasEntityWithExtInfo tblEntity = createTableWithColumns();
+        EntityMutationResponse response  = entityStore.createOrUpdate(new AtlasEntityStream(tblEntity), false);
+
+        return response.getFirstCreatedEntityByTypeName(TestUtilsV2.TABLE_TYPE).getGuid();
+    }
+
+    // services in these tests are not proxied, hence the hook that queues the submitted task is dropped here; tests run the task
+    private AtlasEntityDeleteTask submit(EntityDeleteTaskService service, String guid) throws Exception {
+        AtlasEntityDeleteTask ret = service.submit(Collections.singletonList(guid));
+
+        graph.commit();
+
+        GraphTransactionInterceptor.processPostTransactionHooks(false);
+
+        return ret;
+    }
+
+    // table owning 3 columns
+    private static AtlasEntityWithExtInfo createTableWithColumns() {
+        AtlasEntityWithExtInfo ret     = TestUtilsV2.createTableEntityV2(TestUtilsV2.createDBEntity());
+        AtlasEntity            table   = ret.getEntity();
+        List<AtlasObjectId>    columns = new ArrayList<>();
+
+        for (int i = 0; i < 3; i++) {
+            AtlasEntity column = TestUtilsV2.createColumnEntity(table);
+
+            columns.add(AtlasTypeUtil.getAtlasObjectId(column));
+            ret.addReferredEntity(column);
+        }
+
+        table.setAttribute(TestUtilsV2.COLUMNS_ATTR_NAME, columns);
+
+        return ret;
+    }
+
+    private static Set<String> getTaskIds(List<AtlasEntityDeleteTask> tasks) {
+        Set<String> ret = new HashSet<>();
+
+        for (AtlasEntityDeleteTask task : tasks) {
+            ret.add(task.getId());
+        }
+
+        return ret;
+    }
+
+    private void assertDeleted(String guid) {
+        AtlasVertex vertex = AtlasGraphUtilsV2.findByGuid(graph, guid);
+
+        assertTrue(vertex == null || AtlasGraphUtilsV2.getState(vertex) == DELETED, guid);
+    }
+}
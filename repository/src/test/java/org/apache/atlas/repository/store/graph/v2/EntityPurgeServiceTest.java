@@ -0,0 +1,271 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.atlas.repository.store.graph.v2;
+
+import org.apache.atlas.ApplicationProperties;
+import org.apache.atlas.AtlasErrorCode;
+import org.apache.atlas.RequestContext;
+import org.apache.atlas.exception.AtlasBaseException;
+import org.apache.atlas.model.instance.AtlasEntityHeader;
+import org.apache.atlas.model.instance.EntityMutationResponse;
+import org.apache.atlas.repository.graphdb.AtlasGraph;
+import org.apache.atlas.repository.graphdb.AtlasGraphQuery;
+import org.apache.atlas.repository.graphdb.AtlasVertex;
+import org.apache.atlas.repository.store.graph.AtlasEntityStore;
+import org.apache.commons.configuration.Configuration;
+import org.apache.commons.configuration.PropertiesConfiguration;
+import org.mockito.invocation.InvocationOnMock;
+import org.mockito.stubbing.Answer;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import static org.apache.atlas.model.instance.EntityMutations.EntityOperation.PURGE;
+import static org.apache.atlas.repository.Constants.GUID_PROPERTY_KEY;
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyInt;
+import static org.mockito.Matchers.anySet;
+import static org.mockito.Matchers.anyString;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+
+public class EntityPurgeServiceTest {
+    private static final String[] PROPERTIES = { "atlas.entity.purge.scheduled.enabled", "atlas.entity.purge.batch.size", "atlas.entity.purge.batch.delay.ms", "atlas.entity.purge.user" };
+
+    private AtlasGraph                 graph;
+    private AtlasGraphQuery            query;
+    private AtlasEntityStore           entityStore;
+    private LinkedList<List<String>>   batches;
+    private List<Set<String>>          purgedBatches;
+    private Set<String>                failingGuids;
+    private List<String>               purgeUsers;
+
+    @BeforeMethod
+    public void setUp() throws Exception {
+        ApplicationProperties.get().setProperty(PROPERTIES[0], true);
+        ApplicationProperties.get().setProperty(PROPERTIES[1], 2);
+        ApplicationProperties.get().setProperty(PROPERTIES[2], 0);
+
+        graph         = mock(AtlasGraph.class);
+        query         = mock(AtlasGraphQuery.class);
+        entityStore   = mock(AtlasEntityStore.class);
+        batches       = new LinkedList<>();
+        purgedBatches = new ArrayList<>();
+        failingGuids  = new HashSet<>();
+        purgeUsers    = new ArrayList<>();
+
+        Answer<AtlasGraphQuery> returnQuery = new Answer<AtlasGraphQuery>() {
+            @Override
+            public AtlasGraphQuery answer(InvocationOnMock invocation) {
+                return query;
+            }
+        };
+
+        when(graph.query()).thenReturn(query);
+        when(query.has(anyString(), any(AtlasGraphQuery.QueryOperator.class), any())).thenAnswer(returnQuery);
+        when(query.orderBy(anyString(), any(AtlasGraphQuery.SortOrder.class))).thenAnswer(returnQuery);
+        when(query.vertices(anyInt())).thenAnswer(new Answer<Iterable<AtlasVertex>>() {
+            @Override
+            public Iterable<AtlasVertex> answer(InvocationOnMock invocation) {
+                List<AtlasVertex> ret = new ArrayList<>();
+
+                if (!batches.isEmpty()) {
+                    for (String guid : batches.poll()) {
+                        AtlasVertex vertex = mock(AtlasVertex.class);
+
+                        // vertex id is used by AtlasGraphUtilsV2 when logging at debug level
+                        when(vertex.getId()).thenReturn("id-" + guid);
+                        when(vertex.getProperty(GUID_PROPERTY_KEY, String.class)).thenReturn(guid);
+
+                        ret.add(vertex);
+                    }
+                }
+
+                return ret;
+            }
+        });
+        when(entityStore.purgeByIds(anySet())).thenAnswer(new Answer<EntityMutationResponse>() {
+            @Override
+            public EntityMutationResponse answer(InvocationOnMock invocation) throws AtlasBaseException {
+                Set<String>            guids = (Set<String>) invocation.getArguments()[0];
+                EntityMutationResponse ret   = new EntityMutationResponse();
+
+                purgeUsers.add(RequestContext.get().getUser());
+
+                for (String guid : guids) {
+                    if (failingGuids.contains(guid)) {
+                        throw new AtlasBaseException(AtlasErrorCode.INTERNAL_ERROR, "failed to purge " + guid);
+                    }
+                }
+
+                purgedBatches.add(guids);
+
+                for (String guid : guids) {
+                    ret.addEntity(PURGE, new AtlasEntityHeader("hive_table", guid, null));
+                }
+
+                return ret;
+            }
+        });
+    }
+
+    @AfterMethod
+    public void tearDown() throws Exception {
+        for (String property : PROPERTIES) {
+            ApplicationProperties.get().clearProperty(property);
+        }
+    }
+
+    @Test
+    public void testTypeRetention() {
+        Configuration configuration = new PropertiesConfiguration();
+
+        configuration.setProperty("atlas.entity.purge.retention.days", 30);
+        configuration.setProperty("atlas.entity.purge.retention.days.hive_column", 7);
+        configuration.setProperty("atlas.entity.purge.retention.days.hive_db", -1);
+
+        Map<String, Long> typeRetentionMs = new EntityPurgeService(graph, entityStore, configuration).getTypeRetentionMs();
+
+        assertEquals(typeRetentionMs.size(), 2);
+        assertEquals(typeRetentionMs.get("hive_column"), Long.valueOf(TimeUnit.DAYS.toMillis(7)));
+        assertEquals(typeRetentionMs.get("hive_db"), Long.valueOf(-1));
+    }
+
+    @Test
+    public void testPurgeInBatches() throws Exception {
+        EntityPurgeService purgeService = new EntityPurgeService(graph, entityStore, new PropertiesConfiguration());
+
+        batches.add(Arrays.asList("guid-1", "guid-2"));
+        batches.add(Arrays.asList("guid-3"));
+
+        purgeService.start();
+
+        try {
+            purgeService.run();
+        } finally {
+            purgeService.stop();
+        }
+
+        assertEquals(purgedBatches.size(), 2);
+        assertEquals(purgedBatches.get(0).size(), 2);
+        assertEquals(purgedBatches.get(1).size(), 1);
+
+        Map<String, Object> metrics = purgeService.getMetrics();
+
+        assertEquals(metrics.get("purgedCount"), 3L);
+        assertEquals(metrics.get("lastRunPurgedCount"), 3L);
+        assertEquals(metrics.get("lagMs"), 0L);
+    }
+
+    @Test
+    public void testFailingEntityIsSkipped() throws Exception {
+        EntityPurgeService purgeService = new EntityPurgeService(graph, entityStore, new PropertiesConfiguration());
+
+        failingGuids.add("guid-2");
+
+        batches.add(Arrays.asList("guid-1", "guid-2"));
+        batches.add(Arrays.asList("guid-2", "guid-3")); // failed entity is found again by the next query
+        batches.add(Arrays.asList("guid-2"));
+
+        purgeService.start();
+
+        try {
+            purgeService.run();
+        } finally {
+            purgeService.stop();
+        }
+
+        // batch with the failing entity is purged individually, and the run continues past it
+        assertEquals(purgedBatches, Arrays.asList(Collections.singleton("guid-1"), Collections.singleton("guid-3")));
+
+        Map<String, Object> metrics = purgeService.getMetrics();
+
+        assertEquals(metrics.get("purgedCount"), 2L);
+        assertEquals(metrics.get("failedBatchCount"), 1L);
+        assertEquals(metrics.get("skippedCount"), 1L);
+    }
+
+    @Test
+    public void testUnauthorizedUserStopsRun() throws Exception {
+        ApplicationProperties.get().setProperty(PROPERTIES[3], "atlas-purge");
+
+        EntityPurgeService purgeService = new EntityPurgeService(graph, entityStore, new PropertiesConfiguration());
+
+        doAnswer(new Answer<EntityMutationResponse>() {
+            @Override
+            public EntityMutationResponse answer(InvocationOnMock invocation) throws AtlasBaseException {
+                purgeUsers.add(RequestContext.get().getUser());
+
+                throw new AtlasBaseException(AtlasErrorCode.UNAUTHORIZED_ACCESS, RequestContext.get().getUser(), "purge entity");
+            }
+        }).when(entityStore).purgeByIds(anySet());
+
+        batches.add(Arrays.asList("guid-1", "guid-2"));
+        batches.add(Arrays.asList("guid-3"));
+
+        purgeService.start();
+
+        try {
+            purgeService.run();
+        } finally {
+            purgeService.stop();
+        }
+
+        // purge runs as the configured user; entities are not attempted individually when the user is not authorized
+        assertEquals(purgeUsers, Collections.singletonList("atlas-purge"));
+        assertEquals(purgeService.getMetrics().get("purgedCount"), 0L);
+        assertEquals(purgeService.getMetrics().get("failedBatchCount"), 0L);
+    }
+
+    @Test
+    public void testNoPurgeOnPassiveInstance() throws Exception {
+        EntityPurgeService purgeService = new EntityPurgeService(graph, entityStore, new PropertiesConfiguration());
+
+        batches.add(Arrays.asList("guid-1", "guid-2"));
+
+        purgeService.start();
+
+        try {
+            purgeService.instanceIsPassive();
+            purgeService.run();
+
+            assertFalse((Boolean) purgeService.getMetrics().get("active"));
+        } finally {
+            purgeService.stop();
+        }
+
+        verify(entityStore, never()).purgeByIds(anySet());
+        verify(graph, times(0)).query();
+    }
+}
@@ -24,8 +24,10 @@ import org.apache.atlas.model.instance.AtlasEntity.AtlasEntityWithExtInfo;
 import org.apache.atlas.model.instance.AtlasEntityHeader;
 import org.apache.atlas.model.instance.AtlasObjectId;
 import org.apache.atlas.store.DeleteType;
+import org.apache.atlas.utils.AtlasLatencyMetrics;
 import org.apache.atlas.utils.AtlasPerfMetrics;
 import org.apache.atlas.utils.AtlasPerfMetrics.MetricRecorder;
+import org.apache.atlas.utils.AtlasRequestProfiler;
 import org.apache.commons.lang.StringUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -37,6 +39,7 @@ import java.util.Map;
 import java.util.ArrayList;
 import java.util.HashSet;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 
 import static org.apache.atlas.model.instance.AtlasObjectId.KEY_GUID;
 
@@ -47,6 +50,7 @@ public class RequestContext {
     private static final ThreadLocal<RequestContext> CURRENT_CONTEXT = new ThreadLocal<>();
     private static final Set<RequestContext>         ACTIVE_REQUESTS = new HashSet<>();
     private static final boolean                     isMetricsEnabled = METRICS.isDebugEnabled();
+    private static final AtlasLatencyMetrics         LATENCY_METRICS  = AtlasLatencyMetrics.getInstance();
 
     private final long                                   requestTime          = System.currentTimeMillis();
     private final Map<String, AtlasEntityHeader>         updatedEntities      = new HashMap<>();
@@ -58,6 +62,7 @@ public class RequestContext {
     private final AtlasPerfMetrics                       metrics              = isMetricsEnabled ? new AtlasPerfMetrics() : null;
     private       List<EntityGuidPair>                   entityGuidInRequest  = null;
     private final Set<String>                            entitiesToSkipUpdate = new HashSet<>();
+    private final Map<String, Long>                      phaseTimes           = new LinkedHashMap<>();
 
     private String       user;
     private Set<String>  userGroups;
@@ -114,6 +119,7 @@ public class RequestContext {
         this.addedPropagations.clear();
         this.removedPropagations.clear();
         this.entitiesToSkipUpdate.clear();
+        this.phaseTimes.clear();
 
         if (metrics != null && !metrics.isEmpty()) {
             METRICS.debug(metrics.toString());
@@ -333,11 +339,46 @@ public class RequestContext {
         return deletedEntities.containsKey(guid);
     }
 
-    public MetricRecorder startMetricRecord(String name) { return metrics != null ? metrics.getMetricRecorder(name) : null; }
+    /**
+     * Adds to the time spent in the given phase of the request, like an index update done for a typedef change.
+     */
+    public void addPhaseTime(String phase, long timeMs) {
+        Long existing = phaseTimes.get(phase);
+
+        phaseTimes.put(phase, existing != null ? existing + timeMs : timeMs);
+    }
+
+    public Map<String, Long> getPhaseTimes() {
+        return phaseTimes;
+    }
+
+    public MetricRecorder startMetricRecord(String name) {
+        MetricRecorder ret = metrics != null ? metrics.getMetricRecorder(name) : LATENCY_METRICS.startRecord(name);
+
+        if (ret == null) {
+            AtlasRequestProfiler.Capture capture = AtlasRequestProfiler.getCurrentCapture();
+
+            if (capture != null) {
+                ret = capture.startRecord(name);
+            }
+        }
+
+        return ret;
+    }
 
     public void endMetricRecord(MetricRecorder recorder) {
-        if (metrics != null && recorder != null) {
-            metrics.recordMetric(recorder);
+        if (recorder != null) {
+            if (metrics != null) {
+                metrics.recordMetric(recorder);
+            }
+
+            LATENCY_METRICS.endRecord(recorder);
+
+            AtlasRequestProfiler.Capture capture = AtlasRequestProfiler.getCurrentCapture();
+
+            if (capture != null) {
+                capture.endRecord(recorder);
+            }
         }
     }
 
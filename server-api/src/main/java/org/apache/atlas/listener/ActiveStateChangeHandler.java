@@ -32,7 +32,10 @@ public interface ActiveStateChangeHandler {
         TYPEDEF_STORE_INITIALIZER(2),
         ATLAS_PATCH_SERVICE(3),
         DEFAULT_METADATA_SERVICE(4),
-        NOTIFICATION_HOOK_CONSUMER(5);
+        NOTIFICATION_HOOK_CONSUMER(5),
+        ENTITY_DELETE_TASK_SERVICE(6),
+        ENTITY_PURGE_SERVICE(7),
+        DEFERRED_FULLTEXT_MAPPER(8);
 
 
         private final int order;
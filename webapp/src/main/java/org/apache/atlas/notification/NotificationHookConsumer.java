@@ -58,7 +58,10 @@ import org.apache.atlas.service.Service;
 import org.apache.atlas.type.AtlasEntityType;
 import org.apache.atlas.type.AtlasStructType.AtlasAttribute;
 import org.apache.atlas.type.AtlasTypeRegistry;
+import org.apache.atlas.utils.AtlasLatencyMetrics;
+import org.apache.atlas.utils.AtlasPerfMetrics.MetricRecorder;
 import org.apache.atlas.utils.AtlasPerfTracer;
+import org.apache.atlas.utils.AtlasRequestProfiler;
 import org.apache.atlas.web.filters.AuditFilter;
 import org.apache.atlas.web.filters.AuditFilter.AuditLog;
 import org.apache.atlas.web.service.ServiceState;
@@ -583,6 +586,8 @@ public class NotificationHookConsumer implements Service, ActiveStateChangeHandl
                 perf = AtlasPerfTracer.getPerfTracer(PERF_LOG, message.getType().name());
             }
 
+            AtlasRequestProfiler.Capture profile = AtlasRequestProfiler.getInstance().start(AtlasRequestProfiler.KIND_NOTIFICATION, message.getType().name(), messageUser);
+
             try {
                 if(failedCommitOffsetRecorder.isMessageReplayed(kafkaMsg.getOffset())) {
                     commit(kafkaMsg);
@@ -820,6 +825,8 @@ public class NotificationHookConsumer implements Service, ActiveStateChangeHandl
             } finally {
                 AtlasPerfTracer.log(perf);
 
+                AtlasRequestProfiler.getInstance().complete(profile);
+
                 stats.timeTakenMs = System.currentTimeMillis() - startTime;
 
                 metricsUtil.onNotificationProcessingComplete(kafkaMsg.getTopic(), kafkaMsg.getPartition(), kafkaMsg.getOffset(), stats);
@@ -902,7 +909,8 @@ public class NotificationHookConsumer implements Service, ActiveStateChangeHandl
         }
 
         private void commit(AtlasKafkaMessage<HookNotification> kafkaMessage) {
-            boolean commitSucceessStatus = false;
+            boolean        commitSucceessStatus = false;
+            MetricRecorder metric               = AtlasLatencyMetrics.getInstance().startRecord("kafkaCommit");
             try {
                 recordFailedMessages();
 
@@ -910,6 +918,8 @@ public class NotificationHookConsumer implements Service, ActiveStateChangeHandl
 
                 commitSucceessStatus = true;
             } finally {
+                AtlasLatencyMetrics.getInstance().endRecord(metric);
+
                 failedCommitOffsetRecorder.recordIfFailed(commitSucceessStatus, kafkaMessage.getOffset());
             }
         }
@@ -18,6 +18,7 @@
 
 package org.apache.atlas.web.filters;
 
+import org.apache.atlas.repository.store.bootstrap.AtlasTypeDefStoreInitializer;
 import org.apache.atlas.web.service.ActiveInstanceState;
 import org.apache.atlas.web.service.ServiceState;
 import org.slf4j.Logger;
@@ -45,20 +46,32 @@ import java.io.IOException;
  * by identifying the currently active server. Requests to servers which are in transition are returned with
  * an error SERVICE_UNAVAILABLE. Identification of this state is carried out using
  * {@link ServiceState} and {@link ActiveInstanceState}.
+ *
+ * When serving reads from passive instances is enabled (atlas.server.ha.passive.read.enabled), read-only requests
+ * to v2 REST APIs are served by a passive instance with types loaded; the response carries header
+ * X-Atlas-Staleness-Ms with an upper bound of the staleness of the response: the time since types were last refreshed
+ * from the graph, plus the time entity properties can be served from the vertex property cache, when it is enabled.
  */
 @Component
 public class ActiveServerFilter implements Filter {
 
     private static final Logger LOG = LoggerFactory.getLogger(ActiveServerFilter.class);
     private static final String MIGRATION_STATUS_STATIC_PAGE = "migration-status.html";
+    public  static final String STALENESS_HEADER             = "X-Atlas-Staleness-Ms";
+
+    private static final String   V2_API_PREFIX          = "/api/atlas/v2/";
+    private static final String[] V2_READ_URI_PREFIXES   = { "search/", "lineage/", "entity/", "types/", "glossary", "relationship/" };
+    private static final String[] V2_POST_READ_URIS      = { "search/basic", "search/basic/stream", "search/quick" };
 
-    private final ActiveInstanceState activeInstanceState;
+    private final ActiveInstanceState          activeInstanceState;
+    private final AtlasTypeDefStoreInitializer typeDefStoreInitializer;
     private ServiceState serviceState;
 
     @Inject
-    public ActiveServerFilter(ActiveInstanceState activeInstanceState, ServiceState serviceState) {
-        this.activeInstanceState = activeInstanceState;
-        this.serviceState = serviceState;
+    public ActiveServerFilter(ActiveInstanceState activeInstanceState, ServiceState serviceState, AtlasTypeDefStoreInitializer typeDefStoreInitializer) {
+        this.activeInstanceState     = activeInstanceState;
+        this.serviceState            = serviceState;
+        this.typeDefStoreInitializer = typeDefStoreInitializer;
     }
 
     @Override
@@ -96,6 +109,11 @@ public class ActiveServerFilter implements Filter {
             HttpServletResponse httpServletResponse = (HttpServletResponse) servletResponse;
             LOG.error("Instance in migration. Service may not be ready to return a result");
             httpServletResponse.sendError(HttpServletResponse.SC_SERVICE_UNAVAILABLE);
+        } else if (isPassiveReadRequest(servletRequest)) {
+            HttpServletResponse httpServletResponse = (HttpServletResponse) servletResponse;
+            LOG.debug("Passive. Serving read request {}", ((HttpServletRequest) servletRequest).getRequestURI());
+            httpServletResponse.setHeader(STALENESS_HEADER, String.valueOf(typeDefStoreInitializer.getPassiveReadStalenessMs()));
+            filterChain.doFilter(servletRequest, servletResponse);
         } else {
             HttpServletResponse httpServletResponse = (HttpServletResponse) servletResponse;
             String activeServerAddress = activeInstanceState.getActiveServerAddress();
@@ -128,6 +146,47 @@ public class ActiveServerFilter implements Filter {
         }
     }
 
+    private boolean isPassiveReadRequest(ServletRequest servletRequest) {
+        if (typeDefStoreInitializer == null || !typeDefStoreInitializer.isServingPassiveReads()) {
+            return false;
+        }
+
+        HttpServletRequest httpServletRequest = (HttpServletRequest) servletRequest;
+        String requestURI  = httpServletRequest.getRequestURI();
+        String contextPath = httpServletRequest.getContextPath();
+
+        if (requestURI == null) {
+            return false;
+        }
+
+        if (contextPath != null && requestURI.startsWith(contextPath)) {
+            requestURI = requestURI.substring(contextPath.length());
+        }
+
+        if (!requestURI.startsWith(V2_API_PREFIX)) {
+            return false;
+        }
+
+        String apiPath = requestURI.substring(V2_API_PREFIX.length());
+        String method  = httpServletRequest.getMethod();
+
+        if (HttpMethod.GET.equals(method)) {
+            for (String prefix : V2_READ_URI_PREFIXES) {
+                if (apiPath.startsWith(prefix)) {
+                    return true;
+                }
+            }
+        } else if (HttpMethod.POST.equals(method)) {
+            for (String uri : V2_POST_READ_URIS) {
+                if (apiPath.equals(uri)) {
+                    return true;
+                }
+            }
+        }
+
+        return false;
+    }
+
     private boolean isRootURI(ServletRequest servletRequest) {
         HttpServletRequest httpServletRequest = (HttpServletRequest) servletRequest;
         String requestURI = httpServletRequest.getRequestURI();
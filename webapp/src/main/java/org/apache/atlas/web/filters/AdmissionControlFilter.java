@@ -0,0 +1,401 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.atlas.web.filters;
+
+import org.apache.atlas.AtlasConfiguration;
+import org.apache.commons.configuration.Configuration;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import javax.inject.Inject;
+import javax.servlet.Filter;
+import javax.servlet.FilterChain;
+import javax.servlet.FilterConfig;
+import javax.servlet.ServletException;
+import javax.servlet.ServletRequest;
+import javax.servlet.ServletResponse;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import javax.ws.rs.HttpMethod;
+import java.io.IOException;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * A servlet {@link Filter} that limits the number of concurrent requests of each endpoint class - search, lineage,
+ * bulk, read, write and admin - so that a burst of expensive requests can't occupy all web server threads.
+ *
+ * Each class has a limit on concurrent requests (atlas.webserver.admission.&lt;class&gt;.max.concurrent) and a
+ * bounded queue of requests waiting for a slot (atlas.webserver.admission.&lt;class&gt;.queue.size). A request that
+ * finds the queue full, or waits longer than atlas.webserver.admission.queue.timeout.ms, is rejected with
+ * 429 (Too Many Requests) and a Retry-After header.
+ *
+ * In adaptive mode, the limit of each class is lowered when the average latency over a window exceeds the target
+ * latency, and raised - up to max.concurrent - when requests had to wait while latency was within the target.
+ */
+@Component
+public class AdmissionControlFilter implements Filter {
+    private static final Logger LOG = LoggerFactory.getLogger(AdmissionControlFilter.class);
+
+    public static final int    SC_TOO_MANY_REQUESTS = 429;
+    public static final String RETRY_AFTER_HEADER   = "Retry-After";
+
+    private static final String CONFIG_PREFIX  = "atlas.webserver.admission.";
+    private static final String API_PREFIX     = "/api/atlas/";
+    private static final String V2_API_PREFIX  = "v2/";
+
+    public enum EndpointClass {
+        SEARCH(20, 20), LINEAGE(10, 10), BULK(5, 5), READ(50, 50), WRITE(40, 40), ADMIN(10, 10);
+
+        private final int defaultMaxConcurrent;
+        private final int defaultQueueSize;
+
+        EndpointClass(int defaultMaxConcurrent, int defaultQueueSize) {
+            this.defaultMaxConcurrent = defaultMaxConcurrent;
+            this.defaultQueueSize     = defaultQueueSize;
+        }
+
+        public String getConfigName() {
+            return name().toLowerCase();
+        }
+    }
+
+    private final boolean                            isEnabled;
+    private final boolean                            isAdaptive;
+    private final long                               queueTimeoutMs;
+    private final int                                retryAfterSeconds;
+    private final Map<EndpointClass, EndpointLimiter> limiters = new EnumMap<>(EndpointClass.class);
+
+    @Inject
+    public AdmissionControlFilter(Configuration configuration) {
+        this.isEnabled         = AtlasConfiguration.WEBSERVER_ADMISSION_CONTROL_ENABLED.getBoolean();
+        this.isAdaptive        = AtlasConfiguration.WEBSERVER_ADMISSION_ADAPTIVE_ENABLED.getBoolean();
+        this.queueTimeoutMs    = AtlasConfiguration.WEBSERVER_ADMISSION_QUEUE_TIMEOUT_MS.getLong();
+        this.retryAfterSeconds = AtlasConfiguration.WEBSERVER_ADMISSION_RETRY_AFTER_SECONDS.getInt();
+
+        long defaultTargetLatencyMs = AtlasConfiguration.WEBSERVER_ADMISSION_ADAPTIVE_TARGET_LATENCY_MS.getLong();
+        int  minConcurrent          = AtlasConfiguration.WEBSERVER_ADMISSION_ADAPTIVE_MIN_CONCURRENT.getInt();
+        long windowMs               = AtlasConfiguration.WEBSERVER_ADMISSION_ADAPTIVE_WINDOW_MS.getLong();
+
+        for (EndpointClass endpointClass : EndpointClass.values()) {
+            String prefix          = CONFIG_PREFIX + endpointClass.getConfigName();
+            int    maxConcurrent   = configuration.getInt(prefix + ".max.concurrent", endpointClass.defaultMaxConcurrent);
+            int    queueSize       = configuration.getInt(prefix + ".queue.size", endpointClass.defaultQueueSize);
+            long   targetLatencyMs = configuration.getLong(prefix + ".target.latency.ms", defaultTargetLatencyMs);
+
+            limiters.put(endpointClass, new EndpointLimiter(maxConcurrent, queueSize, isAdaptive, targetLatencyMs, minConcurrent, windowMs));
+        }
+
+        if (isEnabled) {
+            LOG.info("Admission control enabled: queueTimeoutMs={}, adaptive={}, limiters={}", queueTimeoutMs, isAdaptive, limiters);
+        }
+    }
+
+    public boolean isEnabled() {
+        return isEnabled;
+    }
+
+    @Override
+    public void init(FilterConfig filterConfig) throws ServletException {
+        LOG.info("AdmissionControlFilter initialized");
+    }
+
+    @Override
+    public void doFilter(ServletRequest servletRequest, ServletResponse servletResponse, FilterChain filterChain) throws IOException, ServletException {
+        EndpointClass endpointClass = isEnabled ? getEndpointClass((HttpServletRequest) servletRequest) : null;
+
+        if (endpointClass == null) {
+            filterChain.doFilter(servletRequest, servletResponse);
+
+            return;
+        }
+
+        EndpointLimiter limiter = limiters.get(endpointClass);
+        boolean         isAdmitted;
+
+        try {
+            isAdmitted = limiter.acquire(queueTimeoutMs);
+        } catch (InterruptedException excp) {
+            Thread.currentThread().interrupt();
+
+            isAdmitted = false;
+        }
+
+        if (!isAdmitted) {
+            HttpServletResponse httpServletResponse = (HttpServletResponse) servletResponse;
+
+            LOG.debug("Too many concurrent {} requests. Rejecting request {}", endpointClass, ((HttpServletRequest) servletRequest).getRequestURI());
+
+            httpServletResponse.setHeader(RETRY_AFTER_HEADER, String.valueOf(retryAfterSeconds));
+            httpServletResponse.sendError(SC_TOO_MANY_REQUESTS, "Too many concurrent " + endpointClass.getConfigName() + " requests");
+
+            return;
+        }
+
+        long startTime = System.currentTimeMillis();
+
+        try {
+            filterChain.doFilter(servletRequest, servletResponse);
+        } finally {
+            limiter.release(System.currentTimeMillis() - startTime);
+        }
+    }
+
+    @Override
+    public void destroy() {
+        // do nothing
+    }
+
+    /**
+     * @return limits, in-flight and queued requests, and admitted/rejected counts of each endpoint class
+     */
+    public Map<String, Object> getMetrics() {
+        Map<String, Object> ret = new LinkedHashMap<>();
+
+        ret.put("enabled", isEnabled);
+        ret.put("adaptive", isAdaptive);
+
+        for (Map.Entry<EndpointClass, EndpointLimiter> entry : limiters.entrySet()) {
+            ret.put(entry.getKey().getConfigName(), entry.getValue().getMetrics());
+        }
+
+        return ret;
+    }
+
+    /**
+     * @return endpoint class of the request; null for requests that are not limited, like UI resources and status checks
+     */
+    static EndpointClass getEndpointClass(HttpServletRequest request) {
+        String requestURI  = request.getRequestURI();
+        String contextPath = request.getContextPath();
+
+        if (requestURI == null) {
+            return null;
+        }
+
+        if (contextPath != null && requestURI.startsWith(contextPath)) {
+            requestURI = requestURI.substring(contextPath.length());
+        }
+
+        if (!requestURI.startsWith(API_PREFIX)) {
+            return null;
+        }
+
+        String apiPath = requestURI.substring(API_PREFIX.length());
+
+        if (apiPath.startsWith(V2_API_PREFIX)) {
+            apiPath = apiPath.substring(V2_API_PREFIX.length());
+        }
+
+        if (apiPath.startsWith("admin/status") || apiPath.startsWith("admin/version")) {
+            return null;
+        } else if (apiPath.startsWith("admin/export") || apiPath.startsWith("admin/import")) {
+            return EndpointClass.BULK;
+        } else if (apiPath.startsWith("admin/")) {
+            return EndpointClass.ADMIN;
+        } else if (apiPath.startsWith("lineage")) {
+            return EndpointClass.LINEAGE;
+        } else if (apiPath.startsWith("search") || apiPath.startsWith("discovery")) {
+            return EndpointClass.SEARCH;
+        } else if (HttpMethod.GET.equals(request.getMethod())) {
+            return EndpointClass.READ;
+        } else if (apiPath.startsWith("entity/bulk") || apiPath.startsWith("entities")) {
+            return EndpointClass.BULK;
+        } else {
+            return EndpointClass.WRITE;
+        }
+    }
+
+    EndpointLimiter getLimiter(EndpointClass endpointClass) {
+        return limiters.get(endpointClass);
+    }
+
+    static class EndpointLimiter {
+        private final int           maxConcurrent;
+        private final int           queueSize;
+        private final boolean       isAdaptive;
+        private final long          targetLatencyMs;
+        private final int           minConcurrent;
+        private final long          windowMs;
+        private final ReentrantLock lock      = new ReentrantLock();
+        private final Condition     available = lock.newCondition();
+        private int                 limit;
+        private int                 inFlight;
+        private int                 queued;
+        private long                admittedCount;
+        private long                rejectedCount;
+        private long                timedOutCount;
+        private long                windowStartMs;
+        private long                windowCount;
+        private long                windowLatencyMs;
+        private boolean             windowSaturated;
+        private long                lastAvgLatencyMs;
+
+        EndpointLimiter(int maxConcurrent, int queueSize, boolean isAdaptive, long targetLatencyMs, int minConcurrent, long windowMs) {
+            this.maxConcurrent   = Math.max(1, maxConcurrent);
+            this.queueSize       = Math.max(0, queueSize);
+            this.isAdaptive      = isAdaptive;
+            this.targetLatencyMs = targetLatencyMs;
+            this.minConcurrent   = Math.max(1, Math.min(minConcurrent, this.maxConcurrent));
+            this.windowMs        = windowMs;
+            this.limit           = this.maxConcurrent;
+            this.windowStartMs   = System.currentTimeMillis();
+        }
+
+        boolean acquire(long timeoutMs) throws InterruptedException {
+            lock.lock();
+
+            try {
+                // requests already waiting are admitted first
+                if (queued == 0 && inFlight < limit) {
+                    inFlight++;
+                    admittedCount++;
+
+                    return true;
+                }
+
+                windowSaturated = true;
+
+                if (queued >= queueSize) {
+                    rejectedCount++;
+
+                    return false;
+                }
+
+                queued++;
+
+                try {
+                    long remainingNanos = TimeUnit.MILLISECONDS.toNanos(timeoutMs);
+
+                    while (inFlight >= limit) {
+                        if (remainingNanos <= 0) {
+                            timedOutCount++;
+
+                            return false;
+                        }
+
+                        remainingNanos = available.awaitNanos(remainingNanos);
+                    }
+
+                    inFlight++;
+                    admittedCount++;
+
+                    return true;
+                } finally {
+                    queued--;
+                }
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        void release(long latencyMs) {
+            lock.lock();
+
+            try {
+                inFlight--;
+
+                if (isAdaptive) {
+                    updateLimit(latencyMs);
+                }
+
+                available.signal();
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        private void updateLimit(long latencyMs) {
+            long now = System.currentTimeMillis();
+
+            windowCount++;
+            windowLatencyMs += latencyMs;
+
+            if (now - windowStartMs < windowMs) {
+                return;
+            }
+
+            long avgLatencyMs = windowLatencyMs / windowCount;
+            int  prevLimit    = limit;
+
+            if (avgLatencyMs > targetLatencyMs) {
+                limit = Math.max(minConcurrent, Math.min(limit - 1, (int) (limit * 0.9)));
+            } else if (windowSaturated) {
+                limit = Math.min(maxConcurrent, limit + 1);
+
+                available.signalAll();
+            }
+
+            if (limit != prevLimit) {
+                LOG.info("Admission limit changed from {} to {}: avgLatencyMs={}, targetLatencyMs={}", prevLimit, limit, avgLatencyMs, targetLatencyMs);
+            }
+
+            lastAvgLatencyMs = avgLatencyMs;
+            windowStartMs    = now;
+            windowCount      = 0;
+            windowLatencyMs  = 0;
+            windowSaturated  = false;
+        }
+
+        int getLimit() {
+            lock.lock();
+
+            try {
+                return limit;
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        Map<String, Object> getMetrics() {
+            Map<String, Object> ret = new LinkedHashMap<>();
+
+            lock.lock();
+
+            try {
+                ret.put("limit", limit);
+                ret.put("maxConcurrent", maxConcurrent);
+                ret.put("queueSize", queueSize);
+                ret.put("inFlight", inFlight);
+                ret.put("queued", queued);
+                ret.put("admitted", admittedCount);
+                ret.put("rejected", rejectedCount);
+                ret.put("timedOut", timedOutCount);
+
+                if (isAdaptive) {
+                    ret.put("targetLatencyMs", targetLatencyMs);
+                    ret.put("avgLatencyMs", lastAvgLatencyMs);
+                }
+            } finally {
+                lock.unlock();
+            }
+
+            return ret;
+        }
+
+        @Override
+        public String toString() {
+            return "{maxConcurrent=" + maxConcurrent + ", queueSize=" + queueSize + ", targetLatencyMs=" + targetLatencyMs + "}";
+        }
+    }
+}
@@ -24,6 +24,8 @@ import org.apache.atlas.RequestContext;
 import org.apache.atlas.authorize.AtlasAuthorizationUtils;
 import org.apache.atlas.store.DeleteType;
 import org.apache.atlas.util.AtlasRepositoryConfiguration;
+import org.apache.atlas.utils.AtlasRequestProfiler;
+import org.apache.atlas.utils.AtlasRequestProfiler.Capture;
 import org.apache.atlas.web.util.DateTimeHelper;
 import org.apache.atlas.web.util.Servlets;
 import org.apache.commons.configuration.Configuration;
@@ -82,6 +84,8 @@ public class AuditFilter implements Filter {
         final String              user               = AtlasAuthorizationUtils.getCurrentUserName();
         final Set<String>         userGroups         = AtlasAuthorizationUtils.getCurrentUserGroups();
         final String              deleteType         = httpRequest.getParameter("deleteType");
+        final AtlasRequestProfiler profiler          = AtlasRequestProfiler.getInstance();
+        final Capture             profile            = profiler.isEnabled() ? profiler.start(AtlasRequestProfiler.KIND_REST, httpRequest.getMethod() + " " + httpRequest.getRequestURI(), user) : null;
 
         try {
             currentThread.setName(formatName(oldName, requestId));
@@ -111,6 +115,8 @@ public class AuditFilter implements Filter {
             httpResponse.setHeader(AtlasClient.REQUEST_ID, requestId);
             currentThread.setName(oldName);
             RequestContext.clear();
+
+            profiler.complete(profile);
         }
     }
 
@@ -62,7 +62,10 @@ import org.apache.atlas.type.AtlasType;
 import org.apache.atlas.type.AtlasTypeRegistry;
 import org.apache.atlas.util.SearchTracker;
 import org.apache.atlas.utils.AtlasJson;
+import org.apache.atlas.utils.AtlasLatencyMetrics;
 import org.apache.atlas.utils.AtlasPerfTracer;
+import org.apache.atlas.utils.AtlasRequestProfiler;
+import org.apache.atlas.web.filters.AdmissionControlFilter;
 import org.apache.atlas.web.filters.AtlasCSRFPreventionFilter;
 import org.apache.atlas.web.service.ServiceState;
 import org.apache.atlas.web.util.Servlets;
@@ -157,6 +160,7 @@ public class AdminResource {
     private final  AtlasAuditService        auditService;
     private final  String                   defaultUIVersion;
     private final  EntityAuditRepository    auditRepository;
+    private final  AdmissionControlFilter   admissionControlFilter;
 
     static {
         try {
@@ -172,7 +176,8 @@ public class AdminResource {
                          MigrationProgressService migrationProgressService,
                          AtlasServerService serverService,
                          ExportImportAuditService exportImportAuditService, AtlasEntityStore entityStore,
-                         AtlasPatchManager patchManager, AtlasAuditService auditService, EntityAuditRepository auditRepository) {
+                         AtlasPatchManager patchManager, AtlasAuditService auditService, EntityAuditRepository auditRepository,
+                         AdmissionControlFilter admissionControlFilter) {
         this.serviceState              = serviceState;
         this.metricsService            = metricsService;
         this.exportService             = exportService;
@@ -187,6 +192,7 @@ public class AdminResource {
         this.patchManager              = patchManager;
         this.auditService              = auditService;
         this.auditRepository           = auditRepository;
+        this.admissionControlFilter    = admissionControlFilter;
 
         if (atlasProperties != null) {
             defaultUIVersion = atlasProperties.getString(DEFAULT_UI_VERSION, UI_VERSION_V2);
@@ -364,6 +370,99 @@ public class AdminResource {
         return metrics;
     }
 
+    /**
+     * Fetches latency percentiles of operations, over the rolling window.
+     *
+     * @return json representing the latency of each operation.
+     */
+    @GET
+    @Path("metrics/latency")
+    @Produces(Servlets.JSON_MEDIA_TYPE)
+    public Map<String, Object> getLatencyMetrics() {
+        if (LOG.isDebugEnabled()) {
+            LOG.debug("==> AdminResource.getLatencyMetrics()");
+        }
+
+        Map<String, Object> ret = AtlasLatencyMetrics.getInstance().getMetrics();
+
+        if (LOG.isDebugEnabled()) {
+            LOG.debug("<== AdminResource.getLatencyMetrics()");
+        }
+
+        return ret;
+    }
+
+    /**
+     * Fetches latency percentiles of operations in Prometheus text format.
+     *
+     * @return latency of each operation as Prometheus summaries.
+     */
+    @GET
+    @Path("metrics/prometheus")
+    @Produces(MediaType.TEXT_PLAIN)
+    public String getPrometheusMetrics() {
+        if (LOG.isDebugEnabled()) {
+            LOG.debug("==> AdminResource.getPrometheusMetrics()");
+        }
+
+        String ret = AtlasLatencyMetrics.getInstance().toPrometheus();
+
+        if (LOG.isDebugEnabled()) {
+            LOG.debug("<== AdminResource.getPrometheusMetrics()");
+        }
+
+        return ret;
+    }
+
+    /**
+     * Fetches concurrency limits, in-flight and queued requests, and rejected counts of each endpoint class.
+     *
+     * @return json representing the state of admission control.
+     */
+    @GET
+    @Path("metrics/admission")
+    @Produces(Servlets.JSON_MEDIA_TYPE)
+    public Map<String, Object> getAdmissionMetrics() {
+        if (LOG.isDebugEnabled()) {
+            LOG.debug("==> AdminResource.getAdmissionMetrics()");
+        }
+
+        Map<String, Object> ret = admissionControlFilter.getMetrics();
+
+        if (LOG.isDebugEnabled()) {
+            LOG.debug("<== AdminResource.getAdmissionMetrics()");
+        }
+
+        return ret;
+    }
+
+    /**
+     * Fetches profiles of recent requests and notifications that took longer than the profiler threshold.
+     *
+     * @param kind          REST or NOTIFICATION; all profiles when not specified
+     * @param minDurationMs profiles that took less than this are excluded
+     * @param limit         maximum number of profiles to return
+     * @return profiles, most recent first
+     */
+    @GET
+    @Path("profiles")
+    @Produces(Servlets.JSON_MEDIA_TYPE)
+    public List<Map<String, Object>> getRequestProfiles(@QueryParam("kind") String kind,
+                                                        @QueryParam("minDurationMs") @DefaultValue("0") long minDurationMs,
+                                                        @QueryParam("limit") @DefaultValue("100") int limit) {
+        if (LOG.isDebugEnabled()) {
+            LOG.debug("==> AdminResource.getRequestProfiles(kind={}, minDurationMs={}, limit={})", kind, minDurationMs, limit);
+        }
+
+        List<Map<String, Object>> ret = AtlasRequestProfiler.getInstance().getProfiles(kind, minDurationMs, limit);
+
+        if (LOG.isDebugEnabled()) {
+            LOG.debug("<== AdminResource.getRequestProfiles(): {} profiles", ret.size());
+        }
+
+        return ret;
+    }
+
     private void releaseExportImportLock() {
         importExportOperationLock.unlock();
     }
@@ -19,6 +19,7 @@ package org.apache.atlas.web.rest;
 
 import com.sun.jersey.core.header.FormDataContentDisposition;
 import com.sun.jersey.multipart.FormDataParam;
+import org.apache.atlas.AtlasConfiguration;
 import org.apache.atlas.AtlasErrorCode;
 import org.apache.atlas.EntityAuditEvent;
 import org.apache.atlas.authorize.AtlasAuthorizationUtils;
@@ -38,12 +39,14 @@ import org.apache.atlas.repository.converters.AtlasInstanceConverter;
 import org.apache.atlas.repository.store.graph.AtlasEntityStore;
 import org.apache.atlas.repository.store.graph.v2.AtlasEntityStream;
 import org.apache.atlas.repository.store.graph.v2.ClassificationAssociator;
+import org.apache.atlas.repository.store.graph.v2.EntityDeleteTaskService;
 import org.apache.atlas.repository.store.graph.v2.EntityStream;
 import org.apache.atlas.type.AtlasClassificationType;
 import org.apache.atlas.type.AtlasEntityType;
 import org.apache.atlas.type.AtlasTypeRegistry;
 import org.apache.atlas.util.FileUtils;
 import org.apache.atlas.utils.AtlasPerfTracer;
+import org.apache.atlas.web.util.AtlasJsonStreamingOutput;
 import org.apache.atlas.web.util.Servlets;
 import org.apache.commons.collections.CollectionUtils;
 import org.apache.commons.collections.MapUtils;
@@ -100,15 +103,18 @@ public class EntityREST {
     private final AtlasTypeRegistry      typeRegistry;
     private final AtlasEntityStore       entitiesStore;
     private final EntityAuditRepository  auditRepository;
-    private final AtlasInstanceConverter instanceConverter;
+    private final AtlasInstanceConverter  instanceConverter;
+    private final EntityDeleteTaskService deleteTaskService;
 
     @Inject
     public EntityREST(AtlasTypeRegistry typeRegistry, AtlasEntityStore entitiesStore,
-                      EntityAuditRepository auditRepository, AtlasInstanceConverter instanceConverter) {
+                      EntityAuditRepository auditRepository, AtlasInstanceConverter instanceConverter,
+                      EntityDeleteTaskService deleteTaskService) {
         this.typeRegistry      = typeRegistry;
         this.entitiesStore     = entitiesStore;
         this.auditRepository   = auditRepository;
         this.instanceConverter = instanceConverter;
+        this.deleteTaskService = deleteTaskService;
     }
 
     /**
@@ -747,6 +753,47 @@ public class EntityREST {
         }
     }
 
+    /**
+     * Bulk API to retrieve list of entities identified by its GUIDs, with entities written to the response as they are
+     * read. Response has the same fields as /bulk; a failure after the response has started is reported in the "error"
+     * field of the response.
+     */
+    @GET
+    @Path("/bulk/stream")
+    public Response getByGuidsStreaming(@QueryParam("guid") final List<String> guids, @QueryParam("minExtInfo") @DefaultValue("false") final boolean minExtInfo, @QueryParam("ignoreRelationships") @DefaultValue("false") final boolean ignoreRelationships, @QueryParam("ignoreNotFound") @DefaultValue("false") final boolean ignoreNotFound) throws AtlasBaseException {
+        if (CollectionUtils.isEmpty(guids)) {
+            throw new AtlasBaseException(AtlasErrorCode.INSTANCE_GUID_NOT_FOUND, guids);
+        }
+
+        for (String guid : guids) {
+            Servlets.validateQueryParamLength("guid", guid);
+        }
+
+        final int batchSize = AtlasConfiguration.REST_API_STREAMING_BATCH_SIZE.getInt();
+
+        return Response.ok(new AtlasJsonStreamingOutput() {
+            @Override
+            protected void writeContent() throws AtlasBaseException, IOException {
+                AtlasPerfTracer perf = null;
+
+                try {
+                    if (AtlasPerfTracer.isPerfTraceEnabled(PERF_LOG)) {
+                        perf = AtlasPerfTracer.getPerfTracer(PERF_LOG, "EntityREST.getByGuidsStreaming(" + guids + ")");
+                    }
+
+                    writeStartArray("entities");
+
+                    AtlasEntitiesWithExtInfo referredEntities = entitiesStore.getByIds(guids, minExtInfo, ignoreRelationships, ignoreNotFound, batchSize, this::writeArrayValues);
+
+                    writeEndArray();
+                    writeFields(referredEntities, "entities");
+                } finally {
+                    AtlasPerfTracer.log(perf);
+                }
+            }
+        }).build();
+    }
+
     /**
      * Bulk API to retrieve list of entities identified by its GUIDs.
      */
@@ -825,6 +872,59 @@ public class EntityREST {
         }
     }
 
+    /**
+     * Delete entities, along with the entities owned by them, in the background. Suitable for entities owning a
+     * large number of entities - like a hive_db with thousands of tables.
+     * @param guids GUIDs of the entities to delete
+     * @return task to track status of the delete
+     * @throws AtlasBaseException
+     */
+    @DELETE
+    @Path("/bulk/async")
+    public AtlasEntityDeleteTask deleteByGuidsAsync(@QueryParam("guid") final List<String> guids) throws AtlasBaseException {
+        if (CollectionUtils.isNotEmpty(guids)) {
+            for (String guid : guids) {
+                Servlets.validateQueryParamLength("guid", guid);
+            }
+        }
+
+        AtlasPerfTracer perf = null;
+
+        try {
+            if (AtlasPerfTracer.isPerfTraceEnabled(PERF_LOG)) {
+                perf = AtlasPerfTracer.getPerfTracer(PERF_LOG, "EntityREST.deleteByGuidsAsync(" + guids  + ")");
+            }
+
+            return deleteTaskService.submit(guids);
+        } finally {
+            AtlasPerfTracer.log(perf);
+        }
+    }
+
+    /**
+     * Get status of a delete submitted via /bulk/async
+     * @param taskId id of the delete task
+     * @return status of the delete task
+     * @throws AtlasBaseException
+     */
+    @GET
+    @Path("/bulk/async/{taskId}")
+    public AtlasEntityDeleteTask getDeleteTask(@PathParam("taskId") final String taskId) throws AtlasBaseException {
+        Servlets.validateQueryParamLength("taskId", taskId);
+
+        AtlasPerfTracer perf = null;
+
+        try {
+            if (AtlasPerfTracer.isPerfTraceEnabled(PERF_LOG)) {
+                perf = AtlasPerfTracer.getPerfTracer(PERF_LOG, "EntityREST.getDeleteTask(" + taskId  + ")");
+            }
+
+            return deleteTaskService.getTask(taskId);
+        } finally {
+            AtlasPerfTracer.log(perf);
+        }
+    }
+
     /**
      * Bulk API to associate a tag to multiple entities
      */
@@ -963,10 +963,12 @@ public class GlossaryREST {
      * @param termGuid GUID of the term
      * @param limit page size - by default there is no paging
      * @param offset offset for pagination purpose
-     * @param sort ASC (default) or DESC
+     * @param sort ASC (default) or DESC, to sort by display text
+     * @param unsorted true to list entities in no particular order, reading only the entities up to the end of the page
      * @return
      * @throws AtlasBaseException
      * @HTTP 200 List of entity headers (if any) for the given glossary or an empty list
+     * @HTTP 400 If sorted and the term is assigned to more entities than atlas.glossary.term.assigned.entities.max.sorted
      * @HTTP 404 If glossary term guid in invalid
      */
     @GET
@@ -974,7 +976,8 @@ public class GlossaryREST {
     public List<AtlasRelatedObjectId> getEntitiesAssignedWithTerm(@PathParam("termGuid") String termGuid,
                                                                   @DefaultValue("-1") @QueryParam("limit") String limit,
                                                                   @DefaultValue("0") @QueryParam("offset") String offset,
-                                                                  @DefaultValue("ASC") @QueryParam("sort") final String sort) throws AtlasBaseException {
+                                                                  @DefaultValue("ASC") @QueryParam("sort") final String sort,
+                                                                  @DefaultValue("false") @QueryParam("unsorted") final boolean unsorted) throws AtlasBaseException {
         Servlets.validateQueryParamLength("termGuid", termGuid);
 
         AtlasPerfTracer perf = null;
@@ -983,7 +986,33 @@ public class GlossaryREST {
                 perf = AtlasPerfTracer.getPerfTracer(PERF_LOG, "GlossaryREST.getEntitiesAssignedWithTerm(" + termGuid + ")");
             }
 
-            return glossaryService.getAssignedEntities(termGuid, Integer.parseInt(offset), Integer.parseInt(limit), toSortOrder(sort));
+            return glossaryService.getAssignedEntities(termGuid, Integer.parseInt(offset), Integer.parseInt(limit), unsorted ? null : toSortOrder(sort));
+
+        } finally {
+            AtlasPerfTracer.log(perf);
+        }
+    }
+
+    /**
+     * Get the number of entities assigned with the specified term
+     * @param termGuid GUID of the term
+     * @return number of assigned entities
+     * @throws AtlasBaseException
+     * @HTTP 200 Number of entities assigned with the term
+     * @HTTP 404 If glossary term guid in invalid
+     */
+    @GET
+    @Path("/terms/{termGuid}/assignedEntities/count")
+    public long getEntitiesAssignedWithTermCount(@PathParam("termGuid") String termGuid) throws AtlasBaseException {
+        Servlets.validateQueryParamLength("termGuid", termGuid);
+
+        AtlasPerfTracer perf = null;
+        try {
+            if (AtlasPerfTracer.isPerfTraceEnabled(PERF_LOG)) {
+                perf = AtlasPerfTracer.getPerfTracer(PERF_LOG, "GlossaryREST.getEntitiesAssignedWithTermCount(" + termGuid + ")");
+            }
+
+            return glossaryService.getAssignedEntitiesCount(termGuid);
 
         } finally {
             AtlasPerfTracer.log(perf);
@@ -21,7 +21,9 @@ package org.apache.atlas.web.rest;
 import org.apache.atlas.exception.AtlasBaseException;
 import org.apache.atlas.model.instance.AtlasRelationship;
 import org.apache.atlas.model.instance.AtlasRelationship.AtlasRelationshipWithExtInfo;
+import org.apache.atlas.model.instance.AtlasRelationshipBulkResponse;
 import org.apache.atlas.repository.store.graph.AtlasRelationshipStore;
+import org.apache.atlas.repository.store.graph.v2.BulkRelationshipCreator;
 import org.apache.atlas.utils.AtlasPerfTracer;
 import org.apache.atlas.web.util.Servlets;
 import org.slf4j.Logger;
@@ -31,6 +33,7 @@ import javax.inject.Inject;
 import javax.inject.Singleton;
 import javax.ws.rs.*;
 import javax.ws.rs.core.MediaType;
+import java.io.InputStream;
 
 /**
  * REST interface for entity relationships.
@@ -43,11 +46,13 @@ import javax.ws.rs.core.MediaType;
 public class RelationshipREST {
     private static final Logger PERF_LOG = AtlasPerfTracer.getPerfLogger("rest.RelationshipREST");
 
-    private final AtlasRelationshipStore relationshipStore;
+    private final AtlasRelationshipStore  relationshipStore;
+    private final BulkRelationshipCreator bulkRelationshipCreator;
 
     @Inject
-    public RelationshipREST(AtlasRelationshipStore relationshipStore) {
-        this.relationshipStore = relationshipStore;
+    public RelationshipREST(AtlasRelationshipStore relationshipStore, BulkRelationshipCreator bulkRelationshipCreator) {
+        this.relationshipStore       = relationshipStore;
+        this.bulkRelationshipCreator = bulkRelationshipCreator;
     }
 
     /**
@@ -69,6 +74,30 @@ public class RelationshipREST {
         }
     }
 
+    /**
+     * Create new relationships between entities. The request body is a JSON array of relationships, which is read
+     * incrementally and created in chunks; the outcome of each relationship is reported in the response.
+     * @param ignoreExisting if true, relationships that already exist are reported as EXISTING instead of FAILED
+     */
+    @POST
+    @Path("/bulk")
+    public AtlasRelationshipBulkResponse createRelationships(InputStream inputStream,
+                                                             @QueryParam("ignoreExisting") @DefaultValue("false") boolean ignoreExisting)
+                                                             throws AtlasBaseException {
+        AtlasPerfTracer perf = null;
+
+        try {
+            if (AtlasPerfTracer.isPerfTraceEnabled(PERF_LOG)) {
+                perf = AtlasPerfTracer.getPerfTracer(PERF_LOG, "RelationshipREST.createRelationships(ignoreExisting=" + ignoreExisting + ")");
+            }
+
+            return bulkRelationshipCreator.create(inputStream, ignoreExisting);
+
+        } finally {
+            AtlasPerfTracer.log(perf);
+        }
+    }
+
     /**
      * Update an existing relationship between entities.
      */
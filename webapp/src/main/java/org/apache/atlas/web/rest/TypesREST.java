@@ -17,6 +17,7 @@
  */
 package org.apache.atlas.web.rest;
 
+import org.apache.atlas.RequestContext;
 import org.apache.atlas.exception.AtlasBaseException;
 import org.apache.atlas.listener.TypeDefChangeListener;
 import org.apache.atlas.model.SearchFilter;
@@ -54,6 +55,7 @@ import org.springframework.stereotype.Service;
 import javax.inject.Inject;
 import javax.inject.Singleton;
 import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
 import javax.ws.rs.*;
 import javax.ws.rs.core.Context;
 import javax.ws.rs.core.MediaType;
@@ -70,6 +72,8 @@ import java.util.*;
 public class TypesREST {
     private static final Logger PERF_LOG = AtlasPerfTracer.getPerfLogger("rest.TypesREST");
 
+    public static final String TYPEDEF_TIMINGS_HEADER = "X-Atlas-TypeDef-Timings";
+
     private final AtlasTypeDefStore typeDefStore;
 
     @Inject
@@ -370,13 +374,15 @@ public class TypesREST {
      * @return A composite wrapper object with lists of type definitions that were successfully
      * created
      * @throws Exception
-     * @HTTP 200 On successful update of requested type definitions
+     * @HTTP 200 On successful update of requested type definitions; time taken by each phase, in milliseconds, is
+     * returned in header X-Atlas-TypeDef-Timings
      * @HTTP 400 On validation failure for any type definitions
      */
     @POST
     @Path("/typedefs")
-    public AtlasTypesDef createAtlasTypeDefs(final AtlasTypesDef typesDef) throws AtlasBaseException {
-        AtlasPerfTracer perf = null;
+    public AtlasTypesDef createAtlasTypeDefs(final AtlasTypesDef typesDef, @Context HttpServletResponse servletResponse) throws AtlasBaseException {
+        AtlasPerfTracer perf      = null;
+        long            startTime = System.currentTimeMillis();
 
         try {
             if (AtlasPerfTracer.isPerfTraceEnabled(PERF_LOG)) {
@@ -384,7 +390,11 @@ public class TypesREST {
                                                                AtlasTypeUtil.toDebugString(typesDef) + ")");
             }
 
-            return typeDefStore.createTypesDef(typesDef);
+            AtlasTypesDef ret = typeDefStore.createTypesDef(typesDef);
+
+            setTimingsHeader(servletResponse, startTime);
+
+            return ret;
         } finally {
             AtlasPerfTracer.log(perf);
         }
@@ -395,14 +405,16 @@ public class TypesREST {
      * @param typesDef A composite object that captures all type definition changes
      * @return A composite object with lists of type definitions that were updated
      * @throws Exception
-     * @HTTP 200 On successful update of requested type definitions
+     * @HTTP 200 On successful update of requested type definitions; time taken by each phase, in milliseconds, is
+     * returned in header X-Atlas-TypeDef-Timings
      * @HTTP 400 On validation failure for any type definitions
      */
     @PUT
     @Path("/typedefs")
     @Experimental
-    public AtlasTypesDef updateAtlasTypeDefs(final AtlasTypesDef typesDef) throws AtlasBaseException {
-        AtlasPerfTracer perf = null;
+    public AtlasTypesDef updateAtlasTypeDefs(final AtlasTypesDef typesDef, @Context HttpServletResponse servletResponse) throws AtlasBaseException {
+        AtlasPerfTracer perf      = null;
+        long            startTime = System.currentTimeMillis();
 
         try {
             if (AtlasPerfTracer.isPerfTraceEnabled(PERF_LOG)) {
@@ -410,7 +422,11 @@ public class TypesREST {
                                                                AtlasTypeUtil.toDebugString(typesDef) + ")");
             }
 
-            return typeDefStore.updateTypesDef(typesDef);
+            AtlasTypesDef ret = typeDefStore.updateTypesDef(typesDef);
+
+            setTimingsHeader(servletResponse, startTime);
+
+            return ret;
         } finally {
             AtlasPerfTracer.log(perf);
         }
@@ -589,4 +605,23 @@ public class TypesREST {
 
         return ret;
     }
+
+    /**
+     * Sets time taken by each phase of a typedef change, like index.propertyKeys=1200, along with the total.
+     */
+    private void setTimingsHeader(HttpServletResponse servletResponse, long startTime) {
+        if (servletResponse == null) {
+            return;
+        }
+
+        StringBuilder sb = new StringBuilder();
+
+        for (Map.Entry<String, Long> entry : RequestContext.get().getPhaseTimes().entrySet()) {
+            sb.append(entry.getKey()).append('=').append(entry.getValue()).append(';');
+        }
+
+        sb.append("total=").append(System.currentTimeMillis() - startTime);
+
+        servletResponse.setHeader(TYPEDEF_TIMINGS_HEADER, sb.toString());
+    }
 }
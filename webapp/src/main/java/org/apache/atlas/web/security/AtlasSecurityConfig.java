@@ -94,6 +94,7 @@ public class AtlasSecurityConfig extends WebSecurityConfigurerAdapter {
     private final Configuration configuration;
     private final StaleTransactionCleanupFilter staleTransactionCleanupFilter;
     private final ActiveServerFilter activeServerFilter;
+    private final AdmissionControlFilter admissionControlFilter;
 
     public static final RequestMatcher KEYCLOAK_REQUEST_MATCHER = new OrRequestMatcher(new RequestMatcher[]{new AntPathRequestMatcher("/login.jsp"), new RequestHeaderRequestMatcher("Authorization"), new QueryParamPresenceRequestMatcher("access_token")});
 
@@ -114,7 +115,8 @@ public class AtlasSecurityConfig extends WebSecurityConfigurerAdapter {
                                AtlasAuthenticationEntryPoint atlasAuthenticationEntryPoint,
                                Configuration configuration,
                                StaleTransactionCleanupFilter staleTransactionCleanupFilter,
-                               ActiveServerFilter activeServerFilter) {
+                               ActiveServerFilter activeServerFilter,
+                               AdmissionControlFilter admissionControlFilter) {
         this.ssoAuthenticationFilter = ssoAuthenticationFilter;
         this.csrfPreventionFilter = atlasCSRFPreventionFilter;
         this.atlasAuthenticationFilter = atlasAuthenticationFilter;
@@ -125,6 +127,7 @@ public class AtlasSecurityConfig extends WebSecurityConfigurerAdapter {
         this.configuration = configuration;
         this.staleTransactionCleanupFilter = staleTransactionCleanupFilter;
         this.activeServerFilter = activeServerFilter;
+        this.admissionControlFilter = admissionControlFilter;
 
         this.keycloakEnabled = configuration.getBoolean(AtlasAuthenticationProvider.KEYCLOAK_AUTH_METHOD, false);
     }
@@ -228,6 +231,10 @@ public class AtlasSecurityConfig extends WebSecurityConfigurerAdapter {
             }
             httpSecurity.addFilterAfter(activeServerFilter, BasicAuthenticationFilter.class);
         }
+        if (admissionControlFilter.isEnabled()) {
+            LOG.info("Admission control is enabled, enabling AdmissionControlFilter");
+            httpSecurity.addFilterAfter(admissionControlFilter, BasicAuthenticationFilter.class);
+        }
         httpSecurity
                 .addFilterAfter(staleTransactionCleanupFilter, BasicAuthenticationFilter.class)
                 .addFilterBefore(ssoAuthenticationFilter, BasicAuthenticationFilter.class)
@@ -44,4 +44,8 @@ public class AtlasJsonProvider extends JacksonJaxbJsonProvider {
 
         LOG.info("AtlasJsonProvider() instantiated");
     }
+
+    static ObjectMapper getMapper() {
+        return mapper;
+    }
 }
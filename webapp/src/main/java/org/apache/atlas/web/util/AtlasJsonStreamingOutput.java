@@ -0,0 +1,180 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.atlas.web.util;
+
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonGenerationException;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonStreamContext;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import org.apache.atlas.AtlasErrorCode;
+import org.apache.atlas.exception.AtlasBaseException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.ws.rs.WebApplicationException;
+import javax.ws.rs.core.StreamingOutput;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Writes a JSON object to the response as its content is read, flushing after each batch of array values, so that
+ * large results are not held in memory in full.
+ *
+ * The response status is sent with the first flush, hence a failure after that can't change it; instead the object
+ * is closed with an "error" field, having the same errorCode/errorMessage as error responses of other endpoints.
+ */
+public abstract class AtlasJsonStreamingOutput implements StreamingOutput {
+    private static final Logger LOG = LoggerFactory.getLogger(AtlasJsonStreamingOutput.class);
+
+    public static final String ERROR_FIELD = "error";
+
+    private JsonGenerator generator;
+
+    /**
+     * Writes the fields of the response object, using writeStartArray()/writeArrayValues()/writeEndArray() and writeFields().
+     */
+    protected abstract void writeContent() throws AtlasBaseException, IOException;
+
+    @Override
+    public void write(OutputStream outputStream) throws IOException, WebApplicationException {
+        generator = AtlasJsonProvider.getMapper().getFactory().createGenerator(outputStream, JsonEncoding.UTF8);
+
+        generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+
+        boolean isWritten = false;
+
+        try {
+            try {
+                generator.writeStartObject();
+
+                writeContent();
+            } catch (AtlasBaseException e) {
+                if (isStreamFailure(e.getCause())) { // failed to write to the client; nothing more can be written
+                    throw (IOException) e.getCause();
+                }
+
+                writeError(e, e.getAtlasErrorCode(), e.getMessage());
+            } catch (JsonProcessingException e) { // failed to serialize a value; the stream is still usable
+                writeError(e, AtlasErrorCode.INTERNAL_ERROR, AtlasErrorCode.INTERNAL_ERROR.getFormattedErrorMessage(e.getMessage()));
+            } catch (IOException e) {
+                throw e;
+            } catch (Exception e) {
+                writeError(e, AtlasErrorCode.INTERNAL_ERROR, AtlasErrorCode.INTERNAL_ERROR.getFormattedErrorMessage(e.getMessage()));
+            }
+
+            generator.writeEndObject();
+
+            isWritten = true;
+        } finally {
+            closeGenerator(isWritten);
+        }
+    }
+
+    protected void writeStartArray(String fieldName) throws IOException {
+        generator.writeArrayFieldStart(fieldName);
+    }
+
+    /**
+     * Writes the values to the array started by writeStartArray() and flushes them to the client. IOException is
+     * wrapped in AtlasBaseException, so that this can be used as an AtlasBatchConsumer; a failure to serialize a value
+     * is wrapped with INTERNAL_ERROR, to be reported in the error field rather than as a failure to write to the client.
+     */
+    protected void writeArrayValues(List<?> values) throws AtlasBaseException {
+        try {
+            for (Object value : values) {
+                generator.writeObject(value);
+            }
+
+            generator.flush();
+        } catch (JsonProcessingException e) {
+            throw new AtlasBaseException(AtlasErrorCode.INTERNAL_ERROR, e, e.getMessage());
+        } catch (IOException e) {
+            throw new AtlasBaseException(e);
+        }
+    }
+
+    protected void writeEndArray() throws IOException {
+        generator.writeEndArray();
+    }
+
+    /**
+     * Writes fields of the given object, other than the excluded ones, to the response object.
+     */
+    protected void writeFields(Object value, String... excludeFields) throws IOException {
+        JsonNode node = AtlasJsonProvider.getMapper().valueToTree(value);
+
+        if (node instanceof ObjectNode) {
+            ((ObjectNode) node).remove(Arrays.asList(excludeFields));
+
+            for (Iterator<Map.Entry<String, JsonNode>> iter = node.fields(); iter.hasNext(); ) {
+                Map.Entry<String, JsonNode> field = iter.next();
+
+                generator.writeFieldName(field.getKey());
+                generator.writeTree(field.getValue());
+            }
+        }
+    }
+
+    private void writeError(Exception excp, AtlasErrorCode errorCode, String errorMessage) throws IOException {
+        LOG.error("failed while streaming response; writing error to the response", excp);
+
+        // close arrays/objects left open by the failure, up to the response object
+        for (JsonStreamContext ctx = generator.getOutputContext(); ctx.getParent() != null && !ctx.getParent().inRoot(); ctx = generator.getOutputContext()) {
+            if (ctx.inArray()) {
+                generator.writeEndArray();
+            } else {
+                try {
+                    generator.writeEndObject();
+                } catch (JsonGenerationException e) { // serialization failed after a field name was written
+                    generator.writeNull();
+                    generator.writeEndObject();
+                }
+            }
+        }
+
+        generator.writeObjectFieldStart(ERROR_FIELD);
+        generator.writeStringField("errorCode", errorCode.getErrorCode());
+        generator.writeStringField("errorMessage", errorMessage);
+        generator.writeEndObject();
+    }
+
+    private void closeGenerator(boolean isWritten) throws IOException {
+        try {
+            generator.close();
+        } catch (IOException e) {
+            if (isWritten) {
+                throw e;
+            }
+
+            // the response already failed; don't mask the original exception
+            LOG.debug("failed to close generator of a failed response", e);
+        }
+    }
+
+    private static boolean isStreamFailure(Throwable t) {
+        return t instanceof IOException && !(t instanceof JsonProcessingException);
+    }
+}
@@ -0,0 +1,176 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.atlas.web.filters;
+
+import org.apache.atlas.ApplicationProperties;
+import org.apache.atlas.web.filters.AdmissionControlFilter.EndpointClass;
+import org.apache.atlas.web.filters.AdmissionControlFilter.EndpointLimiter;
+import org.apache.commons.configuration.PropertiesConfiguration;
+import org.mockito.invocation.InvocationOnMock;
+import org.mockito.stubbing.Answer;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import javax.servlet.FilterChain;
+import javax.servlet.ServletRequest;
+import javax.servlet.ServletResponse;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import javax.ws.rs.HttpMethod;
+import java.util.Map;
+
+import static org.mockito.Matchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertNull;
+import static org.testng.Assert.assertTrue;
+
+public class AdmissionControlFilterTest {
+    private static final String ENABLED_PROPERTY = "atlas.webserver.admission.control.enabled";
+
+    @BeforeMethod
+    public void setUp() throws Exception {
+        ApplicationProperties.get().setProperty(ENABLED_PROPERTY, true);
+    }
+
+    @AfterMethod
+    public void tearDown() throws Exception {
+        ApplicationProperties.get().clearProperty(ENABLED_PROPERTY);
+    }
+
+    @Test
+    public void testEndpointClass() {
+        assertEquals(AdmissionControlFilter.getEndpointClass(getRequest(HttpMethod.GET, "/api/atlas/v2/search/dsl")), EndpointClass.SEARCH);
+        assertEquals(AdmissionControlFilter.getEndpointClass(getRequest(HttpMethod.POST, "/api/atlas/v2/search/basic")), EndpointClass.SEARCH);
+        assertEquals(AdmissionControlFilter.getEndpointClass(getRequest(HttpMethod.GET, "/api/atlas/discovery/search/dsl")), EndpointClass.SEARCH);
+        assertEquals(AdmissionControlFilter.getEndpointClass(getRequest(HttpMethod.GET, "/api/atlas/v2/lineage/guid-1")), EndpointClass.LINEAGE);
+        assertEquals(AdmissionControlFilter.getEndpointClass(getRequest(HttpMethod.POST, "/api/atlas/admin/export")), EndpointClass.BULK);
+        assertEquals(AdmissionControlFilter.getEndpointClass(getRequest(HttpMethod.POST, "/api/atlas/v2/entity/bulk")), EndpointClass.BULK);
+        assertEquals(AdmissionControlFilter.getEndpointClass(getRequest(HttpMethod.GET, "/api/atlas/v2/entity/bulk")), EndpointClass.READ);
+        assertEquals(AdmissionControlFilter.getEndpointClass(getRequest(HttpMethod.GET, "/api/atlas/v2/entity/guid/guid-1")), EndpointClass.READ);
+        assertEquals(AdmissionControlFilter.getEndpointClass(getRequest(HttpMethod.POST, "/api/atlas/v2/entity")), EndpointClass.WRITE);
+        assertEquals(AdmissionControlFilter.getEndpointClass(getRequest(HttpMethod.GET, "/api/atlas/admin/metrics")), EndpointClass.ADMIN);
+        assertNull(AdmissionControlFilter.getEndpointClass(getRequest(HttpMethod.GET, "/api/atlas/admin/status")));
+        assertNull(AdmissionControlFilter.getEndpointClass(getRequest(HttpMethod.GET, "/index.html")));
+    }
+
+    @Test
+    public void testRejectWhenQueueFull() throws Exception {
+        PropertiesConfiguration configuration = new PropertiesConfiguration();
+
+        configuration.setProperty("atlas.webserver.admission.search.max.concurrent", 1);
+        configuration.setProperty("atlas.webserver.admission.search.queue.size", 0);
+
+        final AdmissionControlFilter filter         = new AdmissionControlFilter(configuration);
+        final HttpServletRequest     request        = getRequest(HttpMethod.GET, "/api/atlas/v2/search/dsl");
+        final HttpServletResponse    response       = mock(HttpServletResponse.class);
+        final HttpServletResponse    nestedResponse = mock(HttpServletResponse.class);
+        final FilterChain            nestedChain    = mock(FilterChain.class);
+        FilterChain                  filterChain    = mock(FilterChain.class);
+
+        // a second search request while the first one is in progress
+        doAnswer(new Answer<Void>() {
+            @Override
+            public Void answer(InvocationOnMock invocation) throws Throwable {
+                filter.doFilter(request, nestedResponse, nestedChain);
+
+                return null;
+            }
+        }).when(filterChain).doFilter(any(ServletRequest.class), any(ServletResponse.class));
+
+        filter.doFilter(request, response, filterChain);
+
+        verify(filterChain).doFilter(request, response);
+        verify(nestedChain, never()).doFilter(any(ServletRequest.class), any(ServletResponse.class));
+        verify(nestedResponse).setHeader(AdmissionControlFilter.RETRY_AFTER_HEADER, "1");
+        verify(nestedResponse).sendError(AdmissionControlFilter.SC_TOO_MANY_REQUESTS, "Too many concurrent search requests");
+
+        Map<String, Object> metrics = (Map<String, Object>) filter.getMetrics().get("search");
+
+        assertEquals(metrics.get("admitted"), 1L);
+        assertEquals(metrics.get("rejected"), 1L);
+        assertEquals(metrics.get("inFlight"), 0);
+    }
+
+    @Test
+    public void testPassThroughWhenDisabled() throws Exception {
+        ApplicationProperties.get().setProperty(ENABLED_PROPERTY, false);
+
+        AdmissionControlFilter filter      = new AdmissionControlFilter(new PropertiesConfiguration());
+        HttpServletRequest     request     = getRequest(HttpMethod.GET, "/api/atlas/v2/search/dsl");
+        HttpServletResponse    response    = mock(HttpServletResponse.class);
+        FilterChain            filterChain = mock(FilterChain.class);
+
+        filter.doFilter(request, response, filterChain);
+
+        verify(filterChain).doFilter(request, response);
+        assertEquals(((Map<String, Object>) filter.getMetrics().get("search")).get("admitted"), 0L);
+    }
+
+    @Test
+    public void testQueueTimeout() throws Exception {
+        EndpointLimiter limiter = new EndpointLimiter(1, 1, false, 1000, 1, 1000);
+
+        assertTrue(limiter.acquire(0));
+        assertFalse(limiter.acquire(10));
+
+        limiter.release(5);
+
+        assertTrue(limiter.acquire(0));
+        assertEquals(limiter.getMetrics().get("timedOut"), 1L);
+    }
+
+    @Test
+    public void testAdaptiveLimit() throws Exception {
+        EndpointLimiter limiter = new EndpointLimiter(10, 10, true, 100, 2, 0);
+
+        // latency above target lowers the limit, down to the minimum
+        for (int i = 0; i < 20; i++) {
+            assertTrue(limiter.acquire(0));
+
+            limiter.release(500);
+        }
+
+        assertEquals(limiter.getLimit(), 2);
+
+        // requests waiting with latency within target raise the limit
+        assertTrue(limiter.acquire(0));
+        assertTrue(limiter.acquire(0));
+        assertFalse(limiter.acquire(0));
+
+        limiter.release(10);
+
+        assertEquals(limiter.getLimit(), 3);
+    }
+
+    private HttpServletRequest getRequest(String method, String requestURI) {
+        HttpServletRequest ret = mock(HttpServletRequest.class);
+
+        when(ret.getMethod()).thenReturn(method);
+        when(ret.getRequestURI()).thenReturn(requestURI);
+        when(ret.getContextPath()).thenReturn("");
+
+        return ret;
+    }
+}
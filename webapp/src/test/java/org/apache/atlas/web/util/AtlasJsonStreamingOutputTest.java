@@ -0,0 +1,139 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.atlas.web.util;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.apache.atlas.AtlasErrorCode;
+import org.apache.atlas.exception.AtlasBaseException;
+import org.apache.atlas.model.discovery.AtlasSearchResult;
+import org.apache.atlas.model.instance.AtlasEntityHeader;
+import org.testng.annotations.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Arrays;
+import java.util.Collections;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertTrue;
+import static org.testng.Assert.fail;
+
+public class AtlasJsonStreamingOutputTest {
+    @Test
+    public void testStreamedResult() throws Exception {
+        final AtlasSearchResult result = new AtlasSearchResult(AtlasSearchResult.AtlasQueryType.BASIC);
+
+        result.setApproximateCount(3);
+
+        JsonNode response = write(new AtlasJsonStreamingOutput() {
+            @Override
+            protected void writeContent() throws AtlasBaseException, IOException {
+                writeStartArray("entities");
+                writeArrayValues(Arrays.asList(new AtlasEntityHeader("hive_table"), new AtlasEntityHeader("hive_table")));
+                writeArrayValues(Collections.singletonList(new AtlasEntityHeader("hive_column")));
+                writeEndArray();
+                writeFields(result, "entities");
+            }
+        });
+
+        assertEquals(response.get("entities").size(), 3);
+        assertEquals(response.get("entities").get(2).get("typeName").asText(), "hive_column");
+        assertEquals(response.get("approximateCount").asLong(), 3L);
+        assertEquals(response.get("queryType").asText(), "BASIC");
+        assertFalse(response.has(AtlasJsonStreamingOutput.ERROR_FIELD));
+    }
+
+    @Test
+    public void testErrorAfterResponseStarted() throws Exception {
+        JsonNode response = write(new AtlasJsonStreamingOutput() {
+            @Override
+            protected void writeContent() throws AtlasBaseException, IOException {
+                writeStartArray("entities");
+                writeArrayValues(Collections.singletonList(new AtlasEntityHeader("hive_table")));
+
+                throw new AtlasBaseException(AtlasErrorCode.UNAUTHORIZED_ACCESS, "user1", "read entity: guid=guid-2");
+            }
+        });
+
+        // entities written before the failure are retained; the failure is reported in the error field
+        assertEquals(response.get("entities").size(), 1);
+        assertTrue(response.has(AtlasJsonStreamingOutput.ERROR_FIELD));
+        assertEquals(response.get(AtlasJsonStreamingOutput.ERROR_FIELD).get("errorCode").asText(), AtlasErrorCode.UNAUTHORIZED_ACCESS.getErrorCode());
+    }
+
+    @Test
+    public void testSerializationFailure() throws Exception {
+        final AtlasEntityHeader failingEntity = new AtlasEntityHeader("hive_table") {
+            @Override
+            public String getDisplayText() {
+                throw new IllegalStateException("failed to read displayText");
+            }
+        };
+
+        JsonNode response = write(new AtlasJsonStreamingOutput() {
+            @Override
+            protected void writeContent() throws AtlasBaseException, IOException {
+                writeStartArray("entities");
+                writeArrayValues(Collections.singletonList(new AtlasEntityHeader("hive_db")));
+                writeArrayValues(Arrays.asList(failingEntity, new AtlasEntityHeader("hive_column")));
+                writeEndArray();
+            }
+        });
+
+        // a value that fails to serialize is not a client failure: the response is completed with the error field
+        assertEquals(response.get("entities").get(0).get("typeName").asText(), "hive_db");
+        assertTrue(response.has(AtlasJsonStreamingOutput.ERROR_FIELD));
+        assertEquals(response.get(AtlasJsonStreamingOutput.ERROR_FIELD).get("errorCode").asText(), AtlasErrorCode.INTERNAL_ERROR.getErrorCode());
+        assertTrue(response.get(AtlasJsonStreamingOutput.ERROR_FIELD).get("errorMessage").asText().contains("failed to read displayText"));
+    }
+
+    @Test
+    public void testClientFailure() throws Exception {
+        AtlasJsonStreamingOutput output = new AtlasJsonStreamingOutput() {
+            @Override
+            protected void writeContent() throws AtlasBaseException, IOException {
+                writeStartArray("entities");
+                writeArrayValues(Collections.singletonList(new AtlasEntityHeader("hive_table")));
+            }
+        };
+
+        try {
+            output.write(new OutputStream() {
+                @Override
+                public void write(int b) throws IOException {
+                    throw new IOException("connection reset");
+                }
+            });
+
+            fail("expected IOException");
+        } catch (IOException e) {
+            assertEquals(e.getMessage(), "connection reset");
+        }
+    }
+
+    private JsonNode write(AtlasJsonStreamingOutput output) throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        output.write(out);
+
+        return new ObjectMapper().readTree(out.toByteArray());
+    }
+}